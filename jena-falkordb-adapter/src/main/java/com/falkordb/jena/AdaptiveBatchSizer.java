@@ -0,0 +1,221 @@
+package com.falkordb.jena;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Chooses UNWIND batch sizes for {@link FalkorDBBatchWriter}.
+ *
+ * <p>Without a target latency every batch has the fixed size
+ * {@value #DEFAULT_BATCH_SIZE}. Once a target is set, the sizer keeps a
+ * smoothed estimate of the latency and payload size per triple for each
+ * {@link BatchKind} and sizes the next batch so it is expected to take
+ * about the target time. Growth is limited to doubling per batch while
+ * shrinking takes effect immediately, so a slow batch (for example one
+ * hitting hot nodes) is followed by a smaller one right away. The size is
+ * also capped so the inlined query parameters stay below
+ * {@value #MAX_PAYLOAD_BYTES} bytes.</p>
+ *
+ * <p>Instances are thread-safe.</p>
+ */
+final class AdaptiveBatchSizer {
+
+    /** Batch size used when adaptive sizing is disabled. */
+    static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /** Default lower bound for adaptive batch sizes. */
+    static final int DEFAULT_MIN_BATCH_SIZE = 100;
+
+    /** Default upper bound for adaptive batch sizes. */
+    static final int DEFAULT_MAX_BATCH_SIZE = 50_000;
+
+    /** Upper bound for the estimated parameter payload of one batch. */
+    static final long MAX_PAYLOAD_BYTES = 8L * 1024 * 1024;
+
+    /** Weight of the newest sample in the moving averages. */
+    private static final double SMOOTHING = 0.3;
+
+    /** Maximum growth factor from one batch to the next. */
+    private static final double MAX_GROWTH = 2.0;
+
+    /** The kinds of batch that are sized independently. */
+    enum BatchKind {
+        /** Literal property additions. */
+        LITERAL_ADD("literal_add"),
+        /** Label additions. */
+        TYPE_ADD("type_add"),
+        /** Relationship additions. */
+        RELATIONSHIP_ADD("relationship_add"),
+        /** Literal property deletions. */
+        LITERAL_DELETE("literal_delete"),
+        /** Label deletions. */
+        TYPE_DELETE("type_delete"),
+        /** Relationship deletions. */
+        RELATIONSHIP_DELETE("relationship_delete"),
+        /** Subject-centric node writes, sized in nodes. */
+        NODE_ADD("node_add");
+
+        /** Name used in metrics and snapshots. */
+        private final String label;
+
+        BatchKind(final String label) {
+            this.label = label;
+        }
+
+        /**
+         * Get the name used in metrics and snapshots.
+         *
+         * @return the label
+         */
+        String label() {
+            return label;
+        }
+    }
+
+    /** Adaptive state for one batch kind. */
+    private static final class KindState {
+        /** Size of the next batch. */
+        private int size = DEFAULT_BATCH_SIZE;
+        /** Smoothed latency per triple in nanoseconds (0 = no samples). */
+        private double nanosPerTriple;
+        /** Smoothed payload per triple in bytes (0 = no samples). */
+        private double bytesPerTriple;
+    }
+
+    /** Target latency per batch in nanoseconds (0 = fixed size). */
+    private long targetNanos;
+
+    /** Lower bound for adaptive batch sizes. */
+    private int minBatchSize = DEFAULT_MIN_BATCH_SIZE;
+
+    /** Upper bound for adaptive batch sizes. */
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    /** Per-kind adaptive state. */
+    private final Map<BatchKind, KindState> states =
+        new EnumMap<>(BatchKind.class);
+
+    /**
+     * Create a sizer with adaptive sizing disabled.
+     */
+    AdaptiveBatchSizer() {
+        for (BatchKind kind : BatchKind.values()) {
+            states.put(kind, new KindState());
+        }
+    }
+
+    /**
+     * Set the latency each batch should take. Setting a target resets the
+     * per-kind estimates.
+     *
+     * @param millis the target latency in milliseconds, or 0 to use the
+     *     fixed size {@value #DEFAULT_BATCH_SIZE}
+     */
+    synchronized void setTargetLatencyMillis(final long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException(
+                "Target latency must not be negative: " + millis);
+        }
+        targetNanos = millis * 1_000_000L;
+        reset();
+    }
+
+    /**
+     * Get the latency each batch should take.
+     *
+     * @return the target latency in milliseconds, or 0 if disabled
+     */
+    synchronized long getTargetLatencyMillis() {
+        return targetNanos / 1_000_000L;
+    }
+
+    /**
+     * Set the bounds for adaptive batch sizes.
+     *
+     * @param min the smallest batch size
+     * @param max the largest batch size
+     */
+    synchronized void setBounds(final int min, final int max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException(
+                "Invalid batch size bounds: " + min + ".." + max);
+        }
+        minBatchSize = min;
+        maxBatchSize = max;
+        reset();
+    }
+
+    /**
+     * Get the number of triples to put in the next batch of a kind.
+     *
+     * @param kind the batch kind
+     * @return the batch size
+     */
+    synchronized int batchSize(final BatchKind kind) {
+        return states.get(kind).size;
+    }
+
+    /**
+     * Get the current batch size for every kind.
+     *
+     * @return batch sizes keyed by kind label
+     */
+    synchronized Map<String, Integer> snapshot() {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (Map.Entry<BatchKind, KindState> entry : states.entrySet()) {
+            sizes.put(entry.getKey().label(), entry.getValue().size);
+        }
+        return sizes;
+    }
+
+    /**
+     * Record a completed batch and adjust the next batch size.
+     *
+     * @param kind the batch kind
+     * @param triples number of triples in the batch
+     * @param payloadBytes estimated size of the batch parameters
+     * @param nanos time taken to write the batch
+     */
+    synchronized void record(final BatchKind kind, final int triples,
+            final long payloadBytes, final long nanos) {
+        KindState state = states.get(kind);
+        // Tail batches carry the same fixed overhead as full ones and
+        // would make the per-triple latency look worse than it is
+        if (targetNanos == 0 || triples == 0 || triples < state.size / 2) {
+            return;
+        }
+
+        double latency = (double) nanos / triples;
+        double payload = (double) payloadBytes / triples;
+        state.nanosPerTriple = state.nanosPerTriple == 0
+            ? latency
+            : SMOOTHING * latency + (1 - SMOOTHING) * state.nanosPerTriple;
+        state.bytesPerTriple = state.bytesPerTriple == 0
+            ? payload
+            : SMOOTHING * payload + (1 - SMOOTHING) * state.bytesPerTriple;
+
+        double next = targetNanos / Math.max(state.nanosPerTriple, 1);
+        if (state.bytesPerTriple > 0) {
+            next = Math.min(next, MAX_PAYLOAD_BYTES / state.bytesPerTriple);
+        }
+        next = Math.min(next, state.size * MAX_GROWTH);
+        state.size = (int) Math.max(minBatchSize,
+            Math.min(maxBatchSize, next));
+    }
+
+    /**
+     * Reset every kind to its starting size.
+     */
+    private void reset() {
+        int start = targetNanos == 0
+            ? DEFAULT_BATCH_SIZE
+            : Math.max(minBatchSize, Math.min(maxBatchSize,
+                DEFAULT_BATCH_SIZE));
+        for (KindState state : states.values()) {
+            state.size = start;
+            state.nanosPerTriple = 0;
+            state.bytesPerTriple = 0;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.falkordb.jena;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+
+/**
+ * Pending adds and deletes of a transaction, reduced to their net effect.
+ *
+ * <p>Operations are coalesced as they arrive so that commit only writes
+ * the net delta:</p>
+ * <ul>
+ *   <li>duplicate adds or deletes of the same triple are kept once</li>
+ *   <li>an add followed by a delete of the same triple keeps only the
+ *       delete, and a delete followed by an add keeps only the add</li>
+ *   <li>literal adds for the same subject and predicate keep only the last
+ *       value, because the property can only hold one value anyway</li>
+ * </ul>
+ *
+ * <p>Because commit writes all adds before all deletes, the net result is
+ * the same as applying every operation in order. Instances are not
+ * thread-safe; the transaction handler only uses them from the thread that
+ * owns the transaction.</p>
+ */
+final class CoalescingWriteSet {
+
+    /**
+     * Key for literal adds, which are stored as a single property per
+     * subject and predicate.
+     *
+     * @param subject the triple subject
+     * @param predicate the triple predicate
+     */
+    private record PropertyKey(Node subject, Node predicate) {
+    }
+
+    /** Pending adds, keyed by triple or by {@link PropertyKey}. */
+    private final Map<Object, Triple> adds = new LinkedHashMap<>();
+
+    /** Pending deletes. */
+    private final Set<Triple> deletes = new LinkedHashSet<>();
+
+    /** Property keys whose pending add replaced a different value. */
+    private final Set<PropertyKey> replacedKeys = new HashSet<>();
+
+    /** Estimated heap size of the pending operations. */
+    private long estimatedBytes;
+
+    /** Operations absorbed by coalescing since the set was created. */
+    private long coalescedCount;
+
+    /**
+     * Record an add.
+     *
+     * @param triple the triple to add
+     */
+    void add(final Triple triple) {
+        if (deletes.remove(triple)) {
+            estimatedBytes -= FalkorDBTransactionHandler.estimateSize(triple);
+            coalescedCount++;
+        }
+        Object key = addKey(triple);
+        Triple previous = adds.put(key, triple);
+        if (previous != null) {
+            if (key instanceof PropertyKey propertyKey
+                    && !previous.equals(triple)) {
+                replacedKeys.add(propertyKey);
+            }
+            estimatedBytes -= FalkorDBTransactionHandler.estimateSize(
+                previous);
+            coalescedCount++;
+        }
+        estimatedBytes += FalkorDBTransactionHandler.estimateSize(triple);
+    }
+
+    /**
+     * Record a delete.
+     *
+     * @param triple the triple to delete
+     */
+    void delete(final Triple triple) {
+        Object key = addKey(triple);
+        // If the add replaced an earlier value, keep it: the following
+        // delete then removes the property, as the in-order writes would
+        if (triple.equals(adds.get(key)) && !replacedKeys.contains(key)) {
+            adds.remove(key);
+            estimatedBytes -= FalkorDBTransactionHandler.estimateSize(triple);
+            coalescedCount++;
+        }
+        if (deletes.add(triple)) {
+            estimatedBytes += FalkorDBTransactionHandler.estimateSize(triple);
+        } else {
+            coalescedCount++;
+        }
+    }
+
+    /**
+     * Get the pending adds in the order they were first recorded.
+     *
+     * @return a copy of the pending adds
+     */
+    List<Triple> adds() {
+        return new ArrayList<>(adds.values());
+    }
+
+    /**
+     * Get the pending deletes in the order they were first recorded.
+     *
+     * @return a copy of the pending deletes
+     */
+    List<Triple> deletes() {
+        return new ArrayList<>(deletes);
+    }
+
+    /**
+     * Get the number of pending adds.
+     *
+     * @return the add count
+     */
+    int addCount() {
+        return adds.size();
+    }
+
+    /**
+     * Get the number of pending deletes.
+     *
+     * @return the delete count
+     */
+    int deleteCount() {
+        return deletes.size();
+    }
+
+    /**
+     * Get the total number of pending operations.
+     *
+     * @return the number of pending adds and deletes
+     */
+    int size() {
+        return adds.size() + deletes.size();
+    }
+
+    /**
+     * Get the estimated heap size of the pending operations.
+     *
+     * @return the estimate in bytes
+     */
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Get the number of operations that were dropped or merged.
+     *
+     * @return the coalesced operation count
+     */
+    long coalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Drop all pending operations.
+     */
+    void clear() {
+        adds.clear();
+        deletes.clear();
+        replacedKeys.clear();
+        estimatedBytes = 0;
+    }
+
+    /**
+     * Key under which an add is stored.
+     */
+    private static Object addKey(final Triple triple) {
+        if (triple.getObject().isLiteral()) {
+            return new PropertyKey(triple.getSubject(),
+                triple.getPredicate());
+        }
+        return triple;
+    }
+}
@@ -0,0 +1,258 @@
+package com.falkordb.jena;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.apache.jena.vocabulary.RDF;
+
+/**
+ * Registry of the Cypher statements that write and check single triples
+ * and batches of triples of one predicate or class.
+ *
+ * <p>The text of such a statement only depends on its kind and on the
+ * predicate or class URI, which is quoted into the query as a property
+ * name, relationship type or label. The registry builds each text once,
+ * with the identifier sanitised and the statistics update appended, and
+ * hands out the same string afterwards. Writes no longer format, escape
+ * and concatenate their query on every call, and FalkorDB sees identical
+ * text for identical statements, so its execution-plan cache keeps
+ * hitting.</p>
+ *
+ * <p>The registry is shared and thread-safe. It holds at most
+ * {@link #MAX_TEMPLATES} statements; when full, the least recently used
+ * statement is dropped, so the statements in use stay cached.</p>
+ */
+final class CypherTemplates {
+
+    /** Maximum number of statements kept. */
+    static final int MAX_TEMPLATES = 10_000;
+
+    /** Statistics key of the rdf:type predicate. */
+    private static final String TYPE_PREDICATE_KEY =
+        FalkorDBStatistics.predicateKey(RDF.type.getURI());
+
+    /**
+     * Kinds of statements, each building its text from a predicate or
+     * class URI.
+     */
+    enum Kind {
+        /** Set a literal property of one subject. */
+        LITERAL_ADD(p -> """
+            MERGE (s:Resource {uri: $subjectUri}) \
+            WITH s, CASE WHEN s.`%1$s` IS NULL THEN 1 ELSE 0 END AS added \
+            SET s.`%1$s` = $objectValue""".formatted(id(p))
+            // Replacing a value leaves the number of triples as is
+            + FalkorDBStatistics.updateClause("sum(added)", true,
+                FalkorDBStatistics.predicateKey(p))),
+
+        /** Set a literal property and its datatype on one subject. */
+        TYPED_LITERAL_ADD(p -> """
+            MERGE (s:Resource {uri: $subjectUri}) \
+            WITH s, CASE WHEN s.`%1$s` IS NULL THEN 1 ELSE 0 END AS added \
+            SET s.`%1$s` = $objectValue, \
+            s.`%1$s__datatype` = $datatypeValue""".formatted(id(p))
+            + FalkorDBStatistics.updateClause("sum(added)", true,
+                FalkorDBStatistics.predicateKey(p))),
+
+        /** Add a class label to one subject. */
+        TYPE_ADD(t -> """
+            MERGE (s:Resource {uri: $subjectUri}) \
+            WITH s, CASE WHEN $type IN labels(s) THEN 0 ELSE 1 END AS added \
+            SET s:`%s`""".formatted(id(t))
+            + FalkorDBStatistics.updateClause("sum(added)", true,
+                TYPE_PREDICATE_KEY, FalkorDBStatistics.typeKey(t))),
+
+        /** Add a relationship between two resources. */
+        RELATIONSHIP_ADD(p -> """
+            MERGE (s:Resource {uri: $subjectUri}) \
+            MERGE (o:Resource {uri: $objectUri}) \
+            WITH s, o \
+            OPTIONAL MATCH (s)-[e:`%1$s`]->(o) \
+            WITH s, o, count(e) AS existing \
+            MERGE (s)-[r:`%1$s`]->(o)""".formatted(id(p))
+            + FalkorDBStatistics.updateClause(
+                "sum(CASE WHEN existing = 0 THEN 1 ELSE 0 END)", true,
+                FalkorDBStatistics.predicateKey(p))),
+
+        /** Remove a literal property and its datatype from one subject. */
+        LITERAL_DELETE(p -> """
+            MATCH (s:Resource {uri: $subjectUri}) \
+            WHERE s.`%1$s` IS NOT NULL \
+            REMOVE s.`%1$s`, s.`%1$s__datatype`""".formatted(id(p))
+            + FalkorDBStatistics.updateClause("count(*)", false,
+                FalkorDBStatistics.predicateKey(p))),
+
+        /** Remove a class label from one subject. */
+        TYPE_DELETE(t -> """
+            MATCH (s:Resource:`%1$s` {uri: $subjectUri}) \
+            REMOVE s:`%1$s`""".formatted(id(t))
+            + FalkorDBStatistics.updateClause("count(*)", false,
+                TYPE_PREDICATE_KEY, FalkorDBStatistics.typeKey(t))),
+
+        /** Remove a relationship between two resources. */
+        RELATIONSHIP_DELETE(p -> """
+            MATCH (s:Resource {uri: $subjectUri})-[r:`%s`]->
+            (o:Resource {uri: $objectUri}) DELETE r""".formatted(id(p))
+            + FalkorDBStatistics.updateClause("count(*)", false,
+                FalkorDBStatistics.predicateKey(p))),
+
+        /** Check a literal property value of one subject. */
+        LITERAL_CONTAINS(p -> """
+            MATCH (s:Resource {uri: $subjectUri})
+            WHERE s.`%s` = $objectValue
+            RETURN 1 LIMIT 1""".formatted(id(p))),
+
+        /** Check a class label of one subject. */
+        TYPE_CONTAINS(t -> """
+            MATCH (s:Resource:`%s` {uri: $subjectUri})
+            RETURN 1 LIMIT 1""".formatted(id(t))),
+
+        /** Check a relationship between two resources. */
+        RELATIONSHIP_CONTAINS(p -> """
+            MATCH (s:Resource {uri: $subjectUri})-[:`%s`]->\
+            (o:Resource {uri: $objectUri})
+            RETURN 1 LIMIT 1""".formatted(id(p))),
+
+        /** Set a literal property on a batch of subjects. */
+        BATCH_LITERAL_ADD(p -> batchLiteralAdd(p, "")),
+
+        /** Set a literal property and its datatype on a batch. */
+        BATCH_TYPED_LITERAL_ADD(p -> batchLiteralAdd(p,
+            ", s.`%s__datatype` = $datatype".formatted(id(p)))),
+
+        /** Add a class label to a batch of subjects. */
+        BATCH_TYPE_ADD(t -> """
+            UNWIND $subjects AS uri
+            MERGE (s:Resource {uri: uri})
+            WITH s,
+            CASE WHEN $type IN labels(s) THEN 0 ELSE 1 END AS added
+            SET s:`%s`""".formatted(id(t))
+            + FalkorDBStatistics.updateClause("sum(added)", true,
+                TYPE_PREDICATE_KEY, FalkorDBStatistics.typeKey(t))),
+
+        /** Add a batch of relationships. */
+        BATCH_RELATIONSHIP_ADD(p -> """
+            UNWIND range(0, size($subjects)-1) AS i
+            WITH $subjects[i] AS subj, $objects[i] AS obj
+            MERGE (s:Resource {uri: subj})
+            MERGE (o:Resource {uri: obj})
+            WITH s, o
+            OPTIONAL MATCH (s)-[e:`%1$s`]->(o)
+            WITH s, o, count(e) AS existing
+            MERGE (s)-[r:`%1$s`]->(o)""".formatted(id(p))
+            + FalkorDBStatistics.updateClause(
+                "sum(CASE WHEN existing = 0 THEN 1 ELSE 0 END)", true,
+                FalkorDBStatistics.predicateKey(p))),
+
+        /** Remove matching literal properties from a batch of subjects. */
+        BATCH_LITERAL_DELETE(p -> """
+            UNWIND range(0, size($subjects)-1) AS i
+            WITH $subjects[i] AS subj, $values[i] AS val
+            MATCH (s:Resource {uri: subj})
+            WHERE s.`%1$s` = val
+            REMOVE s.`%1$s`, s.`%1$s__datatype`""".formatted(id(p))
+            + FalkorDBStatistics.updateClause("count(*)", false,
+                FalkorDBStatistics.predicateKey(p))),
+
+        /** Remove a class label from a batch of subjects. */
+        BATCH_TYPE_DELETE(t -> """
+            UNWIND $subjects AS uri
+            MATCH (s:Resource:`%1$s` {uri: uri})
+            REMOVE s:`%1$s`""".formatted(id(t))
+            + FalkorDBStatistics.updateClause("count(*)", false,
+                TYPE_PREDICATE_KEY, FalkorDBStatistics.typeKey(t))),
+
+        /** Remove a batch of relationships. */
+        BATCH_RELATIONSHIP_DELETE(p -> """
+            UNWIND range(0, size($subjects)-1) AS i
+            WITH $subjects[i] AS subj, $objects[i] AS obj
+            MATCH (s:Resource {uri: subj})-[r:`%s`]->
+            (o:Resource {uri: obj})
+            DELETE r""".formatted(id(p))
+            + FalkorDBStatistics.updateClause("count(*)", false,
+                FalkorDBStatistics.predicateKey(p)));
+
+        /** Builds the text from the predicate or class URI. */
+        private final Function<String, String> builder;
+
+        Kind(final Function<String, String> textBuilder) {
+            this.builder = textBuilder;
+        }
+    }
+
+    /**
+     * Registry key.
+     *
+     * @param kind the kind of statement
+     * @param uri the predicate or class URI
+     */
+    private record Key(Kind kind, String uri) {
+    }
+
+    /** Statements built so far, in access order. */
+    private static final Map<Key, String> TEMPLATES =
+        Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    final Map.Entry<Key, String> eldest) {
+                return size() > MAX_TEMPLATES;
+            }
+        });
+
+    private CypherTemplates() {
+        // Utility class
+    }
+
+    /**
+     * Get the text of a statement, building it on first use.
+     *
+     * @param kind the kind of statement
+     * @param uri the predicate or class URI
+     * @return the Cypher text
+     */
+    static String get(final Kind kind, final String uri) {
+        Key key = new Key(kind, uri);
+        String cypher = TEMPLATES.get(key);
+        if (cypher != null) {
+            return cypher;
+        }
+        // Built outside the lock; a concurrent build of the same text wins
+        cypher = kind.builder.apply(uri);
+        String previous = TEMPLATES.putIfAbsent(key, cypher);
+        return previous != null ? previous : cypher;
+    }
+
+    /**
+     * Get the number of statements kept.
+     *
+     * @return the size of the registry
+     */
+    static int size() {
+        return TEMPLATES.size();
+    }
+
+    /**
+     * Quote a URI as a Cypher identifier.
+     */
+    private static String id(final String uri) {
+        return FalkorDBBatchWriter.sanitizeCypherIdentifier(uri);
+    }
+
+    /**
+     * Build a batched literal add, with extra assignments after the value.
+     */
+    private static String batchLiteralAdd(final String predicate,
+            final String extra) {
+        return """
+            UNWIND range(0, size($subjects)-1) AS i
+            WITH $subjects[i] AS subj, $values[i] AS val
+            MERGE (s:Resource {uri: subj})
+            WITH s, val,
+            CASE WHEN s.`%1$s` IS NULL THEN 1 ELSE 0 END AS added
+            SET s.`%1$s` = val""".formatted(id(predicate)) + extra
+            // Replacing a value leaves the number of triples as is
+            + FalkorDBStatistics.updateClause("sum(added)", true,
+                FalkorDBStatistics.predicateKey(predicate));
+    }
+}
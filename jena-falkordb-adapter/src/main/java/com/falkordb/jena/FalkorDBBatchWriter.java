@@ -0,0 +1,1287 @@
+package com.falkordb.jena;
+
+import com.falkordb.GraphContext;
+import com.falkordb.GraphContextGenerator;
+import com.falkordb.GraphPipeline;
+import com.falkordb.GraphTransaction;
+import com.falkordb.ResultSet;
+import com.falkordb.jena.tracing.TracedGraph;
+import com.falkordb.jena.tracing.TracingUtil;
+import com.falkordb.jena.AdaptiveBatchSizer.BatchKind;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongGauge;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.vocabulary.RDF;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Response;
+
+/**
+ * Writes groups of triples to FalkorDB using batched Cypher UNWIND queries.
+ *
+ * <p>Triples are split into three kinds, each stored differently in the
+ * property graph:</p>
+ * <ul>
+ *   <li>literal objects become properties on the subject node</li>
+ *   <li>{@code rdf:type} triples become labels on the subject node</li>
+ *   <li>resource objects become relationships between nodes</li>
+ * </ul>
+ *
+ * <p>Each kind is grouped by predicate (or type) and sent in batches whose
+ * size is chosen by an {@link AdaptiveBatchSizer}. The writer is shared by
+ * {@link FalkorDBTransactionHandler}, which flushes its buffers through it
+ * on commit, and {@link FalkorDBBulkLoader}, which flushes while still
+ * parsing.</p>
+ *
+ * <p>With the {@link FalkorDBWriteStrategy#SUBJECT_CENTRIC} strategy,
+ * literal and type triples are instead grouped by subject, and all
+ * properties and labels of a node are set after a single MERGE.</p>
+ *
+ * <p>With a parallelism greater than one, the batches for different
+ * predicates and types are sent concurrently over the driver's connection
+ * pool. All batches of one predicate or type stay on a single task so that
+ * they are applied in order, and relationship batches only start once all
+ * literal and type batches have completed.</p>
+ *
+ * <p>Callers wrap each flush in {@link #pipelined(Runnable)}. With a
+ * {@link FalkorDBPipelineMode} other than {@code OFF}, the batch queries of
+ * the flush are then sent over a single connection without waiting for
+ * each reply, optionally inside {@code MULTI}/{@code EXEC}.</p>
+ */
+final class FalkorDBBatchWriter {
+
+    /** Logger instance. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(
+        FalkorDBBatchWriter.class);
+
+    /** Attribute key for operation type. */
+    private static final AttributeKey<String> ATTR_OPERATION =
+        AttributeKey.stringKey("falkordb.operation");
+
+    /** Attribute key for batch size. */
+    private static final AttributeKey<Long> ATTR_BATCH_SIZE =
+        AttributeKey.longKey("falkordb.batch_size");
+
+    /** Attribute key for graph name. */
+    private static final AttributeKey<String> ATTR_GRAPH_NAME =
+        AttributeKey.stringKey("falkordb.graph_name");
+
+    /** Attribute key for pipeline mode. */
+    private static final AttributeKey<String> ATTR_PIPELINE_MODE =
+        AttributeKey.stringKey("falkordb.pipeline_mode");
+
+    /** Attribute key for the number of pipelined queries. */
+    private static final AttributeKey<Long> ATTR_COMMAND_COUNT =
+        AttributeKey.longKey("falkordb.command_count");
+
+    /** Attribute key for batch kind. */
+    private static final AttributeKey<String> ATTR_BATCH_KIND =
+        AttributeKey.stringKey("falkordb.batch_kind");
+
+    /** The FalkorDB graph instance. */
+    private final TracedGraph graph;
+
+    /** Tracer for OpenTelemetry. */
+    private final Tracer tracer;
+
+    /** Number of batch groups flushed concurrently (1 = sequential). */
+    private int parallelism = 1;
+
+    /** Executor for parallel flushes, created on first use. */
+    private ExecutorService executor;
+
+    /** How literal and type triples are grouped into queries. */
+    private volatile FalkorDBWriteStrategy writeStrategy =
+        FalkorDBWriteStrategy.PER_PREDICATE;
+
+    /** How the batch queries of one flush are sent. */
+    private volatile FalkorDBPipelineMode pipelineMode =
+        FalkorDBPipelineMode.OFF;
+
+    /** Pipelined flush running on the current thread, if any. */
+    private final ThreadLocal<Pipeline> currentPipeline = new ThreadLocal<>();
+
+    /** Chooses the number of triples in each batch. */
+    private final AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer();
+
+    /** Gauge reporting the current batch size of each kind. */
+    private final ObservableLongGauge batchSizeGauge;
+
+    /**
+     * Create a batch writer for the given graph.
+     *
+     * @param graph the traced graph instance to write to
+     */
+    FalkorDBBatchWriter(final TracedGraph graph) {
+        this.graph = graph;
+        this.tracer = TracingUtil.getTracer(TracingUtil.SCOPE_FALKORDB_GRAPH);
+
+        Meter meter = TracingUtil.getMeter(TracingUtil.SCOPE_FALKORDB_GRAPH);
+        this.batchSizeGauge = meter.gaugeBuilder("falkordb.batch.size")
+            .setDescription("Current number of triples per UNWIND batch")
+            .ofLongs()
+            .buildWithCallback(measurement -> {
+                for (BatchKind kind : BatchKind.values()) {
+                    measurement.record(batchSizer.batchSize(kind),
+                        Attributes.of(
+                            ATTR_GRAPH_NAME, graph.getGraphName(),
+                            ATTR_BATCH_KIND, kind.label()));
+                }
+            });
+    }
+
+    /**
+     * Get the batch sizer used by this writer.
+     *
+     * @return the batch sizer
+     */
+    AdaptiveBatchSizer getBatchSizer() {
+        return batchSizer;
+    }
+
+    /**
+     * Set how literal and type triples are grouped into queries.
+     *
+     * @param strategy the write strategy
+     */
+    void setWriteStrategy(final FalkorDBWriteStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Write strategy is null");
+        }
+        this.writeStrategy = strategy;
+    }
+
+    /**
+     * Get how literal and type triples are grouped into queries.
+     *
+     * @return the write strategy
+     */
+    FalkorDBWriteStrategy getWriteStrategy() {
+        return writeStrategy;
+    }
+
+    /**
+     * Set how the batch queries of one flush are sent.
+     *
+     * @param mode the pipeline mode
+     */
+    void setPipelineMode(final FalkorDBPipelineMode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Pipeline mode is null");
+        }
+        this.pipelineMode = mode;
+    }
+
+    /**
+     * Get how the batch queries of one flush are sent.
+     *
+     * @return the pipeline mode
+     */
+    FalkorDBPipelineMode getPipelineMode() {
+        return pipelineMode;
+    }
+
+    /**
+     * Set the number of predicate or type groups flushed concurrently.
+     * Concurrency is also bounded by the size of the driver's connection
+     * pool.
+     *
+     * @param value the degree of parallelism, 1 for sequential flushes
+     */
+    synchronized void setParallelism(final int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException(
+                "Parallelism must be at least 1: " + value);
+        }
+        if (value != parallelism && executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        parallelism = value;
+    }
+
+    /**
+     * Get the number of predicate or type groups flushed concurrently.
+     *
+     * @return the degree of parallelism
+     */
+    synchronized int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Stop the flush threads, if any were started.
+     */
+    synchronized void close() {
+        batchSizeGauge.close();
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Write the given triples, grouping them by kind.
+     *
+     * @param triples the triples to add
+     */
+    void writeAdds(final List<Triple> triples) {
+        // Group triples by type for efficient processing
+        List<Triple> literalTriples = new ArrayList<>();
+        List<Triple> typeTriples = new ArrayList<>();
+        List<Triple> relationshipTriples = new ArrayList<>();
+        partition(distinctAdds(triples), literalTriples, typeTriples,
+            relationshipTriples);
+        boolean parallel = isParallel();
+
+        List<Runnable> nodeTasks = new ArrayList<>();
+        if (writeStrategy == FalkorDBWriteStrategy.SUBJECT_CENTRIC) {
+            for (List<NodeWrite> shape : groupByShape(literalTriples,
+                    typeTriples)) {
+                nodeTasks.add(() -> flushNodeAdds(shape));
+            }
+        } else if (parallel) {
+            for (List<Triple> group : groupBy(literalTriples,
+                    Triple::getPredicate)) {
+                nodeTasks.add(() -> flushLiteralAdds(group));
+            }
+            for (List<Triple> group : groupBy(typeTriples,
+                    Triple::getObject)) {
+                nodeTasks.add(() -> flushTypeAdds(group));
+            }
+        } else {
+            // Execute batch operations for each type
+            if (!literalTriples.isEmpty()) {
+                nodeTasks.add(() -> flushLiteralAdds(literalTriples));
+            }
+            if (!typeTriples.isEmpty()) {
+                nodeTasks.add(() -> flushTypeAdds(typeTriples));
+            }
+        }
+        runTasks(nodeTasks, parallel);
+
+        // Relationships reference nodes created above, so they are only
+        // started once every node-level batch has finished
+        List<Runnable> relationshipTasks = new ArrayList<>();
+        if (parallel) {
+            for (List<Triple> group : groupBy(relationshipTriples,
+                    Triple::getPredicate)) {
+                relationshipTasks.add(() -> flushRelationshipAdds(group));
+            }
+        } else if (!relationshipTriples.isEmpty()) {
+            relationshipTasks.add(
+                () -> flushRelationshipAdds(relationshipTriples));
+        }
+        runTasks(relationshipTasks, parallel);
+    }
+
+    /**
+     * Delete the given triples, grouping them by kind.
+     *
+     * @param triples the triples to delete
+     */
+    void writeDeletes(final List<Triple> triples) {
+        List<Triple> literalTriples = new ArrayList<>();
+        List<Triple> typeTriples = new ArrayList<>();
+        List<Triple> relationshipTriples = new ArrayList<>();
+        partition(new ArrayList<>(new LinkedHashSet<>(triples)),
+            literalTriples, typeTriples, relationshipTriples);
+
+        if (isParallel()) {
+            List<Runnable> tasks = new ArrayList<>();
+            for (List<Triple> group : groupBy(literalTriples,
+                    Triple::getPredicate)) {
+                tasks.add(() -> flushLiteralDeletes(group));
+            }
+            for (List<Triple> group : groupBy(typeTriples,
+                    Triple::getObject)) {
+                tasks.add(() -> flushTypeDeletes(group));
+            }
+            for (List<Triple> group : groupBy(relationshipTriples,
+                    Triple::getPredicate)) {
+                tasks.add(() -> flushRelationshipDeletes(group));
+            }
+            runConcurrently(tasks);
+            return;
+        }
+
+        if (!literalTriples.isEmpty()) {
+            flushLiteralDeletes(literalTriples);
+        }
+        if (!typeTriples.isEmpty()) {
+            flushTypeDeletes(typeTriples);
+        }
+        if (!relationshipTriples.isEmpty()) {
+            flushRelationshipDeletes(relationshipTriples);
+        }
+    }
+
+    /**
+     * Drop repeated triples, and all but the last value of each literal
+     * subject and predicate, as a property holds a single value. A batch
+     * query counts the triples it adds for the statistics, so each one
+     * must appear only once.
+     */
+    private static List<Triple> distinctAdds(final List<Triple> triples) {
+        Map<Object, Triple> distinct = new LinkedHashMap<>();
+        for (Triple triple : triples) {
+            distinct.put(triple.getObject().isLiteral()
+                ? List.of(triple.getSubject(), triple.getPredicate())
+                : triple, triple);
+        }
+        return new ArrayList<>(distinct.values());
+    }
+
+    /**
+     * Split triples into literal, rdf:type and relationship groups.
+     */
+    private static void partition(final List<Triple> triples,
+            final List<Triple> literalTriples,
+            final List<Triple> typeTriples,
+            final List<Triple> relationshipTriples) {
+        for (Triple triple : triples) {
+            if (triple.getObject().isLiteral()) {
+                literalTriples.add(triple);
+            } else if (triple.getPredicate().getURI()
+                    .equals(RDF.type.getURI())) {
+                typeTriples.add(triple);
+            } else {
+                relationshipTriples.add(triple);
+            }
+        }
+    }
+
+    /**
+     * Group triples by the given node, keeping the original order within
+     * each group.
+     */
+    private static List<List<Triple>> groupBy(final List<Triple> triples,
+            final Function<Triple, Node> key) {
+        Map<Node, List<Triple>> groups = new LinkedHashMap<>();
+        for (Triple triple : triples) {
+            groups.computeIfAbsent(key.apply(triple), k -> new ArrayList<>())
+                .add(triple);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Whether batch groups are written concurrently. Pipelined flushes use
+     * a single connection and are always sequential.
+     */
+    private boolean isParallel() {
+        return getParallelism() > 1 && currentPipeline.get() == null;
+    }
+
+    /**
+     * Run the given writes as one flush. Unless pipelining is off, all
+     * batch queries issued by the writes on this thread are sent over one
+     * connection and their replies are checked at the end.
+     *
+     * @param writes the writes to run, e.g. {@link #writeAdds} followed by
+     *     {@link #writeDeletes}
+     */
+    void pipelined(final Runnable writes) {
+        FalkorDBPipelineMode mode = pipelineMode;
+        if (mode == FalkorDBPipelineMode.OFF
+                || currentPipeline.get() != null) {
+            writes.run();
+            return;
+        }
+        if (!(graph.getDelegate() instanceof GraphContextGenerator generator)) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Graph {} does not support pipelining; sending "
+                    + "batches one by one", graph.getDelegate().getClass()
+                        .getName());
+            }
+            writes.run();
+            return;
+        }
+
+        Span span = tracer.spanBuilder("FalkorDBBatchWriter.pipeline")
+            .setSpanKind(SpanKind.CLIENT)
+            .setAttribute(ATTR_OPERATION, "pipeline")
+            .setAttribute(ATTR_GRAPH_NAME, graph.getGraphName())
+            .setAttribute(ATTR_PIPELINE_MODE, mode.name().toLowerCase(
+                Locale.ROOT))
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent();
+                GraphContext context = generator.getContext()) {
+            int commands = mode == FalkorDBPipelineMode.MULTI_EXEC
+                ? runInTransaction(context, writes)
+                : runInPipeline(context, writes);
+            span.setAttribute(ATTR_COMMAND_COUNT, (long) commands);
+            span.setStatus(StatusCode.OK);
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            throw e;
+        } finally {
+            currentPipeline.remove();
+            span.end();
+        }
+    }
+
+    /**
+     * Run the writes in a pipeline and check every reply.
+     *
+     * @return the number of queries sent
+     */
+    private int runInPipeline(final GraphContext context,
+            final Runnable writes) {
+        try (GraphPipeline pipeline = context.pipelined()) {
+            Pipeline queued = new Pipeline(pipeline::query);
+            currentPipeline.set(queued);
+            writes.run();
+            pipeline.sync();
+            return queued.checkReplies();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Run the writes inside MULTI/EXEC and check every reply. If the
+     * writes fail before EXEC, the queued queries are discarded.
+     *
+     * @return the number of queries sent
+     */
+    private int runInTransaction(final GraphContext context,
+            final Runnable writes) {
+        try (GraphTransaction transaction = context.multi()) {
+            Pipeline queued = new Pipeline(transaction::query);
+            currentPipeline.set(queued);
+            writes.run();
+            transaction.exec();
+            return queued.checkReplies();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Send a batch query, or queue it when a pipelined flush is running
+     * on this thread.
+     */
+    private void query(final String cypher, final Map<String, Object> params) {
+        Pipeline queued = currentPipeline.get();
+        if (queued != null) {
+            queued.replies.add(queued.target.apply(cypher, params));
+        } else {
+            graph.query(cypher, params);
+        }
+    }
+
+    /**
+     * Queries queued by a pipelined flush.
+     */
+    private static final class Pipeline {
+        /** Queues a query and returns its pending reply. */
+        private final BiFunction<String, Map<String, Object>,
+            Response<ResultSet>> target;
+        /** Pending replies, in the order the queries were queued. */
+        private final List<Response<ResultSet>> replies = new ArrayList<>();
+
+        Pipeline(final BiFunction<String, Map<String, Object>,
+                Response<ResultSet>> target) {
+            this.target = target;
+        }
+
+        /**
+         * Check all replies after the pipeline has been synced, throwing
+         * the first error with later ones attached as suppressed.
+         *
+         * @return the number of replies
+         */
+        int checkReplies() {
+            RuntimeException failure = null;
+            for (Response<ResultSet> reply : replies) {
+                try {
+                    reply.get();
+                } catch (RuntimeException e) {
+                    failure = addFailure(failure, e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return replies.size();
+        }
+    }
+
+    /**
+     * Run the tasks one after another, or concurrently when parallel.
+     */
+    private void runTasks(final List<Runnable> tasks,
+            final boolean parallel) {
+        if (parallel) {
+            runConcurrently(tasks);
+        } else {
+            tasks.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Run the tasks on the flush executor and wait for all of them. The
+     * current tracing context is propagated so batch spans stay nested
+     * under the caller's span.
+     */
+    private void runConcurrently(final List<Runnable> tasks) {
+        if (tasks.size() <= 1) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+
+        ExecutorService pool = executor();
+        Context context = Context.current();
+        List<Future<?>> futures = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            futures.add(pool.submit(context.wrap(task)));
+        }
+
+        RuntimeException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = addFailure(failure, new IllegalStateException(
+                    "Interrupted while flushing batches", e));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                failure = addFailure(failure,
+                    cause instanceof RuntimeException re
+                        ? re : new IllegalStateException(cause));
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Keep the first failure and attach later ones as suppressed.
+     */
+    private static RuntimeException addFailure(final RuntimeException first,
+            final RuntimeException next) {
+        if (first == null) {
+            return next;
+        }
+        first.addSuppressed(next);
+        return first;
+    }
+
+    /**
+     * Split triples into batches sized by the batch sizer and write each
+     * one, feeding its latency back to the sizer.
+     */
+    private void writeInBatches(final List<Triple> triples,
+            final BatchKind kind, final Consumer<List<Triple>> writer) {
+        writeInBatches(triples, kind, writer,
+            FalkorDBBatchWriter::payloadBytes);
+    }
+
+    /**
+     * Split items into batches sized by the batch sizer and write each
+     * one, feeding its latency and payload size back to the sizer.
+     */
+    private <T> void writeInBatches(final List<T> items,
+            final BatchKind kind, final Consumer<List<T>> writer,
+            final ToLongFunction<List<T>> payload) {
+        int i = 0;
+        while (i < items.size()) {
+            int end = Math.min(i + batchSizer.batchSize(kind), items.size());
+            List<T> batch = items.subList(i, end);
+            long start = System.nanoTime();
+            writer.accept(batch);
+            // A pipelined batch is only queued here, so its latency says
+            // nothing about the database
+            if (currentPipeline.get() == null) {
+                batchSizer.record(kind, batch.size(),
+                    payload.applyAsLong(batch), System.nanoTime() - start);
+            }
+            i = end;
+        }
+    }
+
+    /**
+     * Estimate the size of the query parameters for a batch.
+     */
+    private static long payloadBytes(final List<Triple> batch) {
+        long bytes = 0;
+        for (Triple triple : batch) {
+            bytes += nodeToString(triple.getSubject()).length()
+                + nodeToString(triple.getObject()).length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Get the flush executor, creating it if needed.
+     */
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(parallelism, r -> {
+                Thread thread = new Thread(r,
+                    "falkordb-flush-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    /**
+     * Flush literal property additions using UNWIND.
+     */
+    private void flushLiteralAdds(final List<Triple> triples) {
+        writeInBatches(triples, BatchKind.LITERAL_ADD,
+            this::flushLiteralAddBatch);
+    }
+
+    /**
+     * Flush a batch of literal property additions.
+     */
+    private void flushLiteralAddBatch(final List<Triple> batch) {
+        Span span = tracer.spanBuilder("FalkorDBTransaction.flushLiteralBatch")
+            .setSpanKind(SpanKind.CLIENT)
+            .setAttribute(ATTR_OPERATION, "batch_literal_add")
+            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            // Group by predicate and datatype for efficient property setting
+            // Use parallel lists since FalkorDB doesn't handle List<Map> params
+            Map<List<String>, List<String>> groupSubjects = new HashMap<>();
+            Map<List<String>, List<Object>> groupValues = new HashMap<>();
+
+            for (Triple triple : batch) {
+                String datatype = datatypeOf(triple.getObject());
+                List<String> group = List.of(
+                    nodeToString(triple.getPredicate()),
+                    datatype != null ? datatype : "");
+                groupSubjects.computeIfAbsent(group, k -> new ArrayList<>())
+                    .add(nodeToString(triple.getSubject()));
+                groupValues.computeIfAbsent(group, k -> new ArrayList<>())
+                    .add(literalValue(triple.getObject()));
+            }
+
+            // Execute batch for each predicate and datatype
+            for (List<String> group : groupSubjects.keySet()) {
+                String predicate = group.get(0);
+                String datatype = group.get(1);
+
+                Map<String, Object> params = new HashMap<>();
+                params.put("subjects", groupSubjects.get(group));
+                params.put("values", groupValues.get(group));
+
+                // Use UNWIND with range to iterate parallel arrays
+                String cypher;
+                if (datatype.isEmpty()) {
+                    cypher = CypherTemplates.get(
+                        CypherTemplates.Kind.BATCH_LITERAL_ADD, predicate);
+                } else {
+                    // Keep the datatype, as single-triple adds do
+                    params.put("datatype", datatype);
+                    cypher = CypherTemplates.get(
+                        CypherTemplates.Kind.BATCH_TYPED_LITERAL_ADD,
+                        predicate);
+                }
+
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
+                }
+                query(cypher, params);
+            }
+
+            span.setStatus(StatusCode.OK);
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Literal properties and labels to write to one subject node.
+     */
+    private static final class NodeWrite {
+        /** Subject URI (or blank node label). */
+        private final String subject;
+        /** Literal objects keyed by predicate URI, sorted by predicate. */
+        private final Map<String, Node> properties = new TreeMap<>();
+        /** Type URIs to set as labels, sorted. */
+        private final Set<String> labels = new TreeSet<>();
+
+        NodeWrite(final String subject) {
+            this.subject = subject;
+        }
+
+        /**
+         * Nodes with the same shape are written by the same query: the
+         * same predicates, the same of them with a datatype companion,
+         * and the same labels.
+         */
+        List<Object> shape() {
+            List<String> datatyped = new ArrayList<>();
+            for (Map.Entry<String, Node> entry : properties.entrySet()) {
+                if (datatypeOf(entry.getValue()) != null) {
+                    datatyped.add(entry.getKey());
+                }
+            }
+            return List.of(List.copyOf(properties.keySet()), datatyped,
+                List.copyOf(labels));
+        }
+    }
+
+    /**
+     * Group literal and type triples by subject, then group the subjects
+     * by shape. For several values of one subject and predicate the last
+     * one wins, as with property-by-property writes.
+     */
+    private static List<List<NodeWrite>> groupByShape(
+            final List<Triple> literalTriples,
+            final List<Triple> typeTriples) {
+        Map<Node, NodeWrite> nodes = new LinkedHashMap<>();
+        for (Triple triple : literalTriples) {
+            nodes.computeIfAbsent(triple.getSubject(),
+                    k -> new NodeWrite(nodeToString(k)))
+                .properties.put(nodeToString(triple.getPredicate()),
+                    triple.getObject());
+        }
+        for (Triple triple : typeTriples) {
+            nodes.computeIfAbsent(triple.getSubject(),
+                    k -> new NodeWrite(nodeToString(k)))
+                .labels.add(nodeToString(triple.getObject()));
+        }
+
+        Map<List<Object>, List<NodeWrite>> shapes = new LinkedHashMap<>();
+        for (NodeWrite node : nodes.values()) {
+            shapes.computeIfAbsent(node.shape(), k -> new ArrayList<>())
+                .add(node);
+        }
+        return new ArrayList<>(shapes.values());
+    }
+
+    /**
+     * Flush nodes of one shape using UNWIND.
+     */
+    private void flushNodeAdds(final List<NodeWrite> nodes) {
+        writeInBatches(nodes, BatchKind.NODE_ADD, this::flushNodeAddBatch,
+            batch -> {
+                long bytes = 0;
+                for (NodeWrite node : batch) {
+                    bytes += node.subject.length();
+                    for (Node value : node.properties.values()) {
+                        bytes += value.getLiteralLexicalForm().length();
+                    }
+                }
+                return bytes;
+            });
+    }
+
+    /**
+     * Flush a batch of nodes that share one shape, setting all of their
+     * properties, datatype companions and labels after a single MERGE.
+     */
+    private void flushNodeAddBatch(final List<NodeWrite> batch) {
+        Span span = tracer.spanBuilder("FalkorDBTransaction.flushNodeBatch")
+            .setSpanKind(SpanKind.CLIENT)
+            .setAttribute(ATTR_OPERATION, "batch_node_add")
+            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            NodeWrite first = batch.get(0);
+            List<String> subjects = new ArrayList<>(batch.size());
+            for (NodeWrite node : batch) {
+                subjects.add(node.subject);
+            }
+            Map<String, Object> params = new HashMap<>();
+            params.put("subjects", subjects);
+
+            // One value list (and datatype list) per predicate, indexed in
+            // parallel since FalkorDB doesn't handle List<Map> params
+            List<String> assignments = new ArrayList<>();
+            // Per predicate and label, whether a node gains a triple
+            List<String> added = new ArrayList<>();
+            Map<String, List<String>> counts = new LinkedHashMap<>();
+            int index = 0;
+            for (Map.Entry<String, Node> entry
+                    : first.properties.entrySet()) {
+                String predicate = entry.getKey();
+                List<Object> values = new ArrayList<>(batch.size());
+                List<String> datatypes = new ArrayList<>(batch.size());
+                for (NodeWrite node : batch) {
+                    Node literal = node.properties.get(predicate);
+                    values.add(literalValue(literal));
+                    datatypes.add(datatypeOf(literal));
+                }
+
+                // Sanitize predicate to prevent Cypher injection
+                String sanitizedPredicate = sanitizeCypherIdentifier(predicate);
+                params.put("v" + index, values);
+                assignments.add("s.`%s` = $v%d[i]".formatted(
+                    sanitizedPredicate, index));
+                added.add("CASE WHEN s.`%s` IS NULL THEN 1 ELSE 0 END AS n%d"
+                    .formatted(sanitizedPredicate, index));
+                counts.put("sum(n%d)".formatted(index),
+                    List.of(FalkorDBStatistics.predicateKey(predicate)));
+                if (datatypeOf(entry.getValue()) != null) {
+                    params.put("d" + index, datatypes);
+                    assignments.add("s.`%s__datatype` = $d%d[i]".formatted(
+                        sanitizedPredicate, index));
+                }
+                index++;
+            }
+            int labelIndex = 0;
+            for (String label : first.labels) {
+                assignments.add("s:`%s`".formatted(
+                    sanitizeCypherIdentifier(label)));
+                params.put("l" + labelIndex, label);
+                added.add("CASE WHEN $l%d IN labels(s) THEN 0 ELSE 1 END AS l%d"
+                    .formatted(labelIndex, labelIndex));
+                counts.put("sum(l%d)".formatted(labelIndex), List.of(
+                    FalkorDBStatistics.predicateKey(RDF.type.getURI()),
+                    FalkorDBStatistics.typeKey(label)));
+                labelIndex++;
+            }
+
+            String cypher = """
+                UNWIND range(0, size($subjects)-1) AS i
+                WITH i, $subjects[i] AS subj
+                MERGE (s:Resource {uri: subj})""";
+            if (!assignments.isEmpty()) {
+                cypher += "\nWITH i, s, " + String.join(", ", added)
+                    + "\nSET " + String.join(", ", assignments)
+                    + FalkorDBStatistics.updateClause(counts, true);
+            }
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
+            }
+            query(cypher, params);
+
+            span.setStatus(StatusCode.OK);
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Flush rdf:type additions using UNWIND.
+     */
+    private void flushTypeAdds(final List<Triple> triples) {
+        writeInBatches(triples, BatchKind.TYPE_ADD,
+            this::flushTypeAddBatch);
+    }
+
+    /**
+     * Flush a batch of rdf:type additions.
+     */
+    private void flushTypeAddBatch(final List<Triple> batch) {
+        Span span = tracer.spanBuilder("FalkorDBTransaction.flushTypeBatch")
+            .setSpanKind(SpanKind.CLIENT)
+            .setAttribute(ATTR_OPERATION, "batch_type_add")
+            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            // Group by type for efficient label setting
+            Map<String, List<String>> typeGroups = new HashMap<>();
+
+            for (Triple triple : batch) {
+                String type = nodeToString(triple.getObject());
+                typeGroups.computeIfAbsent(type, k -> new ArrayList<>());
+                typeGroups.get(type).add(nodeToString(triple.getSubject()));
+            }
+
+            // Execute batch for each type
+            for (Map.Entry<String, List<String>> entry
+                    : typeGroups.entrySet()) {
+                String type = entry.getKey();
+                List<String> subjects = entry.getValue();
+
+                Map<String, Object> params = new HashMap<>();
+                params.put("subjects", subjects);
+                params.put("type", type);
+
+                // Use UNWIND with dynamic label
+                String cypher = CypherTemplates.get(
+                    CypherTemplates.Kind.BATCH_TYPE_ADD, type);
+
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
+                }
+                query(cypher, params);
+            }
+
+            span.setStatus(StatusCode.OK);
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Flush relationship additions using UNWIND.
+     */
+    private void flushRelationshipAdds(final List<Triple> triples) {
+        writeInBatches(triples, BatchKind.RELATIONSHIP_ADD,
+            this::flushRelationshipAddBatch);
+    }
+
+    /**
+     * Flush a batch of relationship additions.
+     */
+    private void flushRelationshipAddBatch(final List<Triple> batch) {
+        Span span = tracer.spanBuilder(
+                "FalkorDBTransaction.flushRelationshipBatch")
+            .setSpanKind(SpanKind.CLIENT)
+            .setAttribute(ATTR_OPERATION, "batch_relationship_add")
+            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            // Group by predicate for efficient relationship creation
+            // Use parallel lists since FalkorDB doesn't handle List<Map> params
+            Map<String, List<String>> predicateSubjects = new HashMap<>();
+            Map<String, List<String>> predicateObjects = new HashMap<>();
+
+            for (Triple triple : batch) {
+                String predicate = nodeToString(triple.getPredicate());
+                predicateSubjects.computeIfAbsent(predicate,
+                    k -> new ArrayList<>());
+                predicateObjects.computeIfAbsent(predicate,
+                    k -> new ArrayList<>());
+
+                predicateSubjects.get(predicate).add(
+                    nodeToString(triple.getSubject()));
+                predicateObjects.get(predicate).add(
+                    nodeToString(triple.getObject()));
+            }
+
+            // Execute batch for each predicate
+            for (String predicate : predicateSubjects.keySet()) {
+                List<String> subjects = predicateSubjects.get(predicate);
+                List<String> objects = predicateObjects.get(predicate);
+
+                Map<String, Object> params = new HashMap<>();
+                params.put("subjects", subjects);
+                params.put("objects", objects);
+
+                // Use UNWIND with range to iterate parallel arrays
+                String cypher = CypherTemplates.get(
+                    CypherTemplates.Kind.BATCH_RELATIONSHIP_ADD, predicate);
+
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
+                }
+                query(cypher, params);
+            }
+
+            span.setStatus(StatusCode.OK);
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Flush literal property deletions using UNWIND.
+     */
+    private void flushLiteralDeletes(final List<Triple> triples) {
+        writeInBatches(triples, BatchKind.LITERAL_DELETE,
+            this::flushLiteralDeleteBatch);
+    }
+
+    /**
+     * Flush a batch of literal property deletions.
+     */
+    private void flushLiteralDeleteBatch(final List<Triple> batch) {
+        Span span = tracer.spanBuilder(
+                "FalkorDBTransaction.flushLiteralDeleteBatch")
+            .setSpanKind(SpanKind.CLIENT)
+            .setAttribute(ATTR_OPERATION, "batch_literal_delete")
+            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            // Group by predicate, tracking subjects and values
+            // Use parallel lists since FalkorDB doesn't handle List<Map> params
+            Map<String, List<String>> predicateSubjects = new HashMap<>();
+            Map<String, List<Object>> predicateValues = new HashMap<>();
+
+            for (Triple triple : batch) {
+                String predicate = nodeToString(triple.getPredicate());
+                predicateSubjects.computeIfAbsent(predicate,
+                    k -> new ArrayList<>());
+                predicateValues.computeIfAbsent(predicate,
+                    k -> new ArrayList<>());
+
+                predicateSubjects.get(predicate).add(
+                    nodeToString(triple.getSubject()));
+                
+                // Use typed value for comparison, not lexical form
+                predicateValues.get(predicate).add(
+                    literalValue(triple.getObject()));
+            }
+
+            // Execute batch for each predicate
+            for (String predicate : predicateSubjects.keySet()) {
+                List<String> subjects = predicateSubjects.get(predicate);
+                List<Object> values = predicateValues.get(predicate);
+
+                Map<String, Object> params = new HashMap<>();
+                params.put("subjects", subjects);
+                params.put("values", values);
+
+                // Use UNWIND with range to iterate parallel arrays
+                // Only remove property if value matches exactly
+                String cypher = CypherTemplates.get(
+                    CypherTemplates.Kind.BATCH_LITERAL_DELETE, predicate);
+
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
+                }
+                query(cypher, params);
+            }
+
+            span.setStatus(StatusCode.OK);
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Flush rdf:type deletions using UNWIND.
+     */
+    private void flushTypeDeletes(final List<Triple> triples) {
+        writeInBatches(triples, BatchKind.TYPE_DELETE,
+            this::flushTypeDeleteBatch);
+    }
+
+    /**
+     * Flush a batch of rdf:type deletions.
+     */
+    private void flushTypeDeleteBatch(final List<Triple> batch) {
+        Span span = tracer.spanBuilder(
+                "FalkorDBTransaction.flushTypeDeleteBatch")
+            .setSpanKind(SpanKind.CLIENT)
+            .setAttribute(ATTR_OPERATION, "batch_type_delete")
+            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            // Group by type
+            Map<String, List<String>> typeGroups = new HashMap<>();
+
+            for (Triple triple : batch) {
+                String type = nodeToString(triple.getObject());
+                typeGroups.computeIfAbsent(type, k -> new ArrayList<>());
+                typeGroups.get(type).add(nodeToString(triple.getSubject()));
+            }
+
+            // Execute batch for each type
+            for (Map.Entry<String, List<String>> entry
+                    : typeGroups.entrySet()) {
+                String type = entry.getKey();
+                List<String> subjects = entry.getValue();
+
+                Map<String, Object> params = new HashMap<>();
+                params.put("subjects", subjects);
+
+                // Use UNWIND for batch label removal
+                String cypher = CypherTemplates.get(
+                    CypherTemplates.Kind.BATCH_TYPE_DELETE, type);
+
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
+                }
+                query(cypher, params);
+            }
+
+            span.setStatus(StatusCode.OK);
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Flush relationship deletions using UNWIND.
+     */
+    private void flushRelationshipDeletes(final List<Triple> triples) {
+        writeInBatches(triples, BatchKind.RELATIONSHIP_DELETE,
+            this::flushRelationshipDeleteBatch);
+    }
+
+    /**
+     * Flush a batch of relationship deletions.
+     */
+    private void flushRelationshipDeleteBatch(final List<Triple> batch) {
+        Span span = tracer.spanBuilder(
+                "FalkorDBTransaction.flushRelationshipDeleteBatch")
+            .setSpanKind(SpanKind.CLIENT)
+            .setAttribute(ATTR_OPERATION, "batch_relationship_delete")
+            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            // Group by predicate
+            // Use parallel lists since FalkorDB doesn't handle List<Map> params
+            Map<String, List<String>> predicateSubjects = new HashMap<>();
+            Map<String, List<String>> predicateObjects = new HashMap<>();
+
+            for (Triple triple : batch) {
+                String predicate = nodeToString(triple.getPredicate());
+                predicateSubjects.computeIfAbsent(predicate,
+                    k -> new ArrayList<>());
+                predicateObjects.computeIfAbsent(predicate,
+                    k -> new ArrayList<>());
+
+                predicateSubjects.get(predicate).add(
+                    nodeToString(triple.getSubject()));
+                predicateObjects.get(predicate).add(
+                    nodeToString(triple.getObject()));
+            }
+
+            // Execute batch for each predicate
+            for (String predicate : predicateSubjects.keySet()) {
+                List<String> subjects = predicateSubjects.get(predicate);
+                List<String> objects = predicateObjects.get(predicate);
+
+                Map<String, Object> params = new HashMap<>();
+                params.put("subjects", subjects);
+                params.put("objects", objects);
+
+                // Use UNWIND with range to iterate parallel arrays
+                String cypher = CypherTemplates.get(
+                    CypherTemplates.Kind.BATCH_RELATIONSHIP_DELETE, predicate);
+
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
+                }
+                query(cypher, params);
+            }
+
+            span.setStatus(StatusCode.OK);
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Sanitize a string for use as a Cypher identifier (label, relationship
+     * type, or property name).
+     *
+     * <p>This method escapes backticks and other special characters to
+     * prevent Cypher injection attacks when the value is used in backtick-
+     * quoted identifiers.</p>
+     *
+     * @param value the value to sanitize
+     * @return the sanitized value safe for use in Cypher identifiers
+     */
+    static String sanitizeCypherIdentifier(final String value) {
+        if (value == null) {
+            return "";
+        }
+        // Escape backticks by doubling them (`` -> ````)
+        // Also remove any null characters which could cause issues
+        return value.replace("`", "``").replace("\0", "");
+    }
+
+    /**
+     * Get the value stored for a literal: numbers and booleans keep their
+     * type, everything else is stored as its lexical form.
+     */
+    static Object literalValue(final Node literal) {
+        Object value = literal.getLiteralValue();
+        if (value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        return literal.getLiteralLexicalForm();
+    }
+
+    /**
+     * Get the datatype URI stored in the {@code __datatype} companion
+     * property, or null for plain strings.
+     */
+    static String datatypeOf(final Node literal) {
+        String datatype = literal.getLiteralDatatypeURI();
+        if (datatype == null
+                || datatype.equals("http://www.w3.org/2001/XMLSchema#string")) {
+            return null;
+        }
+        return datatype;
+    }
+
+    /**
+     * Convert a Jena Node to its string representation.
+     */
+    static String nodeToString(final Node node) {
+        if (node.isURI()) {
+            return node.getURI();
+        } else if (node.isLiteral()) {
+            return node.getLiteralLexicalForm();
+        } else if (node.isBlank()) {
+            return "_:" + node.getBlankNodeLabel();
+        }
+        return node.toString();
+    }
+}
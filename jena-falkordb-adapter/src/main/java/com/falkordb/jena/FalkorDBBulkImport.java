@@ -0,0 +1,88 @@
+package com.falkordb.jena;
+
+import com.falkordb.Driver;
+import com.falkordb.FalkorDB;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Command line entry point for {@link FalkorDBBulkImporter}.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp jena-falkordb-adapter.jar com.falkordb.jena.FalkorDBBulkImport \
+ *     [--host HOST] [--port PORT] [--graph NAME] [--max-command-mb N] \
+ *     FILE...
+ * </pre>
+ * All files are read into memory and then imported into a new graph with
+ * GRAPH.BULK. The graph must not exist yet.
+ */
+public final class FalkorDBBulkImport {
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(
+        FalkorDBBulkImport.class);
+
+    /** Usage message printed on invalid arguments. */
+    private static final String USAGE = "Usage: FalkorDBBulkImport "
+        + "[--host HOST] [--port PORT] [--graph NAME] [--max-command-mb N] "
+        + "FILE...";
+
+    /** Prevent instantiation of this utility class. */
+    private FalkorDBBulkImport() {
+        throw new AssertionError("No instances");
+    }
+
+    /**
+     * Bulk import entry point.
+     *
+     * @param args command line arguments
+     */
+    public static void main(final String[] args) {
+        String host = "localhost";
+        int port = FalkorDBModelFactory.DEFAULT_PORT;
+        String graphName = "rdf_graph";
+        int maxCommandBytes = FalkorDBBulkImporter.DEFAULT_MAX_COMMAND_BYTES;
+        List<String> files = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--host" -> host = args[++i];
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "--graph" -> graphName = args[++i];
+                    case "--max-command-mb" -> maxCommandBytes =
+                        Math.multiplyExact(Integer.parseInt(args[++i]),
+                            1024 * 1024);
+                    default -> files.add(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | ArithmeticException
+                | NumberFormatException e) {
+            LOGGER.error(USAGE);
+            System.exit(1);
+        }
+
+        if (files.isEmpty()) {
+            LOGGER.error(USAGE);
+            System.exit(1);
+        }
+
+        try (Driver driver = FalkorDB.driver(host, port)) {
+            FalkorDBBulkImporter importer =
+                new FalkorDBBulkImporter(maxCommandBytes);
+            for (String file : files) {
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("Reading {}", file);
+                }
+                importer.read(file);
+            }
+            importer.importInto(driver, graphName);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Bulk import failed: {}", e.getMessage(), e);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,739 @@
+package com.falkordb.jena;
+
+import com.falkordb.Driver;
+import com.falkordb.jena.tracing.TracedGraph;
+import com.falkordb.jena.tracing.TracingUtil;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDF;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.commands.ProtocolCommand;
+
+/**
+ * Offline importer that creates a new FalkorDB graph with the
+ * {@code GRAPH.BULK} command instead of Cypher {@code MERGE} queries.
+ *
+ * <p>The importer is a {@link StreamRDF} sink. While RDF is read, every
+ * subject and resource object is given a dense node ID in a local
+ * dictionary, and literal, type and relationship triples are collected per
+ * node. {@link #importInto(Driver, String)} then sends the nodes and
+ * relationships in the binary bulk insert format, so FalkorDB creates them
+ * without an index lookup per row.</p>
+ *
+ * <p>The resulting graph has the same layout that {@link FalkorDBGraph}
+ * writes and can be opened with {@link FalkorDBModelFactory}:</p>
+ * <ul>
+ *   <li>every node has the {@code Resource} label and a {@code uri}
+ *       property</li>
+ *   <li>literals are properties named by the predicate URI, with a
+ *       {@code <predicate>__datatype} companion for non-string literals</li>
+ *   <li>{@code rdf:type} objects are node labels</li>
+ *   <li>resource objects are relationships typed by the predicate URI</li>
+ * </ul>
+ *
+ * <h2>Example:</h2>
+ * <pre>{@code
+ * FalkorDBBulkImporter importer = new FalkorDBBulkImporter();
+ * importer.read("dump.nt");
+ * try (Driver driver = FalkorDB.driver("localhost", 6379)) {
+ *     importer.importInto(driver, "my_graph");
+ * }
+ * Model model = FalkorDBModelFactory.createModel("my_graph");
+ * }</pre>
+ *
+ * <p>The target graph must not exist yet. The whole input is held in
+ * memory until it is imported, so this is meant for initial loads into an
+ * empty graph; use {@link FalkorDBBulkLoader} to stream into an existing
+ * graph. As with other writes, a subject keeps only the last value read
+ * for each literal predicate, and NUL characters are removed from
+ * strings.</p>
+ */
+public final class FalkorDBBulkImporter implements StreamRDF {
+
+    /** Logger instance. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(
+        FalkorDBBulkImporter.class);
+
+    /** Default size limit for a single GRAPH.BULK command. */
+    public static final int DEFAULT_MAX_COMMAND_BYTES = 64 * 1024 * 1024;
+
+    /** Number of node IDs per query when setting type labels. */
+    private static final int LABEL_BATCH_SIZE = 10_000;
+
+    /** Label given to every node. */
+    static final String RESOURCE_LABEL = "Resource";
+
+    /** Bulk insert value type: boolean. */
+    static final byte BI_BOOL = 1;
+
+    /** Bulk insert value type: double. */
+    static final byte BI_DOUBLE = 2;
+
+    /** Bulk insert value type: string. */
+    static final byte BI_STRING = 3;
+
+    /** Bulk insert value type: 64-bit integer. */
+    static final byte BI_LONG = 4;
+
+    /** The GRAPH.BULK command. */
+    private static final ProtocolCommand GRAPH_BULK =
+        () -> "GRAPH.BULK".getBytes(StandardCharsets.UTF_8);
+
+    /** Attribute key for operation type. */
+    private static final AttributeKey<String> ATTR_OPERATION =
+        AttributeKey.stringKey("falkordb.operation");
+
+    /** Attribute key for graph name. */
+    private static final AttributeKey<String> ATTR_GRAPH_NAME =
+        AttributeKey.stringKey("falkordb.graph_name");
+
+    /** Attribute key for triple count. */
+    private static final AttributeKey<Long> ATTR_TRIPLE_COUNT =
+        AttributeKey.longKey("rdf.triple_count");
+
+    /** Attribute key for the number of GRAPH.BULK commands sent. */
+    private static final AttributeKey<Long> ATTR_COMMAND_COUNT =
+        AttributeKey.longKey("falkordb.command_count");
+
+    /**
+     * Statistics describing a completed import.
+     *
+     * @param triples number of triples read
+     * @param nodes number of nodes created
+     * @param relationships number of relationships created
+     * @param commands number of GRAPH.BULK commands sent
+     * @param elapsedMillis wall-clock time since reading started
+     */
+    public record ImportStats(long triples, long nodes, long relationships,
+            long commands, long elapsedMillis) {
+    }
+
+    /**
+     * Labels and literal properties collected for one node.
+     */
+    private static final class NodeData {
+        /** The node URI, or blank node label prefixed with {@code _:}. */
+        private final String uri;
+
+        /** Type labels, or null if the node has none. */
+        private Set<String> labels;
+
+        /** Literal properties by name, or null if the node has none. */
+        private Map<String, Object> properties;
+
+        NodeData(final String uri) {
+            this.uri = uri;
+        }
+
+        void addLabel(final String label) {
+            if (labels == null) {
+                labels = new TreeSet<>();
+            }
+            labels.add(label);
+        }
+
+        void setLiteral(final String predicate, final Node literal) {
+            if (properties == null) {
+                properties = new TreeMap<>();
+            }
+            properties.put(predicate,
+                FalkorDBBatchWriter.literalValue(literal));
+            String datatype = FalkorDBBatchWriter.datatypeOf(literal);
+            if (datatype != null) {
+                properties.put(predicate + "__datatype", datatype);
+            } else {
+                properties.remove(predicate + "__datatype");
+            }
+        }
+
+        /** The property names written after {@code uri}. */
+        Set<String> shape() {
+            return properties == null ? Set.of() : properties.keySet();
+        }
+    }
+
+    /**
+     * Growable list of relationships, each packed into a long as
+     * source ID (high 32 bits) and target ID (low 32 bits).
+     */
+    private static final class EdgeList {
+        /** Packed relationships. */
+        private long[] edges = new long[16];
+
+        /** Number of relationships. */
+        private int size;
+
+        void add(final int source, final int target) {
+            if (size == edges.length) {
+                edges = Arrays.copyOf(edges, size * 2);
+            }
+            edges[size++] = ((long) source << 32) | target;
+        }
+    }
+
+    /** Node IDs by URI, in order of first appearance. */
+    private final Map<String, Integer> nodeIds = new HashMap<>();
+
+    /** Collected nodes, indexed by node ID. */
+    private final List<NodeData> nodes = new ArrayList<>();
+
+    /** Relationships by predicate URI. */
+    private final Map<String, EdgeList> edges = new LinkedHashMap<>();
+
+    /** Size limit for a single GRAPH.BULK command. */
+    private final int maxCommandBytes;
+
+    /** Tracer for OpenTelemetry. */
+    private final Tracer tracer;
+
+    /** Triples read so far. */
+    private long tripleCount;
+
+    /** Start of reading, from {@link System#nanoTime()}. */
+    private long startNanos;
+
+    /**
+     * Create an importer with the default command size limit.
+     */
+    public FalkorDBBulkImporter() {
+        this(DEFAULT_MAX_COMMAND_BYTES);
+    }
+
+    /**
+     * Create an importer.
+     *
+     * @param maxCommandBytes approximate size limit for a single GRAPH.BULK
+     *        command; must stay below the server's
+     *        {@code proto-max-bulk-len}
+     */
+    public FalkorDBBulkImporter(final int maxCommandBytes) {
+        if (maxCommandBytes <= 0) {
+            throw new IllegalArgumentException(
+                "Maximum command size must be positive: " + maxCommandBytes);
+        }
+        this.maxCommandBytes = maxCommandBytes;
+        this.tracer = TracingUtil.getTracer(TracingUtil.SCOPE_FALKORDB_GRAPH);
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Parse an RDF file or URL and collect its triples. The syntax is
+     * chosen from the file extension.
+     *
+     * @param source file name or URL to read
+     */
+    public void read(final String source) {
+        RDFParser.source(source).parse(this);
+    }
+
+    /**
+     * Parse RDF from an input stream and collect its triples.
+     *
+     * @param in the input stream
+     * @param lang the RDF syntax of the stream
+     */
+    public void read(final InputStream in, final Lang lang) {
+        RDFParser.source(in).lang(lang).parse(this);
+    }
+
+    /**
+     * Number of nodes collected so far.
+     *
+     * @return the node count
+     */
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    @Override
+    public void start() {
+        // Several sources may be read into one import
+    }
+
+    @Override
+    public void triple(final Triple triple) {
+        tripleCount++;
+        NodeData subject = nodes.get(nodeId(triple.getSubject()));
+        Node object = triple.getObject();
+        String predicate = FalkorDBBatchWriter.nodeToString(
+            triple.getPredicate());
+        if (object.isLiteral()) {
+            subject.setLiteral(predicate, object);
+        } else if (predicate.equals(RDF.type.getURI())) {
+            subject.addLabel(FalkorDBBatchWriter.nodeToString(object));
+        } else {
+            edges.computeIfAbsent(predicate, p -> new EdgeList())
+                .add(nodeId(triple.getSubject()), nodeId(object));
+        }
+    }
+
+    @Override
+    public void quad(final Quad quad) {
+        triple(quad.asTriple());
+    }
+
+    @Override
+    public void base(final String base) {
+        // Not needed: the parser resolves IRIs before they reach the sink
+    }
+
+    @Override
+    public void prefix(final String prefix, final String iri) {
+        // Prefixes are not stored in FalkorDB
+    }
+
+    @Override
+    public void finish() {
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("Read {} triples, {} nodes", tripleCount,
+                nodes.size());
+        }
+    }
+
+    /**
+     * Create the graph in FalkorDB from the collected triples.
+     *
+     * <p>Nodes and relationships are sent with GRAPH.BULK, then type labels
+     * are set by node ID, the {@code uri} index is created and the triple
+     * counts are stored for {@link FalkorDBGraph#size()}.</p>
+     *
+     * @param driver the driver to connect with
+     * @param graphName name of the graph to create
+     * @return statistics for this import
+     * @throws IllegalStateException if the graph already exists
+     */
+    public ImportStats importInto(final Driver driver,
+            final String graphName) {
+        if (driver.listGraphs().contains(graphName)) {
+            throw new IllegalStateException(
+                "Graph already exists: " + graphName);
+        }
+
+        Span span = tracer.spanBuilder("FalkorDBBulkImporter.import")
+            .setSpanKind(SpanKind.INTERNAL)
+            .setAttribute(ATTR_OPERATION, "bulk_import")
+            .setAttribute(ATTR_GRAPH_NAME, graphName)
+            .setAttribute(ATTR_TRIPLE_COUNT, tripleCount)
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent();
+             Jedis connection = driver.getConnection()) {
+            byte[] name = graphName.getBytes(StandardCharsets.UTF_8);
+            long[] counts = new long[3];
+            int[] finalIds = writeBulk(args -> {
+                byte[][] command = new byte[args.length + 1][];
+                command[0] = name;
+                System.arraycopy(args, 0, command, 1, args.length);
+                connection.sendCommand(GRAPH_BULK, command);
+                counts[0]++;
+            }, counts);
+
+            TracedGraph graph = new TracedGraph(driver.graph(graphName),
+                graphName);
+            setLabels(graph, finalIds);
+            graph.query("CREATE INDEX FOR (r:Resource) ON (r.uri)");
+            statistics().writeTo(graph);
+
+            span.setAttribute(ATTR_COMMAND_COUNT, counts[0]);
+            span.setStatus(StatusCode.OK);
+            ImportStats stats = new ImportStats(tripleCount, nodes.size(),
+                counts[2], counts[0], TimeUnit.NANOSECONDS.toMillis(
+                    System.nanoTime() - startNanos));
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Imported {} triples into graph {}: {} nodes, "
+                    + "{} relationships in {} commands, {} ms",
+                    stats.triples(), graphName, stats.nodes(),
+                    stats.relationships(), stats.commands(),
+                    stats.elapsedMillis());
+            }
+            return stats;
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Encode the collected nodes and relationships as GRAPH.BULK
+     * arguments (without the command and graph name).
+     *
+     * <p>FalkorDB numbers bulk-inserted nodes in the order it receives
+     * them, so nodes are sent grouped by property names and the
+     * relationships refer to that order.</p>
+     *
+     * @param sender receives the arguments of each command
+     * @param counts receives nodes (index 1) and relationships (index 2)
+     * @return the final node ID for each dictionary ID
+     */
+    int[] writeBulk(final Consumer<byte[][]> sender, final long[] counts) {
+        Map<Set<String>, List<Integer>> shapes = new LinkedHashMap<>();
+        for (int id = 0; id < nodes.size(); id++) {
+            shapes.computeIfAbsent(nodes.get(id).shape(),
+                s -> new ArrayList<>()).add(id);
+        }
+
+        int[] finalIds = new int[nodes.size()];
+        int next = 0;
+        BulkCommand command = new BulkCommand(sender, maxCommandBytes);
+        for (Map.Entry<Set<String>, List<Integer>> shape : shapes.entrySet()) {
+            List<String> properties = new ArrayList<>();
+            properties.add("uri");
+            properties.addAll(shape.getKey());
+            byte[] header = header(RESOURCE_LABEL, properties);
+            for (int id : shape.getValue()) {
+                finalIds[id] = next++;
+                command.addNode(header, nodeRecord(nodes.get(id),
+                    properties));
+            }
+        }
+
+        for (Map.Entry<String, EdgeList> entry : edges.entrySet()) {
+            EdgeList list = entry.getValue();
+            long[] packed = new long[list.size];
+            for (int i = 0; i < list.size; i++) {
+                int source = finalIds[(int) (list.edges[i] >>> 32)];
+                int target = finalIds[(int) list.edges[i]];
+                packed[i] = ((long) source << 32) | target;
+            }
+            // Sort to drop duplicates, as MERGE would
+            Arrays.sort(packed);
+            byte[] header = header(entry.getKey(), List.of());
+            for (int i = 0; i < packed.length; i++) {
+                if (i > 0 && packed[i] == packed[i - 1]) {
+                    continue;
+                }
+                Blob record = new Blob(16);
+                record.writeLong(packed[i] >>> 32);
+                record.writeLong(packed[i] & 0xFFFFFFFFL);
+                command.addRelationship(header, record.toByteArray());
+            }
+        }
+        command.send();
+
+        counts[1] = command.nodeTotal;
+        counts[2] = command.relationshipTotal;
+        return finalIds;
+    }
+
+    /**
+     * Count the collected triples as they are stored, without repeated
+     * relationships.
+     *
+     * @return the counts for the statistics node of the new graph
+     */
+    FalkorDBStatistics statistics() {
+        Map<String, Long> predicates = new HashMap<>();
+        Map<String, Long> types = new HashMap<>();
+        for (NodeData node : nodes) {
+            if (node.properties != null) {
+                for (String name : node.properties.keySet()) {
+                    if (!name.endsWith("__datatype")) {
+                        predicates.merge(name, 1L, Long::sum);
+                    }
+                }
+            }
+            if (node.labels != null) {
+                for (String label : node.labels) {
+                    types.merge(label, 1L, Long::sum);
+                }
+            }
+        }
+        for (long count : types.values()) {
+            predicates.merge(RDF.type.getURI(), count, Long::sum);
+        }
+        for (Map.Entry<String, EdgeList> entry : edges.entrySet()) {
+            EdgeList list = entry.getValue();
+            predicates.merge(entry.getKey(),
+                Arrays.stream(list.edges, 0, list.size).distinct().count(),
+                Long::sum);
+        }
+        long total = 0;
+        for (long count : predicates.values()) {
+            total += count;
+        }
+        return new FalkorDBStatistics(total, predicates, types);
+    }
+
+    /**
+     * Set the rdf:type labels with one query per label and batch of nodes,
+     * matching nodes by ID instead of by URI.
+     */
+    private void setLabels(final TracedGraph graph, final int[] finalIds) {
+        Map<String, List<Long>> byLabel = new TreeMap<>();
+        for (int id = 0; id < nodes.size(); id++) {
+            Set<String> labels = nodes.get(id).labels;
+            if (labels != null) {
+                for (String label : labels) {
+                    byLabel.computeIfAbsent(label, l -> new ArrayList<>())
+                        .add((long) finalIds[id]);
+                }
+            }
+        }
+        for (Map.Entry<String, List<Long>> entry : byLabel.entrySet()) {
+            String cypher = """
+                UNWIND $ids AS id
+                MATCH (s:Resource) WHERE id(s) = id
+                SET s:`%s`""".formatted(
+                    FalkorDBBatchWriter.sanitizeCypherIdentifier(
+                        entry.getKey()));
+            List<Long> ids = entry.getValue();
+            for (int from = 0; from < ids.size(); from += LABEL_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from,
+                    Math.min(from + LABEL_BATCH_SIZE, ids.size()));
+                graph.query(cypher, Map.of("ids", batch));
+            }
+        }
+    }
+
+    /**
+     * Get the dictionary ID of a node, assigning the next one if the node
+     * is new.
+     */
+    private int nodeId(final Node node) {
+        String uri = FalkorDBBatchWriter.nodeToString(node);
+        Integer id = nodeIds.get(uri);
+        if (id == null) {
+            id = nodes.size();
+            nodeIds.put(uri, id);
+            nodes.add(new NodeData(uri));
+        }
+        return id;
+    }
+
+    /**
+     * Encode a bulk insert header: entity name, property count and
+     * property names.
+     */
+    private static byte[] header(final String name,
+            final List<String> properties) {
+        Blob header = new Blob(64);
+        header.writeString(name);
+        header.writeInt(properties.size());
+        for (String property : properties) {
+            header.writeString(property);
+        }
+        return header.toByteArray();
+    }
+
+    /**
+     * Encode the property values of one node in header order.
+     */
+    private static byte[] nodeRecord(final NodeData node,
+            final List<String> properties) {
+        Blob record = new Blob(64);
+        record.writeByte(BI_STRING);
+        record.writeString(node.uri);
+        for (int i = 1; i < properties.size(); i++) {
+            Object value = node.properties.get(properties.get(i));
+            if (value instanceof Boolean b) {
+                record.writeByte(BI_BOOL);
+                record.writeByte(b ? 1 : 0);
+            } else if (value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte) {
+                record.writeByte(BI_LONG);
+                record.writeLong(((Number) value).longValue());
+            } else if (value instanceof BigInteger big) {
+                if (big.bitLength() < Long.SIZE) {
+                    record.writeByte(BI_LONG);
+                    record.writeLong(big.longValue());
+                } else {
+                    record.writeByte(BI_STRING);
+                    record.writeString(big.toString());
+                }
+            } else if (value instanceof Number number) {
+                record.writeByte(BI_DOUBLE);
+                record.writeDouble(number.doubleValue());
+            } else {
+                record.writeByte(BI_STRING);
+                record.writeString(value.toString());
+            }
+        }
+        return record.toByteArray();
+    }
+
+    /**
+     * Builds GRAPH.BULK commands up to the size limit. A command holds one
+     * blob per header run: a header followed by its records.
+     */
+    private static final class BulkCommand {
+        /** Receives the arguments of each full command. */
+        private final Consumer<byte[][]> sender;
+
+        /** Size limit for a single command. */
+        private final int maxBytes;
+
+        /** Finished node blobs of the current command. */
+        private final List<byte[]> nodeBlobs = new ArrayList<>();
+
+        /** Finished relationship blobs of the current command. */
+        private final List<byte[]> relationshipBlobs = new ArrayList<>();
+
+        /** The blob being filled, or null. */
+        private Blob blob;
+
+        /** Header of the blob being filled. */
+        private byte[] blobHeader;
+
+        /** Whether the blob being filled holds relationships. */
+        private boolean blobRelationships;
+
+        /** Bytes in the current command, including the open blob. */
+        private long bytes;
+
+        /** Nodes in the current command. */
+        private long nodeCount;
+
+        /** Relationships in the current command. */
+        private long relationshipCount;
+
+        /** Nodes sent in all commands. */
+        private long nodeTotal;
+
+        /** Relationships sent in all commands. */
+        private long relationshipTotal;
+
+        /** Whether no command has been sent yet. */
+        private boolean first = true;
+
+        BulkCommand(final Consumer<byte[][]> commandSender,
+                final int maxCommandBytes) {
+            this.sender = commandSender;
+            this.maxBytes = maxCommandBytes;
+        }
+
+        void addNode(final byte[] header, final byte[] record) {
+            add(header, record, false);
+            nodeCount++;
+        }
+
+        void addRelationship(final byte[] header, final byte[] record) {
+            add(header, record, true);
+            relationshipCount++;
+        }
+
+        private void add(final byte[] header, final byte[] record,
+                final boolean relationship) {
+            if (bytes > 0 && bytes + record.length > maxBytes) {
+                send();
+            }
+            // Headers are shared per group, so identity marks a new group
+            if (blob == null || blobHeader != header) {
+                closeBlob();
+                blob = new Blob(Math.min(maxBytes, 1 << 16));
+                blob.writeBytes(header);
+                blobHeader = header;
+                blobRelationships = relationship;
+                bytes += header.length;
+            }
+            blob.writeBytes(record);
+            bytes += record.length;
+        }
+
+        private void closeBlob() {
+            if (blob != null) {
+                (blobRelationships ? relationshipBlobs : nodeBlobs)
+                    .add(blob.toByteArray());
+                blob = null;
+                blobHeader = null;
+            }
+        }
+
+        void send() {
+            closeBlob();
+            if (nodeBlobs.isEmpty() && relationshipBlobs.isEmpty()
+                    && !first) {
+                return;
+            }
+            List<byte[]> args = new ArrayList<>();
+            if (first) {
+                args.add(bytes("BEGIN"));
+            }
+            args.add(bytes(Long.toString(nodeCount)));
+            args.add(bytes(Long.toString(relationshipCount)));
+            args.add(bytes(Integer.toString(nodeBlobs.size())));
+            args.add(bytes(Integer.toString(relationshipBlobs.size())));
+            args.addAll(nodeBlobs);
+            args.addAll(relationshipBlobs);
+            sender.accept(args.toArray(new byte[0][]));
+
+            first = false;
+            nodeTotal += nodeCount;
+            relationshipTotal += relationshipCount;
+            nodeBlobs.clear();
+            relationshipBlobs.clear();
+            nodeCount = 0;
+            relationshipCount = 0;
+            bytes = 0;
+        }
+
+        private static byte[] bytes(final String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Little-endian binary buffer for bulk insert payloads.
+     */
+    private static final class Blob extends ByteArrayOutputStream {
+        Blob(final int size) {
+            super(size);
+        }
+
+        void writeByte(final int value) {
+            write(value);
+        }
+
+        void writeInt(final int value) {
+            for (int i = 0; i < Integer.BYTES; i++) {
+                write(value >>> (8 * i));
+            }
+        }
+
+        void writeLong(final long value) {
+            for (int i = 0; i < Long.BYTES; i++) {
+                write((int) (value >>> (8 * i)));
+            }
+        }
+
+        void writeDouble(final double value) {
+            writeLong(Double.doubleToLongBits(value));
+        }
+
+        /** Write a NUL-terminated UTF-8 string, dropping inner NULs. */
+        void writeString(final String value) {
+            writeBytes(value.replace("\0", "")
+                .getBytes(StandardCharsets.UTF_8));
+            write(0);
+        }
+    }
+}
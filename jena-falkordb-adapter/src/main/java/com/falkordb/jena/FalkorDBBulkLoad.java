@@ -0,0 +1,104 @@
+package com.falkordb.jena;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Command line entry point for {@link FalkorDBBulkLoader}.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp jena-falkordb-adapter.jar com.falkordb.jena.FalkorDBBulkLoad \
+ *     [--host HOST] [--port PORT] [--graph NAME] [--batch-size N] \
+ *     [--parallelism N] [--subject-centric] [--pipeline] FILE...
+ * </pre>
+ * Each file is parsed with Jena RIOT (syntax chosen from the extension) and
+ * streamed into FalkorDB in batches.
+ */
+public final class FalkorDBBulkLoad {
+    /** Logger instance for this class. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(
+        FalkorDBBulkLoad.class);
+
+    /** Usage message printed on invalid arguments. */
+    private static final String USAGE = "Usage: FalkorDBBulkLoad "
+        + "[--host HOST] [--port PORT] [--graph NAME] [--batch-size N] "
+        + "[--parallelism N] [--subject-centric] [--pipeline] FILE...";
+
+    /** Prevent instantiation of this utility class. */
+    private FalkorDBBulkLoad() {
+        throw new AssertionError("No instances");
+    }
+
+    /**
+     * Bulk load entry point.
+     *
+     * @param args command line arguments
+     */
+    public static void main(final String[] args) {
+        String host = "localhost";
+        int port = FalkorDBModelFactory.DEFAULT_PORT;
+        String graphName = "rdf_graph";
+        int batchSize = FalkorDBBulkLoader.DEFAULT_BATCH_SIZE;
+        int parallelism = 1;
+        FalkorDBWriteStrategy strategy = FalkorDBWriteStrategy.PER_PREDICATE;
+        FalkorDBPipelineMode pipelineMode = FalkorDBPipelineMode.OFF;
+        List<String> files = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--host" -> host = args[++i];
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "--graph" -> graphName = args[++i];
+                    case "--batch-size" ->
+                        batchSize = Integer.parseInt(args[++i]);
+                    case "--parallelism" ->
+                        parallelism = Integer.parseInt(args[++i]);
+                    case "--subject-centric" ->
+                        strategy = FalkorDBWriteStrategy.SUBJECT_CENTRIC;
+                    case "--pipeline" ->
+                        pipelineMode = FalkorDBPipelineMode.PIPELINE;
+                    default -> files.add(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            LOGGER.error(USAGE);
+            System.exit(1);
+        }
+
+        if (files.isEmpty()) {
+            LOGGER.error(USAGE);
+            System.exit(1);
+        }
+
+        FalkorDBGraph graph = new FalkorDBGraph(host, port, graphName);
+        try (FalkorDBBulkLoader loader =
+                new FalkorDBBulkLoader(graph, batchSize)) {
+            loader.setParallelism(parallelism);
+            loader.setWriteStrategy(strategy);
+            loader.setPipelineMode(pipelineMode);
+            long total = 0;
+            long totalMillis = 0;
+            for (String file : files) {
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("Loading {} into graph {}", file, graphName);
+                }
+                FalkorDBBulkLoader.LoadStats stats = loader.load(file);
+                total += stats.triples();
+                totalMillis += stats.elapsedMillis();
+            }
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Done: {} triples from {} file(s) in {} ms",
+                    total, files.size(), totalMillis);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Bulk load failed: {}", e.getMessage(), e);
+            System.exit(1);
+        } finally {
+            graph.close();
+        }
+    }
+}
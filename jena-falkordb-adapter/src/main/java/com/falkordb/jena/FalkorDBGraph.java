@@ -14,10 +14,20 @@ import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.graph.GraphStatisticsHandler;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.TransactionHandler;
 import org.apache.jena.graph.Triple;
@@ -57,6 +67,17 @@ public final class FalkorDBGraph extends GraphBase {
     private final Tracer tracer;
     /** Transaction handler for batch operations. */
     private final FalkorDBTransactionHandler transactionHandler;
+    /** Cache of find and contains results, or null when disabled. */
+    private volatile TriplePatternCache findCache;
+    /** Cardinality estimates for query planning. */
+    private final FalkorDBStatisticsHandler statisticsHandler;
+    /** Subject nodes per page of a scan, or 0 to read scans at once. */
+    private volatile int findPageSize = DEFAULT_FIND_PAGE_SIZE;
+    /** Executor loading the next page of a scan ahead, or null. */
+    private volatile ExecutorService prefetchExecutor;
+
+    /** Default number of subject nodes read per page of a scan. */
+    public static final int DEFAULT_FIND_PAGE_SIZE = 10_000;
 
     /** Attribute key for operation type. */
     private static final AttributeKey<String> ATTR_OPERATION =
@@ -86,6 +107,46 @@ public final class FalkorDBGraph extends GraphBase {
     private static final AttributeKey<Long> ATTR_RESULT_COUNT =
         AttributeKey.longKey("rdf.result_count");
 
+    /** Attribute key for whether a find was answered from the cache. */
+    private static final AttributeKey<Boolean> ATTR_CACHE_HIT =
+        AttributeKey.booleanKey("falkordb.cache_hit");
+
+    /** Attribute key for the number of patterns of a batched find. */
+    private static final AttributeKey<Long> ATTR_PATTERN_COUNT =
+        AttributeKey.longKey("rdf.pattern_count");
+
+    /** Shared URI nodes for decoding results. */
+    private static final NodeDictionary NODES = NodeDictionary.shared();
+
+    /** Maximum number of patterns sent in one batched find query. */
+    private static final int MAX_BATCH_PATTERNS = 1000;
+
+    /**
+     * A find query before it runs.
+     *
+     * @param cypher the Cypher text
+     * @param params the parameters of the query
+     * @param converter turns one record into zero or more triples
+     * @param paged whether the query reads one page of a scan, see
+     *        {@link PagedRecordIterator}
+     */
+    private record PatternQuery(String cypher, Map<String, Object> params,
+            Function<Record, List<Triple>> converter, boolean paged) {
+        PatternQuery(final String cypher, final Map<String, Object> params,
+                final Function<Record, List<Triple>> converter) {
+            this(cypher, params, converter, false);
+        }
+    }
+
+    /**
+     * A query of one pattern within a batched find.
+     *
+     * @param pattern the index of the pattern
+     * @param query the query
+     */
+    private record PatternRow(int pattern, PatternQuery query) {
+    }
+
     /**
      * Create a FalkorDB-backed graph for the given graph name. Uses the
      * default driver configuration (typically localhost:6379).
@@ -127,7 +188,16 @@ public final class FalkorDBGraph extends GraphBase {
             this::performAddDirect,
             this::performDeleteDirect
         );
+        this.transactionHandler.setFlushListener(written -> {
+            TriplePatternCache cache = findCache;
+            if (cache != null) {
+                cache.invalidateAll(written);
+            }
+        });
+        this.statisticsHandler =
+            new FalkorDBStatisticsHandler(this::loadStatisticsSnapshot);
         ensureIndexes();
+        ensureStatistics();
     }
 
     /**
@@ -149,6 +219,22 @@ public final class FalkorDBGraph extends GraphBase {
         }
     }
 
+    /**
+     * Creates the statistics node if the graph is still empty. Graphs that
+     * already hold data written without statistics are left as they are
+     * until {@link #rebuildStatistics()} is called.
+     */
+    private void ensureStatistics() {
+        try {
+            graph.query(FalkorDBStatistics.INIT_QUERY);
+        } catch (Exception e) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Could not create statistics node: {}",
+                    e.getMessage());
+            }
+        }
+    }
+
     /**
      * Returns the FalkorDB graph name used by this graph instance.
      *
@@ -194,11 +280,306 @@ public final class FalkorDBGraph extends GraphBase {
         return transactionHandler;
     }
 
+    /**
+     * Wait until writes queued by write-behind are in FalkorDB.
+     *
+     * <p>Reads through this graph and pushed-down SPARQL queries sync
+     * automatically. Call this before querying the underlying FalkorDB
+     * graph directly.</p>
+     */
+    public void sync() {
+        transactionHandler.sync();
+    }
+
+    /**
+     * Enable or disable the cache of find and contains results.
+     *
+     * <p>Results are cached per triple pattern and invalidated by writes
+     * made through this graph: immediate and write-behind writes as they
+     * happen, transactional writes when they are flushed. Writes made by
+     * other clients are only seen once an entry expires.</p>
+     *
+     * @param maxEntries the maximum number of cached patterns, or 0 to
+     *     disable the cache
+     * @param ttlMillis how long an entry stays valid
+     */
+    public void setFindCache(final int maxEntries, final long ttlMillis) {
+        findCache = maxEntries > 0
+            ? new TriplePatternCache(graphName, maxEntries, ttlMillis)
+            : null;
+    }
+
+    /**
+     * Check whether find and contains results are cached.
+     *
+     * @return true if the cache is enabled
+     */
+    public boolean isFindCacheEnabled() {
+        return findCache != null;
+    }
+
+    /**
+     * Get the number of find and contains calls answered from the cache.
+     *
+     * @return the hit count, 0 when the cache is disabled
+     */
+    public long getFindCacheHitCount() {
+        TriplePatternCache cache = findCache;
+        return cache != null ? cache.hitCount() : 0;
+    }
+
+    /**
+     * Get the number of find and contains calls that missed the cache.
+     *
+     * @return the miss count, 0 when the cache is disabled
+     */
+    public long getFindCacheMissCount() {
+        TriplePatternCache cache = findCache;
+        return cache != null ? cache.missCount() : 0;
+    }
+
+    /**
+     * Get the number of cache entries evicted because the cache was full
+     * or they had expired.
+     *
+     * @return the eviction count, 0 when the cache is disabled
+     */
+    public long getFindCacheEvictionCount() {
+        TriplePatternCache cache = findCache;
+        return cache != null ? cache.evictionCount() : 0;
+    }
+
+    /**
+     * Drop all cached find and contains results, for example after the
+     * graph was changed without going through this instance.
+     */
+    public void clearFindCache() {
+        TriplePatternCache cache = findCache;
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Drop the cached results a write of the triple could change.
+     */
+    private void invalidateFindCache(final Triple triple) {
+        TriplePatternCache cache = findCache;
+        if (cache != null) {
+            cache.invalidate(triple);
+        }
+    }
+
+    /**
+     * Set how many subject nodes a find reads per query when it scans the
+     * graph, that is when its subject is a wildcard, instead of asking for
+     * the whole result at once. Pages are taken in order of the internal
+     * node id and read as the iterator reaches them.
+     *
+     * @param pageSize the number of subject nodes per page, or 0 to read
+     *     scans in a single query
+     */
+    public void setFindPageSize(final int pageSize) {
+        if (pageSize < 0) {
+            throw new IllegalArgumentException(
+                "Page size must not be negative: " + pageSize);
+        }
+        findPageSize = pageSize;
+    }
+
+    /**
+     * Get the number of subject nodes a find reads per query when it
+     * scans the graph.
+     *
+     * @return the page size, or 0 if scans are read in a single query
+     */
+    public int getFindPageSize() {
+        return findPageSize;
+    }
+
+    /**
+     * Set whether paged scans load the next page in the background while
+     * the current one is being read.
+     *
+     * @param enabled true to load the next page ahead
+     */
+    public synchronized void setFindPrefetch(final boolean enabled) {
+        if (enabled && prefetchExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            prefetchExecutor = Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r,
+                    "falkordb-prefetch-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else if (!enabled && prefetchExecutor != null) {
+            prefetchExecutor.shutdown();
+            prefetchExecutor = null;
+        }
+    }
+
+    /**
+     * Check whether paged scans load the next page ahead.
+     *
+     * @return true if prefetching is enabled
+     */
+    public boolean isFindPrefetchEnabled() {
+        return prefetchExecutor != null;
+    }
+
     /** Clear all nodes and relationships from the graph. */
     @Override
     public void clear() {
+        // Apply queued writes first so they cannot land after the clear
+        transactionHandler.sync();
         // Delete all nodes and relationships
         graph.query("MATCH (n) DETACH DELETE n");
+        // Start counting again from zero
+        graph.query(FalkorDBStatistics.INIT_QUERY);
+        clearFindCache();
+        statisticsHandler.invalidate();
+    }
+
+    /**
+     * Returns cardinality estimates for triple patterns, used to run
+     * selective patterns first both in Jena's own BGP evaluation and in
+     * the Cypher compiled for pushed-down queries.
+     *
+     * <p>The estimates come from the counts in the statistics node and
+     * the number of resource nodes. They are read once and then again
+     * after the refresh interval; see
+     * {@link #setStatisticsRefreshInterval(long)}.</p>
+     *
+     * @return the statistics handler
+     */
+    @Override
+    public GraphStatisticsHandler getStatisticsHandler() {
+        return statisticsHandler;
+    }
+
+    /**
+     * Set how long the counts behind {@link #getStatisticsHandler()} are
+     * used before they are read from FalkorDB again.
+     *
+     * @param refreshMillis the refresh interval, 0 to read them for every
+     *     estimate
+     */
+    public void setStatisticsRefreshInterval(final long refreshMillis) {
+        statisticsHandler.setRefreshInterval(refreshMillis);
+    }
+
+    /**
+     * Read the counts for the statistics handler.
+     */
+    private FalkorDBStatisticsHandler.Snapshot loadStatisticsSnapshot() {
+        FalkorDBStatistics statistics = getStatistics();
+        long nodes = 0;
+        if (statistics != null) {
+            for (Record record : graph.query(
+                    "MATCH (n:Resource) RETURN count(n) AS cnt")) {
+                if (record.getValue("cnt") instanceof Number number) {
+                    nodes = number.longValue();
+                }
+            }
+        }
+        return new FalkorDBStatisticsHandler.Snapshot(statistics, nodes);
+    }
+
+    /**
+     * Get the triple counts kept for this graph.
+     *
+     * <p>The counts are read from a single statistics node, so this does
+     * not scan the graph.</p>
+     *
+     * @return the counts, or null if the graph has no statistics because
+     *     it was written by another tool; see {@link #rebuildStatistics()}
+     */
+    public FalkorDBStatistics getStatistics() {
+        transactionHandler.sync();
+        for (Record record : graph.query(FalkorDBStatistics.READ_QUERY)) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> properties =
+                (Map<String, Object>) record.getValue("props");
+            return FalkorDBStatistics.fromProperties(properties);
+        }
+        return null;
+    }
+
+    /**
+     * Count the triples of the graph and store the counts in the
+     * statistics node, replacing any existing counts.
+     *
+     * <p>Run this once for a graph written by another tool, or after such
+     * a tool changed it. The graph is scanned three times, and writes made
+     * by other clients while it runs may be missed. Afterwards every write
+     * through this adapter keeps the counts up to date.</p>
+     *
+     * @return the new counts
+     */
+    public FalkorDBStatistics rebuildStatistics() {
+        Span span = tracer.spanBuilder("FalkorDBGraph.rebuildStatistics")
+            .setSpanKind(SpanKind.INTERNAL)
+            .setAttribute(ATTR_OPERATION, "rebuildStatistics")
+            .setAttribute(ATTR_GRAPH_NAME, graphName)
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            transactionHandler.sync();
+            Map<String, Long> predicates = new HashMap<>();
+            Map<String, Long> types = new HashMap<>();
+            countBy("""
+                MATCH (s:Resource)
+                UNWIND keys(s) AS key
+                WITH key WHERE key <> 'uri' AND NOT key ENDS WITH '__datatype'
+                RETURN key, count(key) AS cnt""", predicates);
+            countBy("""
+                MATCH (:Resource)-[r]->(:Resource)
+                RETURN type(r) AS key, count(r) AS cnt""", predicates);
+            countBy("""
+                MATCH (s:Resource)
+                UNWIND labels(s) AS key
+                WITH key WHERE key <> 'Resource'
+                RETURN key, count(key) AS cnt""", types);
+
+            long typeTotal = 0;
+            for (long count : types.values()) {
+                typeTotal += count;
+            }
+            if (typeTotal > 0) {
+                predicates.put(RDF.type.getURI(), typeTotal);
+            }
+            long total = 0;
+            for (long count : predicates.values()) {
+                total += count;
+            }
+            FalkorDBStatistics statistics =
+                new FalkorDBStatistics(total, predicates, types);
+            statistics.writeTo(graph);
+            statisticsHandler.invalidate();
+            span.setAttribute(ATTR_RESULT_COUNT, total);
+            span.setStatus(StatusCode.OK);
+            return statistics;
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Add the counts returned by a grouping query, as key and cnt
+     * columns, to the given map.
+     */
+    private void countBy(final String cypher, final Map<String, Long> counts) {
+        for (Record record : graph.query(cypher)) {
+            Object value = record.getValue("cnt");
+            if (value instanceof Number number) {
+                counts.merge((String) record.getValue("key"),
+                    number.longValue(), Long::sum);
+            }
+        }
     }
 
     /**
@@ -211,14 +592,17 @@ public final class FalkorDBGraph extends GraphBase {
      */
     @Override
     public void performAdd(final Triple triple) {
+        invalidateFindCache(triple);
+        if (!TracingUtil.shouldTraceOperation()) {
+            transactionHandler.bufferAdd(triple);
+            return;
+        }
         Span span = tracer.spanBuilder("FalkorDBGraph.performAdd")
             .setSpanKind(SpanKind.INTERNAL)
             .setAttribute(ATTR_OPERATION, "add")
             .setAttribute(ATTR_GRAPH_NAME, graphName)
-            .setAttribute(ATTR_TRIPLE_SUBJECT, nodeToString(triple.getSubject()))
-            .setAttribute(ATTR_TRIPLE_PREDICATE, nodeToString(triple.getPredicate()))
-            .setAttribute(ATTR_TRIPLE_OBJECT, nodeToString(triple.getObject()))
             .startSpan();
+        setTripleAttributes(span, triple);
 
         try (Scope scope = span.makeCurrent()) {
             // Delegate to transaction handler for buffering or immediate add
@@ -241,6 +625,8 @@ public final class FalkorDBGraph extends GraphBase {
      */
     void performAddDirect(final Triple triple) {
         performAddInternal(triple);
+        // Again, for a find that ran while the write was in flight
+        invalidateFindCache(triple);
     }
 
     /**
@@ -255,68 +641,40 @@ public final class FalkorDBGraph extends GraphBase {
         var subject = nodeToString(triple.getSubject());
         var predicate = nodeToString(triple.getPredicate());
 
-        var params = new HashMap<String, Object>(2);
-        String cypher;
-
         if (triple.getObject().isLiteral()) {
-            // Store literal as a property on the subject node
-            // Use backticks to allow URIs as property names directly
-            // Store the actual typed value, not just the lexical form
+            // Store literal as a property on the subject node, keeping
+            // the typed value for numbers and booleans
             var literal = triple.getObject().getLiteral();
             var literalValue = literal.getValue();
-            
-            // Use the typed value if available, otherwise use lexical form
             var objectValue = (literalValue instanceof Number || literalValue instanceof Boolean)
                 ? literalValue
                 : triple.getObject().getLiteralLexicalForm();
 
-            params.put("subjectUri", subject);
-            params.put("objectValue", objectValue);
-
-            // Sanitize predicate to prevent Cypher injection
-            String sanitizedPredicate = sanitizeCypherIdentifier(predicate);
-            
             // Store datatype URI for non-string literals to preserve type information
             // This is critical for geometry literals (e.g., geo:wktLiteral) and other custom types
             var datatypeURI = literal.getDatatypeURI();
             if (datatypeURI != null && !datatypeURI.equals("http://www.w3.org/2001/XMLSchema#string")) {
-                params.put("datatypeValue", datatypeURI);
-                cypher = """
-                    MERGE (s:Resource {uri: $subjectUri}) \
-                    SET s.`%s` = $objectValue, s.`%s__datatype` = $datatypeValue""".formatted(
-                        sanitizedPredicate, sanitizedPredicate);
+                graph.query(CypherTemplates.get(
+                        CypherTemplates.Kind.TYPED_LITERAL_ADD, predicate),
+                    Map.of("subjectUri", subject, "objectValue", objectValue,
+                        "datatypeValue", datatypeURI));
             } else {
-                cypher = """
-                    MERGE (s:Resource {uri: $subjectUri}) \
-                    SET s.`%s` = $objectValue""".formatted(sanitizedPredicate);
+                graph.query(CypherTemplates.get(
+                        CypherTemplates.Kind.LITERAL_ADD, predicate),
+                    Map.of("subjectUri", subject, "objectValue", objectValue));
             }
         } else if (predicate.equals(RDF.type.getURI())) {
             // Special handling for rdf:type - create node with type as label
             var object = nodeToString(triple.getObject());
-
-            params.put("subjectUri", subject);
-
-            // Sanitize type to prevent Cypher injection
-            String sanitizedType = sanitizeCypherIdentifier(object);
-            cypher = """
-                MERGE (s:Resource:`%s` {uri: $subjectUri})""".formatted(
-                    sanitizedType);
+            graph.query(CypherTemplates.get(CypherTemplates.Kind.TYPE_ADD,
+                object), Map.of("subjectUri", subject, "type", object));
         } else {
             // Create relationship for resource objects
             var object = nodeToString(triple.getObject());
-
-            params.put("subjectUri", subject);
-            params.put("objectUri", object);
-
-            // Sanitize predicate to prevent Cypher injection
-            String sanitizedPredicate = sanitizeCypherIdentifier(predicate);
-            cypher = """
-                MERGE (s:Resource {uri: $subjectUri}) \
-                MERGE (o:Resource {uri: $objectUri}) \
-                MERGE (s)-[r:`%s`]->(o)""".formatted(sanitizedPredicate);
+            graph.query(CypherTemplates.get(
+                    CypherTemplates.Kind.RELATIONSHIP_ADD, predicate),
+                Map.of("subjectUri", subject, "objectUri", object));
         }
-
-        graph.query(cypher, params);
     }
 
     /**
@@ -329,14 +687,17 @@ public final class FalkorDBGraph extends GraphBase {
      */
     @Override
     public void performDelete(final Triple triple) {
+        invalidateFindCache(triple);
+        if (!TracingUtil.shouldTraceOperation()) {
+            transactionHandler.bufferDelete(triple);
+            return;
+        }
         Span span = tracer.spanBuilder("FalkorDBGraph.performDelete")
             .setSpanKind(SpanKind.INTERNAL)
             .setAttribute(ATTR_OPERATION, "delete")
             .setAttribute(ATTR_GRAPH_NAME, graphName)
-            .setAttribute(ATTR_TRIPLE_SUBJECT, nodeToString(triple.getSubject()))
-            .setAttribute(ATTR_TRIPLE_PREDICATE, nodeToString(triple.getPredicate()))
-            .setAttribute(ATTR_TRIPLE_OBJECT, nodeToString(triple.getObject()))
             .startSpan();
+        setTripleAttributes(span, triple);
 
         try (Scope scope = span.makeCurrent()) {
             // Delegate to transaction handler for buffering or immediate delete
@@ -359,6 +720,8 @@ public final class FalkorDBGraph extends GraphBase {
      */
     void performDeleteDirect(final Triple triple) {
         performDeleteInternal(triple);
+        // Again, for a find that ran while the write was in flight
+        invalidateFindCache(triple);
     }
 
     /**
@@ -368,64 +731,122 @@ public final class FalkorDBGraph extends GraphBase {
         var subject = nodeToString(triple.getSubject());
         var predicate = nodeToString(triple.getPredicate());
 
-        var params = new HashMap<String, Object>(2);
-        String cypher;
-
         if (triple.getObject().isLiteral()) {
-            // Remove property from the subject node
-            // Also remove the associated __datatype property if it exists
-            params.put("subjectUri", subject);
-
-            // Sanitize predicate to prevent Cypher injection
-            String sanitizedPredicate = sanitizeCypherIdentifier(predicate);
-            cypher = """
-                MATCH (s:Resource {uri: $subjectUri}) \
-                REMOVE s.`%s`, s.`%s__datatype`""".formatted(
-                    sanitizedPredicate, sanitizedPredicate);
+            // Remove property from the subject node, along with the
+            // associated __datatype property if it exists
+            graph.query(CypherTemplates.get(
+                    CypherTemplates.Kind.LITERAL_DELETE, predicate),
+                Map.of("subjectUri", subject));
         } else if (predicate.equals(RDF.type.getURI())) {
             // Special handling for rdf:type - remove label from node
-            var object = nodeToString(triple.getObject());
-
-            params.put("subjectUri", subject);
-
-            // Sanitize type to prevent Cypher injection
-            String sanitizedType = sanitizeCypherIdentifier(object);
-            cypher = """
-                MATCH (s:Resource:`%s` {uri: $subjectUri}) \
-                REMOVE s:`%s`""".formatted(sanitizedType, sanitizedType);
+            graph.query(CypherTemplates.get(CypherTemplates.Kind.TYPE_DELETE,
+                    nodeToString(triple.getObject())),
+                Map.of("subjectUri", subject));
         } else {
-            var object = nodeToString(triple.getObject());
-
-            params.put("subjectUri", subject);
-            params.put("objectUri", object);
-
-            // Sanitize predicate to prevent Cypher injection
-            String sanitizedPredicate = sanitizeCypherIdentifier(predicate);
-            cypher = """
-                MATCH (s:Resource {uri: $subjectUri})-[r:`%s`]->
-                (o:Resource {uri: $objectUri}) DELETE r""".formatted(
-                    sanitizedPredicate);
+            graph.query(CypherTemplates.get(
+                    CypherTemplates.Kind.RELATIONSHIP_DELETE, predicate),
+                Map.of("subjectUri", subject,
+                    "objectUri", nodeToString(triple.getObject())));
         }
-
-        graph.query(cypher, params);
     }
 
-    /** Find triples matching the given pattern. */
+    /**
+     * Find triples matching the given pattern.
+     *
+     * <p>The returned iterator is lazy: the type, relationship and property
+     * queries are sent one after the other as the results are consumed,
+     * and records are converted to triples one at a time. Close the
+     * iterator to skip the remaining queries. A pattern with a wildcard
+     * predicate and object is answered by a single query.</p>
+     */
     @Override
     protected ExtendedIterator<Triple> graphBaseFind(final Triple pattern) {
-        String patternStr = patternToString(pattern);
+        if (!TracingUtil.shouldTraceOperation()) {
+            transactionHandler.sync();
+            return cachedFind(pattern, null);
+        }
         Span span = tracer.spanBuilder("FalkorDBGraph.find")
             .setSpanKind(SpanKind.INTERNAL)
             .setAttribute(ATTR_OPERATION, "find")
             .setAttribute(ATTR_GRAPH_NAME, graphName)
-            .setAttribute(ATTR_PATTERN, patternStr)
             .startSpan();
+        if (span.isRecording()) {
+            span.setAttribute(ATTR_PATTERN, patternToString(pattern));
+        }
 
+        // The span ends when the iterator is exhausted or closed
         try (Scope scope = span.makeCurrent()) {
-            List<Triple> triples = graphBaseFindInternal(pattern);
-            span.setAttribute(ATTR_RESULT_COUNT, (long) triples.size());
+            transactionHandler.sync();
+            return cachedFind(pattern, span);
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            span.end();
+            throw e;
+        }
+    }
+
+    /**
+     * Answer a find from the cache if possible, otherwise run its queries
+     * and cache the result once it has been read.
+     *
+     * @param pattern the pattern
+     * @param span span to end when iteration finishes, or null
+     */
+    private ExtendedIterator<Triple> cachedFind(final Triple pattern,
+            final Span span) {
+        TriplePatternCache cache = findCache;
+        if (cache == null) {
+            return new LazyTripleIterator(findStages(pattern), span);
+        }
+        List<Triple> cached = cache.getFind(pattern);
+        if (cached == null) {
+            if (span != null) {
+                span.setAttribute(ATTR_CACHE_HIT, false);
+            }
+            return cache.fill(pattern,
+                new LazyTripleIterator(findStages(pattern), span));
+        }
+        if (span != null) {
+            span.setAttribute(ATTR_CACHE_HIT, true);
+            span.setAttribute(ATTR_RESULT_COUNT, (long) cached.size());
             span.setStatus(StatusCode.OK);
-            return WrappedIterator.create(triples.iterator());
+            span.end();
+        }
+        return WrappedIterator.create(cached.iterator());
+    }
+
+    /**
+     * Find the triples matching each of several patterns.
+     *
+     * <p>The queries of all patterns are grouped by their Cypher text, so
+     * patterns of the same shape, for example the same predicate with
+     * different subjects, share one UNWIND query instead of costing a
+     * round trip each. Label and predicate names are part of the text,
+     * so each type and predicate forms its own group.</p>
+     *
+     * @param patterns the patterns to match (may contain ANY wildcards)
+     * @return the matching triples of each pattern, in pattern order
+     */
+    public List<List<Triple>> findAll(final List<Triple> patterns) {
+        if (!TracingUtil.shouldTraceOperation()) {
+            transactionHandler.sync();
+            return findAllInternal(patterns);
+        }
+        Span span = tracer.spanBuilder("FalkorDBGraph.findAll")
+            .setSpanKind(SpanKind.INTERNAL)
+            .setAttribute(ATTR_OPERATION, "findAll")
+            .setAttribute(ATTR_GRAPH_NAME, graphName)
+            .setAttribute(ATTR_PATTERN_COUNT, (long) patterns.size())
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            transactionHandler.sync();
+            var results = findAllInternal(patterns);
+            span.setAttribute(ATTR_RESULT_COUNT, results.stream()
+                .mapToLong(List::size).sum());
+            span.setStatus(StatusCode.OK);
+            return results;
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR, e.getMessage());
             span.recordException(e);
@@ -436,19 +857,136 @@ public final class FalkorDBGraph extends GraphBase {
     }
 
     /**
-     * Internal implementation of graphBaseFind without tracing.
+     * Check which of several triples the graph contains, with the
+     * batching of {@link #findAll(List)}.
+     *
+     * <p>Patterns with wildcards are answered from their full list of
+     * matches, so this is meant for concrete or mostly concrete
+     * triples.</p>
+     *
+     * @param triples the triples to check for (may contain ANY wildcards)
+     * @return a set with bit {@code i} set if the {@code i}th triple, in
+     *         iteration order, is contained in the graph
      */
-    private List<Triple> graphBaseFindInternal(final Triple pattern) {
-        var triples = new ArrayList<Triple>();
+    public BitSet containsAll(final Collection<Triple> triples) {
+        var results = findAll(List.copyOf(triples));
+        var contained = new BitSet(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            if (!results.get(i).isEmpty()) {
+                contained.set(i);
+            }
+        }
+        return contained;
+    }
+
+    /**
+     * Internal implementation of findAll without tracing.
+     */
+    private List<List<Triple>> findAllInternal(final List<Triple> patterns) {
+        var results = new ArrayList<List<Triple>>(patterns.size());
+        var groups = new LinkedHashMap<String, List<PatternRow>>();
+        for (int i = 0; i < patterns.size(); i++) {
+            results.add(new ArrayList<>());
+            for (var query : patternQueries(patterns.get(i), true)) {
+                groups.computeIfAbsent(query.cypher(),
+                    k -> new ArrayList<>()).add(new PatternRow(i, query));
+            }
+        }
+
+        for (var group : groups.entrySet()) {
+            var rows = group.getValue();
+            for (int from = 0; from < rows.size();
+                    from += MAX_BATCH_PATTERNS) {
+                var batch = rows.subList(from,
+                    Math.min(rows.size(), from + MAX_BATCH_PATTERNS));
+                findBatch(group.getKey(), batch, results);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Run one batched find query and add its triples to the results of
+     * the patterns they belong to.
+     */
+    private void findBatch(final String cypher, final List<PatternRow> rows,
+            final List<List<Triple>> results) {
+        // Turn the parameters of the rows into parallel lists
+        var params = new HashMap<String, Object>();
+        params.put("rows", (long) rows.size());
+        for (var row : rows) {
+            for (var param : row.query().params().entrySet()) {
+                @SuppressWarnings("unchecked")
+                var values = (List<Object>) params.computeIfAbsent(
+                    param.getKey(), k -> new ArrayList<>(rows.size()));
+                values.add(param.getValue());
+            }
+        }
+
+        for (Record record : graph.query(cypher, params)) {
+            var row = rows.get(((Number) record.getValue("i")).intValue());
+            results.get(row.pattern()).addAll(
+                row.query().converter().apply(record));
+        }
+    }
+
+    /**
+     * Build the queries answering a find, without running them.
+     */
+    private List<LazyTripleIterator.Stage> findStages(final Triple pattern) {
+        return patternQueries(pattern, false).stream()
+            .map(query -> new LazyTripleIterator.Stage(query.paged()
+                    ? pagedScan(query)
+                    : () -> graph.query(query.cypher(), query.params()),
+                query.converter()))
+            .toList();
+    }
+
+    /**
+     * Read a paged query one page at a time, with the page size and
+     * prefetching in effect when the find starts.
+     */
+    private Supplier<Iterable<Record>> pagedScan(final PatternQuery query) {
+        var pageSize = findPageSize;
+        var prefetch = prefetchExecutor;
+        return () -> () -> new PagedRecordIterator((lastId, size) -> {
+            var params = new HashMap<String, Object>(query.params());
+            params.put("lastId", lastId);
+            params.put("pageSize", (long) size);
+            return graph.query(query.cypher(), params);
+        }, pageSize, prefetch);
+    }
+
+    /**
+     * Build the queries answering a find.
+     *
+     * @param pattern the pattern to match
+     * @param batched whether the queries are to run as part of a batch,
+     *        see {@link #match(Map, boolean)}
+     */
+    private List<PatternQuery> patternQueries(final Triple pattern,
+            final boolean batched) {
+        // Scans over the subject nodes are read a page at a time
+        var paged = !batched && findPageSize > 0
+            && !pattern.getSubject().isConcrete();
+
+        // A wildcard predicate and object need all three kinds of triples
+        if (!pattern.getPredicate().isConcrete()
+            && !pattern.getObject().isConcrete()) {
+            return List.of(nodeQuery(pattern, batched, paged));
+        }
+
+        var queries = new ArrayList<PatternQuery>(3);
 
         // Check if this is an rdf:type query
         var isTypeQuery = !pattern.getPredicate().isConcrete()
             || pattern.getPredicate().getURI().equals(RDF.type.getURI());
 
-        if (isTypeQuery) {
+        // Types are labels, so only a URI object can be one
+        if (isTypeQuery && (!pattern.getObject().isConcrete()
+            || pattern.getObject().isURI())) {
             // Query for rdf:type triples (nodes with labels)
-            var typeTriples = findTypeTriples(pattern);
-            triples.addAll(typeTriples);
+            queries.add(typeQuery(pattern, batched, paged));
         }
 
         // Query for relationship-based triples (non-literal objects,
@@ -458,212 +996,427 @@ public final class FalkorDBGraph extends GraphBase {
             if (!pattern.getPredicate().isConcrete()
                 || !pattern.getPredicate().getURI().equals(
                     RDF.type.getURI())) {
-                var params = new HashMap<String, Object>(2);
-                var cypherRels = buildCypherMatchRelationships(pattern, params);
-                var result = graph.query(cypherRels, params);
-
-                for (var record : result) {
-                    var triple = recordToTriple(record);
-                    triples.add(triple);
-                }
+                queries.add(relationshipQuery(pattern, batched, paged));
             }
         }
 
         // Query for property-based triples (literal objects)
         if (!pattern.getObject().isConcrete()
             || pattern.getObject().isLiteral()) {
-            var propertyTriples = findPropertyTriples(pattern);
-            triples.addAll(propertyTriples);
+            queries.add(propertyQuery(pattern, batched, paged));
         }
 
-        return triples;
+        return queries;
+    }
+
+    /**
+     * Start the MATCH of a find query. A batched query first unwinds the
+     * row index {@code i} and binds the entry of each parameter list under
+     * the parameter's name, since FalkorDB does not take lists of maps as
+     * parameters.
+     */
+    private static String match(final Map<String, Object> params,
+            final boolean batched) {
+        if (!batched) {
+            return "MATCH ";
+        }
+        var cypher = new StringBuilder(
+            "UNWIND range(0, $rows - 1) AS i WITH i");
+        for (var name : new TreeSet<>(params.keySet())) {
+            cypher.append(", $%s[i] AS %s".formatted(name, name));
+        }
+        return cypher.append(" MATCH ").toString();
+    }
+
+    /**
+     * Refer to a parameter, or to its unwound value in a batched query.
+     */
+    private static String ref(final String name, final boolean batched) {
+        return batched ? name : "$" + name;
+    }
+
+    /**
+     * Start the RETURN of a find query; a batched query also returns the
+     * row index {@code i}.
+     */
+    private static String returns(final boolean batched) {
+        return batched ? " RETURN i, " : " RETURN ";
+    }
+
+    /**
+     * Limit a scan of the subject nodes to one page, in id order after
+     * the last node of the previous page. The page returns the id of the
+     * subject of each row, see {@link #pagedReturns()}.
+     *
+     * @param filter condition the subject nodes must meet, or null
+     */
+    private static String page(final String filter) {
+        return " WHERE " + (filter == null ? "" : filter + " AND ")
+            + "id(s) > $lastId WITH s ORDER BY id(s) LIMIT $pageSize";
+    }
+
+    /**
+     * Start the RETURN of a paged query with the id of the subject node.
+     */
+    private static String pagedReturns() {
+        return " RETURN id(s) AS %s, ".formatted(
+            PagedRecordIterator.SUBJECT_ID);
+    }
+
+    /**
+     * Build a single query returning the labels, properties and outgoing
+     * relationships of the matched nodes, for patterns with a wildcard
+     * predicate and object. The relationship rows follow the node rows in
+     * a {@code UNION ALL} and are told apart by a null label list. When
+     * paged, both parts read the same page of nodes.
+     */
+    private PatternQuery nodeQuery(final Triple pattern,
+            final boolean batched, final boolean paged) {
+        var params = new HashMap<String, Object>(1);
+        if (pattern.getSubject().isConcrete()) {
+            params.put("subjectUri", nodeToString(pattern.getSubject()));
+        }
+
+        String match;
+        String edges;
+        String returns;
+        if (paged) {
+            match = "MATCH (s:Resource)" + page(null);
+            edges = " MATCH (s)-[r]->(o)";
+            returns = pagedReturns();
+        } else {
+            match = match(params, batched) + (pattern.getSubject().isConcrete()
+                ? "(s:Resource {uri: %s})".formatted(ref("subjectUri", batched))
+                : "(s:Resource)");
+            edges = "-[r]->(o)";
+            returns = returns(batched);
+        }
+        var query = match + returns
+            + "s.uri AS uri, labels(s) AS nodeLabels,"
+            + " properties(s) AS props, null AS r, null AS o"
+            + " UNION ALL " + match + edges + returns
+            + "s.uri AS uri, null AS nodeLabels, null AS props, r, o";
+        return new PatternQuery(query, params, record -> {
+            if (record.getValue("nodeLabels") == null) {
+                return List.of(relationshipTriple(
+                    record.getValue("uri").toString(), record));
+            }
+            var triples = typeTriples(record);
+            triples.addAll(propertyTriples(record, pattern));
+            return triples;
+        }, paged);
     }
 
     /**
      * Convert a triple pattern to a string for tracing.
      */
     private String patternToString(final Triple pattern) {
-        return String.format("(%s, %s, %s)",
-            pattern.getSubject().isConcrete()
-                ? nodeToString(pattern.getSubject()) : "?",
-            pattern.getPredicate().isConcrete()
-                ? nodeToString(pattern.getPredicate()) : "?",
-            pattern.getObject().isConcrete()
-                ? nodeToString(pattern.getObject()) : "?");
+        return "(" + patternNodeToString(pattern.getSubject()) + ", "
+            + patternNodeToString(pattern.getPredicate()) + ", "
+            + patternNodeToString(pattern.getObject()) + ")";
+    }
+
+    private String patternNodeToString(final Node node) {
+        return node.isConcrete() ? nodeToString(node) : "?";
     }
 
-    private String buildCypherMatchRelationships(
-            final Triple pattern,
-            final Map<String, Object> params) {
-        var cypher = new StringBuilder("MATCH ");
+    /**
+     * Set the triple attributes on a span, skipping the string conversions
+     * when the span is not recorded.
+     */
+    private void setTripleAttributes(final Span span, final Triple triple) {
+        if (span.isRecording()) {
+            span.setAttribute(ATTR_TRIPLE_SUBJECT,
+                nodeToString(triple.getSubject()));
+            span.setAttribute(ATTR_TRIPLE_PREDICATE,
+                nodeToString(triple.getPredicate()));
+            span.setAttribute(ATTR_TRIPLE_OBJECT,
+                nodeToString(triple.getObject()));
+        }
+    }
 
+    /**
+     * Build the query for relationship triples. When paged, a page holds
+     * the nodes having a matching outgoing relationship.
+     */
+    private PatternQuery relationshipQuery(final Triple pattern,
+            final boolean batched, final boolean paged) {
+        var params = new HashMap<String, Object>(2);
         if (pattern.getSubject().isConcrete()) {
             params.put("subjectUri", nodeToString(pattern.getSubject()));
-            cypher.append("(s:Resource {uri: $subjectUri})");
-        } else {
-            cypher.append("(s:Resource)");
+        }
+        if (pattern.getObject().isConcrete()) {
+            params.put("objectUri", nodeToString(pattern.getObject()));
         }
 
-        if (pattern.getPredicate().isConcrete()) {
-            cypher.append("-[r:`%s`]->".formatted(
-                nodeToString(pattern.getPredicate())));
+        // A concrete object is looked up through the uri index instead
+        var scan = paged && !pattern.getObject().isConcrete();
+        var type = pattern.getPredicate().isConcrete()
+            ? ":`%s`".formatted(sanitizeCypherIdentifier(
+                nodeToString(pattern.getPredicate())))
+            : "";
+        var cypher = new StringBuilder(match(params, batched));
+
+        if (pattern.getSubject().isConcrete()) {
+            cypher.append("(s:Resource {uri: %s})".formatted(
+                ref("subjectUri", batched)));
+        } else if (scan) {
+            cypher.append("(s:Resource)")
+                .append(page("(s)-[" + type + "]->()"))
+                .append(" MATCH (s)");
         } else {
-            cypher.append("-[r]->");
+            cypher.append("(s:Resource)");
         }
 
+        cypher.append("-[r").append(type).append("]->");
+
         if (pattern.getObject().isConcrete()) {
-            params.put("objectUri", nodeToString(pattern.getObject()));
-            cypher.append("(o:Resource {uri: $objectUri})");
+            cypher.append("(o:Resource {uri: %s})".formatted(
+                ref("objectUri", batched)));
         } else {
             cypher.append("(o)");
         }
 
-        cypher.append(" RETURN s, r, o");
-        return cypher.toString();
+        cypher.append(scan ? pagedReturns() : returns(batched))
+            .append("s, r, o");
+        return new PatternQuery(cypher.toString(), params,
+            record -> List.of(recordToTriple(record)), scan);
     }
 
-    private List<Triple> findPropertyTriples(final Triple pattern) {
-        var triples = new ArrayList<Triple>();
+    /**
+     * Build the query for literal triples. A concrete predicate is pushed
+     * down to Cypher so that only nodes having that property are matched
+     * and only that property is returned; otherwise all properties of the
+     * matched nodes are read and filtered here.
+     */
+    private PatternQuery propertyQuery(final Triple pattern,
+            final boolean batched, final boolean paged) {
+        if (pattern.getPredicate().isConcrete()) {
+            return predicatePropertyQuery(pattern, batched, paged);
+        }
 
         // Build query to get nodes with their properties as map
         var params = new HashMap<String, Object>(1);
-        var cypher = new StringBuilder("MATCH ");
+        if (pattern.getSubject().isConcrete()) {
+            params.put("subjectUri", nodeToString(pattern.getSubject()));
+        }
+
+        var cypher = new StringBuilder(match(params, batched));
 
+        if (pattern.getSubject().isConcrete()) {
+            cypher.append("(s:Resource {uri: %s})".formatted(
+                ref("subjectUri", batched)));
+        } else if (paged) {
+            cypher.append("(s:Resource)").append(page(null));
+        } else {
+            cypher.append("(s:Resource)");
+        }
+
+        cypher.append(paged ? pagedReturns() : returns(batched))
+            .append("s.uri AS uri, properties(s) AS props");
+
+        return new PatternQuery(cypher.toString(), params,
+            record -> propertyTriples(record, pattern), paged);
+    }
+
+    /**
+     * Build the query for literal triples of a concrete predicate. A
+     * concrete subject is looked up through the uri index and a concrete
+     * literal object is compared with the stored value on the server.
+     */
+    private PatternQuery predicatePropertyQuery(final Triple pattern,
+            final boolean batched, final boolean paged) {
+        var params = new HashMap<String, Object>(2);
         if (pattern.getSubject().isConcrete()) {
             params.put("subjectUri", nodeToString(pattern.getSubject()));
-            cypher.append("(s:Resource {uri: $subjectUri})");
+        }
+        if (pattern.getObject().isConcrete()) {
+            params.put("objectValue",
+                FalkorDBBatchWriter.literalValue(pattern.getObject()));
+        }
+
+        var predicate = sanitizeCypherIdentifier(
+            nodeToString(pattern.getPredicate()));
+        var cypher = new StringBuilder(match(params, batched));
+
+        if (pattern.getSubject().isConcrete()) {
+            cypher.append("(s:Resource {uri: %s})".formatted(
+                ref("subjectUri", batched)));
         } else {
             cypher.append("(s:Resource)");
         }
 
-        cypher.append(" RETURN s, properties(s) as props");
+        // A concrete object selects few nodes and is read in one query
+        var scan = paged && !pattern.getObject().isConcrete();
+        if (pattern.getObject().isConcrete()) {
+            cypher.append(" WHERE s.`%s` = %s".formatted(
+                predicate, ref("objectValue", batched)));
+        } else if (scan) {
+            cypher.append(page("s.`%s` IS NOT NULL".formatted(predicate)));
+        } else {
+            cypher.append(" WHERE s.`%s` IS NOT NULL".formatted(predicate));
+        }
 
-        var result = graph.query(cypher.toString(), params);
+        cypher.append(scan ? pagedReturns() : returns(batched))
+            .append(("s.uri AS uri, s.`%s` AS value,"
+            + " s.`%s__datatype` AS datatype").formatted(predicate, predicate));
+
+        var predicateNode = pattern.getPredicate();
+        return new PatternQuery(cypher.toString(), params, record -> {
+            var object = toLiteral(record.getValue("value"),
+                record.getValue("datatype"));
+            // The server compares stored values; keep Jena's notion of
+            // literal equality for cases such as differing datatypes
+            if (pattern.getObject().isConcrete()
+                && !object.sameValueAs(pattern.getObject())) {
+                return List.of();
+            }
+            var subject = NODES.uri(record.getValue("uri").toString());
+            return List.of(Triple.create(subject, predicateNode, object));
+        }, scan);
+    }
 
-        for (var record : result) {
-            com.falkordb.graph_entities.Node node = record.getValue("s");
-            var subjectUri = node.getProperty("uri").getValue().toString();
-            var subject = NodeFactory.createURI(subjectUri);
+    /**
+     * Convert one node and its properties to literal triples matching
+     * the pattern.
+     */
+    private List<Triple> propertyTriples(final Record record,
+            final Triple pattern) {
+        var triples = new ArrayList<Triple>();
+        var subject = NODES.uri(record.getValue("uri").toString());
 
-            @SuppressWarnings("unchecked")
-            var properties = (Map<String, Object>) record.getValue("props");
+        @SuppressWarnings("unchecked")
+        var properties = (Map<String, Object>) record.getValue("props");
 
-            // Iterate over all properties
-            for (var entry : properties.entrySet()) {
-                var predicateUri = entry.getKey();
+        // Iterate over all properties
+        for (var entry : properties.entrySet()) {
+            var predicateUri = entry.getKey();
 
-                // Skip the 'uri' property as it's not an RDF triple
-                if ("uri".equals(predicateUri)) {
-                    continue;
-                }
-                
-                // Skip datatype properties - they're metadata, not RDF triples
-                if (predicateUri.endsWith("__datatype")) {
-                    continue;
-                }
+            // Skip the 'uri' property as it's not an RDF triple
+            if ("uri".equals(predicateUri)) {
+                continue;
+            }
+            
+            // Skip datatype properties - they're metadata, not RDF triples
+            if (predicateUri.endsWith("__datatype")) {
+                continue;
+            }
 
-                // Check if predicate matches pattern
-                if (pattern.getPredicate().isConcrete()) {
-                    var patternPredicate = nodeToString(pattern.getPredicate());
-                    if (!predicateUri.equals(patternPredicate)) {
-                        continue;
-                    }
-                }
+            var predicateNode = NODES.predicate(predicateUri);
 
-                var rawValue = entry.getValue();
-                var predicateNode = NodeFactory.createURI(predicateUri);
-                
-                // Check if there's a stored datatype for this property
-                var datatypeKey = predicateUri + "__datatype";
-                var storedDatatype = properties.get(datatypeKey);
-                
-                // Create properly typed literal based on stored datatype or value type from FalkorDB
-                org.apache.jena.graph.Node object;
-                if (storedDatatype instanceof String datatypeURI) {
-                    // Use the stored datatype to reconstruct the typed literal
-                    var datatype = TypeMapper.getInstance().getSafeTypeByName(datatypeURI);
-                    object = NodeFactory.createLiteral(rawValue.toString(), datatype);
-                } else if (rawValue instanceof Long l) {
-                    // FalkorDB returns integers as Long
-                    object = NodeFactory.createLiteralByValue(l.intValue(),
-                        org.apache.jena.datatypes.xsd.XSDDatatype.XSDint);
-                } else if (rawValue instanceof Integer i) {
-                    object = NodeFactory.createLiteralByValue(i,
-                        org.apache.jena.datatypes.xsd.XSDDatatype.XSDint);
-                } else if (rawValue instanceof Double d) {
-                    object = NodeFactory.createLiteralByValue(d,
-                        org.apache.jena.datatypes.xsd.XSDDatatype.XSDdouble);
-                } else if (rawValue instanceof Float f) {
-                    object = NodeFactory.createLiteralByValue(f,
-                        org.apache.jena.datatypes.xsd.XSDDatatype.XSDfloat);
-                } else if (rawValue instanceof Boolean b) {
-                    object = NodeFactory.createLiteralByValue(b,
-                        org.apache.jena.datatypes.xsd.XSDDatatype.XSDboolean);
-                } else {
-                    // String or other types - store as string literal
-                    object = NodeFactory.createLiteralString(rawValue.toString());
-                }
+            // Check if there's a stored datatype for this property
+            var storedDatatype = properties.get(predicateUri + "__datatype");
+            var object = toLiteral(entry.getValue(), storedDatatype);
 
-                // Check if object matches pattern
-                if (pattern.getObject().isConcrete()) {
-                    // Compare using sameValueAs which handles typed literal comparison
-                    if (!object.sameValueAs(pattern.getObject())) {
-                        continue;
-                    }
+            // Check if object matches pattern
+            if (pattern.getObject().isConcrete()) {
+                // Compare using sameValueAs which handles typed literal comparison
+                if (!object.sameValueAs(pattern.getObject())) {
+                    continue;
                 }
-
-                triples.add(Triple.create(subject, predicateNode, object));
             }
+
+            triples.add(Triple.create(subject, predicateNode, object));
         }
 
         return triples;
     }
 
-    private List<Triple> findTypeTriples(final Triple pattern) {
-        var triples = new ArrayList<Triple>();
+    /**
+     * Create a literal from a stored property value and its stored
+     * datatype, if any.
+     */
+    private Node toLiteral(final Object rawValue,
+            final Object storedDatatype) {
+        // Create properly typed literal based on stored datatype or value type from FalkorDB
+        if (storedDatatype instanceof String datatypeURI) {
+            // Use the stored datatype to reconstruct the typed literal
+            var datatype = TypeMapper.getInstance().getSafeTypeByName(datatypeURI);
+            return NodeFactory.createLiteral(rawValue.toString(), datatype);
+        } else if (rawValue instanceof Long l) {
+            // FalkorDB returns integers as Long
+            return NodeFactory.createLiteralByValue(l.intValue(),
+                org.apache.jena.datatypes.xsd.XSDDatatype.XSDint);
+        } else if (rawValue instanceof Integer i) {
+            return NodeFactory.createLiteralByValue(i,
+                org.apache.jena.datatypes.xsd.XSDDatatype.XSDint);
+        } else if (rawValue instanceof Double d) {
+            return NodeFactory.createLiteralByValue(d,
+                org.apache.jena.datatypes.xsd.XSDDatatype.XSDdouble);
+        } else if (rawValue instanceof Float f) {
+            return NodeFactory.createLiteralByValue(f,
+                org.apache.jena.datatypes.xsd.XSDDatatype.XSDfloat);
+        } else if (rawValue instanceof Boolean b) {
+            return NodeFactory.createLiteralByValue(b,
+                org.apache.jena.datatypes.xsd.XSDDatatype.XSDboolean);
+        }
+        // String or other types - store as string literal
+        return NodeFactory.createLiteralString(rawValue.toString());
+    }
 
-        // Build query to get nodes with their labels
+    /**
+     * Build the query for rdf:type triples. A concrete type is a label
+     * scan and a concrete subject is looked up through the uri index;
+     * only with a wildcard type are the labels of the nodes read.
+     */
+    private PatternQuery typeQuery(final Triple pattern,
+            final boolean batched, final boolean paged) {
         var params = new HashMap<String, Object>(1);
-        var cypher = new StringBuilder("MATCH ");
-
         if (pattern.getSubject().isConcrete()) {
             params.put("subjectUri", nodeToString(pattern.getSubject()));
-            cypher.append("(s {uri: $subjectUri})");
-        } else {
-            cypher.append("(s)");
         }
 
-        cypher.append(" RETURN s, labels(s) as nodeLabels");
+        var cypher = new StringBuilder(match(params, batched))
+            .append("(s:Resource");
 
-        var result = graph.query(cypher.toString(), params);
-
-        for (var record : result) {
-            com.falkordb.graph_entities.Node node = record.getValue("s");
-            var subjectUri = node.getProperty("uri").getValue().toString();
-            var subject = NodeFactory.createURI(subjectUri);
+        if (pattern.getObject().isConcrete()) {
+            cypher.append(":`%s`".formatted(sanitizeCypherIdentifier(
+                nodeToString(pattern.getObject()))));
+        }
+        if (pattern.getSubject().isConcrete()) {
+            cypher.append(" {uri: %s}".formatted(ref("subjectUri", batched)));
+        }
+        cypher.append(")");
+        if (paged) {
+            cypher.append(page(null)).append(pagedReturns());
+        } else {
+            cypher.append(returns(batched));
+        }
+        cypher.append("s.uri AS uri");
 
-            @SuppressWarnings("unchecked")
-            var labels = (List<String>) record.getValue("nodeLabels");
+        if (pattern.getObject().isConcrete()) {
+            var predicate = RDF.type.asNode();
+            var object = pattern.getObject();
+            return new PatternQuery(cypher.toString(), params,
+                record -> List.of(Triple.create(
+                    NODES.uri(record.getValue("uri").toString()),
+                    predicate, object)), paged);
+        }
 
-            // Create an rdf:type triple for each label (except "Resource")
-            for (var label : labels) {
-                if ("Resource".equals(label)) {
-                    continue; // Skip the base Resource label
-                }
+        cypher.append(", labels(s) AS nodeLabels");
+        return new PatternQuery(cypher.toString(), params,
+            this::typeTriples, paged);
+    }
 
-                // Check if object matches pattern
-                if (pattern.getObject().isConcrete()) {
-                    var patternObject = nodeToString(pattern.getObject());
-                    if (!label.equals(patternObject)) {
-                        continue;
-                    }
-                }
+    /**
+     * Convert one node's labels to rdf:type triples matching the pattern.
+     */
+    private List<Triple> typeTriples(final Record record) {
+        var triples = new ArrayList<Triple>();
+        var subject = NODES.uri(record.getValue("uri").toString());
+        var predicate = RDF.type.asNode();
 
-                var predicate = NodeFactory.createURI(RDF.type.getURI());
-                var object = NodeFactory.createURI(label);
+        @SuppressWarnings("unchecked")
+        var labels = (List<String>) record.getValue("nodeLabels");
 
-                triples.add(Triple.create(subject, predicate, object));
+        // Create an rdf:type triple for each label (except "Resource")
+        for (var label : labels) {
+            if ("Resource".equals(label)) {
+                continue; // Skip the base Resource label
             }
+
+            triples.add(Triple.create(subject, predicate,
+                NODES.predicate(label)));
         }
 
         return triples;
@@ -671,14 +1424,23 @@ public final class FalkorDBGraph extends GraphBase {
 
     private Triple recordToTriple(final Record record) {
         com.falkordb.graph_entities.Node subjectNode = record.getValue("s");
+        return relationshipTriple(
+            subjectNode.getProperty("uri").getValue().toString(), record);
+    }
+
+    /**
+     * Convert the relationship {@code r} and object {@code o} of a record
+     * to a triple with the given subject.
+     */
+    private Triple relationshipTriple(final String subjectUri,
+            final Record record) {
         com.falkordb.graph_entities.Edge edge = record.getValue("r");
         com.falkordb.graph_entities.Node objectNode = record.getValue("o");
 
-        var subjectUri = subjectNode.getProperty("uri").getValue().toString();
         var predicateUri = edge.getRelationshipType();
 
-        var subject = NodeFactory.createURI(subjectUri);
-        var predicate = NodeFactory.createURI(predicateUri);
+        var subject = NODES.uri(subjectUri);
+        var predicate = NODES.predicate(predicateUri);
 
         Node object;
         // Check for literal by looking for 'value' property
@@ -689,7 +1451,7 @@ public final class FalkorDBGraph extends GraphBase {
         } else {
             var objectUri = objectNode.getProperty("uri").getValue()
                 .toString();
-            object = NodeFactory.createURI(objectUri);
+            object = NODES.uri(objectUri);
         }
 
         return Triple.create(subject, predicate, object);
@@ -739,17 +1501,19 @@ public final class FalkorDBGraph extends GraphBase {
      */
     @Override
     protected boolean graphBaseContains(final Triple triple) {
+        if (!TracingUtil.shouldTraceOperation()) {
+            transactionHandler.sync();
+            return graphBaseContainsInternal(triple);
+        }
         Span span = tracer.spanBuilder("FalkorDBGraph.contains")
             .setSpanKind(SpanKind.INTERNAL)
             .setAttribute(ATTR_OPERATION, "contains")
             .setAttribute(ATTR_GRAPH_NAME, graphName)
-            .setAttribute(ATTR_TRIPLE_SUBJECT, nodeToString(triple.getSubject()))
-            .setAttribute(ATTR_TRIPLE_PREDICATE,
-                nodeToString(triple.getPredicate()))
-            .setAttribute(ATTR_TRIPLE_OBJECT, nodeToString(triple.getObject()))
             .startSpan();
+        setTripleAttributes(span, triple);
 
         try (Scope scope = span.makeCurrent()) {
+            transactionHandler.sync();
             boolean result = graphBaseContainsInternal(triple);
             span.setStatus(StatusCode.OK);
             return result;
@@ -772,41 +1536,46 @@ public final class FalkorDBGraph extends GraphBase {
             return containsByFind(triple);
         }
 
+        TriplePatternCache cache = findCache;
+        if (cache == null) {
+            return containsConcrete(triple);
+        }
+        Boolean cached = cache.getContains(triple);
+        if (cached != null) {
+            return cached;
+        }
+        long token = cache.invalidationCount();
+        boolean contained = containsConcrete(triple);
+        cache.putContains(triple, contained, token);
+        return contained;
+    }
+
+    /**
+     * Check for a concrete triple with a single query.
+     */
+    private boolean containsConcrete(final Triple triple) {
         var subject = nodeToString(triple.getSubject());
         var predicate = nodeToString(triple.getPredicate());
-        var params = new HashMap<String, Object>();
         String cypher;
+        Map<String, Object> params;
 
         if (triple.getObject().isLiteral()) {
             // Check for literal property
-            var objectValue = triple.getObject().getLiteralLexicalForm();
-            params.put("subjectUri", subject);
-            params.put("objectValue", objectValue);
-
-            String sanitizedPredicate = sanitizeCypherIdentifier(predicate);
-            cypher = """
-                MATCH (s:Resource {uri: $subjectUri})
-                WHERE s.`%s` = $objectValue
-                RETURN 1 LIMIT 1""".formatted(sanitizedPredicate);
+            cypher = CypherTemplates.get(
+                CypherTemplates.Kind.LITERAL_CONTAINS, predicate);
+            params = Map.of("subjectUri", subject,
+                "objectValue", triple.getObject().getLiteralLexicalForm());
         } else if (predicate.equals(RDF.type.getURI())) {
             // Check for rdf:type (label)
-            var objectType = nodeToString(triple.getObject());
-            params.put("subjectUri", subject);
-
-            String sanitizedType = sanitizeCypherIdentifier(objectType);
-            cypher = """
-                MATCH (s:Resource:`%s` {uri: $subjectUri})
-                RETURN 1 LIMIT 1""".formatted(sanitizedType);
+            cypher = CypherTemplates.get(CypherTemplates.Kind.TYPE_CONTAINS,
+                nodeToString(triple.getObject()));
+            params = Map.of("subjectUri", subject);
         } else {
             // Check for relationship
-            var object = nodeToString(triple.getObject());
-            params.put("subjectUri", subject);
-            params.put("objectUri", object);
-
-            String sanitizedPredicate = sanitizeCypherIdentifier(predicate);
-            cypher = """
-                MATCH (s:Resource {uri: $subjectUri})-[:`%s`]->(o:Resource {uri: $objectUri})
-                RETURN 1 LIMIT 1""".formatted(sanitizedPredicate);
+            cypher = CypherTemplates.get(
+                CypherTemplates.Kind.RELATIONSHIP_CONTAINS, predicate);
+            params = Map.of("subjectUri", subject,
+                "objectUri", nodeToString(triple.getObject()));
         }
 
         var result = graph.query(cypher, params);
@@ -814,10 +1583,12 @@ public final class FalkorDBGraph extends GraphBase {
     }
 
     /**
-     * Return the size of the graph (number of triples) using optimized
-     * Cypher queries.
+     * Return the size of the graph (number of triples).
      *
-     * <p>This counts all triples stored in the graph:</p>
+     * <p>The size is read in constant time from the statistics node that
+     * writes keep up to date; see {@link FalkorDBStatistics}. A graph
+     * without statistics is counted with Cypher queries instead, which
+     * count all triples stored in the graph:</p>
      * <ul>
      *   <li>Literal properties on Resource nodes (excluding 'uri')</li>
      *   <li>rdf:type triples (labels on Resource nodes, excluding
@@ -836,6 +1607,7 @@ public final class FalkorDBGraph extends GraphBase {
             .startSpan();
 
         try (Scope scope = span.makeCurrent()) {
+            transactionHandler.sync();
             int size = graphBaseSizeInternal();
             span.setAttribute(ATTR_RESULT_COUNT, (long) size);
             span.setStatus(StatusCode.OK);
@@ -853,6 +1625,10 @@ public final class FalkorDBGraph extends GraphBase {
      * Internal implementation of graphBaseSize without tracing.
      */
     private int graphBaseSizeInternal() {
+        Long total = readStatisticsTotal();
+        if (total != null) {
+            return (int) Math.min(total, Integer.MAX_VALUE);
+        }
         long count = 0;
 
         // Count literal properties (excluding 'uri' and '__datatype' metadata properties)
@@ -901,7 +1677,8 @@ public final class FalkorDBGraph extends GraphBase {
      *
      * <p>This is more efficient than the default implementation which
      * uses contains(Triple.ANY) because it can quickly check for the
-     * existence of any RDF data without full iteration.</p>
+     * existence of any RDF data without full iteration. With statistics,
+     * only the kept total is read.</p>
      *
      * <p>The graph is considered empty if there are no:</p>
      * <ul>
@@ -921,6 +1698,7 @@ public final class FalkorDBGraph extends GraphBase {
             .startSpan();
 
         try (Scope scope = span.makeCurrent()) {
+            transactionHandler.sync();
             boolean result = isEmptyInternal();
             span.setStatus(StatusCode.OK);
             return result;
@@ -937,6 +1715,11 @@ public final class FalkorDBGraph extends GraphBase {
      * Internal implementation of isEmpty without tracing.
      */
     private boolean isEmptyInternal() {
+        Long total = readStatisticsTotal();
+        if (total != null) {
+            return total == 0;
+        }
+
         // Check for any properties (excluding 'uri')
         var propsResult = graph.query("""
             MATCH (s:Resource)
@@ -968,8 +1751,25 @@ public final class FalkorDBGraph extends GraphBase {
         return true;
     }
 
+    /**
+     * Read the total from the statistics node.
+     *
+     * @return the number of triples, or null if the graph has no
+     *     statistics
+     */
+    private Long readStatisticsTotal() {
+        for (Record record : graph.query(FalkorDBStatistics.TOTAL_QUERY)) {
+            if (record.getValue("total") instanceof Number number) {
+                return number.longValue();
+            }
+        }
+        return null;
+    }
+
     @Override
     public void close() {
+        setFindPrefetch(false);
+        transactionHandler.close();
         try {
             driver.close();
         } catch (Exception e) {
@@ -12,6 +12,12 @@ public final class FalkorDBModelFactory {
     /** Default FalkorDB port. */
     public static final int DEFAULT_PORT = 6379;
 
+    /** Default longest time a write-behind write stays queued. */
+    public static final long DEFAULT_WRITE_BEHIND_INTERVAL_MILLIS = 100;
+
+    /** Default time to live of a find cache entry. */
+    public static final long DEFAULT_FIND_CACHE_TTL_MILLIS = 60_000;
+
     private FalkorDBModelFactory() {
         throw new AssertionError("No instances");
     }
@@ -91,6 +97,38 @@ public final class FalkorDBModelFactory {
         private String graphName = "rdf_graph";
         /** Custom FalkorDB driver instance (optional). */
         private Driver driver;
+        /** Buffered triple count that triggers a transaction auto-flush. */
+        private int maxBufferedTriples;
+        /** Estimated buffer size that triggers a transaction auto-flush. */
+        private long maxBufferedBytes;
+        /** Number of batch groups written concurrently on flush. */
+        private int flushParallelism = 1;
+        /** How literal and type triples are grouped on flush. */
+        private FalkorDBWriteStrategy writeStrategy =
+            FalkorDBWriteStrategy.PER_PREDICATE;
+        /** Target latency per write batch (0 = fixed batch size). */
+        private long batchTargetLatencyMillis;
+        /** Smallest adaptive batch size. */
+        private int minBatchSize = AdaptiveBatchSizer.DEFAULT_MIN_BATCH_SIZE;
+        /** Largest adaptive batch size. */
+        private int maxBatchSize = AdaptiveBatchSizer.DEFAULT_MAX_BATCH_SIZE;
+        /** How the batch queries of a flush are sent. */
+        private FalkorDBPipelineMode pipelineMode = FalkorDBPipelineMode.OFF;
+        /** Write-behind queue capacity (0 = write-behind disabled). */
+        private int writeBehindQueueSize;
+        /** Longest time a write-behind write stays queued. */
+        private long writeBehindIntervalMillis =
+            DEFAULT_WRITE_BEHIND_INTERVAL_MILLIS;
+        /** Find cache capacity (0 = cache disabled). */
+        private int findCacheSize;
+        /** Time to live of a find cache entry. */
+        private long findCacheTtlMillis = DEFAULT_FIND_CACHE_TTL_MILLIS;
+        /** Subject nodes per page of a scan (0 = scans are not paged). */
+        private int findPageSize = FalkorDBGraph.DEFAULT_FIND_PAGE_SIZE;
+        /** Whether paged scans load the next page ahead. */
+        private boolean findPrefetch;
+        /** Slots of the shared node dictionary, or null to leave as is. */
+        private Integer nodeCacheSize;
 
         /**
          * Creates a new Builder with default settings.
@@ -144,6 +182,179 @@ public final class FalkorDBModelFactory {
             return this;
         }
 
+        /**
+         * Flush transaction buffers to FalkorDB once this many triples
+         * have been added or deleted, instead of holding them all until
+         * commit. Zero (the default) disables the threshold.
+         *
+         * @param value the buffered triple threshold
+         * @return this builder
+         */
+        public Builder maxBufferedTriples(final int value) {
+            this.maxBufferedTriples = value;
+            return this;
+        }
+
+        /**
+         * Flush transaction buffers to FalkorDB once their estimated heap
+         * size reaches this many bytes. Zero (the default) disables the
+         * threshold.
+         *
+         * @param value the buffered bytes threshold
+         * @return this builder
+         */
+        public Builder maxBufferedBytes(final long value) {
+            this.maxBufferedBytes = value;
+            return this;
+        }
+
+        /**
+         * Set the number of predicate or type groups written concurrently
+         * when transaction buffers are flushed. The default of 1 flushes
+         * sequentially.
+         *
+         * @param value the degree of parallelism
+         * @return this builder
+         */
+        public Builder flushParallelism(final int value) {
+            this.flushParallelism = value;
+            return this;
+        }
+
+        /**
+         * Set how buffered literal and type triples are grouped into
+         * queries on flush. Defaults to
+         * {@link FalkorDBWriteStrategy#PER_PREDICATE}.
+         *
+         * @param value the write strategy
+         * @return this builder
+         */
+        public Builder writeStrategy(final FalkorDBWriteStrategy value) {
+            this.writeStrategy = value;
+            return this;
+        }
+
+        /**
+         * Enable adaptive write batch sizing with the given target latency
+         * per batch. Zero (the default) keeps fixed batches of 1000
+         * triples.
+         *
+         * @param value the target latency in milliseconds
+         * @return this builder
+         */
+        public Builder batchTargetLatencyMillis(final long value) {
+            this.batchTargetLatencyMillis = value;
+            return this;
+        }
+
+        /**
+         * Set the smallest batch size adaptive sizing may choose.
+         *
+         * @param value the minimum batch size
+         * @return this builder
+         */
+        public Builder minBatchSize(final int value) {
+            this.minBatchSize = value;
+            return this;
+        }
+
+        /**
+         * Set the largest batch size adaptive sizing may choose.
+         *
+         * @param value the maximum batch size
+         * @return this builder
+         */
+        public Builder maxBatchSize(final int value) {
+            this.maxBatchSize = value;
+            return this;
+        }
+
+        /**
+         * Set how the batch queries of a commit are sent. Defaults to
+         * {@link FalkorDBPipelineMode#OFF}.
+         *
+         * @param value the pipeline mode
+         * @return this builder
+         */
+        public Builder pipelineMode(final FalkorDBPipelineMode value) {
+            this.pipelineMode = value;
+            return this;
+        }
+
+        /**
+         * Enable write-behind: non-transactional adds and deletes are
+         * queued and written in batches by a background thread. Reads
+         * through the model wait for queued writes first.
+         *
+         * @param queueSize the maximum number of queued writes, or 0 to
+         *     disable write-behind
+         * @param flushIntervalMillis the longest time a write stays queued
+         * @return this builder
+         */
+        public Builder writeBehind(final int queueSize,
+                final long flushIntervalMillis) {
+            this.writeBehindQueueSize = queueSize;
+            this.writeBehindIntervalMillis = flushIntervalMillis;
+            return this;
+        }
+
+        /**
+         * Enable the find cache: results of find and contains are cached
+         * per triple pattern and invalidated by writes through the model.
+         * Writes by other clients are seen once an entry expires.
+         *
+         * @param maxEntries the maximum number of cached patterns, or 0 to
+         *     disable the cache
+         * @param ttlMillis how long an entry stays valid
+         * @return this builder
+         */
+        public Builder findCache(final int maxEntries,
+                final long ttlMillis) {
+            this.findCacheSize = maxEntries;
+            this.findCacheTtlMillis = ttlMillis;
+            return this;
+        }
+
+        /**
+         * Set how many subject nodes a find with a wildcard subject reads
+         * per query. Scans are read page by page as the results are
+         * consumed.
+         *
+         * @param pageSize the number of subject nodes per page, or 0 to
+         *     read scans in a single query
+         * @return this builder
+         */
+        public Builder findPageSize(final int pageSize) {
+            this.findPageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Set whether paged scans load the next page in the background
+         * while the current one is read.
+         *
+         * @param enabled true to load the next page ahead
+         * @return this builder
+         */
+        public Builder findPrefetch(final boolean enabled) {
+            this.findPrefetch = enabled;
+            return this;
+        }
+
+        /**
+         * Set the number of subject and object URIs kept in the node
+         * dictionary that decoding shares across all models, see
+         * {@link NodeDictionary}.
+         *
+         * @param capacity the number of slots, or 0 to create a new node
+         *     for every URI read
+         * @return this builder
+         */
+        public Builder nodeCacheSize(final int capacity) {
+            this.nodeCacheSize = capacity;
+            return this;
+        }
+
         /**
          * Build and return a Jena {@link Model} configured with the
          * builder values.
@@ -151,10 +362,27 @@ public final class FalkorDBModelFactory {
          * @return a FalkorDB-backed {@link Model}
          */
         public Model build() {
-            if (driver != null) {
-                return createModel(driver, graphName);
+            var graph = driver != null
+                ? new FalkorDBGraph(driver, graphName)
+                : new FalkorDBGraph(host, port, graphName);
+            var handler =
+                (FalkorDBTransactionHandler) graph.getTransactionHandler();
+            handler.setMaxBufferedTriples(maxBufferedTriples);
+            handler.setMaxBufferedBytes(maxBufferedBytes);
+            handler.setFlushParallelism(flushParallelism);
+            handler.setWriteStrategy(writeStrategy);
+            handler.setPipelineMode(pipelineMode);
+            handler.setBatchSizeBounds(minBatchSize, maxBatchSize);
+            handler.setBatchTargetLatencyMillis(batchTargetLatencyMillis);
+            handler.setWriteBehind(writeBehindQueueSize,
+                writeBehindIntervalMillis);
+            graph.setFindCache(findCacheSize, findCacheTtlMillis);
+            graph.setFindPageSize(findPageSize);
+            graph.setFindPrefetch(findPrefetch);
+            if (nodeCacheSize != null) {
+                NodeDictionary.shared().setCapacity(nodeCacheSize);
             }
-            return createModel(host, port, graphName);
+            return ModelFactory.createModelForGraph(graph);
         }
     }
 }
@@ -0,0 +1,27 @@
+package com.falkordb.jena;
+
+/**
+ * How the batch queries of one flush (a commit, an auto-flush, a
+ * write-behind drain or a bulk load batch) are sent to FalkorDB.
+ */
+public enum FalkorDBPipelineMode {
+    /**
+     * Send each batch query and wait for its reply before sending the
+     * next one.
+     */
+    OFF,
+
+    /**
+     * Send all batch queries over one connection without waiting and
+     * collect the replies at the end, saving a network round trip per
+     * batch. Batches are then written sequentially.
+     */
+    PIPELINE,
+
+    /**
+     * Like {@link #PIPELINE}, wrapped in {@code MULTI}/{@code EXEC} so that
+     * no other client's command runs in the middle of the flush. Redis does
+     * not roll back the other queries if one of them fails at run time.
+     */
+    MULTI_EXEC
+}
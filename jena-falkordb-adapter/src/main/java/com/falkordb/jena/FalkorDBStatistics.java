@@ -0,0 +1,269 @@
+package com.falkordb.jena;
+
+import com.falkordb.jena.tracing.TracedGraph;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Triple counts of a FalkorDB graph: the total, per predicate and per
+ * {@code rdf:type} class.
+ *
+ * <p>The counts are kept in a single metadata node with the
+ * {@code RDFStatistics} label. Writes made through {@link FalkorDBGraph},
+ * its transaction handler and {@link FalkorDBBulkLoader} update that node
+ * in the same Cypher query that changes the triples, so the counts stay
+ * exact without ever scanning the graph. Graphs written by other tools can be
+ * recounted once with {@link FalkorDBGraph#rebuildStatistics()}.</p>
+ *
+ * <p>The node has no {@code Resource} label and is never read as RDF. It
+ * holds the total in {@code total}, predicate counts in properties named
+ * {@code p:<predicate URI>} and class counts in {@code t:<class URI>}.
+ * {@code rdf:type} triples count towards both their class and the
+ * {@code rdf:type} predicate.</p>
+ */
+public final class FalkorDBStatistics {
+
+    /** Label of the statistics node. */
+    static final String LABEL = "RDFStatistics";
+
+    /** Prefix of predicate count properties. */
+    private static final String PREDICATE_PREFIX = "p:";
+
+    /** Prefix of class count properties. */
+    private static final String TYPE_PREFIX = "t:";
+
+    /**
+     * Create the statistics node if the graph holds no triples yet. A
+     * graph that already has data keeps working without statistics until
+     * they are rebuilt.
+     */
+    static final String INIT_QUERY = """
+        OPTIONAL MATCH (n:Resource)
+        WITH n LIMIT 1
+        WITH n WHERE n IS NULL
+        MERGE (m:%s)
+        ON CREATE SET m.total = 0""".formatted(LABEL);
+
+    /** Read the total only. */
+    static final String TOTAL_QUERY =
+        "MATCH (m:%s) RETURN m.total AS total".formatted(LABEL);
+
+    /** Read all counts. */
+    static final String READ_QUERY =
+        "MATCH (m:%s) RETURN properties(m) AS props".formatted(LABEL);
+
+    /** Total number of triples. */
+    private final long total;
+
+    /** Triple counts by predicate URI. */
+    private final Map<String, Long> predicateCounts;
+
+    /** Triple counts by class URI. */
+    private final Map<String, Long> typeCounts;
+
+    /**
+     * Create a snapshot of counts.
+     *
+     * @param totalCount the total number of triples
+     * @param predicates triple counts by predicate URI
+     * @param types triple counts by class URI
+     */
+    FalkorDBStatistics(final long totalCount,
+            final Map<String, Long> predicates,
+            final Map<String, Long> types) {
+        this.total = totalCount;
+        this.predicateCounts =
+            Collections.unmodifiableMap(new TreeMap<>(predicates));
+        this.typeCounts = Collections.unmodifiableMap(new TreeMap<>(types));
+    }
+
+    /**
+     * Get the number of triples in the graph.
+     *
+     * @return the total
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Get the number of triples with the given predicate.
+     *
+     * @param predicateUri the predicate URI
+     * @return the count, 0 for an unknown predicate
+     */
+    public long getPredicateCount(final String predicateUri) {
+        return predicateCounts.getOrDefault(predicateUri, 0L);
+    }
+
+    /**
+     * Get the number of {@code rdf:type} triples with the given class.
+     *
+     * @param typeUri the class URI
+     * @return the count, 0 for an unknown class
+     */
+    public long getTypeCount(final String typeUri) {
+        return typeCounts.getOrDefault(typeUri, 0L);
+    }
+
+    /**
+     * Get the triple counts by predicate URI.
+     *
+     * @return an unmodifiable map sorted by predicate URI
+     */
+    public Map<String, Long> getPredicateCounts() {
+        return predicateCounts;
+    }
+
+    /**
+     * Get the {@code rdf:type} triple counts by class URI.
+     *
+     * @return an unmodifiable map sorted by class URI
+     */
+    public Map<String, Long> getTypeCounts() {
+        return typeCounts;
+    }
+
+    @Override
+    public String toString() {
+        return "FalkorDBStatistics[total=" + total + ", predicates="
+            + predicateCounts + ", types=" + typeCounts + "]";
+    }
+
+    /**
+     * Get the statistics key counting triples with a predicate.
+     *
+     * @param predicateUri the predicate URI
+     * @return the property name on the statistics node
+     */
+    static String predicateKey(final String predicateUri) {
+        return PREDICATE_PREFIX + predicateUri;
+    }
+
+    /**
+     * Get the statistics key counting {@code rdf:type} triples of a class.
+     *
+     * @param typeUri the class URI
+     * @return the property name on the statistics node
+     */
+    static String typeKey(final String typeUri) {
+        return TYPE_PREFIX + typeUri;
+    }
+
+    /**
+     * Read counts from the properties of the statistics node.
+     *
+     * @param properties the node properties
+     * @return the counts
+     */
+    static FalkorDBStatistics fromProperties(
+            final Map<String, Object> properties) {
+        long totalCount = 0;
+        Map<String, Long> predicates = new HashMap<>();
+        Map<String, Long> types = new HashMap<>();
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            if (!(entry.getValue() instanceof Number number)) {
+                continue;
+            }
+            String key = entry.getKey();
+            if (key.equals("total")) {
+                totalCount = number.longValue();
+            } else if (key.startsWith(PREDICATE_PREFIX)) {
+                predicates.put(key.substring(PREDICATE_PREFIX.length()),
+                    number.longValue());
+            } else if (key.startsWith(TYPE_PREFIX)) {
+                types.put(key.substring(TYPE_PREFIX.length()),
+                    number.longValue());
+            }
+        }
+        return new FalkorDBStatistics(totalCount, predicates, types);
+    }
+
+    /**
+     * Replace the statistics node of a graph with these counts.
+     *
+     * @param graph the graph to write to
+     */
+    void writeTo(final TracedGraph graph) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("total", total);
+        List<String> assignments = new ArrayList<>();
+        assignments.add("m.total = $total");
+        addAssignments(assignments, params, PREDICATE_PREFIX,
+            predicateCounts);
+        addAssignments(assignments, params, TYPE_PREFIX, typeCounts);
+
+        graph.query("MATCH (m:%s) DELETE m".formatted(LABEL));
+        graph.query("CREATE (m:%s) SET %s".formatted(LABEL,
+            String.join(", ", assignments)), params);
+    }
+
+    private static void addAssignments(final List<String> assignments,
+            final Map<String, Object> params, final String prefix,
+            final Map<String, Long> counts) {
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            String param = "c" + params.size();
+            params.put(param, entry.getValue());
+            assignments.add("m.`%s` = $%s".formatted(
+                FalkorDBBatchWriter.sanitizeCypherIdentifier(
+                    prefix + entry.getKey()), param));
+        }
+    }
+
+    /**
+     * Build the end of a write query that applies the triples it counted
+     * to the statistics node. Graphs without a statistics node are left
+     * alone.
+     *
+     * @param counts Cypher aggregates over the written rows, such as
+     *     {@code sum(added)}, each with the statistics keys it counts
+     *     towards besides the total
+     * @param added true to add the counts, false to subtract them
+     * @return the Cypher clauses, starting with a line break
+     */
+    static String updateClause(final Map<String, List<String>> counts,
+            final boolean added) {
+        String sign = added ? " + " : " - ";
+        List<String> aggregates = new ArrayList<>();
+        StringBuilder totalAssignment = new StringBuilder(
+            "m.total = m.total");
+        Map<String, StringBuilder> keyAssignments = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : counts.entrySet()) {
+            String name = "c" + aggregates.size();
+            aggregates.add(entry.getKey() + " AS " + name);
+            totalAssignment.append(sign).append(name);
+            for (String key : entry.getValue()) {
+                String property = "m.`%s`".formatted(
+                    FalkorDBBatchWriter.sanitizeCypherIdentifier(key));
+                keyAssignments.computeIfAbsent(key, k -> new StringBuilder(
+                        property + " = coalesce(" + property + ", 0)"))
+                    .append(sign).append(name);
+            }
+        }
+        List<String> assignments = new ArrayList<>();
+        assignments.add(totalAssignment.toString());
+        keyAssignments.values().forEach(a -> assignments.add(a.toString()));
+        return "\nWITH " + String.join(", ", aggregates)
+            + "\nMATCH (m:" + LABEL + ")"
+            + "\nSET " + String.join(", ", assignments);
+    }
+
+    /**
+     * Build the end of a write query for a single count.
+     *
+     * @param aggregate the Cypher aggregate over the written rows
+     * @param added true to add the count, false to subtract it
+     * @param keys the statistics keys the count goes towards besides the
+     *     total
+     * @return the Cypher clauses, starting with a line break
+     */
+    static String updateClause(final String aggregate, final boolean added,
+            final String... keys) {
+        return updateClause(Map.of(aggregate, List.of(keys)), added);
+    }
+}
@@ -0,0 +1,141 @@
+package com.falkordb.jena;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.jena.graph.GraphStatisticsHandler;
+import org.apache.jena.graph.Node;
+import org.apache.jena.vocabulary.RDF;
+
+/**
+ * Cardinality estimates for triple patterns, from the counts kept in the
+ * statistics node of a FalkorDB graph.
+ *
+ * <p>A pattern with a concrete predicate starts from the number of
+ * triples with that predicate, and a {@code rdf:type} pattern with a
+ * concrete class from the number of instances of that class. A concrete
+ * subject or object divides the estimate by the number of nodes, so
+ * {@code (s, ANY, ANY)} is the average fan-out of a node. Predicates and
+ * classes that do not occur give 0.</p>
+ *
+ * <p>The counts are read from FalkorDB on first use and again once they
+ * are older than the refresh interval. Without a statistics node, every
+ * estimate is -1 (unknown).</p>
+ */
+final class FalkorDBStatisticsHandler implements GraphStatisticsHandler {
+
+    /** Default time after which the counts are read again. */
+    static final long DEFAULT_REFRESH_MILLIS = 30_000;
+
+    /**
+     * Counts read from FalkorDB.
+     *
+     * @param statistics the triple counts, or null if the graph has none
+     * @param nodeCount the number of resource nodes
+     */
+    record Snapshot(FalkorDBStatistics statistics, long nodeCount) {
+    }
+
+    /** Reads the counts from FalkorDB. */
+    private final Supplier<Snapshot> loader;
+
+    /** Time after which the counts are read again, in nanoseconds. */
+    private volatile long refreshNanos =
+        TimeUnit.MILLISECONDS.toNanos(DEFAULT_REFRESH_MILLIS);
+
+    /** The current counts, or null before the first read. */
+    private volatile Snapshot snapshot;
+
+    /** When the current counts were read, from {@link System#nanoTime()}. */
+    private volatile long loadedAt;
+
+    /**
+     * Create a handler.
+     *
+     * @param snapshotLoader reads the counts from FalkorDB
+     */
+    FalkorDBStatisticsHandler(final Supplier<Snapshot> snapshotLoader) {
+        this.loader = snapshotLoader;
+    }
+
+    /**
+     * Set how long counts are used before they are read again.
+     *
+     * @param refreshMillis the refresh interval
+     */
+    void setRefreshInterval(final long refreshMillis) {
+        if (refreshMillis < 0) {
+            throw new IllegalArgumentException(
+                "Refresh interval must not be negative: " + refreshMillis);
+        }
+        this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(refreshMillis);
+    }
+
+    /**
+     * Read the counts again on the next estimate.
+     */
+    void invalidate() {
+        snapshot = null;
+    }
+
+    @Override
+    public long getStatistic(final Node s, final Node p, final Node o) {
+        Snapshot current = current();
+        FalkorDBStatistics statistics = current.statistics();
+        if (statistics == null) {
+            return -1;
+        }
+        long nodes = Math.max(1, current.nodeCount());
+
+        if (p.isURI() && p.getURI().equals(RDF.type.getURI())
+                && o.isURI()) {
+            long instances = statistics.getTypeCount(o.getURI());
+            return s.isConcrete() ? Math.min(instances, 1) : instances;
+        }
+
+        long estimate;
+        if (p.isURI()) {
+            estimate = statistics.getPredicateCount(p.getURI());
+        } else if (p.isConcrete()) {
+            // Bound to a predicate not known yet: assume an average one
+            estimate = statistics.getTotal()
+                / Math.max(1, statistics.getPredicateCounts().size());
+        } else {
+            estimate = statistics.getTotal();
+        }
+        if (s.isConcrete()) {
+            estimate = perNode(estimate, nodes);
+        }
+        if (o.isConcrete()) {
+            estimate = perNode(estimate, nodes);
+        }
+        return estimate;
+    }
+
+    /**
+     * Spread a count over the nodes, keeping at least one match when
+     * there are any.
+     */
+    private static long perNode(final long count, final long nodes) {
+        return count == 0 ? 0 : Math.max(1, count / nodes);
+    }
+
+    /**
+     * Get the counts, reading them again if they are too old.
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - loadedAt < refreshNanos) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null
+                    || System.nanoTime() - loadedAt >= refreshNanos) {
+                current = loader.get();
+                loadedAt = System.nanoTime();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+}
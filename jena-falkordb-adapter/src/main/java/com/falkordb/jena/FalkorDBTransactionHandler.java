@@ -3,18 +3,23 @@ package com.falkordb.jena;
 import com.falkordb.jena.tracing.TracedGraph;
 import com.falkordb.jena.tracing.TracingUtil;
 import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.impl.TransactionHandlerBase;
-import org.apache.jena.vocabulary.RDF;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,11 +33,26 @@ import org.slf4j.LoggerFactory;
  *
  * <p>Key features:</p>
  * <ul>
- *   <li>Buffers add and delete operations during transactions</li>
+ *   <li>Buffers add and delete operations during transactions, coalesced
+ *       to their net effect so duplicate and cancelling operations are not
+ *       written</li>
  *   <li>Uses Cypher UNWIND for efficient batch inserts/deletes</li>
  *   <li>Full OpenTelemetry tracing support</li>
  *   <li>Thread-safe transaction state management</li>
+ *   <li>Optional auto-flush of the buffers when they exceed a triple count
+ *       or estimated memory threshold</li>
  * </ul>
+ *
+ * <p>Auto-flush is disabled by default. When it is enabled, buffered
+ * operations are written to FalkorDB as soon as a threshold is reached and
+ * commit only flushes the remaining tail. Writes that were auto-flushed are
+ * not undone by {@link #abort()}.</p>
+ *
+ * <p>Outside a transaction every add and delete is normally a synchronous
+ * round trip. With write-behind enabled they are queued instead and a
+ * background thread writes them in batches; {@link #flush()} and
+ * {@link #sync()} act as barriers, and the graph syncs before every read
+ * and before a transaction begins.</p>
  */
 public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
 
@@ -40,17 +60,11 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
     private static final Logger LOGGER = LoggerFactory.getLogger(
         FalkorDBTransactionHandler.class);
 
-    /** The FalkorDB graph instance. */
-    private final TracedGraph graph;
-
     /** The graph name for tracing. */
     private final String graphName;
 
-    /** Buffer for triples to be added. */
-    private List<Triple> addBuffer;
-
-    /** Buffer for triples to be deleted. */
-    private List<Triple> deleteBuffer;
+    /** Coalesced adds and deletes of the current transaction. */
+    private CoalescingWriteSet writeSet;
 
     /** Whether a transaction is currently active. */
     private volatile boolean inTransaction = false;
@@ -58,8 +72,38 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
     /** Tracer for OpenTelemetry. */
     private final Tracer tracer;
 
-    /** Maximum batch size for UNWIND operations. */
-    private static final int MAX_BATCH_SIZE = 1000;
+    /** Writer used to flush buffered triples in batches. */
+    private final FalkorDBBatchWriter batchWriter;
+
+    /**
+     * Estimated fixed heap cost of one buffered triple in bytes (the
+     * triple, its nodes and the list slot), excluding string contents.
+     */
+    static final long TRIPLE_OVERHEAD_BYTES = 96;
+
+    /** Queue for non-transactional writes, or null when disabled. */
+    private volatile WriteBehindQueue writeBehind;
+
+    /** Buffered triple count that triggers an auto-flush (0 = unlimited). */
+    private volatile int maxBufferedTriples = 0;
+
+    /** Estimated buffer size that triggers an auto-flush (0 = unlimited). */
+    private volatile long maxBufferedBytes = 0;
+
+    /** Number of auto-flushes performed by this handler. */
+    private final AtomicLong autoFlushCount = new AtomicLong();
+
+    /** Number of buffered operations removed by coalescing. */
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /** Counter of buffered operations removed by coalescing. */
+    private final LongCounter coalescedCounter;
+
+    /** Counter of auto-flushes, by trigger reason. */
+    private final LongCounter autoFlushCounter;
+
+    /** Histogram of the number of triples written per auto-flush. */
+    private final LongHistogram autoFlushTriples;
 
     /** Attribute key for operation type. */
     private static final AttributeKey<String> ATTR_OPERATION =
@@ -69,14 +113,18 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
     private static final AttributeKey<String> ATTR_GRAPH_NAME =
         AttributeKey.stringKey("falkordb.graph_name");
 
-    /** Attribute key for batch size. */
-    private static final AttributeKey<Long> ATTR_BATCH_SIZE =
-        AttributeKey.longKey("falkordb.batch_size");
-
     /** Attribute key for triple count. */
     private static final AttributeKey<Long> ATTR_TRIPLE_COUNT =
         AttributeKey.longKey("rdf.triple_count");
 
+    /** Attribute key for the reason an auto-flush was triggered. */
+    private static final AttributeKey<String> ATTR_FLUSH_REASON =
+        AttributeKey.stringKey("falkordb.flush_reason");
+
+    /** Attribute key for estimated buffer size in bytes. */
+    private static final AttributeKey<Long> ATTR_BUFFER_BYTES =
+        AttributeKey.longKey("falkordb.buffer_bytes");
+
     /**
      * Callback interface for executing immediate (non-transactional) adds.
      */
@@ -107,6 +155,9 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
     /** Callback for immediate deletes when not in transaction. */
     private final ImmediateDeleteCallback immediateDeleteCallback;
 
+    /** Told about the triples of each flushed write set, or null. */
+    private volatile Consumer<List<Triple>> flushListener;
+
     /**
      * Create a transaction handler for the given graph.
      *
@@ -120,11 +171,299 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
             final String graphName,
             final ImmediateAddCallback immediateAddCallback,
             final ImmediateDeleteCallback immediateDeleteCallback) {
-        this.graph = graph;
         this.graphName = graphName;
         this.immediateAddCallback = immediateAddCallback;
         this.immediateDeleteCallback = immediateDeleteCallback;
         this.tracer = TracingUtil.getTracer(TracingUtil.SCOPE_FALKORDB_GRAPH);
+        this.batchWriter = new FalkorDBBatchWriter(graph);
+
+        Meter meter = TracingUtil.getMeter(TracingUtil.SCOPE_FALKORDB_GRAPH);
+        this.autoFlushCounter = meter
+            .counterBuilder("falkordb.transaction.auto_flushes")
+            .setDescription("Transaction buffer flushes triggered by a "
+                + "size or memory threshold")
+            .build();
+        this.autoFlushTriples = meter
+            .histogramBuilder("falkordb.transaction.auto_flush.triples")
+            .setDescription("Triples written per auto-flush")
+            .ofLongs()
+            .build();
+        this.coalescedCounter = meter
+            .counterBuilder("falkordb.transaction.coalesced")
+            .setDescription("Buffered operations dropped or merged before "
+                + "being written")
+            .build();
+    }
+
+    /**
+     * Set the number of buffered triples (adds plus deletes) at which the
+     * buffers are flushed before commit.
+     *
+     * @param maxTriples the threshold, or 0 to disable
+     */
+    public void setMaxBufferedTriples(final int maxTriples) {
+        if (maxTriples < 0) {
+            throw new IllegalArgumentException(
+                "Threshold must not be negative: " + maxTriples);
+        }
+        this.maxBufferedTriples = maxTriples;
+    }
+
+    /**
+     * Get the buffered triple count that triggers an auto-flush.
+     *
+     * @return the threshold, or 0 if disabled
+     */
+    public int getMaxBufferedTriples() {
+        return maxBufferedTriples;
+    }
+
+    /**
+     * Set the estimated buffer size in bytes at which the buffers are
+     * flushed before commit.
+     *
+     * @param maxBytes the threshold, or 0 to disable
+     */
+    public void setMaxBufferedBytes(final long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException(
+                "Threshold must not be negative: " + maxBytes);
+        }
+        this.maxBufferedBytes = maxBytes;
+    }
+
+    /**
+     * Get the estimated buffer size that triggers an auto-flush.
+     *
+     * @return the threshold in bytes, or 0 if disabled
+     */
+    public long getMaxBufferedBytes() {
+        return maxBufferedBytes;
+    }
+
+    /**
+     * Set the number of predicate or type groups written concurrently when
+     * the buffers are flushed. Concurrent batches use separate connections
+     * from the driver's pool.
+     *
+     * @param parallelism the degree of parallelism, 1 for sequential
+     *     flushes
+     */
+    public void setFlushParallelism(final int parallelism) {
+        batchWriter.setParallelism(parallelism);
+    }
+
+    /**
+     * Get the number of predicate or type groups written concurrently when
+     * the buffers are flushed.
+     *
+     * @return the degree of parallelism
+     */
+    public int getFlushParallelism() {
+        return batchWriter.getParallelism();
+    }
+
+    /**
+     * Set how buffered literal and type triples are grouped into queries
+     * when the buffers are flushed.
+     *
+     * @param strategy the write strategy
+     */
+    public void setWriteStrategy(final FalkorDBWriteStrategy strategy) {
+        batchWriter.setWriteStrategy(strategy);
+    }
+
+    /**
+     * Get how buffered literal and type triples are grouped into queries.
+     *
+     * @return the write strategy
+     */
+    public FalkorDBWriteStrategy getWriteStrategy() {
+        return batchWriter.getWriteStrategy();
+    }
+
+    /**
+     * Set how the batch queries of a flush are sent. Pipelining sends all
+     * batches of a commit over one connection without waiting for each
+     * reply; {@link FalkorDBPipelineMode#MULTI_EXEC} also wraps them in
+     * {@code MULTI}/{@code EXEC}.
+     *
+     * @param mode the pipeline mode
+     */
+    public void setPipelineMode(final FalkorDBPipelineMode mode) {
+        batchWriter.setPipelineMode(mode);
+    }
+
+    /**
+     * Get how the batch queries of a flush are sent.
+     *
+     * @return the pipeline mode
+     */
+    public FalkorDBPipelineMode getPipelineMode() {
+        return batchWriter.getPipelineMode();
+    }
+
+    /**
+     * Enable adaptive batch sizing. Each batch kind (literal, type and
+     * relationship adds and deletes) is then resized after every batch so
+     * that batches take about the given time.
+     *
+     * @param millis the target latency per batch, or 0 to use fixed
+     *     batches of 1000 triples
+     */
+    public void setBatchTargetLatencyMillis(final long millis) {
+        batchWriter.getBatchSizer().setTargetLatencyMillis(millis);
+    }
+
+    /**
+     * Get the target latency per batch used for adaptive batch sizing.
+     *
+     * @return the target latency in milliseconds, or 0 if disabled
+     */
+    public long getBatchTargetLatencyMillis() {
+        return batchWriter.getBatchSizer().getTargetLatencyMillis();
+    }
+
+    /**
+     * Set the bounds for adaptive batch sizes.
+     *
+     * @param min the smallest batch size
+     * @param max the largest batch size
+     */
+    public void setBatchSizeBounds(final int min, final int max) {
+        batchWriter.getBatchSizer().setBounds(min, max);
+    }
+
+    /**
+     * Get the current batch size of each batch kind.
+     *
+     * @return batch sizes keyed by kind, e.g. {@code literal_add}
+     */
+    public Map<String, Integer> getBatchSizes() {
+        return batchWriter.getBatchSizer().snapshot();
+    }
+
+    /**
+     * Enable or disable write-behind for non-transactional adds and
+     * deletes. When enabled, writes are queued and a background thread
+     * writes them in batches when the queue is half full or the oldest
+     * write has waited for the flush interval. Writers block while the
+     * queue is full. Disabling write-behind first writes everything still
+     * queued.
+     *
+     * @param queueCapacity the maximum number of queued writes, or 0 to
+     *     disable write-behind
+     * @param flushIntervalMillis the longest time a write stays queued
+     */
+    public synchronized void setWriteBehind(final int queueCapacity,
+            final long flushIntervalMillis) {
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException(
+                "Queue capacity must not be negative: " + queueCapacity);
+        }
+        if (queueCapacity > 0 && flushIntervalMillis < 1) {
+            throw new IllegalArgumentException(
+                "Flush interval must be at least 1 ms: "
+                    + flushIntervalMillis);
+        }
+        WriteBehindQueue previous = writeBehind;
+        if (previous != null) {
+            // Closing writes everything still queued
+            writeBehind = null;
+            previous.close();
+        }
+        if (queueCapacity > 0) {
+            writeBehind = new WriteBehindQueue(batchWriter, graphName,
+                queueCapacity, flushIntervalMillis);
+        }
+    }
+
+    /**
+     * Check whether write-behind is enabled.
+     *
+     * @return true if non-transactional writes are queued
+     */
+    public boolean isWriteBehindEnabled() {
+        return writeBehind != null;
+    }
+
+    /**
+     * Ask the write-behind thread to write everything queued so far
+     * without waiting for it. Does nothing when write-behind is disabled.
+     */
+    public void flush() {
+        WriteBehindQueue queue = writeBehind;
+        if (queue != null) {
+            queue.flush();
+        }
+    }
+
+    /**
+     * Write everything queued by write-behind and wait until it is in
+     * FalkorDB. Does nothing when write-behind is disabled.
+     *
+     * @throws IllegalStateException if a background write failed since
+     *     the last call
+     */
+    public void sync() {
+        WriteBehindQueue queue = writeBehind;
+        if (queue != null) {
+            queue.sync();
+        }
+    }
+
+    /**
+     * Get the number of writes queued by write-behind but not yet written.
+     *
+     * @return the pending write count, 0 when write-behind is disabled
+     */
+    public long getPendingWrites() {
+        WriteBehindQueue queue = writeBehind;
+        return queue != null ? queue.pending() : 0;
+    }
+
+    /**
+     * Get the number of times a writer waited for space in the
+     * write-behind queue.
+     *
+     * @return the back-pressure count, 0 when write-behind is disabled
+     */
+    public long getWriteBehindBackPressureCount() {
+        WriteBehindQueue queue = writeBehind;
+        return queue != null ? queue.backPressureCount() : 0;
+    }
+
+    /**
+     * Write any queued write-behind operations and release the threads
+     * used for flushing.
+     */
+    synchronized void close() {
+        WriteBehindQueue queue = writeBehind;
+        if (queue != null) {
+            writeBehind = null;
+            queue.close();
+        }
+        batchWriter.close();
+    }
+
+    /**
+     * Get the number of buffered operations that were dropped or merged
+     * by coalescing since this handler was created.
+     *
+     * @return the coalesced operation count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Get the number of auto-flushes performed by this handler since it
+     * was created.
+     *
+     * @return the auto-flush count
+     */
+    public long getAutoFlushCount() {
+        return autoFlushCount.get();
     }
 
     @Override
@@ -145,9 +484,11 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
                 throw new UnsupportedOperationException(
                     "Nested transactions are not supported");
             }
+            // Queued writes happened before the transaction, so they must
+            // not be applied after its commit
+            sync();
             inTransaction = true;
-            addBuffer = new ArrayList<>();
-            deleteBuffer = new ArrayList<>();
+            writeSet = new CoalescingWriteSet();
             span.setStatus(StatusCode.OK);
 
             if (LOGGER.isDebugEnabled()) {
@@ -176,18 +517,20 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
                     "No transaction in progress");
             }
 
-            int addCount = addBuffer != null ? addBuffer.size() : 0;
-            int deleteCount = deleteBuffer != null ? deleteBuffer.size() : 0;
+            int addCount = writeSet != null ? writeSet.addCount() : 0;
+            int deleteCount = writeSet != null ? writeSet.deleteCount() : 0;
 
             span.setAttribute(ATTR_TRIPLE_COUNT, (long) (addCount + deleteCount));
 
             // Flush all buffered operations
-            flushAdds();
-            flushDeletes();
+            batchWriter.pipelined(() -> {
+                flushAdds();
+                flushDeletes();
+            });
+            notifyFlushed();
 
             inTransaction = false;
-            addBuffer = null;
-            deleteBuffer = null;
+            writeSet = null;
 
             span.setStatus(StatusCode.OK);
 
@@ -225,13 +568,12 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
                     "No transaction in progress");
             }
 
-            int addCount = addBuffer != null ? addBuffer.size() : 0;
-            int deleteCount = deleteBuffer != null ? deleteBuffer.size() : 0;
+            int addCount = writeSet != null ? writeSet.addCount() : 0;
+            int deleteCount = writeSet != null ? writeSet.deleteCount() : 0;
 
             // Discard buffers without executing
             inTransaction = false;
-            addBuffer = null;
-            deleteBuffer = null;
+            writeSet = null;
 
             span.setStatus(StatusCode.OK);
 
@@ -250,354 +592,146 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
     }
 
     /**
-     * Buffer an add operation or execute immediately if not in transaction.
+     * Buffer an add operation, or outside a transaction queue it for
+     * write-behind or execute it immediately.
      *
      * @param triple the triple to add
      */
     public void bufferAdd(final Triple triple) {
         if (inTransaction) {
-            addBuffer.add(triple);
+            long coalesced = writeSet.coalescedCount();
+            writeSet.add(triple);
+            recordCoalesced(writeSet.coalescedCount() - coalesced);
+            autoFlushIfNeeded();
         } else {
-            // Non-transactional add: execute immediately
-            immediateAddCallback.add(triple);
+            WriteBehindQueue queue = writeBehind;
+            if (queue != null) {
+                queue.add(triple);
+            } else {
+                // Non-transactional add: execute immediately
+                immediateAddCallback.add(triple);
+            }
         }
     }
 
     /**
-     * Buffer a delete operation or execute immediately if not in transaction.
+     * Buffer a delete operation, or outside a transaction queue it for
+     * write-behind or execute it immediately.
      *
      * @param triple the triple to delete
      */
     public void bufferDelete(final Triple triple) {
         if (inTransaction) {
-            deleteBuffer.add(triple);
+            long coalesced = writeSet.coalescedCount();
+            writeSet.delete(triple);
+            recordCoalesced(writeSet.coalescedCount() - coalesced);
+            autoFlushIfNeeded();
         } else {
-            // Non-transactional delete: execute immediately
-            immediateDeleteCallback.delete(triple);
-        }
-    }
-
-    /**
-     * Check if a transaction is currently in progress.
-     *
-     * @return true if a transaction is active
-     */
-    public boolean isInTransaction() {
-        return inTransaction;
-    }
-
-    /**
-     * Flush all buffered add operations using efficient bulk Cypher queries.
-     */
-    private void flushAdds() {
-        if (addBuffer == null || addBuffer.isEmpty()) {
-            return;
-        }
-
-        Span span = tracer.spanBuilder("FalkorDBTransaction.flushAdds")
-            .setSpanKind(SpanKind.INTERNAL)
-            .setAttribute(ATTR_OPERATION, "flush_adds")
-            .setAttribute(ATTR_GRAPH_NAME, graphName)
-            .setAttribute(ATTR_TRIPLE_COUNT, (long) addBuffer.size())
-            .startSpan();
-
-        try (Scope scope = span.makeCurrent()) {
-            // Group triples by type for efficient processing
-            List<Triple> literalTriples = new ArrayList<>();
-            List<Triple> typeTriples = new ArrayList<>();
-            List<Triple> relationshipTriples = new ArrayList<>();
-
-            for (Triple triple : addBuffer) {
-                if (triple.getObject().isLiteral()) {
-                    literalTriples.add(triple);
-                } else if (triple.getPredicate().getURI()
-                        .equals(RDF.type.getURI())) {
-                    typeTriples.add(triple);
-                } else {
-                    relationshipTriples.add(triple);
-                }
-            }
-
-            // Execute batch operations for each type
-            if (!literalTriples.isEmpty()) {
-                flushLiteralAdds(literalTriples);
-            }
-            if (!typeTriples.isEmpty()) {
-                flushTypeAdds(typeTriples);
-            }
-            if (!relationshipTriples.isEmpty()) {
-                flushRelationshipAdds(relationshipTriples);
+            WriteBehindQueue queue = writeBehind;
+            if (queue != null) {
+                queue.delete(triple);
+            } else {
+                // Non-transactional delete: execute immediately
+                immediateDeleteCallback.delete(triple);
             }
-
-            span.setStatus(StatusCode.OK);
-        } catch (Exception e) {
-            span.setStatus(StatusCode.ERROR, e.getMessage());
-            span.recordException(e);
-            throw e;
-        } finally {
-            span.end();
-        }
-    }
-
-    /**
-     * Flush literal property additions using UNWIND.
-     */
-    private void flushLiteralAdds(final List<Triple> triples) {
-        // Process in batches
-        for (int i = 0; i < triples.size(); i += MAX_BATCH_SIZE) {
-            int end = Math.min(i + MAX_BATCH_SIZE, triples.size());
-            List<Triple> batch = triples.subList(i, end);
-            flushLiteralAddBatch(batch);
         }
     }
 
     /**
-     * Flush a batch of literal property additions.
+     * Set a listener told about the added and deleted triples each time
+     * the transaction buffers are written, on commit or auto-flush.
+     *
+     * @param listener the listener, or null for none
      */
-    private void flushLiteralAddBatch(final List<Triple> batch) {
-        Span span = tracer.spanBuilder("FalkorDBTransaction.flushLiteralBatch")
-            .setSpanKind(SpanKind.CLIENT)
-            .setAttribute(ATTR_OPERATION, "batch_literal_add")
-            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
-            .startSpan();
-
-        try (Scope scope = span.makeCurrent()) {
-            // Group by predicate for efficient property setting
-            // Use parallel lists since FalkorDB doesn't handle List<Map> params
-            Map<String, List<String>> predicateSubjects = new HashMap<>();
-            Map<String, List<String>> predicateValues = new HashMap<>();
-
-            for (Triple triple : batch) {
-                String predicate = nodeToString(triple.getPredicate());
-                predicateSubjects.computeIfAbsent(predicate,
-                    k -> new ArrayList<>());
-                predicateValues.computeIfAbsent(predicate,
-                    k -> new ArrayList<>());
-
-                predicateSubjects.get(predicate).add(
-                    nodeToString(triple.getSubject()));
-                predicateValues.get(predicate).add(
-                    triple.getObject().getLiteralLexicalForm());
-            }
-
-            // Execute batch for each predicate
-            for (String predicate : predicateSubjects.keySet()) {
-                List<String> subjects = predicateSubjects.get(predicate);
-                List<String> values = predicateValues.get(predicate);
-
-                Map<String, Object> params = new HashMap<>();
-                params.put("subjects", subjects);
-                params.put("values", values);
-
-                // Use UNWIND with range to iterate parallel arrays
-                // Sanitize predicate to prevent Cypher injection
-                String sanitizedPredicate = sanitizeCypherIdentifier(predicate);
-                String cypher = """
-                    UNWIND range(0, size($subjects)-1) AS i
-                    WITH $subjects[i] AS subj, $values[i] AS val
-                    MERGE (s:Resource {uri: subj})
-                    SET s.`%s` = val""".formatted(sanitizedPredicate);
-
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
-                }
-                graph.query(cypher, params);
-            }
-
-            span.setStatus(StatusCode.OK);
-        } catch (Exception e) {
-            span.setStatus(StatusCode.ERROR, e.getMessage());
-            span.recordException(e);
-            throw e;
-        } finally {
-            span.end();
-        }
+    void setFlushListener(final Consumer<List<Triple>> listener) {
+        this.flushListener = listener;
     }
 
     /**
-     * Flush rdf:type additions using UNWIND.
+     * Tell the flush listener about the triples just written.
      */
-    private void flushTypeAdds(final List<Triple> triples) {
-        for (int i = 0; i < triples.size(); i += MAX_BATCH_SIZE) {
-            int end = Math.min(i + MAX_BATCH_SIZE, triples.size());
-            List<Triple> batch = triples.subList(i, end);
-            flushTypeAddBatch(batch);
+    private void notifyFlushed() {
+        Consumer<List<Triple>> listener = flushListener;
+        if (listener != null && writeSet != null && writeSet.size() > 0) {
+            List<Triple> written = new ArrayList<>(writeSet.size());
+            written.addAll(writeSet.adds());
+            written.addAll(writeSet.deletes());
+            listener.accept(written);
         }
     }
 
     /**
-     * Flush a batch of rdf:type additions.
+     * Check if a transaction is currently in progress.
+     *
+     * @return true if a transaction is active
      */
-    private void flushTypeAddBatch(final List<Triple> batch) {
-        Span span = tracer.spanBuilder("FalkorDBTransaction.flushTypeBatch")
-            .setSpanKind(SpanKind.CLIENT)
-            .setAttribute(ATTR_OPERATION, "batch_type_add")
-            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
-            .startSpan();
-
-        try (Scope scope = span.makeCurrent()) {
-            // Group by type for efficient label setting
-            Map<String, List<String>> typeGroups = new HashMap<>();
-
-            for (Triple triple : batch) {
-                String type = nodeToString(triple.getObject());
-                typeGroups.computeIfAbsent(type, k -> new ArrayList<>());
-                typeGroups.get(type).add(nodeToString(triple.getSubject()));
-            }
-
-            // Execute batch for each type
-            for (Map.Entry<String, List<String>> entry
-                    : typeGroups.entrySet()) {
-                String type = entry.getKey();
-                List<String> subjects = entry.getValue();
-
-                Map<String, Object> params = new HashMap<>();
-                params.put("subjects", subjects);
-
-                // Use UNWIND with dynamic label
-                // Sanitize type to prevent Cypher injection
-                String sanitizedType = sanitizeCypherIdentifier(type);
-                String cypher = """
-                    UNWIND $subjects AS uri
-                    MERGE (s:Resource {uri: uri})
-                    SET s:`%s`""".formatted(sanitizedType);
-
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
-                }
-                graph.query(cypher, params);
-            }
-
-            span.setStatus(StatusCode.OK);
-        } catch (Exception e) {
-            span.setStatus(StatusCode.ERROR, e.getMessage());
-            span.recordException(e);
-            throw e;
-        } finally {
-            span.end();
-        }
+    public boolean isInTransaction() {
+        return inTransaction;
     }
 
     /**
-     * Flush relationship additions using UNWIND.
+     * Count operations that coalescing removed from the write set.
+     *
+     * @param count the number of operations removed
      */
-    private void flushRelationshipAdds(final List<Triple> triples) {
-        for (int i = 0; i < triples.size(); i += MAX_BATCH_SIZE) {
-            int end = Math.min(i + MAX_BATCH_SIZE, triples.size());
-            List<Triple> batch = triples.subList(i, end);
-            flushRelationshipAddBatch(batch);
+    private void recordCoalesced(final long count) {
+        if (count > 0) {
+            coalescedCount.addAndGet(count);
+            coalescedCounter.add(count,
+                Attributes.of(ATTR_GRAPH_NAME, graphName));
         }
     }
 
     /**
-     * Flush a batch of relationship additions.
+     * Flush the buffers if either auto-flush threshold has been reached.
      */
-    private void flushRelationshipAddBatch(final List<Triple> batch) {
-        Span span = tracer.spanBuilder(
-                "FalkorDBTransaction.flushRelationshipBatch")
-            .setSpanKind(SpanKind.CLIENT)
-            .setAttribute(ATTR_OPERATION, "batch_relationship_add")
-            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
-            .startSpan();
-
-        try (Scope scope = span.makeCurrent()) {
-            // Group by predicate for efficient relationship creation
-            // Use parallel lists since FalkorDB doesn't handle List<Map> params
-            Map<String, List<String>> predicateSubjects = new HashMap<>();
-            Map<String, List<String>> predicateObjects = new HashMap<>();
-
-            for (Triple triple : batch) {
-                String predicate = nodeToString(triple.getPredicate());
-                predicateSubjects.computeIfAbsent(predicate,
-                    k -> new ArrayList<>());
-                predicateObjects.computeIfAbsent(predicate,
-                    k -> new ArrayList<>());
-
-                predicateSubjects.get(predicate).add(
-                    nodeToString(triple.getSubject()));
-                predicateObjects.get(predicate).add(
-                    nodeToString(triple.getObject()));
-            }
-
-            // Execute batch for each predicate
-            for (String predicate : predicateSubjects.keySet()) {
-                List<String> subjects = predicateSubjects.get(predicate);
-                List<String> objects = predicateObjects.get(predicate);
-
-                Map<String, Object> params = new HashMap<>();
-                params.put("subjects", subjects);
-                params.put("objects", objects);
-
-                // Use UNWIND with range to iterate parallel arrays
-                // Sanitize predicate to prevent Cypher injection
-                String sanitizedPredicate = sanitizeCypherIdentifier(predicate);
-                String cypher = """
-                    UNWIND range(0, size($subjects)-1) AS i
-                    WITH $subjects[i] AS subj, $objects[i] AS obj
-                    MERGE (s:Resource {uri: subj})
-                    MERGE (o:Resource {uri: obj})
-                    MERGE (s)-[r:`%s`]->(o)""".formatted(sanitizedPredicate);
-
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
-                }
-                graph.query(cypher, params);
-            }
-
-            span.setStatus(StatusCode.OK);
-        } catch (Exception e) {
-            span.setStatus(StatusCode.ERROR, e.getMessage());
-            span.recordException(e);
-            throw e;
-        } finally {
-            span.end();
+    private void autoFlushIfNeeded() {
+        int maxTriples = maxBufferedTriples;
+        long maxBytes = maxBufferedBytes;
+        if (maxTriples > 0 && writeSet.size() >= maxTriples) {
+            autoFlush("triple_count");
+        } else if (maxBytes > 0 && writeSet.estimatedBytes() >= maxBytes) {
+            autoFlush("memory");
         }
     }
 
     /**
-     * Flush all buffered delete operations using efficient bulk Cypher.
+     * Write the current buffers to FalkorDB in the middle of a transaction
+     * and start new, empty buffers.
+     *
+     * @param reason the threshold that triggered the flush
      */
-    private void flushDeletes() {
-        if (deleteBuffer == null || deleteBuffer.isEmpty()) {
-            return;
-        }
+    private void autoFlush(final String reason) {
+        int tripleCount = writeSet.size();
 
-        Span span = tracer.spanBuilder("FalkorDBTransaction.flushDeletes")
+        Span span = tracer.spanBuilder("FalkorDBTransaction.autoFlush")
             .setSpanKind(SpanKind.INTERNAL)
-            .setAttribute(ATTR_OPERATION, "flush_deletes")
+            .setAttribute(ATTR_OPERATION, "auto_flush")
             .setAttribute(ATTR_GRAPH_NAME, graphName)
-            .setAttribute(ATTR_TRIPLE_COUNT, (long) deleteBuffer.size())
+            .setAttribute(ATTR_TRIPLE_COUNT, (long) tripleCount)
+            .setAttribute(ATTR_FLUSH_REASON, reason)
+            .setAttribute(ATTR_BUFFER_BYTES, writeSet.estimatedBytes())
             .startSpan();
 
         try (Scope scope = span.makeCurrent()) {
-            // Group triples by type
-            List<Triple> literalTriples = new ArrayList<>();
-            List<Triple> typeTriples = new ArrayList<>();
-            List<Triple> relationshipTriples = new ArrayList<>();
-
-            for (Triple triple : deleteBuffer) {
-                if (triple.getObject().isLiteral()) {
-                    literalTriples.add(triple);
-                } else if (triple.getPredicate().getURI()
-                        .equals(RDF.type.getURI())) {
-                    typeTriples.add(triple);
-                } else {
-                    relationshipTriples.add(triple);
-                }
-            }
+            batchWriter.pipelined(() -> {
+                flushAdds();
+                flushDeletes();
+            });
+            notifyFlushed();
+            writeSet.clear();
+
+            autoFlushCount.incrementAndGet();
+            Attributes attributes = Attributes.of(
+                ATTR_GRAPH_NAME, graphName, ATTR_FLUSH_REASON, reason);
+            autoFlushCounter.add(1, attributes);
+            autoFlushTriples.record(tripleCount, attributes);
+            span.setStatus(StatusCode.OK);
 
-            // Execute batch operations for each type
-            if (!literalTriples.isEmpty()) {
-                flushLiteralDeletes(literalTriples);
-            }
-            if (!typeTriples.isEmpty()) {
-                flushTypeDeletes(typeTriples);
-            }
-            if (!relationshipTriples.isEmpty()) {
-                flushRelationshipDeletes(relationshipTriples);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Auto-flushed {} buffered triples on graph: {} "
+                    + "(reason: {})", tripleCount, graphName, reason);
             }
-
-            span.setStatus(StatusCode.OK);
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR, e.getMessage());
             span.recordException(e);
@@ -608,146 +742,53 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
     }
 
     /**
-     * Flush literal property deletions using UNWIND.
+     * Estimate the heap footprint of a buffered triple.
+     *
+     * @param triple the triple
+     * @return the estimated size in bytes
      */
-    private void flushLiteralDeletes(final List<Triple> triples) {
-        for (int i = 0; i < triples.size(); i += MAX_BATCH_SIZE) {
-            int end = Math.min(i + MAX_BATCH_SIZE, triples.size());
-            List<Triple> batch = triples.subList(i, end);
-            flushLiteralDeleteBatch(batch);
-        }
+    static long estimateSize(final Triple triple) {
+        return TRIPLE_OVERHEAD_BYTES
+            + estimateSize(triple.getSubject())
+            + estimateSize(triple.getPredicate())
+            + estimateSize(triple.getObject());
     }
 
     /**
-     * Flush a batch of literal property deletions.
+     * Estimate the size of the strings held by a node.
+     *
+     * @param node the node
+     * @return the estimated size in bytes
      */
-    private void flushLiteralDeleteBatch(final List<Triple> batch) {
-        Span span = tracer.spanBuilder(
-                "FalkorDBTransaction.flushLiteralDeleteBatch")
-            .setSpanKind(SpanKind.CLIENT)
-            .setAttribute(ATTR_OPERATION, "batch_literal_delete")
-            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
-            .startSpan();
-
-        try (Scope scope = span.makeCurrent()) {
-            // Group by predicate, tracking subjects and values
-            // Use parallel lists since FalkorDB doesn't handle List<Map> params
-            Map<String, List<String>> predicateSubjects = new HashMap<>();
-            Map<String, List<Object>> predicateValues = new HashMap<>();
-
-            for (Triple triple : batch) {
-                String predicate = nodeToString(triple.getPredicate());
-                predicateSubjects.computeIfAbsent(predicate,
-                    k -> new ArrayList<>());
-                predicateValues.computeIfAbsent(predicate,
-                    k -> new ArrayList<>());
-
-                predicateSubjects.get(predicate).add(
-                    nodeToString(triple.getSubject()));
-                
-                // Use typed value for comparison, not lexical form
-                Object value;
-                var literal = triple.getObject().getLiteral();
-                var literalValue = literal.getValue();
-                if (literalValue instanceof Number || literalValue instanceof Boolean) {
-                    value = literalValue;
-                } else {
-                    value = triple.getObject().getLiteralLexicalForm();
-                }
-                predicateValues.get(predicate).add(value);
-            }
-
-            // Execute batch for each predicate
-            for (String predicate : predicateSubjects.keySet()) {
-                List<String> subjects = predicateSubjects.get(predicate);
-                List<Object> values = predicateValues.get(predicate);
-
-                Map<String, Object> params = new HashMap<>();
-                params.put("subjects", subjects);
-                params.put("values", values);
-
-                // Use UNWIND with range to iterate parallel arrays
-                // Only remove property if value matches exactly
-                // Sanitize predicate to prevent Cypher injection
-                String sanitizedPredicate = sanitizeCypherIdentifier(predicate);
-                String cypher = """
-                    UNWIND range(0, size($subjects)-1) AS i
-                    WITH $subjects[i] AS subj, $values[i] AS val
-                    MATCH (s:Resource {uri: subj})
-                    WHERE s.`%s` = val
-                    REMOVE s.`%s`""".formatted(sanitizedPredicate,
-                        sanitizedPredicate);
-
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
-                }
-                graph.query(cypher, params);
-            }
-
-            span.setStatus(StatusCode.OK);
-        } catch (Exception e) {
-            span.setStatus(StatusCode.ERROR, e.getMessage());
-            span.recordException(e);
-            throw e;
-        } finally {
-            span.end();
+    private static long estimateSize(final Node node) {
+        if (node.isURI()) {
+            return node.getURI().length();
+        } else if (node.isLiteral()) {
+            return node.getLiteralLexicalForm().length()
+                + node.getLiteralLanguage().length();
+        } else if (node.isBlank()) {
+            return node.getBlankNodeLabel().length();
         }
+        return 0;
     }
 
     /**
-     * Flush rdf:type deletions using UNWIND.
+     * Flush all buffered add operations using efficient bulk Cypher queries.
      */
-    private void flushTypeDeletes(final List<Triple> triples) {
-        for (int i = 0; i < triples.size(); i += MAX_BATCH_SIZE) {
-            int end = Math.min(i + MAX_BATCH_SIZE, triples.size());
-            List<Triple> batch = triples.subList(i, end);
-            flushTypeDeleteBatch(batch);
+    private void flushAdds() {
+        if (writeSet == null || writeSet.addCount() == 0) {
+            return;
         }
-    }
 
-    /**
-     * Flush a batch of rdf:type deletions.
-     */
-    private void flushTypeDeleteBatch(final List<Triple> batch) {
-        Span span = tracer.spanBuilder(
-                "FalkorDBTransaction.flushTypeDeleteBatch")
-            .setSpanKind(SpanKind.CLIENT)
-            .setAttribute(ATTR_OPERATION, "batch_type_delete")
-            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
+        Span span = tracer.spanBuilder("FalkorDBTransaction.flushAdds")
+            .setSpanKind(SpanKind.INTERNAL)
+            .setAttribute(ATTR_OPERATION, "flush_adds")
+            .setAttribute(ATTR_GRAPH_NAME, graphName)
+            .setAttribute(ATTR_TRIPLE_COUNT, (long) writeSet.addCount())
             .startSpan();
 
         try (Scope scope = span.makeCurrent()) {
-            // Group by type
-            Map<String, List<String>> typeGroups = new HashMap<>();
-
-            for (Triple triple : batch) {
-                String type = nodeToString(triple.getObject());
-                typeGroups.computeIfAbsent(type, k -> new ArrayList<>());
-                typeGroups.get(type).add(nodeToString(triple.getSubject()));
-            }
-
-            // Execute batch for each type
-            for (Map.Entry<String, List<String>> entry
-                    : typeGroups.entrySet()) {
-                String type = entry.getKey();
-                List<String> subjects = entry.getValue();
-
-                Map<String, Object> params = new HashMap<>();
-                params.put("subjects", subjects);
-
-                // Use UNWIND for batch label removal
-                // Sanitize type to prevent Cypher injection
-                String sanitizedType = sanitizeCypherIdentifier(type);
-                String cypher = """
-                    UNWIND $subjects AS uri
-                    MATCH (s:Resource:`%s` {uri: uri})
-                    REMOVE s:`%s`""".formatted(sanitizedType, sanitizedType);
-
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
-                }
-                graph.query(cypher, params);
-            }
+            batchWriter.writeAdds(writeSet.adds());
 
             span.setStatus(StatusCode.OK);
         } catch (Exception e) {
@@ -760,70 +801,22 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
     }
 
     /**
-     * Flush relationship deletions using UNWIND.
+     * Flush all buffered delete operations using efficient bulk Cypher.
      */
-    private void flushRelationshipDeletes(final List<Triple> triples) {
-        for (int i = 0; i < triples.size(); i += MAX_BATCH_SIZE) {
-            int end = Math.min(i + MAX_BATCH_SIZE, triples.size());
-            List<Triple> batch = triples.subList(i, end);
-            flushRelationshipDeleteBatch(batch);
+    private void flushDeletes() {
+        if (writeSet == null || writeSet.deleteCount() == 0) {
+            return;
         }
-    }
 
-    /**
-     * Flush a batch of relationship deletions.
-     */
-    private void flushRelationshipDeleteBatch(final List<Triple> batch) {
-        Span span = tracer.spanBuilder(
-                "FalkorDBTransaction.flushRelationshipDeleteBatch")
-            .setSpanKind(SpanKind.CLIENT)
-            .setAttribute(ATTR_OPERATION, "batch_relationship_delete")
-            .setAttribute(ATTR_BATCH_SIZE, (long) batch.size())
+        Span span = tracer.spanBuilder("FalkorDBTransaction.flushDeletes")
+            .setSpanKind(SpanKind.INTERNAL)
+            .setAttribute(ATTR_OPERATION, "flush_deletes")
+            .setAttribute(ATTR_GRAPH_NAME, graphName)
+            .setAttribute(ATTR_TRIPLE_COUNT, (long) writeSet.deleteCount())
             .startSpan();
 
         try (Scope scope = span.makeCurrent()) {
-            // Group by predicate
-            // Use parallel lists since FalkorDB doesn't handle List<Map> params
-            Map<String, List<String>> predicateSubjects = new HashMap<>();
-            Map<String, List<String>> predicateObjects = new HashMap<>();
-
-            for (Triple triple : batch) {
-                String predicate = nodeToString(triple.getPredicate());
-                predicateSubjects.computeIfAbsent(predicate,
-                    k -> new ArrayList<>());
-                predicateObjects.computeIfAbsent(predicate,
-                    k -> new ArrayList<>());
-
-                predicateSubjects.get(predicate).add(
-                    nodeToString(triple.getSubject()));
-                predicateObjects.get(predicate).add(
-                    nodeToString(triple.getObject()));
-            }
-
-            // Execute batch for each predicate
-            for (String predicate : predicateSubjects.keySet()) {
-                List<String> subjects = predicateSubjects.get(predicate);
-                List<String> objects = predicateObjects.get(predicate);
-
-                Map<String, Object> params = new HashMap<>();
-                params.put("subjects", subjects);
-                params.put("objects", objects);
-
-                // Use UNWIND with range to iterate parallel arrays
-                // Sanitize predicate to prevent Cypher injection
-                String sanitizedPredicate = sanitizeCypherIdentifier(predicate);
-                String cypher = """
-                    UNWIND range(0, size($subjects)-1) AS i
-                    WITH $subjects[i] AS subj, $objects[i] AS obj
-                    MATCH (s:Resource {uri: subj})-[r:`%s`]->
-                    (o:Resource {uri: obj})
-                    DELETE r""".formatted(sanitizedPredicate);
-
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Executing Cypher: {}\nWith Params({}): {}", cypher, params.size(), params);
-                }
-                graph.query(cypher, params);
-            }
+            batchWriter.writeDeletes(writeSet.deletes());
 
             span.setStatus(StatusCode.OK);
         } catch (Exception e) {
@@ -834,38 +827,4 @@ public final class FalkorDBTransactionHandler extends TransactionHandlerBase {
             span.end();
         }
     }
-
-    /**
-     * Sanitize a string for use as a Cypher identifier (label, relationship
-     * type, or property name).
-     *
-     * <p>This method escapes backticks and other special characters to
-     * prevent Cypher injection attacks when the value is used in backtick-
-     * quoted identifiers.</p>
-     *
-     * @param value the value to sanitize
-     * @return the sanitized value safe for use in Cypher identifiers
-     */
-    private String sanitizeCypherIdentifier(final String value) {
-        if (value == null) {
-            return "";
-        }
-        // Escape backticks by doubling them (`` -> ````)
-        // Also remove any null characters which could cause issues
-        return value.replace("`", "``").replace("\0", "");
-    }
-
-    /**
-     * Convert a Jena Node to its string representation.
-     */
-    private String nodeToString(final org.apache.jena.graph.Node node) {
-        if (node.isURI()) {
-            return node.getURI();
-        } else if (node.isLiteral()) {
-            return node.getLiteralLexicalForm();
-        } else if (node.isBlank()) {
-            return "_:" + node.getBlankNodeLabel();
-        }
-        return node.toString();
-    }
 }
@@ -0,0 +1,22 @@
+package com.falkordb.jena;
+
+/**
+ * How buffered literal and {@code rdf:type} triples are grouped into
+ * Cypher queries when a transaction is flushed. Relationship triples are
+ * always written per predicate.
+ */
+public enum FalkorDBWriteStrategy {
+    /**
+     * One UNWIND query per predicate (or type) in each batch. A node with
+     * many properties is looked up once per property.
+     */
+    PER_PREDICATE,
+
+    /**
+     * Group triples by subject and write each node's properties,
+     * datatype companions and labels with a single MERGE. Subjects with
+     * the same set of predicates and labels share one UNWIND query, so
+     * this works best when many entities have the same shape.
+     */
+    SUBJECT_CENTRIC
+}
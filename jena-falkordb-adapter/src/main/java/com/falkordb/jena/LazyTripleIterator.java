@@ -0,0 +1,163 @@
+package com.falkordb.jena;
+
+import com.falkordb.Record;
+import com.falkordb.ResultSet;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.NiceIterator;
+
+/**
+ * Iterator over the triples of one or more Cypher queries, run one after
+ * the other as the caller consumes the results.
+ *
+ * <p>A query is not sent until the results of the previous one are used
+ * up, and each record is converted to triples only when it is reached.
+ * Closing the iterator drops the current result set and skips the queries
+ * that have not run yet. A query may also be a scan read page by page,
+ * see {@link PagedRecordIterator}; closing stops its paging.</p>
+ *
+ * <p>An optional span stays open until the iterator is exhausted, closed
+ * or fails, and is the parent of the queries run on behalf of it.</p>
+ */
+final class LazyTripleIterator extends NiceIterator<Triple> {
+
+    /** Attribute key for result count. */
+    private static final AttributeKey<Long> ATTR_RESULT_COUNT =
+        AttributeKey.longKey("rdf.result_count");
+
+    /**
+     * A query and the conversion of its records to triples.
+     *
+     * @param query runs the query; a {@link ResultSet}, or the records
+     *        of a paged scan
+     * @param converter turns one record into zero or more triples
+     */
+    record Stage(Supplier<? extends Iterable<Record>> query,
+            Function<Record, List<Triple>> converter) {
+    }
+
+    /** Queries that have not run yet. */
+    private final Deque<Stage> stages;
+
+    /** Span covering the iteration, or null. */
+    private Span span;
+
+    /** Conversion for the records of the current query. */
+    private Function<Record, List<Triple>> converter;
+
+    /** Remaining records of the current query. */
+    private Iterator<Record> records = Collections.emptyIterator();
+
+    /** Remaining triples of the current record. */
+    private Iterator<Triple> pending = Collections.emptyIterator();
+
+    /** Triples returned so far. */
+    private long count;
+
+    /**
+     * Create an iterator over the given queries.
+     *
+     * @param queryStages the queries in the order their triples are
+     *        returned
+     * @param iterationSpan span to end when iteration finishes, or null
+     */
+    LazyTripleIterator(final List<Stage> queryStages,
+            final Span iterationSpan) {
+        this.stages = new ArrayDeque<>(queryStages);
+        this.span = iterationSpan;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (!pending.hasNext()) {
+                if (records.hasNext()) {
+                    pending = converter.apply(records.next()).iterator();
+                } else if (!stages.isEmpty()) {
+                    runNext();
+                } else {
+                    endSpan();
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            fail(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Triple next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        count++;
+        return pending.next();
+    }
+
+    @Override
+    public void close() {
+        stages.clear();
+        dropRecords();
+        pending = Collections.emptyIterator();
+        endSpan();
+    }
+
+    /**
+     * Run the next query as a child of the span.
+     */
+    private void runNext() {
+        Stage stage = stages.poll();
+        if (span != null) {
+            try (Scope scope = span.makeCurrent()) {
+                records = stage.query().get().iterator();
+            }
+        } else {
+            records = stage.query().get().iterator();
+        }
+        converter = stage.converter();
+    }
+
+    /**
+     * Drop the records of the current query, stopping a paged scan.
+     */
+    private void dropRecords() {
+        if (records instanceof PagedRecordIterator paged) {
+            paged.close();
+        }
+        records = Collections.emptyIterator();
+    }
+
+    private void endSpan() {
+        if (span != null) {
+            span.setAttribute(ATTR_RESULT_COUNT, count);
+            span.setStatus(StatusCode.OK);
+            span.end();
+            span = null;
+        }
+    }
+
+    private void fail(final RuntimeException e) {
+        stages.clear();
+        dropRecords();
+        pending = Collections.emptyIterator();
+        if (span != null) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            span.end();
+            span = null;
+        }
+    }
+}
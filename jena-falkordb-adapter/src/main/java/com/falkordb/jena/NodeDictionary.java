@@ -0,0 +1,196 @@
+package com.falkordb.jena;
+
+import com.falkordb.jena.tracing.TracingUtil;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+
+/**
+ * Bounded, shared cache of URI nodes for decoding query results.
+ *
+ * <p>Results repeat the same URIs over and over: every row of a scan
+ * names one of a few thousand predicates or classes, and a subject
+ * comes back once for each of its triples. Decoding asks the dictionary
+ * for the node of a URI instead of creating a new one, so repeated URIs
+ * share one node and large results allocate far less.</p>
+ *
+ * <p>Predicates and classes are kept apart from subjects and objects,
+ * so a scan over millions of resources does not push them out. Each
+ * table is direct-mapped: a URI has a single slot, chosen by its hash,
+ * and a new URI replaces whatever was in it. Lookups take no locks and
+ * the dictionary is safe to use from any thread.</p>
+ *
+ * <p>Lookups and hits are counted, and exported as the
+ * {@code falkordb.node_cache.lookups} metric when metrics are
+ * enabled.</p>
+ */
+public final class NodeDictionary {
+
+    /** Default number of slots for subject and object URIs. */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /** Number of slots for predicate and class URIs. */
+    static final int PREDICATE_CAPACITY = 1 << 13;
+
+    /** Attribute key for the outcome of a lookup. */
+    private static final AttributeKey<String> ATTR_CACHE_RESULT =
+        AttributeKey.stringKey("falkordb.cache_result");
+
+    /** The dictionary shared by all decoding paths. */
+    private static final NodeDictionary SHARED =
+        new NodeDictionary(DEFAULT_CAPACITY);
+
+    static {
+        Attributes hit = Attributes.of(ATTR_CACHE_RESULT, "hit");
+        Attributes miss = Attributes.of(ATTR_CACHE_RESULT, "miss");
+        TracingUtil.getMeter(TracingUtil.SCOPE_FALKORDB_GRAPH)
+            .counterBuilder("falkordb.node_cache.lookups")
+            .setDescription("URI lookups in the shared node dictionary")
+            .buildWithCallback(measurement -> {
+                measurement.record(SHARED.hitCount(), hit);
+                measurement.record(SHARED.missCount(), miss);
+            });
+    }
+
+    /** Slots for subject and object URIs, or null when disabled. */
+    private volatile AtomicReferenceArray<Node> resources;
+
+    /** Slots for predicate and class URIs. */
+    private final AtomicReferenceArray<Node> predicates =
+        new AtomicReferenceArray<>(PREDICATE_CAPACITY);
+
+    /** Number of lookups answered from a slot. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Number of lookups that created a node. */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create a dictionary.
+     *
+     * @param capacity the number of slots for subject and object URIs
+     */
+    NodeDictionary(final int capacity) {
+        setCapacity(capacity);
+    }
+
+    /**
+     * Get the dictionary shared by all decoding paths.
+     *
+     * @return the shared dictionary
+     */
+    public static NodeDictionary shared() {
+        return SHARED;
+    }
+
+    /**
+     * Get the node of a subject or object URI.
+     *
+     * @param uri the URI
+     * @return a URI node, shared with earlier lookups of the same URI
+     *     while it stays in the dictionary
+     */
+    public Node uri(final String uri) {
+        AtomicReferenceArray<Node> table = resources;
+        if (table == null) {
+            misses.increment();
+            return NodeFactory.createURI(uri);
+        }
+        return lookup(table, uri);
+    }
+
+    /**
+     * Get the node of a predicate or class URI.
+     *
+     * @param uri the URI
+     * @return a URI node, shared with earlier lookups of the same URI
+     *     while it stays in the dictionary
+     */
+    public Node predicate(final String uri) {
+        return lookup(predicates, uri);
+    }
+
+    /**
+     * Set the number of slots for subject and object URIs. The slots are
+     * emptied; the counts are kept.
+     *
+     * @param capacity the number of slots, rounded up to a power of two,
+     *     or 0 to create a new node for every subject and object
+     */
+    public void setCapacity(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                "Capacity must not be negative: " + capacity);
+        }
+        resources = capacity == 0 ? null
+            : new AtomicReferenceArray<>(tableSize(capacity));
+    }
+
+    /**
+     * Get the number of slots for subject and object URIs.
+     *
+     * @return the capacity, 0 if disabled
+     */
+    public int getCapacity() {
+        AtomicReferenceArray<Node> table = resources;
+        return table == null ? 0 : table.length();
+    }
+
+    /**
+     * Get the number of lookups answered from the dictionary.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups that created a node.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the fraction of lookups answered from the dictionary.
+     *
+     * @return the hit rate, 0 before the first lookup
+     */
+    public double hitRate() {
+        long hit = hitCount();
+        long total = hit + missCount();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * Find the node of a URI in its slot, or create it and put it there.
+     */
+    private Node lookup(final AtomicReferenceArray<Node> table,
+            final String uri) {
+        int h = uri.hashCode();
+        int slot = (h ^ (h >>> 16)) & (table.length() - 1);
+        Node node = table.get(slot);
+        if (node != null && node.getURI().equals(uri)) {
+            hits.increment();
+            return node;
+        }
+        misses.increment();
+        node = NodeFactory.createURI(uri);
+        table.lazySet(slot, node);
+        return node;
+    }
+
+    /**
+     * Round a capacity up to a power of two.
+     */
+    private static int tableSize(final int capacity) {
+        int size = Integer.highestOneBit(Math.min(capacity, 1 << 30));
+        return size < capacity ? size << 1 : size;
+    }
+}
@@ -0,0 +1,182 @@
+package com.falkordb.jena;
+
+import com.falkordb.Record;
+import com.falkordb.ResultSet;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Iterator over the records of a scan that is read one page of subject
+ * nodes at a time.
+ *
+ * <p>Each page holds the rows of at most {@code pageSize} subject nodes,
+ * taken in order of their internal id after the last node of the
+ * previous page ({@code WHERE id(s) > $lastId ... LIMIT $pageSize}), and
+ * every row carries the id of its subject in the {@code sid} column.
+ * Every node of a page must return at least one row, so a page with
+ * fewer distinct subjects than the page size is the last one.</p>
+ *
+ * <p>The next page is requested once the current one is used up, or,
+ * with a prefetch executor, as soon as the current one has arrived, so
+ * that it loads while the caller works through the current page. Only
+ * one page beyond the current one is ever requested.</p>
+ */
+final class PagedRecordIterator implements Iterator<Record>, AutoCloseable {
+
+    /** Column holding the internal id of the subject node. */
+    static final String SUBJECT_ID = "sid";
+
+    /** Runs the query for one page, given the last id and the page size. */
+    private final BiFunction<Long, Integer, ResultSet> pageQuery;
+
+    /** Maximum number of subject nodes per page. */
+    private final int pageSize;
+
+    /** Executor loading the next page ahead, or null. */
+    private final ExecutorService prefetch;
+
+    /** Tracing context the pages are queried in. */
+    private final Context context;
+
+    /** Remaining records of the current page. */
+    private Iterator<Record> records = Collections.emptyIterator();
+
+    /** Id of the last subject node read, or -1 before the first page. */
+    private long lastId = -1;
+
+    /** Whether another page may follow the ones read. */
+    private boolean more = true;
+
+    /** The next page being loaded ahead, or null. */
+    private Future<ResultSet> pending;
+
+    /** Pages read so far. */
+    private int pages;
+
+    /**
+     * Create an iterator over a paged scan.
+     *
+     * @param query runs the query of one page, given the id of the last
+     *        subject node of the previous page and the page size
+     * @param size the maximum number of subject nodes per page
+     * @param prefetchExecutor executor loading the next page ahead, or
+     *        null to load each page when it is needed
+     */
+    PagedRecordIterator(final BiFunction<Long, Integer, ResultSet> query,
+            final int size, final ExecutorService prefetchExecutor) {
+        if (size <= 0) {
+            throw new IllegalArgumentException(
+                "Page size must be positive: " + size);
+        }
+        this.pageQuery = query;
+        this.pageSize = size;
+        this.prefetch = prefetchExecutor;
+        this.context = Context.current();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!records.hasNext()) {
+            if (!more) {
+                return false;
+            }
+            readPage();
+        }
+        return true;
+    }
+
+    @Override
+    public Record next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return records.next();
+    }
+
+    /**
+     * Stop reading pages, dropping a page loaded ahead.
+     */
+    @Override
+    public void close() {
+        more = false;
+        records = Collections.emptyIterator();
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    /**
+     * Get the number of pages read so far.
+     *
+     * @return the page count
+     */
+    int pageCount() {
+        return pages;
+    }
+
+    /**
+     * Read the next page and work out where the one after it starts.
+     */
+    private void readPage() {
+        ResultSet result;
+        if (pending != null) {
+            result = await(pending);
+            pending = null;
+        } else {
+            try (Scope scope = context.makeCurrent()) {
+                result = pageQuery.apply(lastId, pageSize);
+            }
+        }
+        pages++;
+
+        List<Record> page = new ArrayList<>();
+        Set<Long> subjects = new HashSet<>();
+        for (Record record : result) {
+            page.add(record);
+            long id = ((Number) record.getValue(SUBJECT_ID)).longValue();
+            subjects.add(id);
+            lastId = Math.max(lastId, id);
+        }
+        more = subjects.size() >= pageSize;
+        records = page.iterator();
+
+        if (more && prefetch != null) {
+            long after = lastId;
+            Callable<ResultSet> next = () -> pageQuery.apply(after, pageSize);
+            pending = prefetch.submit(context.wrap(next));
+        }
+    }
+
+    /**
+     * Wait for a page loaded ahead, passing on its failure.
+     */
+    private static ResultSet await(final Future<ResultSet> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                "Interrupted while reading the next page", e);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Page read was cancelled", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException re
+                ? re : new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,447 @@
+package com.falkordb.jena;
+
+import com.falkordb.jena.tracing.TracingUtil;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+
+/**
+ * Bounded cache of find and contains results, keyed by triple pattern.
+ *
+ * <p>Entries are evicted least recently used first once the cache is
+ * full, and expire after a fixed time to live so that writes made by
+ * other clients are eventually seen. Writes through the graph invalidate
+ * exactly the cached patterns the written triple could match; a literal
+ * write invalidates every object for its subject and predicate, because
+ * a property holds a single value and writing one replaces the other.</p>
+ *
+ * <p>A find result is only cached once it has been read to the end and
+ * if it has at most {@link #MAX_CACHED_TRIPLES} triples. A result that
+ * was being read while any invalidation happened is not cached, as it
+ * may predate the write.</p>
+ *
+ * <p>Instances are thread-safe.</p>
+ */
+final class TriplePatternCache {
+
+    /** Largest find result that is cached. */
+    static final int MAX_CACHED_TRIPLES = 10_000;
+
+    /**
+     * Number of written triples above which the whole cache is dropped
+     * instead of invalidating pattern by pattern.
+     */
+    static final int BULK_INVALIDATION_THRESHOLD = 256;
+
+    /** Attribute key for graph name. */
+    private static final AttributeKey<String> ATTR_GRAPH_NAME =
+        AttributeKey.stringKey("falkordb.graph_name");
+
+    /** Attribute key for the outcome of a cache lookup. */
+    private static final AttributeKey<String> ATTR_CACHE_RESULT =
+        AttributeKey.stringKey("falkordb.cache_result");
+
+    /**
+     * Cache key.
+     *
+     * @param pattern the pattern, with wildcards as {@link Node#ANY}
+     * @param contains true for a contains result, false for a find result
+     */
+    private record Key(Triple pattern, boolean contains) {
+    }
+
+    /**
+     * Cached result.
+     *
+     * @param triples the triples of a find, or null for a contains
+     * @param contained the result of a contains
+     * @param expiresAt expiry time, from {@link System#nanoTime()}
+     */
+    private record Entry(List<Triple> triples, boolean contained,
+            long expiresAt) {
+    }
+
+    /** Entries in access order. */
+    private final LinkedHashMap<Key, Entry> entries =
+        new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Keys by pattern subject, with wildcard subjects under
+     * {@link Node#ANY}, so that a write only checks the patterns that can
+     * match its subject.
+     */
+    private final Map<Node, Set<Key>> keysBySubject = new HashMap<>();
+
+    /** Maximum number of entries. */
+    private final int maxEntries;
+
+    /** Time to live of an entry in nanoseconds. */
+    private final long ttlNanos;
+
+    /** Number of invalidations; a fill started before one is dropped. */
+    private long invalidations;
+
+    /** Number of lookups answered from the cache. */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /** Number of lookups not answered from the cache. */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /** Number of entries evicted for size or expiry. */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /** Counter of lookups, by result. */
+    private final LongCounter lookupCounter;
+
+    /** Counter of evictions. */
+    private final LongCounter evictionCounter;
+
+    /** Attributes for hits. */
+    private final Attributes hitAttributes;
+
+    /** Attributes for misses. */
+    private final Attributes missAttributes;
+
+    /** Attributes for evictions. */
+    private final Attributes graphAttributes;
+
+    /**
+     * Create a cache.
+     *
+     * @param graphName the graph name for metrics
+     * @param maxEntries the maximum number of cached patterns
+     * @param ttlMillis the time to live of an entry
+     */
+    TriplePatternCache(final String graphName, final int maxEntries,
+            final long ttlMillis) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException(
+                "Cache size must be at least 1: " + maxEntries);
+        }
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException(
+                "Cache time to live must be at least 1 ms: " + ttlMillis);
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+
+        Meter meter = TracingUtil.getMeter(TracingUtil.SCOPE_FALKORDB_GRAPH);
+        this.lookupCounter = meter
+            .counterBuilder("falkordb.find_cache.lookups")
+            .setDescription("Find and contains calls looked up in the "
+                + "pattern cache")
+            .build();
+        this.evictionCounter = meter
+            .counterBuilder("falkordb.find_cache.evictions")
+            .setDescription("Pattern cache entries evicted for size or "
+                + "expiry")
+            .build();
+        this.graphAttributes = Attributes.of(ATTR_GRAPH_NAME, graphName);
+        this.hitAttributes = Attributes.of(
+            ATTR_GRAPH_NAME, graphName, ATTR_CACHE_RESULT, "hit");
+        this.missAttributes = Attributes.of(
+            ATTR_GRAPH_NAME, graphName, ATTR_CACHE_RESULT, "miss");
+    }
+
+    /**
+     * Get the cached triples of a find.
+     *
+     * @param pattern the pattern
+     * @return the triples, or null if not cached
+     */
+    List<Triple> getFind(final Triple pattern) {
+        Entry entry = get(new Key(normalize(pattern), false));
+        return entry != null ? entry.triples() : null;
+    }
+
+    /**
+     * Get the cached result of a contains.
+     *
+     * @param triple the triple
+     * @return the result, or null if not cached
+     */
+    Boolean getContains(final Triple triple) {
+        Entry entry = get(new Key(normalize(triple), true));
+        return entry != null ? entry.contained() : null;
+    }
+
+    /**
+     * Wrap the iterator of a find that missed the cache so that its
+     * triples are cached once it has been read to the end.
+     *
+     * @param pattern the pattern
+     * @param triples the iterator over the find result
+     * @return an iterator returning the same triples
+     */
+    ExtendedIterator<Triple> fill(final Triple pattern,
+            final ExtendedIterator<Triple> triples) {
+        return new FillingIterator(new Key(normalize(pattern), false),
+            invalidationCount(), triples);
+    }
+
+    /**
+     * Get a token to pass to {@link #putContains} for a contains that is
+     * about to run.
+     *
+     * @return the current invalidation count
+     */
+    synchronized long invalidationCount() {
+        return invalidations;
+    }
+
+    /**
+     * Cache the result of a contains.
+     *
+     * @param triple the triple
+     * @param contained the result
+     * @param token the invalidation count from before the contains ran
+     */
+    void putContains(final Triple triple, final boolean contained,
+            final long token) {
+        put(new Key(normalize(triple), true),
+            new Entry(null, contained, System.nanoTime() + ttlNanos), token);
+    }
+
+    /**
+     * Drop the cached patterns that a write of the triple could change.
+     *
+     * @param triple the added or deleted triple
+     */
+    synchronized void invalidate(final Triple triple) {
+        invalidations++;
+        Triple written = triple.getObject().isLiteral()
+            ? Triple.create(triple.getSubject(), triple.getPredicate(),
+                Node.ANY)
+            : triple;
+        invalidate(written, keysBySubject.get(triple.getSubject()));
+        invalidate(written, keysBySubject.get(Node.ANY));
+    }
+
+    /**
+     * Drop the cached patterns that writes of the triples could change.
+     *
+     * @param triples the added or deleted triples
+     */
+    synchronized void invalidateAll(final Collection<Triple> triples) {
+        if (triples.size() > BULK_INVALIDATION_THRESHOLD) {
+            clear();
+        } else {
+            triples.forEach(this::invalidate);
+        }
+    }
+
+    /**
+     * Drop all cached patterns.
+     */
+    synchronized void clear() {
+        invalidations++;
+        entries.clear();
+        keysBySubject.clear();
+    }
+
+    /**
+     * Get the number of cached patterns.
+     *
+     * @return the number of entries
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    long hitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of lookups not answered from the cache.
+     *
+     * @return the miss count
+     */
+    long missCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Get the number of entries evicted because the cache was full or
+     * they had expired. Entries dropped by invalidation are not counted.
+     *
+     * @return the eviction count
+     */
+    long evictionCount() {
+        return evictionCount.get();
+    }
+
+    private Entry get(final Key key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && entry.expiresAt() - System.nanoTime() < 0) {
+                remove(key);
+                recordEviction();
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            hitCount.incrementAndGet();
+            lookupCounter.add(1, hitAttributes);
+        } else {
+            missCount.incrementAndGet();
+            lookupCounter.add(1, missAttributes);
+        }
+        return entry;
+    }
+
+    private synchronized void put(final Key key, final Entry entry,
+            final long token) {
+        if (token != invalidations) {
+            return;
+        }
+        if (entries.put(key, entry) == null) {
+            keysBySubject.computeIfAbsent(key.pattern().getSubject(),
+                k -> new HashSet<>()).add(key);
+        }
+        if (entries.size() > maxEntries) {
+            remove(entries.keySet().iterator().next());
+            recordEviction();
+        }
+    }
+
+    private void invalidate(final Triple written, final Set<Key> keys) {
+        if (keys == null) {
+            return;
+        }
+        List<Key> matched = new ArrayList<>();
+        for (Key key : keys) {
+            if (overlaps(key.pattern(), written)) {
+                matched.add(key);
+            }
+        }
+        matched.forEach(this::remove);
+    }
+
+    /**
+     * Check whether two patterns can match a common triple: in every
+     * position, either side is {@link Node#ANY} or both are the same.
+     */
+    private static boolean overlaps(final Triple a, final Triple b) {
+        return overlaps(a.getSubject(), b.getSubject())
+            && overlaps(a.getPredicate(), b.getPredicate())
+            && overlaps(a.getObject(), b.getObject());
+    }
+
+    private static boolean overlaps(final Node a, final Node b) {
+        return a == Node.ANY || b == Node.ANY || a.matches(b);
+    }
+
+    private void remove(final Key key) {
+        entries.remove(key);
+        Node subject = key.pattern().getSubject();
+        Set<Key> keys = keysBySubject.get(subject);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysBySubject.remove(subject);
+            }
+        }
+    }
+
+    private void recordEviction() {
+        evictionCount.incrementAndGet();
+        evictionCounter.add(1, graphAttributes);
+    }
+
+    /**
+     * Replace variables by {@link Node#ANY} so that equivalent patterns
+     * share a key.
+     */
+    private static Triple normalize(final Triple pattern) {
+        if (pattern.isConcrete()) {
+            return pattern;
+        }
+        return Triple.create(normalize(pattern.getSubject()),
+            normalize(pattern.getPredicate()),
+            normalize(pattern.getObject()));
+    }
+
+    private static Node normalize(final Node node) {
+        return node.isConcrete() ? node : Node.ANY;
+    }
+
+    /**
+     * Iterator that collects the triples it returns and caches them once
+     * the underlying iterator is exhausted.
+     */
+    private final class FillingIterator extends NiceIterator<Triple> {
+
+        /** Key to cache the result under. */
+        private final Key key;
+
+        /** Invalidation count from before the find ran. */
+        private final long token;
+
+        /** The find result. */
+        private final ExtendedIterator<Triple> delegate;
+
+        /** Triples returned so far, or null once too many to cache. */
+        private List<Triple> collected = new ArrayList<>();
+
+        FillingIterator(final Key cacheKey, final long invalidationToken,
+                final ExtendedIterator<Triple> triples) {
+            this.key = cacheKey;
+            this.token = invalidationToken;
+            this.delegate = triples;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (delegate.hasNext()) {
+                return true;
+            }
+            if (collected != null) {
+                put(key, new Entry(List.copyOf(collected), false,
+                    System.nanoTime() + ttlNanos), token);
+                collected = null;
+            }
+            return false;
+        }
+
+        @Override
+        public Triple next() {
+            Triple triple = delegate.next();
+            if (collected != null) {
+                if (collected.size() < MAX_CACHED_TRIPLES) {
+                    collected.add(triple);
+                } else {
+                    collected = null;
+                }
+            }
+            return triple;
+        }
+
+        @Override
+        public void close() {
+            collected = null;
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package com.falkordb.jena;
+
+import com.falkordb.jena.tracing.TracingUtil;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongGauge;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.jena.graph.Triple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue of non-transactional writes that a background thread
+ * flushes in UNWIND batches.
+ *
+ * <p>Writers only append to the queue. The flusher thread wakes up when
+ * the queue is half full, when the oldest queued write has waited for the
+ * flush interval, or when a flush is requested. It drains the queue into a
+ * {@link CoalescingWriteSet} and writes the net adds and deletes through
+ * the batch writer. Writers block while the queue is full, so a slow
+ * database slows down the writers instead of growing the heap.</p>
+ *
+ * <p>Queued writes are not visible to reads until they have been written;
+ * callers use {@link #sync()} as a barrier before reading. A failed batch
+ * is logged and rethrown to the next writer or {@link #sync()} caller; its
+ * writes are lost.</p>
+ */
+final class WriteBehindQueue {
+
+    /** Logger instance. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(
+        WriteBehindQueue.class);
+
+    /** Attribute key for operation type. */
+    private static final AttributeKey<String> ATTR_OPERATION =
+        AttributeKey.stringKey("falkordb.operation");
+
+    /** Attribute key for graph name. */
+    private static final AttributeKey<String> ATTR_GRAPH_NAME =
+        AttributeKey.stringKey("falkordb.graph_name");
+
+    /** Attribute key for triple count. */
+    private static final AttributeKey<Long> ATTR_TRIPLE_COUNT =
+        AttributeKey.longKey("rdf.triple_count");
+
+    /**
+     * A queued write.
+     *
+     * @param triple the triple to add or delete
+     * @param add true for an add, false for a delete
+     */
+    private record Write(Triple triple, boolean add) {
+    }
+
+    /** Writer used to send drained writes. */
+    private final FalkorDBBatchWriter batchWriter;
+
+    /** The graph name for tracing. */
+    private final String graphName;
+
+    /** Maximum number of queued writes. */
+    private final int capacity;
+
+    /** Longest time a queued write waits before a flush, in nanoseconds. */
+    private final long flushIntervalNanos;
+
+    /** Tracer for OpenTelemetry. */
+    private final Tracer tracer;
+
+    /** Guards all mutable state below. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when the flusher should check its triggers. */
+    private final Condition wakeUp = lock.newCondition();
+
+    /** Signalled when queue space has been freed. */
+    private final Condition notFull = lock.newCondition();
+
+    /** Signalled when a drained batch has been written. */
+    private final Condition written = lock.newCondition();
+
+    /** Queued writes, oldest first. */
+    private final ArrayDeque<Write> queue = new ArrayDeque<>();
+
+    /** Time the oldest queued write was enqueued. */
+    private long oldestNanos;
+
+    /** Number of writes accepted since the queue was created. */
+    private long enqueuedCount;
+
+    /** Number of writes drained and written (or failed). */
+    private long writtenCount;
+
+    /** Writes up to this count are flushed without waiting for a trigger. */
+    private long flushRequestedCount;
+
+    /** Failure of a background flush not yet reported to a caller. */
+    private RuntimeException failure;
+
+    /** Whether the queue has stopped accepting writes. */
+    private boolean closed;
+
+    /** Number of times a writer blocked on a full queue. */
+    private long backPressureCount;
+
+    /** Background flusher thread. */
+    private final Thread flusher;
+
+    /** Counter of writers blocked by a full queue. */
+    private final LongCounter backPressureCounter;
+
+    /** Gauge reporting the number of queued writes. */
+    private final ObservableLongGauge pendingGauge;
+
+    /**
+     * Create a write-behind queue and start its flusher thread.
+     *
+     * @param batchWriter the writer used to send batches
+     * @param graphName the graph name for tracing
+     * @param capacity the maximum number of queued writes
+     * @param flushIntervalMillis the longest time a write stays queued
+     */
+    WriteBehindQueue(final FalkorDBBatchWriter batchWriter,
+            final String graphName, final int capacity,
+            final long flushIntervalMillis) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                "Queue capacity must be at least 1: " + capacity);
+        }
+        if (flushIntervalMillis < 1) {
+            throw new IllegalArgumentException(
+                "Flush interval must be at least 1 ms: "
+                    + flushIntervalMillis);
+        }
+        this.batchWriter = batchWriter;
+        this.graphName = graphName;
+        this.capacity = capacity;
+        this.flushIntervalNanos =
+            TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.tracer = TracingUtil.getTracer(TracingUtil.SCOPE_FALKORDB_GRAPH);
+
+        Meter meter = TracingUtil.getMeter(TracingUtil.SCOPE_FALKORDB_GRAPH);
+        Attributes attributes = Attributes.of(ATTR_GRAPH_NAME, graphName);
+        this.backPressureCounter = meter
+            .counterBuilder("falkordb.write_behind.backpressure")
+            .setDescription("Writes that waited for space in the "
+                + "write-behind queue")
+            .build();
+        this.pendingGauge = meter
+            .gaugeBuilder("falkordb.write_behind.pending")
+            .setDescription("Writes queued for the write-behind flusher")
+            .ofLongs()
+            .buildWithCallback(measurement ->
+                measurement.record(pending(), attributes));
+
+        this.flusher = new Thread(this::run,
+            "falkordb-write-behind-" + graphName);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queue an add, waiting while the queue is full.
+     *
+     * @param triple the triple to add
+     */
+    void add(final Triple triple) {
+        enqueue(new Write(triple, true));
+    }
+
+    /**
+     * Queue a delete, waiting while the queue is full.
+     *
+     * @param triple the triple to delete
+     */
+    void delete(final Triple triple) {
+        enqueue(new Write(triple, false));
+    }
+
+    /**
+     * Ask the flusher to write everything queued so far without waiting
+     * for the size or time trigger. Does not block.
+     */
+    void flush() {
+        lock.lock();
+        try {
+            flushRequestedCount = Math.max(flushRequestedCount, enqueuedCount);
+            wakeUp.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write everything queued so far and wait until it is in FalkorDB.
+     *
+     * @throws IllegalStateException if a background flush failed
+     */
+    void sync() {
+        lock.lock();
+        try {
+            long target = enqueuedCount;
+            if (writtenCount < target) {
+                flushRequestedCount = Math.max(flushRequestedCount, target);
+                wakeUp.signal();
+                while (writtenCount < target) {
+                    written.awaitUninterruptibly();
+                }
+            }
+            throwFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of writes queued but not yet written.
+     *
+     * @return the pending write count
+     */
+    long pending() {
+        lock.lock();
+        try {
+            return enqueuedCount - writtenCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of times a writer had to wait for queue space.
+     *
+     * @return the back-pressure count
+     */
+    long backPressureCount() {
+        lock.lock();
+        try {
+            return backPressureCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the maximum number of queued writes.
+     *
+     * @return the queue capacity
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Stop accepting writes, write everything still queued and stop the
+     * flusher thread.
+     */
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            wakeUp.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pendingGauge.close();
+
+        lock.lock();
+        try {
+            if (failure != null && LOGGER.isErrorEnabled()) {
+                LOGGER.error("Write-behind queue for graph {} closed after a "
+                    + "failed flush: {}", graphName, failure.getMessage());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Append a write, blocking while the queue is full.
+     */
+    private void enqueue(final Write write) {
+        lock.lock();
+        try {
+            throwFailure();
+            if (!closed && queue.size() >= capacity) {
+                backPressureCount++;
+                backPressureCounter.add(1,
+                    Attributes.of(ATTR_GRAPH_NAME, graphName));
+                // Make room as soon as possible instead of waiting for
+                // the time trigger
+                flushRequestedCount = Math.max(flushRequestedCount,
+                    enqueuedCount);
+                wakeUp.signal();
+                while (!closed && queue.size() >= capacity) {
+                    notFull.awaitUninterruptibly();
+                }
+            }
+            if (closed) {
+                throw new IllegalStateException(
+                    "Write-behind queue is closed");
+            }
+            if (queue.isEmpty()) {
+                oldestNanos = System.nanoTime();
+            }
+            queue.add(write);
+            enqueuedCount++;
+            if (queue.size() >= flushThreshold()) {
+                wakeUp.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queue size at which the flusher starts without waiting for the
+     * interval. Flushing at half capacity keeps room for writers while a
+     * batch is being written.
+     */
+    private int flushThreshold() {
+        return Math.max(1, capacity / 2);
+    }
+
+    /**
+     * Rethrow a background failure once, on the caller's thread.
+     */
+    private void throwFailure() {
+        if (failure != null) {
+            RuntimeException cause = failure;
+            failure = null;
+            throw new IllegalStateException(
+                "Write-behind flush failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Flusher loop: wait for a trigger, drain the queue and write it.
+     */
+    private void run() {
+        while (true) {
+            CoalescingWriteSet writes = new CoalescingWriteSet();
+            int drained;
+            lock.lock();
+            try {
+                while (!closed && !triggered()) {
+                    if (queue.isEmpty()) {
+                        wakeUp.awaitUninterruptibly();
+                    } else {
+                        long remaining = oldestNanos + flushIntervalNanos
+                            - System.nanoTime();
+                        try {
+                            wakeUp.awaitNanos(remaining);
+                        } catch (InterruptedException e) {
+                            // Keep running; close() is the way to stop
+                        }
+                    }
+                }
+                if (queue.isEmpty()) {
+                    // Closed and fully drained
+                    return;
+                }
+                drained = queue.size();
+                for (Write write : queue) {
+                    if (write.add()) {
+                        writes.add(write.triple());
+                    } else {
+                        writes.delete(write.triple());
+                    }
+                }
+                queue.clear();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            RuntimeException error = write(writes, drained);
+
+            lock.lock();
+            try {
+                writtenCount += drained;
+                if (error != null && failure == null) {
+                    failure = error;
+                }
+                written.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Whether the queue should be flushed now. Called with the lock held.
+     */
+    private boolean triggered() {
+        if (queue.isEmpty()) {
+            return false;
+        }
+        return queue.size() >= flushThreshold()
+            || flushRequestedCount > writtenCount
+            || System.nanoTime() - oldestNanos >= flushIntervalNanos;
+    }
+
+    /**
+     * Write a drained set of operations.
+     *
+     * @return the failure, or null if the write succeeded
+     */
+    private RuntimeException write(final CoalescingWriteSet writes,
+            final int drained) {
+        Span span = tracer.spanBuilder("FalkorDBWriteBehind.flush")
+            .setSpanKind(SpanKind.INTERNAL)
+            .setAttribute(ATTR_OPERATION, "write_behind_flush")
+            .setAttribute(ATTR_GRAPH_NAME, graphName)
+            .setAttribute(ATTR_TRIPLE_COUNT, (long) drained)
+            .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            batchWriter.pipelined(() -> {
+                if (writes.addCount() > 0) {
+                    batchWriter.writeAdds(writes.adds());
+                }
+                if (writes.deleteCount() > 0) {
+                    batchWriter.writeDeletes(writes.deletes());
+                }
+            });
+            span.setStatus(StatusCode.OK);
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Write-behind flushed {} queued writes on graph: "
+                    + "{} (adds: {}, deletes: {})", drained, graphName,
+                    writes.addCount(), writes.deleteCount());
+            }
+            return null;
+        } catch (RuntimeException e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Write-behind flush of {} writes failed on "
+                    + "graph {}: {}", drained, graphName, e.getMessage(), e);
+            }
+            return e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.falkordb.Header;
 import com.falkordb.Record;
 import com.falkordb.ResultSet;
 import com.falkordb.jena.FalkorDBGraph;
+import com.falkordb.jena.NodeDictionary;
 import com.falkordb.jena.tracing.TracingUtil;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.trace.Span;
@@ -160,7 +161,8 @@ public final class CypherQueryFunc extends PropertyFunctionEval {
                     truncateForLog(cypherQuery));
             }
 
-            // Execute the Cypher query on FalkorDB
+            // Execute the Cypher query on FalkorDB, after any queued writes
+            falkorGraph.sync();
             ResultSet resultSet = falkorGraph.getTracedGraph()
                 .query(cypherQuery);
 
@@ -332,7 +334,8 @@ public final class CypherQueryFunc extends PropertyFunctionEval {
             // Try to get URI property
             var uriProp = graphNode.getProperty("uri");
             if (uriProp != null) {
-                return NodeFactory.createURI(uriProp.getValue().toString());
+                return NodeDictionary.shared().uri(
+                    uriProp.getValue().toString());
             }
             // Fall back to string representation
             return NodeFactory.createLiteralString(graphNode.toString());
@@ -345,7 +348,7 @@ public final class CypherQueryFunc extends PropertyFunctionEval {
                 try {
                     // Validate URI before creating
                     java.net.URI.create(strVal);
-                    return NodeFactory.createURI(strVal);
+                    return NodeDictionary.shared().uri(strVal);
                 } catch (IllegalArgumentException e) {
                     // Invalid URI, treat as string literal
                     return NodeFactory.createLiteralString(strVal);
@@ -0,0 +1,233 @@
+package com.falkordb.jena.query;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.Binding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites a compiled BGP query so that it only matches the rows that
+ * join with a chunk of input bindings.
+ *
+ * <p>The URIs the input binds to the variables of the pattern are sent
+ * as list parameters, one list per variable and one entry per input
+ * binding. The query unwinds the index into these lists and anchors the
+ * first match of each shared node on its URI, so FalkorDB looks the
+ * nodes up in the {@code uri} index instead of scanning the pattern and
+ * leaving the join to Jena. Each row returns the index of the input
+ * binding it extends in the {@link #INDEX_COLUMN} column.</p>
+ *
+ * <h2>Example:</h2>
+ * <pre>{@code
+ * // Input: (?person = ex:alice), (?person = ex:bob)
+ * // MATCH (person:Resource)-[:`foaf:knows`]->(friend:Resource)
+ * // RETURN person.uri AS person, friend.uri AS friend
+ * //
+ * // Rewritten, with $bind0 = ['ex:alice', 'ex:bob']:
+ * // UNWIND range(0, size($bind0)-1) AS _bind
+ * // WITH _bind, $bind0[_bind] AS _bind0
+ * // MATCH (person:Resource {uri: _bind0})-[:`foaf:knows`]->(friend:Resource)
+ * // RETURN _bind AS _bind, person.uri AS person, friend.uri AS friend
+ * }</pre>
+ *
+ * <p>FalkorDB does not take lists of maps as parameters, so the bound
+ * values travel as parallel lists rather than as one list of rows.</p>
+ */
+final class BindJoin {
+
+    /** Default number of input bindings sent with one query. */
+    static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /** Column holding the index of the input binding of a row. */
+    static final String INDEX_COLUMN = "_bind";
+
+    /** Separator of the branches of a compiled UNION or UNION ALL query. */
+    private static final Pattern UNION =
+        Pattern.compile("\nUNION(?: ALL)?\n");
+
+    /** The rewritten query. */
+    private final String cypherQuery;
+
+    /** The compiled parameters and the bound value lists. */
+    private final Map<String, Object> parameters;
+
+    private BindJoin(final String query, final Map<String, Object> params) {
+        this.cypherQuery = query;
+        this.parameters = params;
+    }
+
+    /**
+     * Rewrite a compiled query to join with a chunk of input bindings.
+     *
+     * <p>A variable takes part when every binding of the chunk binds it
+     * to a URI and every branch of the query first matches it as a node
+     * in a required {@code MATCH}, so below OPTIONAL only the nodes of
+     * the required pattern are anchored. Other shared variables are left
+     * to the caller to check.</p>
+     *
+     * @param compilation the compiled pattern
+     * @param chunk the input bindings
+     * @return the rewritten query, or null if no variable can be bound or
+     *     the query has a shape the rewrite does not handle
+     */
+    static BindJoin of(final SparqlToCypherCompiler.CompilationResult
+            compilation, final List<Binding> chunk) {
+        if (chunk.isEmpty()) {
+            return null;
+        }
+        String cypher = compilation.cypherQuery();
+        List<String> branches = new ArrayList<>();
+        List<String> separators = new ArrayList<>();
+        Matcher separator = UNION.matcher(cypher);
+        int branchStart = 0;
+        while (separator.find()) {
+            branches.add(cypher.substring(branchStart, separator.start()));
+            separators.add(separator.group());
+            branchStart = separator.end();
+        }
+        branches.add(cypher.substring(branchStart));
+        for (String branch : branches) {
+            if (branch.contains("WITH ") || branch.contains("UNWIND ")
+                    || branch.lastIndexOf("\nRETURN ") < 0) {
+                return null;
+            }
+        }
+
+        List<Var> vars = new ArrayList<>();
+        for (Var var : boundUris(chunk)) {
+            String name = cypherName(var);
+            boolean declared = true;
+            for (String branch : branches) {
+                declared &= declaration(branch, name) >= 0;
+            }
+            if (declared) {
+                vars.add(var);
+            }
+        }
+        if (vars.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Object> params =
+            new HashMap<>(compilation.parameters());
+        for (int i = 0; i < vars.size(); i++) {
+            List<String> values = new ArrayList<>(chunk.size());
+            for (Binding binding : chunk) {
+                values.add(binding.get(vars.get(i)).getURI());
+            }
+            params.put("bind" + i, values);
+        }
+
+        StringBuilder query = new StringBuilder();
+        for (int i = 0; i < branches.size(); i++) {
+            if (i > 0) {
+                query.append(separators.get(i - 1));
+            }
+            query.append(rewrite(branches.get(i), vars));
+        }
+        return new BindJoin(query.toString(), params);
+    }
+
+    /**
+     * Get the rewritten query.
+     *
+     * @return the Cypher query
+     */
+    String cypherQuery() {
+        return cypherQuery;
+    }
+
+    /**
+     * Get the parameters of the rewritten query.
+     *
+     * @return the compiled parameters and the bound value lists
+     */
+    Map<String, Object> parameters() {
+        return parameters;
+    }
+
+    /**
+     * Collect the variables that every binding binds to a URI.
+     */
+    private static Set<Var> boundUris(final List<Binding> chunk) {
+        Set<Var> vars = new LinkedHashSet<>();
+        chunk.get(0).vars().forEachRemaining(vars::add);
+        for (Binding binding : chunk) {
+            vars.removeIf(var -> {
+                Node node = binding.get(var);
+                return node == null || !node.isURI();
+            });
+        }
+        return vars;
+    }
+
+    /**
+     * Anchor the shared nodes of one branch and prepend the unwind.
+     */
+    private static String rewrite(final String branch, final List<Var> vars) {
+        StringBuilder cypher = new StringBuilder(branch);
+        StringBuilder with = new StringBuilder("WITH ").append(INDEX_COLUMN);
+        for (int i = 0; i < vars.size(); i++) {
+            String name = cypherName(vars.get(i));
+            int end = declaration(cypher.toString(), name);
+            cypher.insert(end, " {uri: " + INDEX_COLUMN + i + "}");
+            with.append(", $bind").append(i).append('[')
+                .append(INDEX_COLUMN).append("] AS ")
+                .append(INDEX_COLUMN).append(i);
+        }
+        int returnIndex = cypher.lastIndexOf("\nRETURN ")
+            + "\nRETURN ".length();
+        cypher.insert(returnIndex,
+            INDEX_COLUMN + " AS " + INDEX_COLUMN + ", ");
+        return "UNWIND range(0, size($bind0)-1) AS " + INDEX_COLUMN
+            + "\n" + with + "\n" + cypher;
+    }
+
+    /**
+     * Find where the first node pattern of a variable closes, if that
+     * pattern is in a required MATCH and carries no properties yet.
+     *
+     * @return the index of the closing parenthesis, or -1
+     */
+    private static int declaration(final String branch, final String name) {
+        int start = branch.indexOf("(" + name + ":Resource");
+        if (start < 0) {
+            return -1;
+        }
+        int lineStart = branch.lastIndexOf('\n', start) + 1;
+        if (!branch.startsWith("MATCH ", lineStart)) {
+            return -1;
+        }
+        int i = start + name.length() + ":Resource".length() + 1;
+        // Skip a class label, whose backticks are doubled inside
+        while (branch.startsWith(":`", i)) {
+            i += 2;
+            while (i < branch.length()) {
+                if (branch.startsWith("``", i)) {
+                    i += 2;
+                } else if (branch.charAt(i) == '`') {
+                    i++;
+                    break;
+                } else {
+                    i++;
+                }
+            }
+        }
+        return i < branch.length() && branch.charAt(i) == ')' ? i : -1;
+    }
+
+    /**
+     * Get the Cypher name the compiler gives a variable.
+     */
+    private static String cypherName(final Var var) {
+        return var.getVarName().replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+}
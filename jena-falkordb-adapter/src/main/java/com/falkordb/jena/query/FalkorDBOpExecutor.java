@@ -4,6 +4,7 @@ import com.falkordb.Header;
 import com.falkordb.Record;
 import com.falkordb.ResultSet;
 import com.falkordb.jena.FalkorDBGraph;
+import com.falkordb.jena.NodeDictionary;
 import com.falkordb.jena.tracing.TracingUtil;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.trace.Span;
@@ -11,15 +12,24 @@ import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
+import org.apache.jena.atlas.iterator.Iter;
 import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphStatisticsHandler;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.reasoner.InfGraph;
+import org.apache.jena.sparql.algebra.Algebra;
 import org.apache.jena.sparql.algebra.Op;
 import org.apache.jena.sparql.algebra.op.OpBGP;
+import org.apache.jena.sparql.algebra.op.OpDistinct;
 import org.apache.jena.sparql.algebra.op.OpFilter;
 import org.apache.jena.sparql.algebra.op.OpGroup;
 import org.apache.jena.sparql.algebra.op.OpLeftJoin;
+import org.apache.jena.sparql.algebra.op.OpOrder;
+import org.apache.jena.sparql.algebra.op.OpProject;
+import org.apache.jena.sparql.algebra.op.OpReduced;
+import org.apache.jena.sparql.algebra.op.OpSlice;
+import org.apache.jena.sparql.algebra.op.OpTopN;
 import org.apache.jena.sparql.algebra.op.OpUnion;
 import org.apache.jena.sparql.core.BasicPattern;
 import org.apache.jena.sparql.core.VarExprList;
@@ -29,15 +39,28 @@ import org.apache.jena.sparql.engine.ExecutionContext;
 import org.apache.jena.sparql.engine.QueryIterator;
 import org.apache.jena.sparql.engine.binding.Binding;
 import org.apache.jena.sparql.engine.binding.BindingBuilder;
+import org.apache.jena.sparql.engine.iterator.QueryIterDistinct;
 import org.apache.jena.sparql.engine.iterator.QueryIterPlainWrapper;
+import org.apache.jena.sparql.engine.iterator.QueryIterProject;
+import org.apache.jena.sparql.engine.iterator.QueryIterRoot;
+import org.apache.jena.sparql.engine.iterator.QueryIterSlice;
+import org.apache.jena.sparql.engine.iterator.QueryIterSort;
 import org.apache.jena.sparql.engine.main.OpExecutor;
 import org.apache.jena.sparql.engine.main.OpExecutorFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Custom OpExecutor that pushes Basic Graph Pattern (BGP) evaluation
@@ -86,14 +109,25 @@ public final class FalkorDBOpExecutor extends OpExecutor {
     /** The FalkorDB graph instance, or null if not available. */
     private final FalkorDBGraph falkorGraph;
 
+    /** Patterns compiled so far, so that fallbacks do not compile again. */
+    private final Map<Op, SparqlToCypherCompiler.CompilationResult>
+        compilations = new IdentityHashMap<>();
+
+    /** Patterns that could not be compiled, with the reason. */
+    private final Map<Op, SparqlToCypherCompiler.CannotCompileException>
+        compileFailures = new IdentityHashMap<>();
+
+    /**
+     * Patterns whose solution modifiers were already tried, so that the
+     * fallback of an outer modifier does not try them again.
+     */
+    private final Set<Op> modifiedPatterns =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+
     /** Attribute key for Cypher query. */
     private static final AttributeKey<String> ATTR_CYPHER_QUERY =
         AttributeKey.stringKey("falkordb.cypher.query");
 
-    /** Attribute key for result count. */
-    private static final AttributeKey<Long> ATTR_RESULT_COUNT =
-        AttributeKey.longKey("falkordb.result_count");
-
     /** Attribute key for fallback indicator. */
     private static final AttributeKey<Boolean> ATTR_FALLBACK =
         AttributeKey.booleanKey("falkordb.fallback");
@@ -102,6 +136,10 @@ public final class FalkorDBOpExecutor extends OpExecutor {
     private static final AttributeKey<Long> ATTR_TRIPLE_COUNT =
         AttributeKey.longKey("sparql.bgp.triple_count");
 
+    /** Attribute key for the number of queries bound to input. */
+    private static final AttributeKey<Long> ATTR_BIND_JOIN_QUERIES =
+        AttributeKey.longKey("falkordb.bind_join.queries");
+
     /** Attribute key for optimization type. */
     private static final AttributeKey<String> ATTR_OPTIMIZATION_TYPE =
         AttributeKey.stringKey("falkordb.optimization.type");
@@ -132,6 +170,10 @@ public final class FalkorDBOpExecutor extends OpExecutor {
         super(execCxt);
         this.tracer = TracingUtil.getTracer(SCOPE_OP_EXECUTOR);
         this.falkorGraph = findFalkorDBGraph(execCxt.getActiveGraph());
+        if (falkorGraph != null) {
+            // Pushed-down queries must see writes queued by write-behind
+            falkorGraph.sync();
+        }
     }
 
     /**
@@ -161,13 +203,18 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             .setAttribute(ATTR_TRIPLE_COUNT, (long) tripleCount)
             .startSpan();
 
+        // Input bindings sent to FalkorDB, replayed on fallback
+        BoundBatches batches = null;
+
+        // Set once the span is handed over to the result iterator
+        boolean streaming = false;
+
         try (Scope scope = span.makeCurrent()) {
             // Try to compile the BGP to Cypher
             SparqlToCypherCompiler.CompilationResult compilation =
-                SparqlToCypherCompiler.translate(opBGP.getPattern());
+                compile(opBGP);
 
             String cypherQuery = compilation.cypherQuery();
-            Map<String, Object> parameters = compilation.parameters();
 
             span.setAttribute(ATTR_CYPHER_QUERY, cypherQuery);
             span.setAttribute(ATTR_FALLBACK, false);
@@ -177,23 +224,14 @@ public final class FalkorDBOpExecutor extends OpExecutor {
                     cypherQuery);
             }
 
-            // Execute on FalkorDB
-            ResultSet resultSet = falkorGraph.getTracedGraph()
-                .query(cypherQuery, parameters);
+            // Execute on FalkorDB, joined with the input bindings
+            batches = new BoundBatches(compilation, true, input, span);
+            Iterator<Binding> first = batches.get();
 
-            // Convert results to bindings
-            List<Binding> bindings = convertResultsToBindings(
-                resultSet, input);
-
-            span.setAttribute(ATTR_RESULT_COUNT, (long) bindings.size());
             span.setStatus(StatusCode.OK);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("BGP pushdown: returned {} results",
-                    bindings.size());
-            }
-
-            return QueryIterPlainWrapper.create(bindings.iterator(), execCxt);
+            streaming = true;
+            return new LazyBindingIterator(input, first, batches, span,
+                execCxt);
 
         } catch (SparqlToCypherCompiler.CannotCompileException e) {
             // Fall back to standard Jena execution
@@ -209,7 +247,7 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             }
 
             span.setStatus(StatusCode.OK);
-            return super.execute(opBGP, input);
+            return super.execute(ordered(opBGP), input);
 
         } catch (Exception e) {
             span.setStatus(StatusCode.ERROR, e.getMessage());
@@ -221,13 +259,32 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             }
 
             // Fall back to standard execution on any error
-            return super.execute(opBGP, input);
+            return super.execute(ordered(opBGP), replay(batches, input));
 
         } finally {
-            span.end();
+            if (!streaming) {
+                span.end();
+            }
         }
     }
 
+    /**
+     * Get the cardinality estimates of the FalkorDB graph.
+     */
+    private GraphStatisticsHandler statistics() {
+        return falkorGraph.getStatisticsHandler();
+    }
+
+    /**
+     * Order a BGP that Jena evaluates itself so that its selective
+     * patterns are matched first.
+     */
+    private OpBGP ordered(final OpBGP opBGP) {
+        BasicPattern pattern = SelectivityOrder.order(opBGP.getPattern(),
+            statistics());
+        return pattern == opBGP.getPattern() ? opBGP : new OpBGP(pattern);
+    }
+
     /**
      * Execute a FILTER operation.
      *
@@ -252,6 +309,12 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             .setAttribute(ATTR_OPTIMIZATION_TYPE, "FILTER_EXECUTION")
             .startSpan();
 
+        // Input bindings sent to FalkorDB, replayed on fallback
+        BoundBatches batches = null;
+
+        // Set once the span is handed over to the result iterator
+        boolean streaming = false;
+
         try (Scope scope = span.makeCurrent()) {
             // Extract the sub-operation and filter expressions
             Op subOp = opFilter.getSubOp();
@@ -301,17 +364,15 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             }
             
             BasicPattern bgp = ((OpBGP) subOp).getPattern();
-            Expr filterExpr = filters.get(0);
             
             int tripleCount = bgp.size();
             span.setAttribute(ATTR_TRIPLE_COUNT, (long) tripleCount);
             
             // Try to compile the BGP with FILTER to Cypher
             SparqlToCypherCompiler.CompilationResult compilation =
-                SparqlToCypherCompiler.translateWithFilter(bgp, filterExpr);
+                compile(opFilter);
 
             String cypherQuery = compilation.cypherQuery();
-            Map<String, Object> parameters = compilation.parameters();
 
             span.setAttribute(ATTR_CYPHER_QUERY, cypherQuery);
             span.setAttribute(ATTR_FALLBACK, false);
@@ -321,23 +382,14 @@ public final class FalkorDBOpExecutor extends OpExecutor {
                     cypherQuery);
             }
 
-            // Execute on FalkorDB
-            ResultSet resultSet = falkorGraph.getTracedGraph()
-                .query(cypherQuery, parameters);
-
-            // Convert results to bindings
-            List<Binding> bindings = convertResultsToBindings(
-                resultSet, input);
+            // Execute on FalkorDB, joined with the input bindings
+            batches = new BoundBatches(compilation, true, input, span);
+            Iterator<Binding> first = batches.get();
 
-            span.setAttribute(ATTR_RESULT_COUNT, (long) bindings.size());
             span.setStatus(StatusCode.OK);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("FILTER pushdown: returned {} results",
-                    bindings.size());
-            }
-
-            return QueryIterPlainWrapper.create(bindings.iterator(), execCxt);
+            streaming = true;
+            return new LazyBindingIterator(input, first, batches, span,
+                execCxt);
 
         } catch (SparqlToCypherCompiler.CannotCompileException e) {
             // Fall back to standard Jena execution
@@ -365,10 +417,12 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             }
 
             // Fall back to standard execution on any error
-            return super.execute(opFilter, input);
+            return super.execute(opFilter, replay(batches, input));
 
         } finally {
-            span.end();
+            if (!streaming) {
+                span.end();
+            }
         }
     }
 
@@ -396,6 +450,12 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             .setAttribute(ATTR_OPTIMIZATION_TYPE, "OPTIONAL_EXECUTION")
             .startSpan();
 
+        // Input bindings sent to FalkorDB, replayed on fallback
+        BoundBatches batches = null;
+
+        // Set once the span is handed over to the result iterator
+        boolean streaming = false;
+
         try (Scope scope = span.makeCurrent()) {
             // Extract left (required) and right (optional) patterns
             Op left = opLeftJoin.getLeft();
@@ -437,7 +497,6 @@ public final class FalkorDBOpExecutor extends OpExecutor {
                 SparqlToCypherCompiler.translateWithOptional(leftBGP, rightBGP, filterExpr);
 
             String cypherQuery = compilation.cypherQuery();
-            Map<String, Object> parameters = compilation.parameters();
 
             span.setAttribute(ATTR_CYPHER_QUERY, cypherQuery);
             span.setAttribute(ATTR_FALLBACK, false);
@@ -447,23 +506,14 @@ public final class FalkorDBOpExecutor extends OpExecutor {
                     cypherQuery);
             }
 
-            // Execute on FalkorDB
-            ResultSet resultSet = falkorGraph.getTracedGraph()
-                .query(cypherQuery, parameters);
+            // Execute on FalkorDB, joined with the input bindings
+            batches = new BoundBatches(compilation, true, input, span);
+            Iterator<Binding> first = batches.get();
 
-            // Convert results to bindings
-            List<Binding> bindings = convertResultsToBindings(
-                resultSet, input);
-
-            span.setAttribute(ATTR_RESULT_COUNT, (long) bindings.size());
             span.setStatus(StatusCode.OK);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("OPTIONAL pushdown: returned {} results",
-                    bindings.size());
-            }
-
-            return QueryIterPlainWrapper.create(bindings.iterator(), execCxt);
+            streaming = true;
+            return new LazyBindingIterator(input, first, batches, span,
+                execCxt);
 
         } catch (SparqlToCypherCompiler.CannotCompileException e) {
             // Fall back to standard Jena execution
@@ -491,10 +541,12 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             }
 
             // Fall back to standard execution on any error
-            return super.execute(opLeftJoin, input);
+            return super.execute(opLeftJoin, replay(batches, input));
 
         } finally {
-            span.end();
+            if (!streaming) {
+                span.end();
+            }
         }
     }
 
@@ -522,6 +574,12 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             .setAttribute(ATTR_OPTIMIZATION_TYPE, "UNION_EXECUTION")
             .startSpan();
 
+        // Input bindings sent to FalkorDB, replayed on fallback
+        BoundBatches batches = null;
+
+        // Set once the span is handed over to the result iterator
+        boolean streaming = false;
+
         try (Scope scope = span.makeCurrent()) {
             // Extract left and right patterns
             Op left = opUnion.getLeft();
@@ -550,10 +608,9 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             
             // Try to compile with UNION support
             SparqlToCypherCompiler.CompilationResult compilation =
-                SparqlToCypherCompiler.translateUnion(leftBGP, rightBGP);
+                compile(opUnion);
 
             String cypherQuery = compilation.cypherQuery();
-            Map<String, Object> parameters = compilation.parameters();
 
             span.setAttribute(ATTR_CYPHER_QUERY, cypherQuery);
             span.setAttribute(ATTR_FALLBACK, false);
@@ -563,23 +620,14 @@ public final class FalkorDBOpExecutor extends OpExecutor {
                     cypherQuery);
             }
 
-            // Execute on FalkorDB
-            ResultSet resultSet = falkorGraph.getTracedGraph()
-                .query(cypherQuery, parameters);
-
-            // Convert results to bindings
-            List<Binding> bindings = convertResultsToBindings(
-                resultSet, input);
+            // Execute on FalkorDB, joined with the input bindings
+            batches = new BoundBatches(compilation, true, input, span);
+            Iterator<Binding> first = batches.get();
 
-            span.setAttribute(ATTR_RESULT_COUNT, (long) bindings.size());
             span.setStatus(StatusCode.OK);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("UNION pushdown: returned {} results",
-                    bindings.size());
-            }
-
-            return QueryIterPlainWrapper.create(bindings.iterator(), execCxt);
+            streaming = true;
+            return new LazyBindingIterator(input, first, batches, span,
+                execCxt);
 
         } catch (SparqlToCypherCompiler.CannotCompileException e) {
             // Fall back to standard Jena execution
@@ -607,10 +655,12 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             }
 
             // Fall back to standard execution on any error
-            return super.execute(opUnion, input);
+            return super.execute(opUnion, replay(batches, input));
 
         } finally {
-            span.end();
+            if (!streaming) {
+                span.end();
+            }
         }
     }
 
@@ -639,6 +689,12 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             .setAttribute(ATTR_OPTIMIZATION_TYPE, "GROUP_EXECUTION")
             .startSpan();
 
+        // Input bindings sent to FalkorDB, replayed on fallback
+        BoundBatches batches = null;
+
+        // Set once the span is handed over to the result iterator
+        boolean streaming = false;
+
         try (Scope scope = span.makeCurrent()) {
             // Check if the subOp is a BGP (we only support aggregation over BGPs)
             Op subOp = opGroup.getSubOp();
@@ -675,7 +731,7 @@ public final class FalkorDBOpExecutor extends OpExecutor {
 
             // Compile the BGP
             SparqlToCypherCompiler.CompilationResult bgpCompilation =
-                SparqlToCypherCompiler.translate(bgp);
+                SparqlToCypherCompiler.translate(bgp, statistics());
 
             // Translate aggregations
             AggregationToCypherTranslator.AggregationResult aggResult =
@@ -701,23 +757,18 @@ public final class FalkorDBOpExecutor extends OpExecutor {
                     cypherQuery);
             }
 
-            // Execute on FalkorDB
-            ResultSet resultSet = falkorGraph.getTracedGraph()
-                .query(cypherQuery, parameters);
-
-            // Convert results to bindings
-            List<Binding> bindings = convertResultsToBindings(
-                resultSet, input);
+            // Execute on FalkorDB, joined with the input bindings; the
+            // aggregates cover the whole pattern, so it is not bound to them
+            batches = new BoundBatches(
+                new SparqlToCypherCompiler.CompilationResult(cypherQuery,
+                    parameters, bgpCompilation.variableMapping()),
+                false, input, span);
+            Iterator<Binding> first = batches.get();
 
-            span.setAttribute(ATTR_RESULT_COUNT, (long) bindings.size());
             span.setStatus(StatusCode.OK);
-
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("GROUP pushdown: returned {} results",
-                    bindings.size());
-            }
-
-            return QueryIterPlainWrapper.create(bindings.iterator(), execCxt);
+            streaming = true;
+            return new LazyBindingIterator(input, first, batches, span,
+                execCxt);
 
         } catch (SparqlToCypherCompiler.CannotCompileException
                 | AggregationToCypherTranslator.CannotTranslateAggregationException e) {
@@ -746,11 +797,348 @@ public final class FalkorDBOpExecutor extends OpExecutor {
             }
 
             // Fall back to standard execution on any error
-            return super.execute(opGroup, input);
+            return super.execute(opGroup, replay(batches, input));
+
+        } finally {
+            if (!streaming) {
+                span.end();
+            }
+        }
+    }
+
+    /**
+     * Execute a slice (LIMIT and OFFSET).
+     *
+     * <p>When the slice is applied, possibly through the other solution
+     * modifiers, to a pattern this executor can compile, the limit and
+     * offset are compiled to Cypher {@code SKIP} and {@code LIMIT}, so
+     * FalkorDB only produces and transfers the requested rows. Otherwise,
+     * it falls back to the standard Jena evaluation.</p>
+     *
+     * @param opSlice the slice operation
+     * @param input the input query iterator
+     * @return the result query iterator
+     */
+    @Override
+    protected QueryIterator execute(final OpSlice opSlice,
+                                    final QueryIterator input) {
+        return executeModified(opSlice, "SLICE", input,
+            () -> super.execute(opSlice, input));
+    }
+
+    /**
+     * Execute an ORDER BY.
+     *
+     * <p>When the sort conditions are on variables bound to nodes by a
+     * pattern this executor can compile, they are compiled to a Cypher
+     * {@code ORDER BY}. Otherwise, it falls back to the standard Jena
+     * evaluation.</p>
+     *
+     * @param opOrder the order operation
+     * @param input the input query iterator
+     * @return the result query iterator
+     */
+    @Override
+    protected QueryIterator execute(final OpOrder opOrder,
+                                    final QueryIterator input) {
+        return executeModified(opOrder, "ORDER", input,
+            () -> super.execute(opOrder, input));
+    }
+
+    /**
+     * Execute a top-N (ORDER BY with LIMIT).
+     *
+     * <p>When the sort conditions are on variables bound to nodes by a
+     * pattern this executor can compile, the query runs as a native
+     * top-N: FalkorDB sorts and truncates the rows before any of them is
+     * transferred. Otherwise, it falls back to the standard Jena
+     * evaluation.</p>
+     *
+     * @param opTop the top-N operation
+     * @param input the input query iterator
+     * @return the result query iterator
+     */
+    @Override
+    protected QueryIterator execute(final OpTopN opTop,
+                                    final QueryIterator input) {
+        return executeModified(opTop, "TOPN", input,
+            () -> super.execute(opTop, input));
+    }
+
+    /**
+     * Execute a projection.
+     *
+     * <p>When the projection is applied to a pattern this executor can
+     * compile, the Cypher query only returns the projected variables, so
+     * columns that are only used to join are not transferred. Otherwise,
+     * it falls back to the standard Jena evaluation.</p>
+     *
+     * @param opProject the project operation
+     * @param input the input query iterator
+     * @return the result query iterator
+     */
+    @Override
+    protected QueryIterator execute(final OpProject opProject,
+                                    final QueryIterator input) {
+        return executeModified(opProject, "PROJECT", input,
+            () -> super.execute(opProject, input));
+    }
+
+    /**
+     * Execute a DISTINCT.
+     *
+     * <p>When the projection below the DISTINCT is applied to a pattern
+     * this executor can compile, the Cypher query returns the projected
+     * variables with {@code RETURN DISTINCT}, so FalkorDB removes the
+     * duplicates instead of Jena hashing every row. Otherwise, it falls
+     * back to the standard Jena evaluation.</p>
+     *
+     * @param opDistinct the distinct operation
+     * @param input the input query iterator
+     * @return the result query iterator
+     */
+    @Override
+    protected QueryIterator execute(final OpDistinct opDistinct,
+                                    final QueryIterator input) {
+        return executeModified(opDistinct, "DISTINCT", input,
+            () -> super.execute(opDistinct, input));
+    }
+
+    /**
+     * Execute a REDUCED.
+     *
+     * <p>REDUCED allows, but does not require, duplicates to be removed,
+     * so it is pushed down as a DISTINCT.</p>
+     *
+     * @param opReduced the reduced operation
+     * @param input the input query iterator
+     * @return the result query iterator
+     */
+    @Override
+    protected QueryIterator execute(final OpReduced opReduced,
+                                    final QueryIterator input) {
+        return executeModified(opReduced, "REDUCED", input,
+            () -> super.execute(opReduced, input));
+    }
+
+    /**
+     * Execute solution modifiers over a compilable pattern in Cypher.
+     *
+     * <p>Modifiers are only pushed down at the root of the evaluation,
+     * where they apply to the whole result. Modifiers that Cypher
+     * applies per UNION ALL branch are applied again in Jena to the
+     * combined rows, and a projection is applied in Jena to the streamed
+     * rows.</p>
+     *
+     * @param op the outermost modifier
+     * @param kind the name of the pushdown in spans and logs
+     * @param input the input query iterator
+     * @param fallback the standard Jena evaluation of the modifiers
+     * @return the result query iterator
+     */
+    private QueryIterator executeModified(final Op op, final String kind,
+            final QueryIterator input,
+            final Supplier<QueryIterator> fallback) {
+        // If we don't have a FalkorDB graph, fall back to standard execution
+        if (falkorGraph == null || !(input instanceof QueryIterRoot)) {
+            return fallback.get();
+        }
+        SolutionModifiers.Chain chain = SolutionModifiers.Chain.of(op);
+        if (chain == null || !modifiedPatterns.add(chain.pattern())) {
+            // Inner modifiers of a chain that was already tried
+            return fallback.get();
+        }
+
+        Span span = tracer.spanBuilder("FalkorDBOpExecutor.execute"
+                + kind.charAt(0) + kind.substring(1).toLowerCase())
+            .setSpanKind(SpanKind.INTERNAL)
+            .setAttribute(ATTR_OPTIMIZATION_TYPE, kind + "_EXECUTION")
+            .startSpan();
+
+        // Set once the span is handed over to the result iterator
+        boolean streaming = false;
+
+        // Set once the pattern is compiled
+        boolean compiled = false;
+
+        try (Scope scope = span.makeCurrent()) {
+            SparqlToCypherCompiler.CompilationResult compilation =
+                compile(chain.pattern());
+            compiled = true;
+
+            String cypherQuery = SolutionModifiers.apply(
+                compilation.cypherQuery(), chain.projection(),
+                chain.distinct(), chain.conditions(), chain.start(),
+                chain.length());
+            if (cypherQuery == null) {
+                throw new SparqlToCypherCompiler.CannotCompileException(
+                    "Solution modifier cannot be applied to the compiled "
+                        + "query");
+            }
+            Map<String, Object> parameters = compilation.parameters();
+
+            span.setAttribute(ATTR_CYPHER_QUERY, cypherQuery);
+            span.setAttribute(ATTR_FALLBACK, false);
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("{} pushdown: executing Cypher query:\n{}",
+                    kind, cypherQuery);
+            }
+
+            // Execute on FalkorDB
+            ResultSet resultSet = falkorGraph.getTracedGraph()
+                .query(cypherQuery, parameters);
+
+            // Convert results to bindings as they are consumed
+            Iterator<Binding> bindings = convertResultsToBindings(
+                resultSet, input);
+
+            span.setStatus(StatusCode.OK);
+            streaming = true;
+            QueryIterator results = new LazyBindingIterator(input, bindings,
+                () -> null, span, execCxt);
+            boolean union = SolutionModifiers.isUnion(cypherQuery);
+            if (union && chain.conditions() != null) {
+                // Branches were only cut down to the rows the result needs
+                results = new QueryIterSort(results, chain.conditions(),
+                    execCxt);
+            }
+            if (chain.projection() != null) {
+                results = new QueryIterProject(results, chain.projection(),
+                    execCxt);
+            }
+            if (union && chain.distinct()) {
+                // Duplicates were only removed within each branch
+                results = new QueryIterDistinct(results, null, execCxt);
+            }
+            if (union) {
+                results = new QueryIterSlice(results, chain.start(),
+                    chain.length(), execCxt);
+            }
+            return results;
+
+        } catch (SparqlToCypherCompiler.CannotCompileException e) {
+            // Fall back to standard Jena execution
+            span.setAttribute(ATTR_FALLBACK, true);
+            span.addEvent("Falling back to standard execution: "
+                + e.getMessage());
+
+            // Warn when optimization limitation causes fallback to Jena,
+            // except for a plain projection, which nearly every query has,
+            // and for patterns, which their own pushdown reports
+            if (compiled && chain.trimsRows() && LOGGER.isWarnEnabled()) {
+                LOGGER.warn("{} pushdown optimization not applicable, "
+                    + "using Jena fallback implementation: {}",
+                    kind, e.getMessage());
+            } else if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("{} pushdown optimization not applicable, "
+                    + "using Jena fallback implementation: {}",
+                    kind, e.getMessage());
+            }
+
+            span.setStatus(StatusCode.OK);
+            return fallback.get();
+
+        } catch (Exception e) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Error during {} pushdown, falling back: {}",
+                    kind, e.getMessage());
+            }
+
+            // Fall back to standard execution on any error
+            return fallback.get();
 
         } finally {
-            span.end();
+            if (!streaming) {
+                span.end();
+            }
+        }
+    }
+
+    /**
+     * Compile a pattern to Cypher, once per pattern.
+     *
+     * <p>A pattern below solution modifiers that cannot be pushed down
+     * is executed again by its own pushdown, which reuses the compiled
+     * query or the reason it could not be compiled.</p>
+     *
+     * @param op the pattern
+     * @return the compiled query
+     * @throws SparqlToCypherCompiler.CannotCompileException if the
+     *     pattern cannot be compiled
+     */
+    private SparqlToCypherCompiler.CompilationResult compile(final Op op)
+            throws SparqlToCypherCompiler.CannotCompileException {
+        SparqlToCypherCompiler.CannotCompileException failure =
+            compileFailures.get(op);
+        if (failure != null) {
+            throw failure;
+        }
+        SparqlToCypherCompiler.CompilationResult compilation =
+            compilations.get(op);
+        if (compilation == null) {
+            try {
+                compilation = translate(op);
+            } catch (SparqlToCypherCompiler.CannotCompileException e) {
+                compileFailures.put(op, e);
+                throw e;
+            }
+            compilations.put(op, compilation);
         }
+        return compilation;
+    }
+
+    /**
+     * Translate a pattern to Cypher.
+     *
+     * <p>Handles the patterns the other pushdowns handle: a BGP, a BGP
+     * with one FILTER expression, an OPTIONAL of BGPs and a UNION of
+     * BGPs.</p>
+     *
+     * @param op the pattern
+     * @return the compiled query
+     * @throws SparqlToCypherCompiler.CannotCompileException if the
+     *     pattern cannot be compiled
+     */
+    private SparqlToCypherCompiler.CompilationResult translate(final Op op)
+            throws SparqlToCypherCompiler.CannotCompileException {
+        if (op instanceof OpBGP opBGP) {
+            return SparqlToCypherCompiler.translate(opBGP.getPattern(),
+                statistics());
+        }
+        if (op instanceof OpFilter opFilter
+                && opFilter.getSubOp() instanceof OpBGP opBGP
+                && opFilter.getExprs().size() == 1) {
+            return SparqlToCypherCompiler.translateWithFilter(
+                opBGP.getPattern(), opFilter.getExprs().get(0),
+                statistics());
+        }
+        if (op instanceof OpLeftJoin opLeftJoin
+                && opLeftJoin.getRight() instanceof OpBGP right) {
+            Op left = opLeftJoin.getLeft();
+            Expr filterExpr = null;
+            if (left instanceof OpFilter opFilter
+                    && opFilter.getExprs().size() == 1) {
+                filterExpr = opFilter.getExprs().get(0);
+                left = opFilter.getSubOp();
+            }
+            if (left instanceof OpBGP leftBGP) {
+                return SparqlToCypherCompiler.translateWithOptional(
+                    leftBGP.getPattern(), right.getPattern(), filterExpr);
+            }
+        }
+        if (op instanceof OpUnion opUnion
+                && opUnion.getLeft() instanceof OpBGP left
+                && opUnion.getRight() instanceof OpBGP right) {
+            return SparqlToCypherCompiler.translateUnion(left.getPattern(),
+                right.getPattern());
+        }
+        throw new SparqlToCypherCompiler.CannotCompileException(
+            "Pattern under solution modifier is not supported: "
+                + op.getName());
     }
 
     /**
@@ -780,25 +1168,178 @@ public final class FalkorDBOpExecutor extends OpExecutor {
         return matchPart + "\nRETURN " + returnClause;
     }
 
+    /**
+     * Runs a compiled pattern for the input bindings, one chunk per batch.
+     *
+     * <p>Where the input binds variables of the pattern to URIs, the
+     * query is rewritten by {@link BindJoin} to match only the rows that
+     * extend the bindings of the chunk. Otherwise, or when the query
+     * must not be bound, as for aggregates, the unconstrained query is
+     * joined with the chunk; when more chunks follow, its rows are kept
+     * and joined with them too. Input without bindings gives no
+     * rows.</p>
+     */
+    private final class BoundBatches
+            implements Supplier<Iterator<Binding>> {
+
+        /** The compiled pattern. */
+        private final SparqlToCypherCompiler.CompilationResult compilation;
+
+        /** Whether the query may be bound to the input bindings. */
+        private final boolean bindable;
+
+        /** The input bindings. */
+        private final QueryIterator input;
+
+        /** The span to record the number of queries on. */
+        private final Span span;
+
+        /** The input bindings of the latest batch. */
+        private List<Binding> chunk = List.of();
+
+        /** Rows of the unconstrained query, once kept. */
+        private List<Binding> rows;
+
+        /** Number of queries bound to input. */
+        private long boundQueries;
+
+        BoundBatches(
+                final SparqlToCypherCompiler.CompilationResult compiled,
+                final boolean bind,
+                final QueryIterator inputBindings,
+                final Span executionSpan) {
+            this.compilation = compiled;
+            this.bindable = bind;
+            this.input = inputBindings;
+            this.span = executionSpan;
+        }
+
+        @Override
+        public Iterator<Binding> get() {
+            if (!input.hasNext()) {
+                return null;
+            }
+            List<Binding> parents = new ArrayList<>();
+            while (input.hasNext()
+                    && parents.size() < BindJoin.DEFAULT_CHUNK_SIZE) {
+                parents.add(input.next());
+            }
+            chunk = parents;
+
+            BindJoin join = bindable
+                ? BindJoin.of(compilation, parents) : null;
+            if (join != null) {
+                span.setAttribute(ATTR_BIND_JOIN_QUERIES, ++boundQueries);
+                ResultSet resultSet = falkorGraph.getTracedGraph()
+                    .query(join.cypherQuery(), join.parameters());
+                List<String> columnNames =
+                    resultSet.getHeader().getSchemaNames();
+                return records(resultSet)
+                    .map(record -> merge(
+                        parents.get(((Number) record.getValue(
+                            BindJoin.INDEX_COLUMN)).intValue()),
+                        toBinding(record, columnNames)))
+                    .filter(Objects::nonNull)
+                    .iterator();
+            }
+
+            Stream<Binding> unbound;
+            if (rows != null) {
+                unbound = rows.stream();
+            } else {
+                ResultSet resultSet = falkorGraph.getTracedGraph()
+                    .query(compilation.cypherQuery(),
+                        compilation.parameters());
+                List<String> columnNames =
+                    resultSet.getHeader().getSchemaNames();
+                unbound = records(resultSet)
+                    .map(record -> toBinding(record, columnNames));
+                if (input.hasNext()) {
+                    // Joined with later chunks as well
+                    rows = unbound.toList();
+                    unbound = rows.stream();
+                }
+            }
+            return unbound
+                .flatMap(row -> parents.stream()
+                    .map(parent -> merge(parent, row))
+                    .filter(Objects::nonNull))
+                .iterator();
+        }
+
+        /**
+         * Get the input bindings of the latest batch.
+         *
+         * @return the bindings last read from the input
+         */
+        List<Binding> chunk() {
+            return chunk;
+        }
+    }
+
+    /**
+     * Put the input bindings of a failed batch back in front of the
+     * rest of the input.
+     */
+    private QueryIterator replay(final BoundBatches batches,
+            final QueryIterator input) {
+        if (batches == null || batches.chunk().isEmpty()) {
+            return input;
+        }
+        return QueryIterPlainWrapper.create(
+            Iter.concat(batches.chunk().iterator(), input), execCxt);
+    }
+
+    /**
+     * Stream the records of a FalkorDB result set.
+     */
+    private static Stream<Record> records(final ResultSet resultSet) {
+        return StreamSupport.stream(resultSet.spliterator(), false);
+    }
+
+    /**
+     * Extend a parent binding with a result row.
+     *
+     * @param parent the parent binding, or null
+     * @param row the result row
+     * @return the merged binding, or null if they bind a variable to
+     *     different values
+     */
+    private static Binding merge(final Binding parent, final Binding row) {
+        if (parent == null || parent.isEmpty()) {
+            return row;
+        }
+        if (!Algebra.compatible(parent, row)) {
+            return null;
+        }
+        return Algebra.merge(parent, row);
+    }
+
     /**
      * Convert FalkorDB result set to Jena bindings.
      *
+     * <p>The parent bindings are read up front; each record is decoded
+     * and joined with them only when the caller reaches it. Input other
+     * than the root that has no bindings gives no rows.</p>
+     *
      * @param resultSet the FalkorDB result set
      * @param input the input query iterator for parent bindings
-     * @return a list of bindings
+     * @return an iterator over the bindings
      */
-    private List<Binding> convertResultsToBindings(
+    private Iterator<Binding> convertResultsToBindings(
             final ResultSet resultSet,
             final QueryIterator input) {
 
-        List<Binding> bindings = new ArrayList<>();
-
         // Get parent bindings if available
         List<Binding> parentBindings = new ArrayList<>();
         while (input.hasNext()) {
             parentBindings.add(input.next());
         }
         if (parentBindings.isEmpty()) {
+            if (!(input instanceof QueryIterRoot)) {
+                // Nothing to join with
+                return Collections.emptyIterator();
+            }
             parentBindings.add(null); // Use null as placeholder for no parent
         }
 
@@ -806,39 +1347,47 @@ public final class FalkorDBOpExecutor extends OpExecutor {
         Header header = resultSet.getHeader();
         List<String> columnNames = header.getSchemaNames();
 
-        // Iterate over results
-        for (Record record : resultSet) {
-            for (Binding parentBinding : parentBindings) {
-                BindingBuilder builder = parentBinding != null
-                    ? Binding.builder(parentBinding)
-                    : Binding.builder();
-
-                for (String columnName : columnNames) {
-                    if (columnName.startsWith("_")) {
-                        // Skip internal columns
-                        continue;
-                    }
+        return records(resultSet)
+            .map(record -> toBinding(record, columnNames))
+            .flatMap(row -> parentBindings.stream()
+                .map(parentBinding -> merge(parentBinding, row))
+                .filter(Objects::nonNull))
+            .iterator();
+    }
 
-                    try {
-                        Object value = record.getValue(columnName);
-                        Node node = valueToNode(value);
-                        if (node != null) {
-                            Var var = Var.alloc(columnName);
-                            builder.add(var, node);
-                        }
-                    } catch (Exception e) {
-                        if (LOGGER.isDebugEnabled()) {
-                            LOGGER.debug("Error getting column {}: {}",
-                                columnName, e.getMessage());
-                        }
-                    }
-                }
+    /**
+     * Convert one FalkorDB record to a Jena binding.
+     *
+     * @param record the FalkorDB record
+     * @param columnNames the columns of the result set
+     * @return the binding of the record's columns
+     */
+    private Binding toBinding(final Record record,
+            final List<String> columnNames) {
+        BindingBuilder builder = Binding.builder();
+
+        for (String columnName : columnNames) {
+            if (columnName.startsWith("_")) {
+                // Skip internal columns
+                continue;
+            }
 
-                bindings.add(builder.build());
+            try {
+                Object value = record.getValue(columnName);
+                Node node = valueToNode(value);
+                if (node != null) {
+                    Var var = Var.alloc(columnName);
+                    builder.add(var, node);
+                }
+            } catch (Exception e) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Error getting column {}: {}",
+                        columnName, e.getMessage());
+                }
             }
         }
 
-        return bindings;
+        return builder.build();
     }
 
     /**
@@ -856,7 +1405,8 @@ public final class FalkorDBOpExecutor extends OpExecutor {
         if (value instanceof com.falkordb.graph_entities.Node graphNode) {
             var uriProp = graphNode.getProperty("uri");
             if (uriProp != null) {
-                return NodeFactory.createURI(uriProp.getValue().toString());
+                return NodeDictionary.shared().uri(
+                    uriProp.getValue().toString());
             }
             return NodeFactory.createLiteralString(graphNode.toString());
         }
@@ -874,7 +1424,7 @@ public final class FalkorDBOpExecutor extends OpExecutor {
                     java.net.URI uri = java.net.URI.create(strVal);
                     // Additional validation: ensure it has proper structure
                     if (uri.getScheme() != null && !uri.getScheme().isEmpty()) {
-                        return NodeFactory.createURI(strVal);
+                        return NodeDictionary.shared().uri(strVal);
                     }
                 } catch (IllegalArgumentException e) {
                     // Invalid URI, treat as string literal
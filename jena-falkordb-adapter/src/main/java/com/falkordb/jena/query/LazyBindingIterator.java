@@ -0,0 +1,145 @@
+package com.falkordb.jena.query;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Scope;
+import org.apache.jena.sparql.engine.ExecutionContext;
+import org.apache.jena.sparql.engine.QueryIterator;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.engine.iterator.QueryIter1;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Iterator over the bindings of pushed-down Cypher queries, decoded from
+ * FalkorDB records as the caller consumes them.
+ *
+ * <p>Results come in batches, typically one per query. A batch is not
+ * requested until the previous one is used up, and each record is
+ * turned into a binding only when it is reached, so a large result is
+ * never held as a list of bindings and the first rows can be streamed
+ * while the rest are still being decoded.</p>
+ *
+ * <p>Closing or cancelling the iterator drops the current batch, skips
+ * the batches that have not run yet and closes the input. The span of
+ * the execution stays open until the iterator is exhausted, closed or
+ * fails, and is the parent of the queries run for later batches.</p>
+ */
+final class LazyBindingIterator extends QueryIter1 {
+
+    /** Attribute key for result count. */
+    private static final AttributeKey<Long> ATTR_RESULT_COUNT =
+        AttributeKey.longKey("falkordb.result_count");
+
+    /** Produces the next batch, or null when there are no more. */
+    private final Supplier<Iterator<Binding>> batches;
+
+    /** Remaining bindings of the current batch. */
+    private Iterator<Binding> current;
+
+    /** Whether no more batches are requested. */
+    private volatile boolean done;
+
+    /** Span covering the iteration, or null. */
+    private Span span;
+
+    /** Bindings returned so far. */
+    private long count;
+
+    /**
+     * Create an iterator over batches of bindings.
+     *
+     * @param input the input bindings, closed with this iterator
+     * @param first the first batch, already requested
+     * @param nextBatch produces the following batches, returning null
+     *        when there are no more
+     * @param iterationSpan span to end when iteration finishes, or null
+     * @param execCxt the execution context
+     */
+    LazyBindingIterator(final QueryIterator input,
+            final Iterator<Binding> first,
+            final Supplier<Iterator<Binding>> nextBatch,
+            final Span iterationSpan,
+            final ExecutionContext execCxt) {
+        super(input, execCxt);
+        this.current = first != null ? first : Collections.emptyIterator();
+        this.done = first == null;
+        this.batches = nextBatch;
+        this.span = iterationSpan;
+    }
+
+    @Override
+    protected boolean hasNextBinding() {
+        try {
+            while (!current.hasNext()) {
+                if (done) {
+                    endSpan();
+                    return false;
+                }
+                Iterator<Binding> batch = nextBatch();
+                if (batch == null) {
+                    done = true;
+                } else {
+                    current = batch;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            fail(e);
+            throw e;
+        }
+    }
+
+    @Override
+    protected Binding moveToNextBinding() {
+        count++;
+        return current.next();
+    }
+
+    @Override
+    protected void closeSubIterator() {
+        done = true;
+        current = Collections.emptyIterator();
+        endSpan();
+    }
+
+    @Override
+    protected void requestSubCancel() {
+        done = true;
+    }
+
+    /**
+     * Request the next batch as a child of the span.
+     */
+    private Iterator<Binding> nextBatch() {
+        if (span != null) {
+            try (Scope scope = span.makeCurrent()) {
+                return batches.get();
+            }
+        }
+        return batches.get();
+    }
+
+    private void endSpan() {
+        if (span != null) {
+            span.setAttribute(ATTR_RESULT_COUNT, count);
+            span.setStatus(StatusCode.OK);
+            span.end();
+            span = null;
+        }
+    }
+
+    private void fail(final RuntimeException e) {
+        done = true;
+        current = Collections.emptyIterator();
+        if (span != null) {
+            span.setStatus(StatusCode.ERROR, e.getMessage());
+            span.recordException(e);
+            span.end();
+            span = null;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.falkordb.jena.query;
+
+import org.apache.jena.graph.GraphStatisticsHandler;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.core.BasicPattern;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Orders the triple patterns of a Basic Graph Pattern so that selective
+ * patterns run first.
+ *
+ * <p>Patterns are picked greedily: each step takes the remaining pattern
+ * with the lowest estimated cardinality, where variables bound by the
+ * patterns picked before count as concrete. A pattern that shares no
+ * variable with the patterns picked before is only taken when every
+ * remaining pattern is in that position, so no cross product is
+ * introduced. Ties and unknown estimates keep the original order.</p>
+ *
+ * <h2>Example:</h2>
+ * <pre>{@code
+ * // ?person foaf:knows ?friend .      (100,000 triples)
+ * // ?person a ex:Admin .              (12 instances)
+ * //
+ * // Ordered:
+ * // ?person a ex:Admin .
+ * // ?person foaf:knows ?friend .
+ * }</pre>
+ */
+public final class SelectivityOrder {
+
+    /** Stands in for a variable bound by an earlier pattern. */
+    private static final Node BOUND = NodeFactory.createBlankNode("bound");
+
+    private SelectivityOrder() {
+        // Utility class
+    }
+
+    /**
+     * Order the patterns of a BGP by estimated cardinality.
+     *
+     * @param bgp the patterns
+     * @param statistics the cardinality estimates, or null
+     * @return the ordered patterns, or the given BGP if there is nothing
+     *     to order
+     */
+    public static BasicPattern order(final BasicPattern bgp,
+            final GraphStatisticsHandler statistics) {
+        if (statistics == null || bgp == null || bgp.size() < 2) {
+            return bgp;
+        }
+        List<Triple> remaining = new ArrayList<>(bgp.getList());
+        Set<Node> bound = new HashSet<>();
+        BasicPattern ordered = new BasicPattern();
+        while (!remaining.isEmpty()) {
+            int best = -1;
+            boolean bestConnected = false;
+            long bestEstimate = Long.MAX_VALUE;
+            for (int i = 0; i < remaining.size(); i++) {
+                Triple triple = remaining.get(i);
+                boolean connected = bound.isEmpty()
+                    || isConnected(triple, bound);
+                long estimate = estimate(triple, bound, statistics);
+                if (best < 0 || (connected && !bestConnected)
+                        || (connected == bestConnected
+                            && estimate < bestEstimate)) {
+                    best = i;
+                    bestConnected = connected;
+                    bestEstimate = estimate;
+                }
+            }
+            Triple picked = remaining.remove(best);
+            ordered.add(picked);
+            addVariables(picked, bound);
+        }
+        return ordered;
+    }
+
+    /**
+     * Estimate the cardinality of a pattern, with unknown estimates last.
+     */
+    private static long estimate(final Triple triple, final Set<Node> bound,
+            final GraphStatisticsHandler statistics) {
+        long estimate = statistics.getStatistic(
+            slot(triple.getSubject(), bound),
+            slot(triple.getPredicate(), bound),
+            slot(triple.getObject(), bound));
+        return estimate < 0 ? Long.MAX_VALUE : estimate;
+    }
+
+    private static Node slot(final Node node, final Set<Node> bound) {
+        if (node.isConcrete()) {
+            return node;
+        }
+        return bound.contains(node) ? BOUND : Node.ANY;
+    }
+
+    private static boolean isConnected(final Triple triple,
+            final Set<Node> bound) {
+        return bound.contains(triple.getSubject())
+            || bound.contains(triple.getPredicate())
+            || bound.contains(triple.getObject());
+    }
+
+    private static void addVariables(final Triple triple,
+            final Set<Node> bound) {
+        for (Node node : List.of(triple.getSubject(), triple.getPredicate(),
+                triple.getObject())) {
+            if (node.isVariable()) {
+                bound.add(node);
+            }
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.falkordb.jena.query;
+
+import org.apache.jena.query.Query;
+import org.apache.jena.query.SortCondition;
+import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.algebra.op.OpDistinctReduced;
+import org.apache.jena.sparql.algebra.op.OpOrder;
+import org.apache.jena.sparql.algebra.op.OpProject;
+import org.apache.jena.sparql.algebra.op.OpSlice;
+import org.apache.jena.sparql.algebra.op.OpTopN;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.expr.ExprVar;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Applies SPARQL solution modifiers (projection, DISTINCT, ORDER BY,
+ * OFFSET and LIMIT) to a compiled Cypher query.
+ *
+ * <p>A compiled query ends with its {@code RETURN} clause, so modifiers
+ * are appended to it. A query made of {@code UNION ALL} branches is
+ * modified branch by branch, since Cypher applies a clause after the
+ * last {@code RETURN} to that branch only; the caller then has to apply
+ * the modifier to the combined rows once more.</p>
+ *
+ * <h2>Example:</h2>
+ * <pre>{@code
+ * // SELECT DISTINCT ?person WHERE {
+ * //   ?person a foaf:Person . ?person foaf:knows ?friend }
+ * // ORDER BY ?person LIMIT 10 OFFSET 20
+ * //
+ * // MATCH (person:Resource:`http://xmlns.com/foaf/0.1/Person`)
+ * //   -[:`http://xmlns.com/foaf/0.1/knows`]->(friend:Resource)
+ * // RETURN DISTINCT person.uri AS person
+ * // ORDER BY person ASC
+ * // SKIP 20
+ * // LIMIT 10
+ * }</pre>
+ */
+final class SolutionModifiers {
+
+    /** Separator of the branches of a compiled UNION ALL query. */
+    private static final String UNION_ALL = "\nUNION ALL\n";
+
+    /** Start of the RETURN clause of a compiled query. */
+    private static final String RETURN = "\nRETURN ";
+
+    /** Separator of the branches of a compiled UNION query. */
+    private static final String UNION = "\nUNION\n";
+
+    /** A RETURN column holding the URI of a matched node. */
+    private static final Pattern NODE_COLUMN =
+        Pattern.compile("\\w+\\.uri AS .+");
+
+    private SolutionModifiers() {
+        // Utility class
+    }
+
+    /**
+     * The solution modifiers applied to a pattern, as found from the
+     * outermost modifier down.
+     *
+     * @param pattern the pattern below the modifiers
+     * @param projection the projected variables, or null for all
+     * @param distinct whether duplicate rows are removed
+     * @param conditions the sort conditions, or null
+     * @param start the offset, or {@link Query#NOLIMIT}
+     * @param length the maximum number of rows, or {@link Query#NOLIMIT}
+     */
+    record Chain(Op pattern, List<Var> projection, boolean distinct,
+            List<SortCondition> conditions, long start, long length) {
+
+        /**
+         * Collect the modifiers from the outermost one down.
+         *
+         * <p>A slice must come first; the projection, the duplicate
+         * removal and the order may follow in any order, as long as the
+         * duplicates are removed from the projected rows and before any
+         * top-N.</p>
+         *
+         * @param op the outermost modifier
+         * @return the modifiers, or null if they cannot be applied to
+         *     one Cypher query
+         */
+        static Chain of(final Op op) {
+            Op current = op;
+            long start = Query.NOLIMIT;
+            long length = Query.NOLIMIT;
+            if (current instanceof OpSlice opSlice) {
+                start = opSlice.getStart();
+                length = opSlice.getLength();
+                current = opSlice.getSubOp();
+            }
+            List<Var> projection = null;
+            boolean distinct = false;
+            List<SortCondition> conditions = null;
+            while (true) {
+                if (current instanceof OpProject opProject
+                        && projection == null) {
+                    projection = opProject.getVars();
+                    current = opProject.getSubOp();
+                } else if (current instanceof OpDistinctReduced dedup
+                        && !distinct) {
+                    if (projection != null) {
+                        // Rows are compared before they are projected
+                        return null;
+                    }
+                    distinct = true;
+                    current = dedup.getSubOp();
+                } else if (current instanceof OpOrder opOrder
+                        && conditions == null) {
+                    conditions = opOrder.getConditions();
+                    current = opOrder.getSubOp();
+                } else if (current instanceof OpTopN opTop
+                        && conditions == null) {
+                    if (distinct) {
+                        // Duplicates are removed from the top rows only
+                        return null;
+                    }
+                    conditions = opTop.getConditions();
+                    length = topLength(start, length, opTop.getLimit());
+                    current = opTop.getSubOp();
+                } else {
+                    break;
+                }
+            }
+            return new Chain(current, projection, distinct, conditions,
+                start, length);
+        }
+
+        /**
+         * Check whether the modifiers do more than project columns.
+         *
+         * @return true if rows are removed or sorted
+         */
+        boolean trimsRows() {
+            return distinct || conditions != null
+                || start != Query.NOLIMIT || length != Query.NOLIMIT;
+        }
+
+        /**
+         * Combine a top-N limit with the slice above it.
+         */
+        private static long topLength(final long start, final long length,
+                final long limit) {
+            long skipped = start == Query.NOLIMIT ? 0 : start;
+            long rows = Math.max(0, limit - skipped);
+            return length == Query.NOLIMIT ? rows : Math.min(length, rows);
+        }
+    }
+
+    /**
+     * Check whether a compiled query combines branches with UNION ALL,
+     * so that modifiers pushed into it must be applied again to the
+     * combined rows.
+     *
+     * @param cypher the compiled query
+     * @return true if the query has UNION ALL branches
+     */
+    static boolean isUnion(final String cypher) {
+        return cypher.contains(UNION_ALL);
+    }
+
+    /**
+     * Push a SPARQL slice into a compiled query.
+     *
+     * @param cypher the compiled query
+     * @param start the offset, or {@link Query#NOLIMIT}
+     * @param length the maximum number of rows, or {@link Query#NOLIMIT}
+     * @return the sliced query, or null if the slice cannot be pushed
+     *     down
+     * @see #apply(String, List, long, long)
+     */
+    static String slice(final String cypher, final long start,
+            final long length) {
+        return apply(cypher, null, start, length);
+    }
+
+    /**
+     * Push a SPARQL ORDER BY into a compiled query.
+     *
+     * @param cypher the compiled query
+     * @param conditions the sort conditions
+     * @return the ordered query, or null if the order cannot be pushed
+     *     down
+     * @see #apply(String, List, long, long)
+     */
+    static String order(final String cypher,
+            final List<SortCondition> conditions) {
+        return apply(cypher, conditions, Query.NOLIMIT, Query.NOLIMIT);
+    }
+
+    /**
+     * Push an ORDER BY and a slice into a compiled query.
+     *
+     * @param cypher the compiled query
+     * @param conditions the sort conditions, or null
+     * @param start the offset, or {@link Query#NOLIMIT}
+     * @param length the maximum number of rows, or {@link Query#NOLIMIT}
+     * @return the modified query, or null if the modifiers cannot be
+     *     pushed down
+     * @see #apply(String, List, boolean, List, long, long)
+     */
+    static String apply(final String cypher,
+            final List<SortCondition> conditions, final long start,
+            final long length) {
+        return apply(cypher, null, false, conditions, start, length);
+    }
+
+    /**
+     * Push a projection, duplicate removal, ORDER BY and slice into a
+     * compiled query.
+     *
+     * <p>A single query returns only the projected columns, with
+     * {@code RETURN DISTINCT} when duplicates are removed, followed by
+     * {@code ORDER BY}, {@code SKIP} and {@code LIMIT}, so FalkorDB
+     * removes duplicates, sorts and truncates the rows itself. The
+     * projection is left out when a sort key is not projected; duplicates
+     * are then not removed either.</p>
+     *
+     * <p>Each branch of a UNION ALL query is projected, and made
+     * {@code DISTINCT}, on its own. Without duplicate removal and with a
+     * limit, each branch also gets the {@code ORDER BY} and a
+     * {@code LIMIT} of offset plus length, which keeps every row the
+     * slice can pick, as long as every branch can sort in Cypher.
+     * Removing duplicates across branches, sorting and slicing the
+     * combined rows is left to the caller.</p>
+     *
+     * <p>Only sort conditions on returned node URIs are pushed down.
+     * Literals are stored as numbers, booleans or lexical forms, which
+     * Cypher does not order as SPARQL does: dates in different time
+     * zones sort as strings, and strings sort before numbers in a mixed
+     * column. When the query has OPTIONAL MATCH clauses, unbound values
+     * are sorted first as in SPARQL, not last as in Cypher.</p>
+     *
+     * @param cypher the compiled query
+     * @param projection the projected variables, or null for all
+     * @param distinct whether duplicate rows are removed
+     * @param conditions the sort conditions, or null
+     * @param start the offset, or {@link Query#NOLIMIT}
+     * @param length the maximum number of rows, or {@link Query#NOLIMIT}
+     * @return the modified query, or null if the modifiers cannot be
+     *     pushed down
+     */
+    static String apply(final String cypher, final List<Var> projection,
+            final boolean distinct, final List<SortCondition> conditions,
+            final long start, final long length) {
+        boolean order = conditions != null && !conditions.isEmpty();
+        boolean skip = start != Query.NOLIMIT && start > 0;
+        boolean limit = length != Query.NOLIMIT && length >= 0;
+        if (cypher.contains(UNION)) {
+            // Duplicate removal across branches would undercut the limit
+            return null;
+        }
+
+        // Sorting on a column that is not returned needs all columns
+        boolean project = projection != null
+            && (!order || projects(projection, conditions));
+        if (distinct && !project) {
+            return null;
+        }
+        if (!project && !order && !skip && !limit) {
+            return null;
+        }
+
+        if (isUnion(cypher)) {
+            String[] branches = cypher.split(UNION_ALL, -1);
+            boolean trim = limit && !distinct;
+            for (String branch : branches) {
+                // A branch cut in another order could drop needed rows
+                trim &= !order || orderBy(branch, conditions) != null;
+            }
+            if (!project && !trim) {
+                return null;
+            }
+            long rows = skip ? start + length : length;
+            StringBuilder modified = new StringBuilder();
+            for (String branch : branches) {
+                String orderBy = trim && order
+                    ? orderBy(branch, conditions) : "";
+                if (!modified.isEmpty()) {
+                    modified.append(UNION_ALL);
+                }
+                modified.append(project
+                    ? project(branch, projection, distinct) : branch);
+                if (trim) {
+                    modified.append(orderBy).append("\nLIMIT ").append(rows);
+                }
+            }
+            return modified.toString();
+        }
+
+        String orderBy = order ? orderBy(cypher, conditions) : "";
+        if (orderBy == null) {
+            return null;
+        }
+        StringBuilder modified = new StringBuilder(project
+            ? project(cypher, projection, distinct) : cypher);
+        modified.append(orderBy);
+        if (skip) {
+            modified.append("\nSKIP ").append(start);
+        }
+        if (limit) {
+            modified.append("\nLIMIT ").append(length);
+        }
+        return modified.toString();
+    }
+
+    /**
+     * Check whether every sort condition is on a projected variable.
+     */
+    private static boolean projects(final List<Var> projection,
+            final List<SortCondition> conditions) {
+        for (SortCondition condition : conditions) {
+            if (!(condition.getExpression() instanceof ExprVar exprVar)
+                    || !projection.contains(exprVar.asVar())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Keep only the projected columns in the RETURN clause of one query.
+     */
+    private static String project(final String query,
+            final List<Var> projection, final boolean distinct) {
+        int returnIndex = query.lastIndexOf(RETURN);
+        if (returnIndex < 0) {
+            return query;
+        }
+        Set<String> names = new HashSet<>();
+        for (Var var : projection) {
+            names.add(var.getVarName());
+        }
+        List<String> kept = new ArrayList<>();
+        for (String part : returnParts(query)) {
+            if (names.contains(alias(part))) {
+                kept.add(part);
+            }
+        }
+        if (kept.isEmpty()) {
+            // Keep one row per match
+            kept.add("1 AS _result");
+        }
+        return query.substring(0, returnIndex) + RETURN
+            + (distinct ? "DISTINCT " : "") + String.join(", ", kept);
+    }
+
+    /**
+     * Build the ORDER BY clause of one query.
+     *
+     * @return the clause, or null if a condition is not on a returned
+     *     node URI
+     */
+    private static String orderBy(final String query,
+            final List<SortCondition> conditions) {
+        Set<String> aliases = new HashSet<>();
+        for (String part : returnParts(query)) {
+            if (NODE_COLUMN.matcher(part).matches()) {
+                aliases.add(alias(part));
+            }
+        }
+        boolean optional = query.contains("OPTIONAL MATCH");
+        List<String> keys = new ArrayList<>();
+        for (SortCondition condition : conditions) {
+            if (!(condition.getExpression() instanceof ExprVar exprVar)
+                    || !aliases.contains(exprVar.getVarName())) {
+                return null;
+            }
+            String alias = exprVar.getVarName();
+            boolean descending =
+                condition.getDirection() == Query.ORDER_DESCENDING;
+            if (optional) {
+                // Unbound sorts before any value in SPARQL
+                keys.add(alias + (descending ? " IS NULL" : " IS NOT NULL"));
+            }
+            keys.add(alias + (descending ? " DESC" : " ASC"));
+        }
+        return "\nORDER BY " + String.join(", ", keys);
+    }
+
+    /**
+     * Split the RETURN clause of one query into its columns, ignoring
+     * commas inside brackets, quotes and backticks.
+     */
+    private static List<String> returnParts(final String query) {
+        List<String> parts = new ArrayList<>();
+        int returnIndex = query.lastIndexOf(RETURN);
+        if (returnIndex < 0) {
+            return parts;
+        }
+        String clause = query.substring(returnIndex + RETURN.length());
+        int depth = 0;
+        char quote = 0;
+        int partStart = 0;
+        for (int i = 0; i < clause.length(); i++) {
+            char c = clause.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '`' || c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '(' || c == '[' || c == '{') {
+                depth++;
+            } else if (c == ')' || c == ']' || c == '}') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                parts.add(clause.substring(partStart, i).trim());
+                partStart = i + 1;
+            }
+        }
+        parts.add(clause.substring(partStart).trim());
+        return parts;
+    }
+
+    /**
+     * Get the name a RETURN column is returned under.
+     */
+    private static String alias(final String part) {
+        int as = part.lastIndexOf(" AS ");
+        return as < 0 ? part : part.substring(as + " AS ".length()).trim();
+    }
+}
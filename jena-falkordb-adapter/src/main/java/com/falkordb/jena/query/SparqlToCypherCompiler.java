@@ -7,6 +7,7 @@ import io.opentelemetry.api.trace.SpanKind;
 import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
+import org.apache.jena.graph.GraphStatisticsHandler;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.sparql.core.BasicPattern;
@@ -734,6 +735,26 @@ public final class SparqlToCypherCompiler {
         }
     }
 
+    /**
+     * Translate a SPARQL Basic Graph Pattern to a Cypher query, with the
+     * MATCH clauses ordered by estimated cardinality.
+     *
+     * <p>Relationship, type and property patterns are each matched in
+     * the order given by {@link SelectivityOrder}, so the most selective
+     * pattern of each kind is matched first.</p>
+     *
+     * @param bgp the Basic Graph Pattern to translate
+     * @param statistics cardinality estimates, or null to keep the order
+     *     of the BGP
+     * @return the compilation result containing Cypher query and metadata
+     * @throws CannotCompileException if the BGP cannot be compiled
+     */
+    public static CompilationResult translate(final BasicPattern bgp,
+            final GraphStatisticsHandler statistics)
+            throws CannotCompileException {
+        return translate(SelectivityOrder.order(bgp, statistics));
+    }
+
     /**
      * Translate a SPARQL Basic Graph Pattern to a Cypher query.
      *
@@ -1120,8 +1141,28 @@ public final class SparqlToCypherCompiler {
      * 
      * @param bgp the Basic Graph Pattern
      * @param filterExpr the FILTER expression to apply
+     * @param statistics cardinality estimates to order the BGP by, or null
+     * @return the compilation result with Cypher query and parameters
+     * @throws CannotCompileException if the BGP or FILTER cannot be compiled
+     */
+    public static CompilationResult translateWithFilter(
+            final BasicPattern bgp,
+            final Expr filterExpr,
+            final GraphStatisticsHandler statistics)
+            throws CannotCompileException {
+        return translateWithFilter(SelectivityOrder.order(bgp, statistics),
+            filterExpr);
+    }
+
+    /**
+     * Translate a SPARQL Basic Graph Pattern with FILTER expressions to
+     * Cypher, keeping the order of the BGP.
+     *
+     * @param bgp the Basic Graph Pattern
+     * @param filterExpr the FILTER expression to apply
      * @return the compilation result with Cypher query and parameters
      * @throws CannotCompileException if the BGP or FILTER cannot be compiled
+     * @see #translateWithFilter(BasicPattern, Expr, GraphStatisticsHandler)
      */
     public static CompilationResult translateWithFilter(
             final BasicPattern bgp,
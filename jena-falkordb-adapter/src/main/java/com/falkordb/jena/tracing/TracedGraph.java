@@ -10,6 +10,7 @@ import io.opentelemetry.api.trace.StatusCode;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.context.Scope;
 
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -17,7 +18,11 @@ import java.util.Map;
  * to all Redis/driver calls.
  *
  * <p>This provides Level 3 tracing: every call to the underlying
- * Redis graph driver is traced with the query and parameters.</p>
+ * Redis graph driver is traced with the query and parameters. Below the
+ * {@link TracingLevel#FULL} level only calls made inside another span are
+ * traced. Parameters are rendered only for recording spans and are cut to
+ * at most {@value #MAX_PARAMS_LENGTH} characters, showing the first
+ * {@value #MAX_LIST_ELEMENTS} elements of list parameters.</p>
  */
 public final class TracedGraph {
     /** The wrapped graph instance. */
@@ -45,6 +50,12 @@ public final class TracedGraph {
     private static final AttributeKey<String> ATTR_DB_PARAMS =
         AttributeKey.stringKey("db.falkordb.params");
 
+    /** Maximum length of the rendered query parameters. */
+    static final int MAX_PARAMS_LENGTH = 1024;
+
+    /** Number of list elements rendered per parameter. */
+    static final int MAX_LIST_ELEMENTS = 10;
+
     /** Attribute key for result count. */
     private static final AttributeKey<Long> ATTR_DB_RESULT_COUNT =
         AttributeKey.longKey("db.falkordb.result_count");
@@ -68,7 +79,7 @@ public final class TracedGraph {
      * @return the result set
      */
     public ResultSet query(final String cypher) {
-        if (!TracingUtil.isTracingEnabled()) {
+        if (!TracingUtil.shouldTraceDriverCall()) {
             return delegate.query(cypher);
         }
 
@@ -101,7 +112,7 @@ public final class TracedGraph {
      */
     public ResultSet query(final String cypher,
                            final Map<String, Object> params) {
-        if (!TracingUtil.isTracingEnabled()) {
+        if (!TracingUtil.shouldTraceDriverCall()) {
             return delegate.query(cypher, params);
         }
 
@@ -110,8 +121,11 @@ public final class TracedGraph {
             .setAttribute(ATTR_DB_SYSTEM, "falkordb")
             .setAttribute(ATTR_DB_NAME, graphName)
             .setAttribute(ATTR_DB_STATEMENT, cypher)
-            .setAttribute(ATTR_DB_PARAMS, paramsToString(params))
             .startSpan();
+        if (span.isRecording()) {
+            span.setAttribute(ATTR_DB_PARAMS,
+                paramsToString(params, MAX_PARAMS_LENGTH));
+        }
 
         try (Scope scope = span.makeCurrent()) {
             ResultSet result = delegate.query(cypher, params);
@@ -126,6 +140,15 @@ public final class TracedGraph {
         }
     }
 
+    /**
+     * Get the graph name used for tracing attributes.
+     *
+     * @return the graph name
+     */
+    public String getGraphName() {
+        return graphName;
+    }
+
     /**
      * Get the underlying graph.
      *
@@ -138,29 +161,65 @@ public final class TracedGraph {
     /**
      * Convert parameters map to a string for tracing.
      *
+     * <p>Lists show at most {@value #MAX_LIST_ELEMENTS} elements followed
+     * by the number of omitted ones, and the result is cut to maxLength
+     * characters.</p>
+     *
      * @param params the parameters map
+     * @param maxLength maximum length of the result
      * @return string representation
      */
-    private String paramsToString(final Map<String, Object> params) {
+    static String paramsToString(final Map<String, Object> params,
+            final int maxLength) {
         if (params == null || params.isEmpty()) {
             return "{}";
         }
         StringBuilder sb = new StringBuilder("{");
         boolean first = true;
         for (Map.Entry<String, Object> entry : params.entrySet()) {
+            if (sb.length() > maxLength) {
+                break;
+            }
             if (!first) {
                 sb.append(", ");
             }
             first = false;
             sb.append(entry.getKey()).append("=");
-            Object value = entry.getValue();
-            if (value instanceof String) {
-                sb.append("\"").append(value).append("\"");
-            } else {
-                sb.append(value);
-            }
+            appendValue(sb, entry.getValue(), maxLength);
         }
         sb.append("}");
+        if (sb.length() > maxLength) {
+            sb.setLength(Math.max(0, maxLength - 3));
+            sb.append("...");
+        }
         return sb.toString();
     }
+
+    /**
+     * Append one parameter value, stopping once maxLength is exceeded.
+     */
+    private static void appendValue(final StringBuilder sb,
+            final Object value, final int maxLength) {
+        if (value instanceof String) {
+            sb.append("\"").append(value).append("\"");
+        } else if (value instanceof Collection<?> list) {
+            sb.append("[");
+            int count = 0;
+            for (Object element : list) {
+                if (count == MAX_LIST_ELEMENTS || sb.length() > maxLength) {
+                    sb.append("... (").append(list.size() - count)
+                        .append(" more)");
+                    break;
+                }
+                if (count > 0) {
+                    sb.append(", ");
+                }
+                appendValue(sb, element, maxLength);
+                count++;
+            }
+            sb.append("]");
+        } else {
+            sb.append(value);
+        }
+    }
 }
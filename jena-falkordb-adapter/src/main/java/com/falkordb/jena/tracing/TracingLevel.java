@@ -0,0 +1,31 @@
+package com.falkordb.jena.tracing;
+
+/**
+ * How much of the adapter is traced.
+ *
+ * <p>Per-operation spans are the ones created for every single triple
+ * operation ({@code FalkorDBGraph.performAdd}, {@code performDelete},
+ * {@code find} and {@code contains}). Batch spans cover commits, batch
+ * flushes, pushed-down queries and HTTP requests, and are created at most
+ * a few times per request.</p>
+ */
+public enum TracingLevel {
+    /** Create no spans at all. */
+    OFF,
+
+    /**
+     * Create batch spans only. Driver calls are traced only as children of
+     * another span, so single-triple writes outside a transaction are not
+     * traced.
+     */
+    BATCH,
+
+    /**
+     * Create batch spans and a random sample of per-operation spans; see
+     * {@link TracingUtil#setSampleRatio(double)}.
+     */
+    SAMPLED,
+
+    /** Create every span. This is the default. */
+    FULL
+}
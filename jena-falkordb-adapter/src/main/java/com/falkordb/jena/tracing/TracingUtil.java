@@ -2,15 +2,25 @@ package com.falkordb.jena.tracing;
 
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
 import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.TracerProvider;
 import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
 import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.otlp.metrics.OtlpGrpcMetricExporter;
 import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
 import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.OpenTelemetrySdkBuilder;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
 import io.opentelemetry.semconv.ServiceAttributes;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,7 +39,18 @@ import org.slf4j.LoggerFactory;
  *       (default: jena-falkordb)</li>
  *   <li>{@code OTEL_TRACING_ENABLED} - Enable/disable tracing
  *       (default: true)</li>
+ *   <li>{@code OTEL_METRICS_ENABLED} - Also export metrics to the OTLP
+ *       endpoint (default: false)</li>
+ *   <li>{@code OTEL_TRACING_LEVEL} - {@code OFF}, {@code BATCH},
+ *       {@code SAMPLED} or {@code FULL} (default: FULL)</li>
+ *   <li>{@code OTEL_TRACING_SAMPLE_RATIO} - Fraction of per-operation
+ *       spans kept at the {@code SAMPLED} level (default: 0.01)</li>
  * </ul>
+ *
+ * <p>The level can also be changed at run time with
+ * {@link #setTracingLevel(TracingLevel)}. Tracers returned by
+ * {@link #getTracer(String)} check it on every span, so lowering the level
+ * takes effect immediately in code that already holds a tracer.</p>
  */
 public final class TracingUtil {
     /** Logger instance. */
@@ -53,6 +74,19 @@ public final class TracingUtil {
     /** Environment variable to enable/disable tracing. */
     private static final String ENV_TRACING_ENABLED = "OTEL_TRACING_ENABLED";
 
+    /** Environment variable to enable/disable metrics export. */
+    private static final String ENV_METRICS_ENABLED = "OTEL_METRICS_ENABLED";
+
+    /** Environment variable for the tracing level. */
+    private static final String ENV_TRACING_LEVEL = "OTEL_TRACING_LEVEL";
+
+    /** Environment variable for the per-operation sample ratio. */
+    private static final String ENV_TRACING_SAMPLE_RATIO =
+        "OTEL_TRACING_SAMPLE_RATIO";
+
+    /** Default fraction of per-operation spans kept when sampling. */
+    public static final double DEFAULT_SAMPLE_RATIO = 0.01;
+
     /** Instrumentation scope name for FalkorDB graph operations. */
     public static final String SCOPE_FALKORDB_GRAPH =
         "com.falkordb.jena.FalkorDBGraph";
@@ -72,6 +106,16 @@ public final class TracingUtil {
     /** Whether tracing is enabled. */
     private static volatile boolean tracingEnabled = true;
 
+    /** Current tracing level. */
+    private static volatile TracingLevel tracingLevel = TracingLevel.FULL;
+
+    /** Fraction of per-operation spans kept at the SAMPLED level. */
+    private static volatile double sampleRatio = DEFAULT_SAMPLE_RATIO;
+
+    /** Tracer used while the level is OFF. */
+    private static final Tracer NOOP_TRACER =
+        TracerProvider.noop().get("noop");
+
     /** Prevent instantiation. */
     private TracingUtil() {
         throw new AssertionError("No instances");
@@ -99,11 +143,28 @@ public final class TracingUtil {
     /**
      * Get a tracer for the specified instrumentation scope.
      *
+     * <p>The tracer creates non-recording spans while the tracing level is
+     * {@link TracingLevel#OFF}.</p>
+     *
      * @param scopeName the instrumentation scope name
      * @return the tracer for the given scope
      */
     public static Tracer getTracer(final String scopeName) {
-        return getOpenTelemetry().getTracer(scopeName);
+        return new LevelAwareTracer(
+            getOpenTelemetry().getTracer(scopeName));
+    }
+
+    /**
+     * Get a meter for the specified instrumentation scope.
+     *
+     * <p>Instruments created from the returned meter are no-ops unless
+     * metrics export has been enabled with {@code OTEL_METRICS_ENABLED}.</p>
+     *
+     * @param scopeName the instrumentation scope name
+     * @return the meter for the given scope
+     */
+    public static Meter getMeter(final String scopeName) {
+        return getOpenTelemetry().getMeter(scopeName);
     }
 
     /**
@@ -112,9 +173,95 @@ public final class TracingUtil {
      * @return true if tracing is enabled, false otherwise
      */
     public static boolean isTracingEnabled() {
-        // Initialize to read environment variable on first check
+        return getTracingLevel() != TracingLevel.OFF;
+    }
+
+    /**
+     * Get the current tracing level.
+     *
+     * @return the tracing level, {@link TracingLevel#OFF} when tracing is
+     *         disabled with {@code OTEL_TRACING_ENABLED}
+     */
+    public static TracingLevel getTracingLevel() {
+        // Initialize to read environment variables on first check
+        getOpenTelemetry();
+        return tracingEnabled ? tracingLevel : TracingLevel.OFF;
+    }
+
+    /**
+     * Set the tracing level.
+     *
+     * <p>This has no effect if tracing was disabled with
+     * {@code OTEL_TRACING_ENABLED}, since no exporter is configured then.</p>
+     *
+     * @param level the new tracing level
+     * @throws IllegalArgumentException if level is null
+     */
+    public static void setTracingLevel(final TracingLevel level) {
+        if (level == null) {
+            throw new IllegalArgumentException("Tracing level must not be null");
+        }
+        getOpenTelemetry();
+        tracingLevel = level;
+    }
+
+    /**
+     * Get the fraction of per-operation spans kept at the
+     * {@link TracingLevel#SAMPLED} level.
+     *
+     * @return the sample ratio between 0 and 1
+     */
+    public static double getSampleRatio() {
+        getOpenTelemetry();
+        return sampleRatio;
+    }
+
+    /**
+     * Set the fraction of per-operation spans kept at the
+     * {@link TracingLevel#SAMPLED} level.
+     *
+     * @param ratio the sample ratio between 0 and 1
+     * @throws IllegalArgumentException if ratio is outside [0, 1]
+     */
+    public static void setSampleRatio(final double ratio) {
+        if (!(ratio >= 0.0 && ratio <= 1.0)) {
+            throw new IllegalArgumentException(
+                "Sample ratio must be between 0 and 1: " + ratio);
+        }
         getOpenTelemetry();
-        return tracingEnabled;
+        sampleRatio = ratio;
+    }
+
+    /**
+     * Decide whether a per-operation span should be created.
+     *
+     * <p>Callers should skip the span, and the work of computing its
+     * attributes, when this returns false.</p>
+     *
+     * @return true at the FULL level, or for a random sample of calls at
+     *         the SAMPLED level
+     */
+    public static boolean shouldTraceOperation() {
+        return switch (getTracingLevel()) {
+            case FULL -> true;
+            case SAMPLED -> ThreadLocalRandom.current().nextDouble()
+                < sampleRatio;
+            default -> false;
+        };
+    }
+
+    /**
+     * Decide whether a driver call should be traced.
+     *
+     * @return true at the FULL level, or at the BATCH and SAMPLED levels
+     *         when the call is part of a traced operation
+     */
+    public static boolean shouldTraceDriverCall() {
+        return switch (getTracingLevel()) {
+            case FULL -> true;
+            case OFF -> false;
+            default -> Span.current().getSpanContext().isValid();
+        };
     }
 
     /**
@@ -128,6 +275,7 @@ public final class TracingUtil {
         if (enabledEnv != null && !enabledEnv.isEmpty()) {
             tracingEnabled = Boolean.parseBoolean(enabledEnv);
         }
+        readLevelSettings();
 
         if (!tracingEnabled) {
             if (LOGGER.isInfoEnabled()) {
@@ -163,18 +311,35 @@ public final class TracingUtil {
             .build();
 
         // Build OpenTelemetry SDK with W3C trace context propagation
-        OpenTelemetrySdk sdk = OpenTelemetrySdk.builder()
+        OpenTelemetrySdkBuilder sdkBuilder = OpenTelemetrySdk.builder()
             .setTracerProvider(tracerProvider)
             .setPropagators(ContextPropagators.create(
-                W3CTraceContextPropagator.getInstance()))
-            .build();
+                W3CTraceContextPropagator.getInstance()));
+
+        // Metrics are opt-in and share the OTLP endpoint with traces
+        if (Boolean.parseBoolean(System.getenv(ENV_METRICS_ENABLED))) {
+            OtlpGrpcMetricExporter metricExporter =
+                OtlpGrpcMetricExporter.builder()
+                    .setEndpoint(otlpEndpoint)
+                    .build();
+            sdkBuilder.setMeterProvider(SdkMeterProvider.builder()
+                .registerMetricReader(
+                    PeriodicMetricReader.builder(metricExporter).build())
+                .setResource(resource)
+                .build());
+            if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("OpenTelemetry metrics export enabled");
+            }
+        }
+
+        OpenTelemetrySdk sdk = sdkBuilder.build();
 
         // Register shutdown hook to flush traces
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Shutting down OpenTelemetry tracer provider");
+                LOGGER.debug("Shutting down OpenTelemetry SDK");
             }
-            tracerProvider.shutdown();
+            sdk.shutdown();
         }));
 
         if (LOGGER.isInfoEnabled()) {
@@ -184,6 +349,38 @@ public final class TracingUtil {
         return sdk;
     }
 
+    /**
+     * Read the tracing level and sample ratio from the environment.
+     * Invalid values are logged and ignored.
+     */
+    private static void readLevelSettings() {
+        String levelEnv = System.getenv(ENV_TRACING_LEVEL);
+        if (levelEnv != null && !levelEnv.isEmpty()) {
+            try {
+                tracingLevel = TracingLevel.valueOf(
+                    levelEnv.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Ignoring invalid {}: {}", ENV_TRACING_LEVEL,
+                    levelEnv);
+            }
+        }
+        String ratioEnv = System.getenv(ENV_TRACING_SAMPLE_RATIO);
+        if (ratioEnv != null && !ratioEnv.isEmpty()) {
+            try {
+                double ratio = Double.parseDouble(ratioEnv.trim());
+                if (ratio >= 0.0 && ratio <= 1.0) {
+                    sampleRatio = ratio;
+                } else {
+                    LOGGER.warn("Ignoring out of range {}: {}",
+                        ENV_TRACING_SAMPLE_RATIO, ratioEnv);
+                }
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring invalid {}: {}",
+                    ENV_TRACING_SAMPLE_RATIO, ratioEnv);
+            }
+        }
+    }
+
     /**
      * Get environment variable or default value.
      *
@@ -220,6 +417,26 @@ public final class TracingUtil {
                 LOGGER.info("Shutting down OpenTelemetry SDK");
             }
             sdk.getSdkTracerProvider().shutdown();
+            sdk.getSdkMeterProvider().shutdown();
+        }
+    }
+
+    /**
+     * Tracer that hands out non-recording spans while the level is OFF.
+     */
+    private static final class LevelAwareTracer implements Tracer {
+        /** The SDK tracer used when tracing is on. */
+        private final Tracer delegate;
+
+        LevelAwareTracer(final Tracer tracer) {
+            this.delegate = tracer;
+        }
+
+        @Override
+        public SpanBuilder spanBuilder(final String spanName) {
+            return tracingLevel == TracingLevel.OFF
+                ? NOOP_TRACER.spanBuilder(spanName)
+                : delegate.spanBuilder(spanName);
         }
     }
 }
@@ -0,0 +1,110 @@
+package com.falkordb.jena;
+
+import com.falkordb.jena.AdaptiveBatchSizer.BatchKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveBatchSizer.
+ */
+public class AdaptiveBatchSizerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private AdaptiveBatchSizer sizer;
+
+    @BeforeEach
+    public void setUp() {
+        sizer = new AdaptiveBatchSizer();
+    }
+
+    @Test
+    @DisplayName("Test fixed batch size when no target latency is set")
+    public void testFixedSizeByDefault() {
+        sizer.record(BatchKind.LITERAL_ADD, 1000, 10_000, 1000 * MILLIS);
+
+        assertEquals(AdaptiveBatchSizer.DEFAULT_BATCH_SIZE,
+            sizer.batchSize(BatchKind.LITERAL_ADD));
+    }
+
+    @Test
+    @DisplayName("Test fast batches grow by at most a factor of two")
+    public void testGrowsWhenFast() {
+        sizer.setTargetLatencyMillis(100);
+
+        sizer.record(BatchKind.LITERAL_ADD, 1000, 10_000, MILLIS);
+        assertEquals(2000, sizer.batchSize(BatchKind.LITERAL_ADD));
+
+        sizer.record(BatchKind.LITERAL_ADD, 2000, 20_000, 2 * MILLIS);
+        assertEquals(4000, sizer.batchSize(BatchKind.LITERAL_ADD));
+    }
+
+    @Test
+    @DisplayName("Test slow batches shrink toward the target latency")
+    public void testShrinksWhenSlow() {
+        sizer.setTargetLatencyMillis(100);
+
+        sizer.record(BatchKind.RELATIONSHIP_ADD, 1000, 10_000, 400 * MILLIS);
+
+        assertEquals(250, sizer.batchSize(BatchKind.RELATIONSHIP_ADD));
+    }
+
+    @Test
+    @DisplayName("Test batch kinds are sized independently")
+    public void testKindsAreIndependent() {
+        sizer.setTargetLatencyMillis(100);
+
+        sizer.record(BatchKind.RELATIONSHIP_ADD, 1000, 10_000, 400 * MILLIS);
+
+        assertEquals(1000, sizer.batchSize(BatchKind.LITERAL_ADD));
+        assertEquals(250, sizer.snapshot().get("relationship_add"));
+    }
+
+    @Test
+    @DisplayName("Test sizes stay within configured bounds")
+    public void testBounds() {
+        sizer.setBounds(500, 1500);
+        sizer.setTargetLatencyMillis(100);
+
+        sizer.record(BatchKind.TYPE_ADD, 1000, 10_000, MILLIS);
+        assertEquals(1500, sizer.batchSize(BatchKind.TYPE_ADD));
+
+        sizer.record(BatchKind.TYPE_DELETE, 1000, 10_000, 10_000 * MILLIS);
+        assertEquals(500, sizer.batchSize(BatchKind.TYPE_DELETE));
+    }
+
+    @Test
+    @DisplayName("Test large payloads cap the batch size")
+    public void testPayloadCap() {
+        sizer.setTargetLatencyMillis(100);
+
+        // 8 KiB per triple: the payload cap allows 1024 triples
+        sizer.record(BatchKind.LITERAL_ADD, 1000, 1000L * 8192, MILLIS);
+
+        assertEquals(1024, sizer.batchSize(BatchKind.LITERAL_ADD));
+    }
+
+    @Test
+    @DisplayName("Test small tail batches do not change the size")
+    public void testTailBatchIgnored() {
+        sizer.setTargetLatencyMillis(100);
+
+        sizer.record(BatchKind.LITERAL_ADD, 10, 100, 50 * MILLIS);
+
+        assertEquals(1000, sizer.batchSize(BatchKind.LITERAL_ADD));
+    }
+
+    @Test
+    @DisplayName("Test invalid configuration is rejected")
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+            () -> sizer.setTargetLatencyMillis(-1));
+        assertThrows(IllegalArgumentException.class,
+            () -> sizer.setBounds(0, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> sizer.setBounds(10, 5));
+    }
+}
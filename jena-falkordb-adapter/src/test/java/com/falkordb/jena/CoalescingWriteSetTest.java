@@ -0,0 +1,123 @@
+package com.falkordb.jena;
+
+import java.util.List;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CoalescingWriteSet.
+ */
+public class CoalescingWriteSetTest {
+
+    private static final Node ALICE =
+        NodeFactory.createURI("http://example.org/alice");
+    private static final Node BOB =
+        NodeFactory.createURI("http://example.org/bob");
+    private static final Node NAME =
+        NodeFactory.createURI("http://example.org/name");
+    private static final Node KNOWS =
+        NodeFactory.createURI("http://example.org/knows");
+
+    private CoalescingWriteSet writeSet;
+
+    @BeforeEach
+    public void setUp() {
+        writeSet = new CoalescingWriteSet();
+    }
+
+    private static Triple name(final String value) {
+        return Triple.create(ALICE, NAME,
+            NodeFactory.createLiteralString(value));
+    }
+
+    @Test
+    @DisplayName("Test duplicate adds and deletes are kept once")
+    public void testDuplicates() {
+        Triple knows = Triple.create(ALICE, KNOWS, BOB);
+        Triple type = Triple.create(ALICE, RDF.type.asNode(),
+            NodeFactory.createURI("http://example.org/Person"));
+
+        writeSet.add(knows);
+        writeSet.add(knows);
+        writeSet.delete(type);
+        writeSet.delete(type);
+
+        assertEquals(List.of(knows), writeSet.adds());
+        assertEquals(List.of(type), writeSet.deletes());
+        assertEquals(2, writeSet.coalescedCount());
+    }
+
+    @Test
+    @DisplayName("Test add then delete keeps only the delete")
+    public void testAddThenDelete() {
+        Triple knows = Triple.create(ALICE, KNOWS, BOB);
+
+        writeSet.add(knows);
+        writeSet.delete(knows);
+
+        assertTrue(writeSet.adds().isEmpty());
+        assertEquals(List.of(knows), writeSet.deletes());
+    }
+
+    @Test
+    @DisplayName("Test delete then add keeps only the add")
+    public void testDeleteThenAdd() {
+        Triple knows = Triple.create(ALICE, KNOWS, BOB);
+
+        writeSet.delete(knows);
+        writeSet.add(knows);
+
+        assertEquals(List.of(knows), writeSet.adds());
+        assertTrue(writeSet.deletes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test repeated literal adds keep the last value")
+    public void testLiteralLastValueWins() {
+        writeSet.add(name("Alice"));
+        writeSet.add(name("Alicia"));
+        writeSet.add(name("Ally"));
+
+        assertEquals(List.of(name("Ally")), writeSet.adds());
+        assertEquals(1, writeSet.size());
+    }
+
+    @Test
+    @DisplayName("Test deleting a replaced literal keeps the add before it")
+    public void testDeleteOfReplacedLiteral() {
+        writeSet.add(name("Alice"));
+        writeSet.add(name("Alicia"));
+        writeSet.delete(name("Alicia"));
+
+        // Adds are written before deletes, so the property ends up absent
+        assertEquals(List.of(name("Alicia")), writeSet.adds());
+        assertEquals(List.of(name("Alicia")), writeSet.deletes());
+    }
+
+    @Test
+    @DisplayName("Test estimated size follows the pending operations")
+    public void testEstimatedBytes() {
+        Triple knows = Triple.create(ALICE, KNOWS, BOB);
+
+        writeSet.add(knows);
+        long one = writeSet.estimatedBytes();
+        assertEquals(FalkorDBTransactionHandler.estimateSize(knows), one);
+
+        writeSet.add(knows);
+        assertEquals(one, writeSet.estimatedBytes());
+
+        writeSet.delete(knows);
+        assertEquals(one, writeSet.estimatedBytes());
+
+        writeSet.clear();
+        assertEquals(0, writeSet.estimatedBytes());
+        assertEquals(0, writeSet.size());
+    }
+}
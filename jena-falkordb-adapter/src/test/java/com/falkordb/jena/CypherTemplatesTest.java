@@ -0,0 +1,89 @@
+package com.falkordb.jena;
+
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CypherTemplates.
+ */
+public class CypherTemplatesTest {
+
+    private static final String NS = "http://example.org/";
+
+    @Test
+    @DisplayName("Test a statement is built once and reused")
+    public void testReuse() {
+        String first = CypherTemplates.get(
+            CypherTemplates.Kind.RELATIONSHIP_ADD, NS + "knows");
+        String second = CypherTemplates.get(
+            CypherTemplates.Kind.RELATIONSHIP_ADD, new String(NS + "knows"));
+
+        assertSame(first, second);
+        assertNotSame(first, CypherTemplates.get(
+            CypherTemplates.Kind.RELATIONSHIP_DELETE, NS + "knows"));
+    }
+
+    @Test
+    @DisplayName("Test identifiers are sanitised in every position")
+    public void testSanitised() {
+        String cypher = CypherTemplates.get(
+            CypherTemplates.Kind.TYPED_LITERAL_ADD, NS + "a`b");
+
+        assertTrue(cypher.contains("CASE WHEN s.`" + NS + "a``b` IS NULL"),
+            cypher);
+        assertTrue(cypher.contains("SET s.`" + NS + "a``b` = $objectValue, s.`"
+            + NS + "a``b__datatype` = $datatypeValue"), cypher);
+        assertTrue(cypher.contains("m.`p:" + NS + "a``b`"), cypher);
+    }
+
+    @Test
+    @DisplayName("Test type statements count towards rdf:type and the class")
+    public void testTypeStatistics() {
+        String cypher = CypherTemplates.get(
+            CypherTemplates.Kind.BATCH_TYPE_DELETE, NS + "Person");
+
+        assertTrue(cypher.contains("MATCH (s:Resource:`" + NS
+            + "Person` {uri: uri})"), cypher);
+        assertTrue(cypher.contains("m.`p:" + RDF.type.getURI() + "`"),
+            cypher);
+        assertTrue(cypher.contains("m.`t:" + NS + "Person`"), cypher);
+        assertTrue(cypher.contains("m.total = m.total - c0"), cypher);
+    }
+
+    @Test
+    @DisplayName("Test the registry stays bounded")
+    public void testBounded() {
+        for (int i = 0; i <= CypherTemplates.MAX_TEMPLATES; i++) {
+            CypherTemplates.get(CypherTemplates.Kind.LITERAL_CONTAINS,
+                NS + "p" + i);
+        }
+
+        assertTrue(CypherTemplates.size() <= CypherTemplates.MAX_TEMPLATES);
+    }
+
+    @Test
+    @DisplayName("Test a full registry keeps the statements in use")
+    public void testEvictsLeastRecentlyUsed() {
+        String hot = CypherTemplates.get(
+            CypherTemplates.Kind.LITERAL_ADD, NS + "hot");
+        String cold = CypherTemplates.get(
+            CypherTemplates.Kind.LITERAL_ADD, NS + "cold");
+        for (int i = 0; i < 2 * CypherTemplates.MAX_TEMPLATES; i++) {
+            CypherTemplates.get(CypherTemplates.Kind.LITERAL_DELETE,
+                NS + "p" + i);
+            if (i % 1000 == 0) {
+                assertSame(hot, CypherTemplates.get(
+                    CypherTemplates.Kind.LITERAL_ADD, NS + "hot"));
+            }
+        }
+
+        assertEquals(CypherTemplates.MAX_TEMPLATES, CypherTemplates.size());
+        assertSame(hot, CypherTemplates.get(
+            CypherTemplates.Kind.LITERAL_ADD, NS + "hot"));
+        assertNotSame(cold, CypherTemplates.get(
+            CypherTemplates.Kind.LITERAL_ADD, NS + "cold"));
+    }
+}
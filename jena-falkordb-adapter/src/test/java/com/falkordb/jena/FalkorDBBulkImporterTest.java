@@ -0,0 +1,264 @@
+package com.falkordb.jena;
+
+import com.falkordb.Driver;
+import com.falkordb.FalkorDB;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.jena.riot.Lang;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FalkorDBBulkImporter. The GRAPH.BULK payload is decoded
+ * here; the import itself runs against a scripted RESP stand-in.
+ */
+public class FalkorDBBulkImporterTest {
+
+    private static final String DATA = """
+        @prefix ex: <http://example.org/> .
+        @prefix xsd: <http://www.w3.org/2001/XMLSchema#> .
+        ex:a a ex:Person ;
+            ex:name "A" ;
+            ex:age 42 ;
+            ex:knows ex:b, ex:c .
+        ex:b a ex:Person ;
+            ex:name "B" ;
+            ex:age 30 ;
+            ex:knows ex:c .
+        ex:c ex:name "C" ;
+            ex:active true ;
+            ex:score "1.5"^^xsd:double .
+        """;
+
+    /** A decoded node or relationship blob. */
+    private record Entity(String name, List<String> properties,
+            List<List<Object>> records) {
+    }
+
+    private static FalkorDBBulkImporter importer(final int maxBytes) {
+        FalkorDBBulkImporter importer = new FalkorDBBulkImporter(maxBytes);
+        importer.read(new ByteArrayInputStream(
+            DATA.getBytes(StandardCharsets.UTF_8)), Lang.TURTLE);
+        return importer;
+    }
+
+    private static String string(final ByteBuffer buffer) {
+        int start = buffer.position();
+        while (buffer.get() != 0) {
+            // Find the terminating NUL
+        }
+        return new String(buffer.array(), start,
+            buffer.position() - start - 1, StandardCharsets.UTF_8);
+    }
+
+    private static Entity decode(final byte[] blob, final boolean relation) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        String name = string(buffer);
+        int count = buffer.getInt();
+        List<String> properties = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            properties.add(string(buffer));
+        }
+        List<List<Object>> records = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            List<Object> values = new ArrayList<>();
+            if (relation) {
+                values.add(buffer.getLong());
+                values.add(buffer.getLong());
+            }
+            for (int i = 0; i < count; i++) {
+                byte type = buffer.get();
+                values.add(switch (type) {
+                    case FalkorDBBulkImporter.BI_BOOL -> buffer.get() == 1;
+                    case FalkorDBBulkImporter.BI_DOUBLE -> buffer.getDouble();
+                    case FalkorDBBulkImporter.BI_LONG -> buffer.getLong();
+                    case FalkorDBBulkImporter.BI_STRING -> string(buffer);
+                    default -> fail("Unexpected type " + type);
+                });
+            }
+            records.add(values);
+        }
+        return new Entity(name, properties, records);
+    }
+
+    /** Decode all blobs of the given commands. */
+    private static List<Entity> decodeAll(final List<byte[][]> commands) {
+        List<Entity> entities = new ArrayList<>();
+        for (byte[][] args : commands) {
+            int offset = new String(args[0], StandardCharsets.UTF_8)
+                .equals("BEGIN") ? 1 : 0;
+            int nodeBlobs = Integer.parseInt(
+                new String(args[offset + 2], StandardCharsets.UTF_8));
+            for (int i = offset + 4; i < args.length; i++) {
+                entities.add(decode(args[i], i >= offset + 4 + nodeBlobs));
+            }
+        }
+        return entities;
+    }
+
+    @Test
+    @DisplayName("Test nodes are encoded with typed properties")
+    public void testNodeEncoding() {
+        List<byte[][]> commands = new ArrayList<>();
+        long[] counts = new long[3];
+
+        importer(FalkorDBBulkImporter.DEFAULT_MAX_COMMAND_BYTES)
+            .writeBulk(commands::add, counts);
+
+        assertEquals(1, commands.size());
+        assertEquals("BEGIN", new String(commands.get(0)[0],
+            StandardCharsets.UTF_8));
+        assertEquals(3, counts[1]);
+        assertEquals(3, counts[2]);
+
+        Map<String, Map<String, Object>> byUri = new HashMap<>();
+        for (Entity entity : decodeAll(commands)) {
+            if (!entity.name().equals("Resource")) {
+                continue;
+            }
+            assertEquals("uri", entity.properties().get(0));
+            for (List<Object> values : entity.records()) {
+                Map<String, Object> properties = new HashMap<>();
+                for (int i = 0; i < values.size(); i++) {
+                    properties.put(entity.properties().get(i), values.get(i));
+                }
+                byUri.put((String) values.get(0), properties);
+            }
+        }
+
+        Map<String, Object> a = byUri.get("http://example.org/a");
+        assertEquals("A", a.get("http://example.org/name"));
+        assertEquals(42L, a.get("http://example.org/age"));
+        assertEquals("http://www.w3.org/2001/XMLSchema#integer",
+            a.get("http://example.org/age__datatype"));
+        assertFalse(a.containsKey("http://example.org/name__datatype"));
+
+        Map<String, Object> c = byUri.get("http://example.org/c");
+        assertEquals(true, c.get("http://example.org/active"));
+        assertEquals(1.5, c.get("http://example.org/score"));
+        assertEquals(3, byUri.size());
+    }
+
+    @Test
+    @DisplayName("Test relationships refer to nodes in sending order")
+    public void testRelationshipIds() {
+        List<byte[][]> commands = new ArrayList<>();
+
+        importer(FalkorDBBulkImporter.DEFAULT_MAX_COMMAND_BYTES)
+            .writeBulk(commands::add, new long[3]);
+
+        List<String> nodeOrder = new ArrayList<>();
+        List<String> knows = new ArrayList<>();
+        for (Entity entity : decodeAll(commands)) {
+            for (List<Object> values : entity.records()) {
+                if (entity.name().equals("Resource")) {
+                    nodeOrder.add((String) values.get(0));
+                } else {
+                    assertEquals("http://example.org/knows", entity.name());
+                    knows.add(nodeOrder.get(((Long) values.get(0)).intValue())
+                        + " -> "
+                        + nodeOrder.get(((Long) values.get(1)).intValue()));
+                }
+            }
+        }
+
+        assertEquals(3, knows.size());
+        assertTrue(knows.contains(
+            "http://example.org/a -> http://example.org/b"));
+        assertTrue(knows.contains(
+            "http://example.org/a -> http://example.org/c"));
+        assertTrue(knows.contains(
+            "http://example.org/b -> http://example.org/c"));
+    }
+
+    @Test
+    @DisplayName("Test payloads are split by the command size limit")
+    public void testCommandSplitting() {
+        List<byte[][]> commands = new ArrayList<>();
+        long[] counts = new long[3];
+
+        importer(200).writeBulk(commands::add, counts);
+
+        assertTrue(commands.size() > 1);
+        long nodes = 0;
+        for (int i = 0; i < commands.size(); i++) {
+            byte[][] args = commands.get(i);
+            boolean begin = new String(args[0], StandardCharsets.UTF_8)
+                .equals("BEGIN");
+            assertEquals(i == 0, begin);
+            nodes += Long.parseLong(new String(args[begin ? 1 : 0],
+                StandardCharsets.UTF_8));
+        }
+        assertEquals(3, nodes);
+        assertEquals(3, counts[1]);
+        assertEquals(6, decodeAll(commands).stream()
+            .mapToInt(e -> e.records().size()).sum());
+    }
+
+    @Test
+    @DisplayName("Test import sends bulk commands, then labels, index and "
+        + "statistics")
+    public void testImportInto() throws Exception {
+        try (RespStandIn server = new RespStandIn();
+             Driver driver = FalkorDB.driver("127.0.0.1", server.port())) {
+            FalkorDBBulkImporter.ImportStats stats =
+                importer(FalkorDBBulkImporter.DEFAULT_MAX_COMMAND_BYTES)
+                    .importInto(driver, "import_test");
+
+            assertEquals(12, stats.triples());
+            assertEquals(3, stats.nodes());
+            assertEquals(3, stats.relationships());
+            assertEquals(1, stats.commands());
+
+            List<String> sent = server.commands().stream()
+                .map(RespStandIn.Command::name)
+                .filter(n -> n.startsWith("GRAPH."))
+                .toList();
+            assertEquals(List.of("GRAPH.LIST", "GRAPH.BULK", "GRAPH.QUERY",
+                "GRAPH.QUERY", "GRAPH.QUERY", "GRAPH.QUERY"), sent);
+            List<RespStandIn.Command> queries = server.commands("GRAPH.QUERY");
+            assertTrue(queries.get(0).args().get(2)
+                .contains("SET s:`http://example.org/Person`"));
+            assertTrue(queries.get(1).args().get(2)
+                .contains("CREATE INDEX"));
+            assertTrue(queries.get(3).args().get(2)
+                .contains("CREATE (m:RDFStatistics)"));
+        }
+    }
+
+    @Test
+    @DisplayName("Test statistics count the triples as stored")
+    public void testStatistics() {
+        FalkorDBStatistics statistics =
+            importer(FalkorDBBulkImporter.DEFAULT_MAX_COMMAND_BYTES)
+                .statistics();
+
+        assertEquals(12, statistics.getTotal());
+        assertEquals(3, statistics.getPredicateCount(
+            "http://example.org/name"));
+        assertEquals(3, statistics.getPredicateCount(
+            "http://example.org/knows"));
+        assertEquals(2, statistics.getPredicateCount(
+            "http://www.w3.org/1999/02/22-rdf-syntax-ns#type"));
+        assertEquals(2, statistics.getTypeCount(
+            "http://example.org/Person"));
+        assertFalse(statistics.getPredicateCounts().keySet().stream()
+            .anyMatch(p -> p.endsWith("__datatype")));
+    }
+
+    @Test
+    @DisplayName("Test invalid command size is rejected")
+    public void testInvalidCommandSize() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new FalkorDBBulkImporter(0));
+    }
+}
@@ -0,0 +1,157 @@
+package com.falkordb.jena;
+
+import com.falkordb.Driver;
+import com.falkordb.FalkorDB;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for FalkorDBBulkLoader.
+ *
+ * Prerequisites: FalkorDB must be running on localhost:6379
+ * Run: docker run -p 6379:6379 -it --rm falkordb/falkordb:latest
+ */
+public class FalkorDBBulkLoaderTest {
+
+    private static final String TEST_GRAPH = "bulk_loader_test_graph";
+    private FalkorDBGraph graph;
+    private Model model;
+
+    @BeforeEach
+    public void setUp() {
+        graph = new FalkorDBGraph("localhost", 6379, TEST_GRAPH);
+        graph.clear();
+        model = ModelFactory.createModelForGraph(graph);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (model != null) {
+            model.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Test bulk load of Turtle data matches in-memory parse")
+    public void testBulkLoadTurtle() {
+        Model expected = ModelFactory.createDefaultModel();
+        try (InputStream in = getClass().getResourceAsStream(
+                "/data/social_network.ttl")) {
+            RDFDataMgr.read(expected, in, Lang.TURTLE);
+        } catch (Exception e) {
+            fail(e);
+        }
+
+        var loader = new FalkorDBBulkLoader(graph, 100);
+        FalkorDBBulkLoader.LoadStats stats;
+        try (InputStream in = getClass().getResourceAsStream(
+                "/data/social_network.ttl")) {
+            stats = loader.load(in, Lang.TURTLE);
+        } catch (Exception e) {
+            fail(e);
+            return;
+        }
+
+        assertEquals(expected.size(), stats.triples(),
+            "All parsed triples should be loaded");
+        assertTrue(stats.batches() > 1,
+            "Small batch size should produce several flushes");
+        assertEquals(expected.size(), model.size());
+
+        var alice = model.createResource("http://example.org/social#person1");
+        var name = model.createProperty("http://example.org/social#name");
+        assertEquals("Person 1", alice.getProperty(name).getString());
+        assertTrue(model.contains(alice, RDF.type,
+            model.createResource("http://example.org/social#Person")));
+    }
+
+    @Test
+    @DisplayName("Test bulk load of N-Triples with all triple kinds")
+    public void testBulkLoadNTriples() {
+        String data = """
+            <http://example.org/a> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://example.org/T> .
+            <http://example.org/a> <http://example.org/name> "A" .
+            <http://example.org/a> <http://example.org/age> "42"^^<http://www.w3.org/2001/XMLSchema#integer> .
+            <http://example.org/a> <http://example.org/knows> <http://example.org/b> .
+            """;
+
+        var loader = new FalkorDBBulkLoader(graph);
+        var stats = loader.load(new ByteArrayInputStream(
+            data.getBytes(StandardCharsets.UTF_8)), Lang.NTRIPLES);
+
+        assertEquals(4, stats.triples());
+        assertEquals(1, stats.batches());
+
+        Node a = NodeFactory.createURI("http://example.org/a");
+        assertTrue(graph.contains(Triple.create(a, RDF.type.asNode(),
+            NodeFactory.createURI("http://example.org/T"))));
+        assertTrue(graph.contains(Triple.create(a,
+            NodeFactory.createURI("http://example.org/knows"),
+            NodeFactory.createURI("http://example.org/b"))));
+        assertEquals(42, model.getResource("http://example.org/a")
+            .getProperty(model.createProperty("http://example.org/age"))
+            .getInt());
+    }
+
+    @Test
+    @DisplayName("Test offline import produces a graph the adapter can read")
+    public void testOfflineImport() throws Exception {
+        String importGraph = "bulk_import_test_graph";
+        Model expected = ModelFactory.createDefaultModel();
+        var importer = new FalkorDBBulkImporter();
+        try (InputStream in = getClass().getResourceAsStream(
+                "/data/social_network.ttl")) {
+            byte[] data = in.readAllBytes();
+            RDFDataMgr.read(expected, new ByteArrayInputStream(data),
+                Lang.TURTLE);
+            importer.read(new ByteArrayInputStream(data), Lang.TURTLE);
+        }
+
+        try (Driver driver = FalkorDB.driver("localhost", 6379)) {
+            if (driver.listGraphs().contains(importGraph)) {
+                driver.graph(importGraph).deleteGraph();
+            }
+            var stats = importer.importInto(driver, importGraph);
+            assertEquals(expected.size(), stats.triples());
+        }
+
+        var imported = new FalkorDBGraph("localhost", 6379, importGraph);
+        Model importedModel = ModelFactory.createModelForGraph(imported);
+        try {
+            assertEquals(expected.size(), importedModel.size());
+            var alice = importedModel.createResource(
+                "http://example.org/social#person1");
+            assertEquals("Person 1", alice.getProperty(importedModel
+                .createProperty("http://example.org/social#name"))
+                .getString());
+            assertTrue(importedModel.contains(alice, RDF.type,
+                importedModel.createResource(
+                    "http://example.org/social#Person")));
+        } finally {
+            imported.clear();
+            importedModel.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Test invalid batch size is rejected")
+    public void testInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new FalkorDBBulkLoader(graph, 0));
+    }
+}
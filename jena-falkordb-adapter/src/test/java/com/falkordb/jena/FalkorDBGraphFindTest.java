@@ -0,0 +1,250 @@
+package com.falkordb.jena;
+
+import java.util.List;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Cypher sent by find, run against a scripted RESP
+ * stand-in instead of a FalkorDB server.
+ */
+public class FalkorDBGraphFindTest {
+
+    private static final String NS = "http://test.example.org/";
+
+    private static final Node NAME = NodeFactory.createURI(NS + "name");
+
+    private static final Node ALICE = NodeFactory.createURI(NS + "alice");
+
+    private static final Node PERSON = NodeFactory.createURI(NS + "Person");
+
+    private RespStandIn server;
+    private FalkorDBGraph graph;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new RespStandIn();
+        graph = new FalkorDBGraph("127.0.0.1", server.port(), "find_test");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        graph.close();
+        server.close();
+    }
+
+    /** Run a find to the end and return the queries it sent. */
+    private List<String> queries(final Node s, final Node p, final Node o) {
+        server.reset();
+        graph.find(s, p, o).toList();
+        return server.commands("GRAPH.QUERY").stream()
+            .map(c -> c.args().get(2))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Test concrete predicate returns only that property")
+    public void testPredicatePushdown() {
+        List<String> queries = queries(Node.ANY, NAME, Node.ANY);
+
+        assertEquals(2, queries.size());
+        String property = queries.get(1);
+        assertTrue(property.contains(
+            "WHERE s.`" + NS + "name` IS NOT NULL"), property);
+        assertTrue(property.contains("s.`" + NS + "name__datatype`"),
+            property);
+        assertFalse(property.contains("properties(s)"), property);
+    }
+
+    @Test
+    @DisplayName("Test concrete subject and literal object are pushed down")
+    public void testSubjectAndObjectPushdown() {
+        List<String> queries = queries(ALICE, NAME,
+            NodeFactory.createLiteralString("Alice"));
+
+        assertEquals(1, queries.size());
+        String property = queries.get(0);
+        assertTrue(property.contains("(s:Resource {uri: $subjectUri})"),
+            property);
+        assertTrue(property.contains("WHERE s.`" + NS + "name` = $objectValue"),
+            property);
+        assertTrue(property.contains("objectValue=\"Alice\""), property);
+    }
+
+    @Test
+    @DisplayName("Test wildcard predicate still reads all properties")
+    public void testWildcardPredicate() {
+        List<String> queries = queries(ALICE, Node.ANY, Node.ANY);
+
+        assertEquals(1, queries.size());
+        String query = queries.get(0);
+        assertTrue(query.contains("properties(s)"), query);
+        assertTrue(query.contains("labels(s)"), query);
+        assertTrue(query.contains(" UNION ALL "), query);
+        assertTrue(query.contains("(s:Resource {uri: $subjectUri})-[r]->(o)"),
+            query);
+    }
+
+    @Test
+    @DisplayName("Test fully wildcard find reads a page per round trip")
+    public void testWildcardFind() {
+        List<String> queries = queries(Node.ANY, Node.ANY, Node.ANY);
+
+        assertEquals(1, queries.size());
+        String query = queries.get(0);
+        assertTrue(query.contains("MATCH (s:Resource) WHERE id(s) > $lastId"
+            + " WITH s ORDER BY id(s) LIMIT $pageSize RETURN id(s) AS sid,"),
+            query);
+        assertTrue(query.contains(" MATCH (s)-[r]->(o)"), query);
+        assertTrue(query.contains("lastId=-1"), query);
+        assertTrue(query.contains("pageSize="
+            + FalkorDBGraph.DEFAULT_FIND_PAGE_SIZE), query);
+    }
+
+    @Test
+    @DisplayName("Test page size 0 reads scans in one query")
+    public void testUnpagedFind() {
+        graph.setFindPageSize(0);
+        List<String> queries = queries(Node.ANY, Node.ANY, Node.ANY);
+
+        assertEquals(1, queries.size());
+        assertTrue(queries.get(0).startsWith("MATCH (s:Resource) RETURN"),
+            queries.get(0));
+    }
+
+    @Test
+    @DisplayName("Test relationship scan pages nodes having the relationship")
+    public void testRelationshipPage() {
+        List<String> queries = queries(Node.ANY,
+            NodeFactory.createURI(NS + "knows"), Node.ANY);
+
+        String relationship = queries.get(0);
+        assertTrue(relationship.contains("WHERE (s)-[:`" + NS
+            + "knows`]->() AND id(s) > $lastId"), relationship);
+        assertTrue(relationship.contains(" MATCH (s)-[r:`" + NS
+            + "knows`]->(o)"), relationship);
+        assertTrue(queries.get(1).contains("WHERE s.`" + NS
+            + "knows` IS NOT NULL AND id(s) > $lastId"), queries.get(1));
+    }
+
+    @Test
+    @DisplayName("Test concrete type is a paged label scan")
+    public void testTypeLabelScan() {
+        List<String> queries = queries(Node.ANY, RDF.type.asNode(), PERSON);
+
+        assertEquals(1, queries.size());
+        assertTrue(queries.get(0).contains("MATCH (s:Resource:`" + NS
+            + "Person`) WHERE id(s) > $lastId"), queries.get(0));
+    }
+
+    @Test
+    @DisplayName("Test concrete subject is not paged")
+    public void testSubjectNotPaged() {
+        List<String> queries = queries(ALICE, NAME, Node.ANY);
+
+        assertFalse(queries.stream().anyMatch(q -> q.contains("$lastId")));
+    }
+
+    @Test
+    @DisplayName("Test type of a subject uses the uri index")
+    public void testSubjectTypes() {
+        List<String> queries = queries(ALICE, RDF.type.asNode(), Node.ANY);
+
+        assertEquals(1, queries.size());
+        String query = queries.get(0);
+        assertTrue(query.contains("(s:Resource {uri: $subjectUri})"), query);
+        assertTrue(query.contains("labels(s)"), query);
+    }
+
+    @Test
+    @DisplayName("Test literal type object runs no label query")
+    public void testLiteralTypeObject() {
+        List<String> queries = queries(Node.ANY, RDF.type.asNode(),
+            NodeFactory.createLiteralString("Person"));
+
+        assertEquals(1, queries.size());
+        assertFalse(queries.get(0).contains("labels(s)"), queries.get(0));
+    }
+
+    @Test
+    @DisplayName("Test backticks in the predicate are escaped")
+    public void testPredicateEscaping() {
+        List<String> queries = queries(Node.ANY,
+            NodeFactory.createURI(NS + "a`b"), Node.ANY);
+
+        assertTrue(queries.get(1).contains("s.`" + NS + "a``b`"),
+            queries.get(1));
+    }
+
+    @Test
+    @DisplayName("Test typed literal is compared as its stored value")
+    public void testTypedObject() {
+        List<String> queries = queries(Node.ANY,
+            NodeFactory.createURI(NS + "age"),
+            NodeFactory.createLiteralByValue(42,
+                org.apache.jena.datatypes.xsd.XSDDatatype.XSDint));
+
+        assertEquals(1, queries.size());
+        assertTrue(queries.get(0).contains("objectValue=42"),
+            queries.get(0));
+    }
+
+    @Test
+    @DisplayName("Test findAll batches patterns of one shape")
+    public void testFindAllSameShape() {
+        server.reset();
+        List<List<Triple>> results = graph.findAll(List.of(
+            Triple.create(ALICE, NAME, Node.ANY),
+            Triple.create(NodeFactory.createURI(NS + "bob"), NAME, Node.ANY),
+            Triple.create(NodeFactory.createURI(NS + "carol"), NAME,
+                Node.ANY)));
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(List::isEmpty));
+
+        // One relationship and one property query for all three subjects
+        List<String> queries = server.commands("GRAPH.QUERY").stream()
+            .map(c -> c.args().get(2))
+            .toList();
+        assertEquals(2, queries.size());
+        for (String query : queries) {
+            assertTrue(query.contains("rows=3"), query);
+            assertTrue(query.contains(
+                "UNWIND range(0, $rows - 1) AS i WITH i,"
+                    + " $subjectUri[i] AS subjectUri MATCH"), query);
+            assertTrue(query.contains("{uri: subjectUri}"), query);
+            assertTrue(query.contains(" RETURN i, "), query);
+        }
+    }
+
+    @Test
+    @DisplayName("Test containsAll groups triples by type")
+    public void testContainsAllByType() {
+        server.reset();
+        Node company = NodeFactory.createURI(NS + "Company");
+        var contained = graph.containsAll(List.of(
+            Triple.create(ALICE, RDF.type.asNode(), PERSON),
+            Triple.create(NodeFactory.createURI(NS + "bob"),
+                RDF.type.asNode(), PERSON),
+            Triple.create(NodeFactory.createURI(NS + "acme"),
+                RDF.type.asNode(), company)));
+
+        assertTrue(contained.isEmpty());
+        List<String> queries = server.commands("GRAPH.QUERY").stream()
+            .map(c -> c.args().get(2))
+            .toList();
+        assertEquals(2, queries.size());
+        assertTrue(queries.get(0).contains("(s:Resource:`" + NS
+            + "Person` {uri: subjectUri})"), queries.get(0));
+        assertTrue(queries.get(0).contains("rows=2"), queries.get(0));
+        assertTrue(queries.get(1).contains("rows=1"), queries.get(1));
+    }
+}
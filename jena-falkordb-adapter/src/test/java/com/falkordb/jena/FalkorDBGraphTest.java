@@ -738,4 +738,33 @@ public class FalkorDBGraphTest {
             model.close();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test find iterator can be closed before it is used up")
+    public void testFindCloseEarly() {
+        var model = createTestModel();
+        try {
+            var person = model.createResource("http://test.example.org/person1");
+            var friend = model.createResource("http://test.example.org/person2");
+            person.addProperty(RDF.type, model.createResource(
+                "http://test.example.org/Person"));
+            person.addProperty(model.createProperty(
+                "http://test.example.org/knows"), friend);
+            person.addProperty(model.createProperty(
+                "http://test.example.org/name"), "John Doe");
+
+            var iter = model.getGraph().find(person.asNode(), null, null);
+            assertTrue(iter.hasNext());
+            assertNotNull(iter.next());
+            iter.close();
+            assertFalse(iter.hasNext(), "Closed iterator should be empty");
+
+            var all = model.getGraph().find(person.asNode(), null, null)
+                .toList();
+            assertEquals(3, all.size(), "Should find type, relationship "
+                + "and property triples");
+        } finally {
+            model.close();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.falkordb.jena;
+
+import java.util.List;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for pipelined commits, run against a scripted RESP stand-in
+ * instead of a FalkorDB server.
+ */
+public class FalkorDBPipelineTest {
+
+    private static final String NS = "http://test.example.org/";
+
+    private RespStandIn server;
+    private FalkorDBGraph graph;
+    private Model model;
+    private FalkorDBTransactionHandler handler;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new RespStandIn();
+        graph = new FalkorDBGraph("127.0.0.1", server.port(), "pipeline_test");
+        model = ModelFactory.createModelForGraph(graph);
+        handler = (FalkorDBTransactionHandler) graph.getTransactionHandler();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        model.close();
+        server.close();
+    }
+
+    /**
+     * Commit literals for three predicates, one type and one relationship
+     * predicate: five batch queries.
+     */
+    private void commitSample() {
+        handler.begin();
+        for (int i = 0; i < 10; i++) {
+            var s = model.createResource(NS + "p" + i);
+            s.addProperty(RDF.type, model.createResource(NS + "Person"));
+            s.addProperty(model.createProperty(NS + "name"), "Person " + i);
+            s.addProperty(model.createProperty(NS + "nick"), "P" + i);
+            s.addProperty(model.createProperty(NS + "role"), "Member");
+            s.addProperty(model.createProperty(NS + "knows"),
+                model.createResource(NS + "p" + (i + 1)));
+        }
+        server.reset();
+        handler.commit();
+    }
+
+    @Test
+    @DisplayName("Test pipelined commit sends all batches on one connection")
+    public void testPipelinedCommit() {
+        handler.setPipelineMode(FalkorDBPipelineMode.PIPELINE);
+
+        commitSample();
+
+        List<RespStandIn.Command> queries = server.commands("GRAPH.QUERY");
+        assertEquals(5, queries.size());
+        assertEquals(1, queries.stream()
+            .mapToInt(RespStandIn.Command::connection).distinct().count());
+        assertTrue(server.commands("MULTI").isEmpty());
+        // Relationships are written after the nodes they connect
+        assertTrue(queries.get(4).args().get(2).contains("MERGE (s)-[r:"));
+    }
+
+    @Test
+    @DisplayName("Test MULTI/EXEC wraps all batches of a commit")
+    public void testMultiExecCommit() {
+        handler.setPipelineMode(FalkorDBPipelineMode.MULTI_EXEC);
+
+        commitSample();
+
+        List<RespStandIn.Command> commands = server.commands().stream()
+            .filter(c -> List.of("MULTI", "GRAPH.QUERY", "EXEC")
+                .contains(c.name()))
+            .toList();
+        assertEquals(7, commands.size());
+        assertEquals("MULTI", commands.get(0).name());
+        assertEquals("EXEC", commands.get(6).name());
+        assertEquals(1, commands.stream()
+            .mapToInt(RespStandIn.Command::connection).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Test a failed pipelined batch fails the commit")
+    public void testPipelinedFailure() {
+        handler.setPipelineMode(FalkorDBPipelineMode.PIPELINE);
+        server.failQueriesContaining(NS + "nick");
+
+        assertThrows(RuntimeException.class, this::commitSample);
+        assertFalse(handler.isInTransaction());
+        // The other batches were still sent
+        assertEquals(5, server.commands("GRAPH.QUERY").size());
+    }
+
+    @Test
+    @DisplayName("Test batches are sent one by one when pipelining is off")
+    public void testPipelineOff() {
+        assertEquals(FalkorDBPipelineMode.OFF, handler.getPipelineMode());
+
+        commitSample();
+
+        assertEquals(5, server.commands("GRAPH.QUERY").size());
+        assertTrue(server.commands("MULTI").isEmpty());
+    }
+}
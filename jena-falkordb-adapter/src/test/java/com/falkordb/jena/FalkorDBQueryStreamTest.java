@@ -0,0 +1,234 @@
+package com.falkordb.jena;
+
+import com.falkordb.jena.query.FalkorDBQueryEngineFactory;
+import java.util.List;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Cypher sent by pushed-down SPARQL queries, run against
+ * a scripted RESP stand-in instead of a FalkorDB server.
+ */
+public class FalkorDBQueryStreamTest {
+
+    private static final String NS = "http://test.example.org/";
+
+    /** Marks the queries bound to input bindings. */
+    private static final String BIND_JOIN =
+        "UNWIND range(0, size($bind0)-1) AS _bind";
+
+    private RespStandIn server;
+    private FalkorDBGraph graph;
+    private Model model;
+
+    @BeforeAll
+    public static void setupClass() {
+        FalkorDBQueryEngineFactory.register();
+    }
+
+    @AfterAll
+    public static void teardownClass() {
+        FalkorDBQueryEngineFactory.unregister();
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new RespStandIn();
+        graph = new FalkorDBGraph("127.0.0.1", server.port(), "stream_test");
+        model = ModelFactory.createModelForGraph(graph);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        model.close();
+        server.close();
+    }
+
+    /** Build a query joining the given number of people with a BGP. */
+    private static String friendsOf(final int people) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < people; i++) {
+            values.append(" <").append(NS).append("person").append(i)
+                .append('>');
+        }
+        return "SELECT ?person ?friend WHERE {"
+            + " VALUES ?person {" + values + " }"
+            + " ?person <" + NS + "knows> ?friend ."
+            + " ?friend a <" + NS + "Person> . }";
+    }
+
+    /** Get the queries bound to input bindings sent so far. */
+    private List<String> boundQueries() {
+        return server.commands("GRAPH.QUERY").stream()
+            .map(c -> c.args().get(2))
+            .filter(q -> q.contains(BIND_JOIN))
+            .toList();
+    }
+
+    /** Run a query to the end and return the Cypher queries it sent. */
+    private List<String> queries(final String sparql) {
+        server.reset();
+        try (QueryExecution qexec = QueryExecutionFactory.create(
+                sparql, model)) {
+            qexec.execSelect().forEachRemaining(row -> { });
+        }
+        return server.commands("GRAPH.QUERY").stream()
+            .map(c -> c.args().get(2))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Test input bindings are shipped with the query")
+    public void testBindingsShipped() {
+        server.reset();
+        try (QueryExecution qexec = QueryExecutionFactory.create(
+                friendsOf(2), model)) {
+            assertFalse(qexec.execSelect().hasNext());
+        }
+
+        List<String> queries = boundQueries();
+        assertEquals(1, queries.size());
+        String query = queries.get(0);
+        assertTrue(query.contains("(person:Resource {uri: _bind0})"), query);
+        assertTrue(query.contains(NS + "person0"), query);
+        assertTrue(query.contains(NS + "person1"), query);
+    }
+
+    @Test
+    @DisplayName("Test input bindings are shipped in chunks")
+    public void testBindingsChunked() {
+        server.reset();
+        try (QueryExecution qexec = QueryExecutionFactory.create(
+                friendsOf(2500), model)) {
+            assertFalse(qexec.execSelect().hasNext());
+        }
+
+        assertEquals(3, boundQueries().size());
+    }
+
+    @Test
+    @DisplayName("Test closing early skips the chunks not read yet")
+    public void testCloseStopsChunks() {
+        server.reset();
+        try (QueryExecution qexec = QueryExecutionFactory.create(
+                friendsOf(2500), model)) {
+            ResultSet results = qexec.execSelect();
+            assertNotNull(results);
+        }
+
+        assertEquals(1, boundQueries().size());
+    }
+
+    @Test
+    @DisplayName("Test input bindings are shipped with an OPTIONAL query")
+    public void testOptionalBindingsShipped() {
+        server.reset();
+        try (QueryExecution qexec = QueryExecutionFactory.create(
+                "SELECT * WHERE {"
+                    + " VALUES ?person { <" + NS + "person0> }"
+                    + " { ?person a <" + NS + "Person>"
+                    + " OPTIONAL { ?person <" + NS + "knows> ?friend } } }",
+                model)) {
+            assertFalse(qexec.execSelect().hasNext());
+        }
+
+        List<String> queries = boundQueries();
+        assertEquals(1, queries.size());
+        String query = queries.get(0);
+        assertTrue(query.contains("OPTIONAL MATCH"), query);
+        assertTrue(query.contains("{uri: _bind0}"), query);
+        assertTrue(query.contains(NS + "person0"), query);
+    }
+
+    @Test
+    @DisplayName("Test LIMIT and OFFSET are pushed down")
+    public void testSlicePushdown() {
+        List<String> queries = queries("SELECT ?person WHERE {"
+            + " ?person a <" + NS + "Person> } LIMIT 10 OFFSET 20");
+
+        assertTrue(queries.stream().anyMatch(
+            q -> q.endsWith("\nSKIP 20\nLIMIT 10")), queries.toString());
+    }
+
+    @Test
+    @DisplayName("Test ORDER BY with LIMIT is pushed down as a top-N")
+    public void testTopNPushdown() {
+        List<String> queries = queries("SELECT ?person WHERE {"
+            + " ?person a <" + NS + "Person> }"
+            + " ORDER BY DESC(?person) LIMIT 5");
+
+        assertTrue(queries.stream().anyMatch(
+            q -> q.endsWith("\nORDER BY person DESC\nLIMIT 5")),
+            queries.toString());
+    }
+
+    @Test
+    @DisplayName("Test ORDER BY on an expression falls back to Jena")
+    public void testOrderExpressionFallback() {
+        List<String> queries = queries("SELECT ?person WHERE {"
+            + " ?person a <" + NS + "Person> }"
+            + " ORDER BY STRLEN(STR(?person)) LIMIT 5");
+
+        assertTrue(queries.stream().noneMatch(
+            q -> q.contains("ORDER BY")), queries.toString());
+    }
+
+    @Test
+    @DisplayName("Test DISTINCT returns only the projected columns")
+    public void testDistinctPushdown() {
+        List<String> queries = queries("SELECT DISTINCT ?person WHERE {"
+            + " ?person <" + NS + "knows> ?friend ."
+            + " ?friend a <" + NS + "Person> }");
+
+        assertTrue(queries.stream().anyMatch(
+            q -> q.endsWith("\nRETURN DISTINCT person.uri AS person")),
+            queries.toString());
+    }
+
+    @Test
+    @DisplayName("Test a modifier chain that falls back runs the pattern once")
+    public void testFallbackRunsPatternOnce() {
+        List<String> queries = queries("SELECT DISTINCT ?person WHERE {"
+            + " ?person a <" + NS + "Person> }"
+            + " ORDER BY STRLEN(STR(?person)) LIMIT 5 OFFSET 1");
+
+        assertEquals(1, queries.size(), queries.toString());
+        assertFalse(queries.get(0).contains("ORDER BY"), queries.get(0));
+    }
+
+    @Test
+    @DisplayName("Test dateTime sort keys are not truncated in Cypher")
+    public void testDateTimeOrderFallback() {
+        List<String> queries = queries("SELECT ?event ?at WHERE {"
+            + " ?event <" + NS + "at> ?at } ORDER BY ?at LIMIT 1");
+
+        assertFalse(queries.isEmpty());
+        assertTrue(queries.stream().noneMatch(
+            q -> q.contains("ORDER BY") || q.contains("LIMIT")),
+            queries.toString());
+    }
+
+    @Test
+    @DisplayName("Test sort keys mixing numbers and strings fall back")
+    public void testMixedOrderFallback() {
+        List<String> queries = queries("SELECT ?s ?v WHERE {"
+            + " ?s a <" + NS + "Item> . ?s <" + NS + "value> ?v }"
+            + " ORDER BY DESC(?v) LIMIT 3");
+
+        assertFalse(queries.isEmpty());
+        assertTrue(queries.stream().noneMatch(
+            q -> q.contains("ORDER BY") || q.contains("LIMIT")),
+            queries.toString());
+    }
+}
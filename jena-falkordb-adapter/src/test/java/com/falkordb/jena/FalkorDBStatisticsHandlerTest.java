@@ -0,0 +1,86 @@
+package com.falkordb.jena;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FalkorDBStatisticsHandler.
+ */
+public class FalkorDBStatisticsHandlerTest {
+
+    private static final String NS = "http://example.org/";
+
+    private static final Node ALICE = NodeFactory.createURI(NS + "alice");
+    private static final Node KNOWS = NodeFactory.createURI(NS + "knows");
+    private static final Node NAME = NodeFactory.createURI(NS + "name");
+    private static final Node PERSON = NodeFactory.createURI(NS + "Person");
+    private static final Node TYPE = RDF.type.asNode();
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private FalkorDBStatisticsHandler handler;
+
+    @BeforeEach
+    public void setUp() {
+        // 100 nodes, 1000 triples
+        FalkorDBStatistics statistics = new FalkorDBStatistics(1000,
+            Map.of(KNOWS.getURI(), 800L, NAME.getURI(), 100L,
+                TYPE.getURI(), 100L),
+            Map.of(PERSON.getURI(), 100L));
+        handler = new FalkorDBStatisticsHandler(() -> {
+            loads.incrementAndGet();
+            return new FalkorDBStatisticsHandler.Snapshot(statistics, 100);
+        });
+    }
+
+    @Test
+    @DisplayName("Test predicate and class counts are used as estimates")
+    public void testPredicateAndType() {
+        assertEquals(1000, handler.getStatistic(Node.ANY, Node.ANY, Node.ANY));
+        assertEquals(800, handler.getStatistic(Node.ANY, KNOWS, Node.ANY));
+        assertEquals(100, handler.getStatistic(Node.ANY, TYPE, PERSON));
+        assertEquals(0, handler.getStatistic(Node.ANY,
+            NodeFactory.createURI(NS + "unknown"), Node.ANY));
+    }
+
+    @Test
+    @DisplayName("Test concrete subjects and objects use per-node fan-out")
+    public void testFanout() {
+        assertEquals(10, handler.getStatistic(ALICE, Node.ANY, Node.ANY));
+        assertEquals(8, handler.getStatistic(ALICE, KNOWS, Node.ANY));
+        assertEquals(1, handler.getStatistic(ALICE, NAME, Node.ANY));
+        assertEquals(1, handler.getStatistic(ALICE, TYPE, PERSON));
+    }
+
+    @Test
+    @DisplayName("Test counts are cached until refreshed")
+    public void testRefresh() {
+        handler.getStatistic(Node.ANY, KNOWS, Node.ANY);
+        handler.getStatistic(Node.ANY, NAME, Node.ANY);
+        assertEquals(1, loads.get());
+
+        handler.invalidate();
+        handler.getStatistic(Node.ANY, NAME, Node.ANY);
+        assertEquals(2, loads.get());
+
+        handler.setRefreshInterval(0);
+        handler.getStatistic(Node.ANY, NAME, Node.ANY);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test graphs without statistics give unknown estimates")
+    public void testNoStatistics() {
+        handler = new FalkorDBStatisticsHandler(
+            () -> new FalkorDBStatisticsHandler.Snapshot(null, 0));
+
+        assertEquals(-1, handler.getStatistic(Node.ANY, KNOWS, Node.ANY));
+    }
+}
@@ -0,0 +1,164 @@
+package com.falkordb.jena;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the triple statistics, with the graph run against a scripted
+ * RESP stand-in instead of a FalkorDB server.
+ */
+public class FalkorDBStatisticsTest {
+
+    private static final String NS = "http://test.example.org/";
+
+    private RespStandIn server;
+    private FalkorDBGraph graph;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new RespStandIn();
+        graph = new FalkorDBGraph("127.0.0.1", server.port(), "stats_test");
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        graph.close();
+        server.close();
+    }
+
+    private List<String> queries() {
+        return server.commands("GRAPH.QUERY").stream()
+            .map(c -> c.args().get(2))
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Test update clause adds each count to its keys and total")
+    public void testUpdateClause() {
+        Map<String, List<String>> counts = new LinkedHashMap<>();
+        counts.put("sum(n0)", List.of("p:" + NS + "name"));
+        counts.put("sum(l0)", List.of("p:" + RDF.type.getURI(),
+            "t:" + NS + "Person"));
+        counts.put("sum(l1)", List.of("p:" + RDF.type.getURI(),
+            "t:" + NS + "Agent"));
+
+        String clause = FalkorDBStatistics.updateClause(counts, true);
+
+        assertTrue(clause.contains(
+            "WITH sum(n0) AS c0, sum(l0) AS c1, sum(l1) AS c2"), clause);
+        assertTrue(clause.contains("MATCH (m:RDFStatistics)"), clause);
+        assertTrue(clause.contains("m.total = m.total + c0 + c1 + c2"),
+            clause);
+        assertTrue(clause.contains("m.`p:" + RDF.type.getURI()
+            + "` = coalesce(m.`p:" + RDF.type.getURI() + "`, 0) + c1 + c2"),
+            clause);
+    }
+
+    @Test
+    @DisplayName("Test deletes subtract their count")
+    public void testUpdateClauseDelete() {
+        String clause = FalkorDBStatistics.updateClause("count(*)", false,
+            "p:" + NS + "knows");
+
+        assertTrue(clause.contains("m.total = m.total - c0"), clause);
+        assertTrue(clause.contains("coalesce(m.`p:" + NS + "knows`, 0) - c0"),
+            clause);
+    }
+
+    @Test
+    @DisplayName("Test counts are read from node properties")
+    public void testFromProperties() {
+        FalkorDBStatistics statistics = FalkorDBStatistics.fromProperties(
+            Map.of("total", 5L, "p:" + NS + "name", 3L,
+                "p:" + RDF.type.getURI(), 2L, "t:" + NS + "Person", 2L));
+
+        assertEquals(5, statistics.getTotal());
+        assertEquals(3, statistics.getPredicateCount(NS + "name"));
+        assertEquals(2, statistics.getTypeCount(NS + "Person"));
+        assertEquals(0, statistics.getPredicateCount(NS + "unknown"));
+        assertEquals(2, statistics.getPredicateCounts().size());
+    }
+
+    @Test
+    @DisplayName("Test statistics node is created for an empty graph")
+    public void testInit() {
+        assertTrue(queries().stream()
+            .anyMatch(q -> q.contains("MERGE (m:RDFStatistics)")));
+    }
+
+    @Test
+    @DisplayName("Test immediate writes update the statistics node")
+    public void testImmediateWrites() {
+        server.reset();
+        graph.add(Triple.create(NodeFactory.createURI(NS + "alice"),
+            NodeFactory.createURI(NS + "name"),
+            NodeFactory.createLiteralString("Alice")));
+        graph.add(Triple.create(NodeFactory.createURI(NS + "alice"),
+            RDF.type.asNode(), NodeFactory.createURI(NS + "Person")));
+        graph.delete(Triple.create(NodeFactory.createURI(NS + "alice"),
+            NodeFactory.createURI(NS + "knows"),
+            NodeFactory.createURI(NS + "bob")));
+
+        List<String> queries = queries();
+        assertEquals(3, queries.size());
+        for (String query : queries) {
+            assertTrue(query.contains("MATCH (m:RDFStatistics)"), query);
+        }
+        assertTrue(queries.get(1).contains("m.`t:" + NS + "Person`"));
+        assertTrue(queries.get(2).contains("m.total = m.total - c0"));
+    }
+
+    @Test
+    @DisplayName("Test committed batches update the statistics node")
+    public void testBatchWrites() {
+        var handler = graph.getTransactionHandler();
+        handler.begin();
+        for (int i = 0; i < 3; i++) {
+            graph.add(Triple.create(NodeFactory.createURI(NS + "p" + i),
+                NodeFactory.createURI(NS + "knows"),
+                NodeFactory.createURI(NS + "p" + (i + 1))));
+        }
+        server.reset();
+        handler.commit();
+
+        List<String> queries = queries();
+        assertEquals(1, queries.size());
+        assertTrue(queries.get(0).contains("count(e) AS existing"));
+        assertTrue(queries.get(0).contains("MATCH (m:RDFStatistics)"));
+    }
+
+    @Test
+    @DisplayName("Test size reads the kept total before counting")
+    public void testSize() {
+        server.reset();
+        graph.size();
+
+        List<String> queries = queries();
+        assertTrue(queries.get(0).contains(FalkorDBStatistics.TOTAL_QUERY));
+        // The stand-in has no statistics node, so size falls back to scans
+        assertEquals(4, queries.size());
+    }
+
+    @Test
+    @DisplayName("Test rebuild replaces the statistics node")
+    public void testRebuild() {
+        server.reset();
+        FalkorDBStatistics statistics = graph.rebuildStatistics();
+
+        assertEquals(0, statistics.getTotal());
+        List<String> queries = queries();
+        assertEquals(5, queries.size());
+        assertTrue(queries.get(3).contains("DELETE m"));
+        assertTrue(queries.get(4).contains("CREATE (m:RDFStatistics)"));
+    }
+}
@@ -608,4 +608,202 @@ public class FalkorDBTransactionHandlerTest {
         assertEquals(1, model.size(),
             "Model should still have 1 triple after abort");
     }
+
+    @Test
+    @DisplayName("Test buffers auto-flush at the triple count threshold")
+    public void testAutoFlushOnTripleCount() {
+        var handler = (FalkorDBTransactionHandler) graph.getTransactionHandler();
+        handler.setMaxBufferedTriples(10);
+        var name = model.createProperty("http://test.example.org/name");
+
+        handler.begin();
+        for (int i = 0; i < 25; i++) {
+            model.createResource("http://test.example.org/person" + i)
+                .addProperty(name, "Person " + i);
+        }
+
+        assertEquals(2, handler.getAutoFlushCount(),
+            "Two full buffers should have been flushed");
+        handler.commit();
+
+        assertEquals(25, model.size());
+    }
+
+    @Test
+    @DisplayName("Test buffers auto-flush at the memory threshold")
+    public void testAutoFlushOnMemory() {
+        var handler = (FalkorDBTransactionHandler) graph.getTransactionHandler();
+        var triple = Triple.create(
+            NodeFactory.createURI("http://test.example.org/person"),
+            NodeFactory.createURI("http://test.example.org/name"),
+            NodeFactory.createLiteralString("John"));
+        handler.setMaxBufferedBytes(
+            FalkorDBTransactionHandler.estimateSize(triple) * 3);
+
+        handler.begin();
+        graph.add(triple);
+        graph.add(Triple.create(triple.getSubject(),
+            NodeFactory.createURI("http://test.example.org/nick"),
+            NodeFactory.createLiteralString("Jojo")));
+        assertEquals(0, handler.getAutoFlushCount());
+        graph.add(Triple.create(triple.getSubject(),
+            NodeFactory.createURI("http://test.example.org/role"),
+            NodeFactory.createLiteralString("Boss")));
+        assertEquals(1, handler.getAutoFlushCount());
+
+        assertEquals(3, model.size(),
+            "Auto-flushed triples should be visible before commit");
+        handler.commit();
+    }
+
+    @Test
+    @DisplayName("Test negative auto-flush thresholds are rejected")
+    public void testNegativeAutoFlushThreshold() {
+        var handler = (FalkorDBTransactionHandler) graph.getTransactionHandler();
+        assertThrows(IllegalArgumentException.class,
+            () -> handler.setMaxBufferedTriples(-1));
+        assertThrows(IllegalArgumentException.class,
+            () -> handler.setMaxBufferedBytes(-1));
+    }
+
+    @Test
+    @DisplayName("Test parallel flush writes all triple kinds")
+    public void testParallelFlush() {
+        var handler = (FalkorDBTransactionHandler) graph.getTransactionHandler();
+        handler.setFlushParallelism(4);
+        var knows = model.createProperty("http://test.example.org/knows");
+        var likes = model.createProperty("http://test.example.org/likes");
+        var name = model.createProperty("http://test.example.org/name");
+        var age = model.createProperty("http://test.example.org/age");
+        var person = model.createResource("http://test.example.org/Person");
+
+        handler.begin();
+        for (int i = 0; i < 50; i++) {
+            var s = model.createResource("http://test.example.org/p" + i);
+            var o = model.createResource("http://test.example.org/p" + (i + 1));
+            s.addProperty(RDF.type, person);
+            s.addProperty(name, "Person " + i);
+            s.addProperty(age, model.createTypedLiteral(i));
+            s.addProperty(knows, o);
+            s.addProperty(likes, o);
+        }
+        handler.commit();
+
+        assertEquals(250, model.size());
+        assertTrue(model.contains(
+            model.createResource("http://test.example.org/p49"), knows,
+            model.createResource("http://test.example.org/p50")));
+
+        handler.begin();
+        for (int i = 0; i < 50; i++) {
+            var s = model.createResource("http://test.example.org/p" + i);
+            s.removeAll(knows);
+            s.removeAll(name);
+        }
+        handler.commit();
+
+        assertEquals(150, model.size());
+    }
+
+    @Test
+    @DisplayName("Test invalid flush parallelism is rejected")
+    public void testInvalidFlushParallelism() {
+        var handler = (FalkorDBTransactionHandler) graph.getTransactionHandler();
+        assertThrows(IllegalArgumentException.class,
+            () -> handler.setFlushParallelism(0));
+        assertEquals(1, handler.getFlushParallelism());
+    }
+
+    @Test
+    @DisplayName("Test delete then add in one transaction keeps the triple")
+    public void testDeleteThenAddCoalesced() {
+        var handler = (FalkorDBTransactionHandler) graph.getTransactionHandler();
+        var subject = model.createResource("http://test.example.org/person1");
+        var knows = model.createProperty("http://test.example.org/knows");
+        var friend = model.createResource("http://test.example.org/person2");
+        subject.addProperty(knows, friend);
+
+        handler.begin();
+        model.remove(subject, knows, friend);
+        model.add(subject, knows, friend);
+        model.add(subject, knows, friend);
+        handler.commit();
+
+        assertTrue(model.contains(subject, knows, friend));
+        assertEquals(2, handler.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("Test subject-centric flush writes all node properties")
+    public void testSubjectCentricFlush() {
+        var handler = (FalkorDBTransactionHandler) graph.getTransactionHandler();
+        handler.setWriteStrategy(FalkorDBWriteStrategy.SUBJECT_CENTRIC);
+        var name = model.createProperty("http://test.example.org/name");
+        var age = model.createProperty("http://test.example.org/age");
+        var email = model.createProperty("http://test.example.org/email");
+        var knows = model.createProperty("http://test.example.org/knows");
+        var person = model.createResource("http://test.example.org/Person");
+
+        handler.begin();
+        for (int i = 0; i < 20; i++) {
+            var s = model.createResource("http://test.example.org/p" + i);
+            s.addProperty(RDF.type, person);
+            s.addProperty(name, "Person " + i);
+            s.addProperty(age, model.createTypedLiteral(i));
+            // Every other subject has a different shape
+            if (i % 2 == 0) {
+                s.addProperty(email, "p" + i + "@example.org");
+            }
+            s.addProperty(knows,
+                model.createResource("http://test.example.org/p" + (i + 1)));
+        }
+        handler.commit();
+
+        assertEquals(FalkorDBWriteStrategy.SUBJECT_CENTRIC,
+            handler.getWriteStrategy());
+        assertEquals(90, model.size());
+        var p4 = model.createResource("http://test.example.org/p4");
+        assertTrue(model.contains(p4, RDF.type, person));
+        assertTrue(model.contains(p4, age, model.createTypedLiteral(4)));
+        assertTrue(model.contains(p4, email, "p4@example.org"));
+        assertFalse(model.createResource("http://test.example.org/p5")
+            .hasProperty(email));
+    }
+
+    @Test
+    @DisplayName("Test write-behind queues non-transactional writes")
+    public void testWriteBehind() {
+        var handler = (FalkorDBTransactionHandler) graph.getTransactionHandler();
+        handler.setWriteBehind(1000, 60_000);
+        assertTrue(handler.isWriteBehindEnabled());
+        var name = model.createProperty("http://test.example.org/name");
+
+        for (int i = 0; i < 100; i++) {
+            model.createResource("http://test.example.org/p" + i)
+                .addProperty(name, "Person " + i);
+        }
+        assertEquals(100, handler.getPendingWrites());
+
+        // Reads wait for the queued writes
+        assertEquals(100, model.size());
+        assertEquals(0, handler.getPendingWrites());
+
+        model.createResource("http://test.example.org/p0").removeAll(name);
+        handler.sync();
+        assertEquals(99, model.size());
+
+        handler.setWriteBehind(0, 0);
+        assertFalse(handler.isWriteBehindEnabled());
+    }
+
+    @Test
+    @DisplayName("Test invalid write-behind configuration is rejected")
+    public void testInvalidWriteBehind() {
+        var handler = (FalkorDBTransactionHandler) graph.getTransactionHandler();
+        assertThrows(IllegalArgumentException.class,
+            () -> handler.setWriteBehind(-1, 100));
+        assertThrows(IllegalArgumentException.class,
+            () -> handler.setWriteBehind(100, 0));
+        assertFalse(handler.isWriteBehindEnabled());
+    }
 }
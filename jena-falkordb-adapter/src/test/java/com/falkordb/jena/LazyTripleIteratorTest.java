@@ -0,0 +1,115 @@
+package com.falkordb.jena;
+
+import com.falkordb.Record;
+import com.falkordb.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LazyTripleIterator.
+ */
+public class LazyTripleIteratorTest {
+
+    /** Queries run so far, in order. */
+    private final List<String> ran = new ArrayList<>();
+
+    /** Records converted so far. */
+    private final AtomicInteger converted = new AtomicInteger();
+
+    private static Triple triple(final String subject) {
+        return Triple.create(
+            NodeFactory.createURI("http://example.org/" + subject),
+            NodeFactory.createURI("http://example.org/p"),
+            NodeFactory.createLiteralString(subject));
+    }
+
+    /** A stage whose query returns the given number of records. */
+    private LazyTripleIterator.Stage stage(final String name,
+            final int records) {
+        return new LazyTripleIterator.Stage(() -> {
+            ran.add(name);
+            List<Record> list = new ArrayList<>();
+            for (int i = 0; i < records; i++) {
+                Record record = mock(Record.class);
+                when(record.getString("s")).thenReturn(name + i);
+                list.add(record);
+            }
+            ResultSet result = mock(ResultSet.class);
+            when(result.iterator()).thenReturn(list.iterator());
+            return result;
+        }, record -> {
+            converted.incrementAndGet();
+            return List.of(triple(record.getString("s")));
+        });
+    }
+
+    @Test
+    @DisplayName("Test queries run only when earlier results are used up")
+    public void testQueriesRunInTurn() {
+        LazyTripleIterator it = new LazyTripleIterator(
+            List.of(stage("a", 2), stage("b", 1)), null);
+
+        assertTrue(ran.isEmpty());
+        assertEquals(triple("a0"), it.next());
+        assertEquals(List.of("a"), ran);
+        assertEquals(1, converted.get());
+
+        assertEquals(triple("a1"), it.next());
+        assertEquals(List.of("a"), ran);
+
+        assertEquals(triple("b0"), it.next());
+        assertEquals(List.of("a", "b"), ran);
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    @DisplayName("Test empty results are skipped")
+    public void testEmptyStages() {
+        LazyTripleIterator it = new LazyTripleIterator(
+            List.of(stage("a", 0), stage("b", 0), stage("c", 1)), null);
+
+        assertEquals(List.of(triple("c0")), it.toList());
+        assertEquals(List.of("a", "b", "c"), ran);
+    }
+
+    @Test
+    @DisplayName("Test close skips the remaining queries")
+    public void testCloseEarly() {
+        LazyTripleIterator it = new LazyTripleIterator(
+            List.of(stage("a", 3), stage("b", 1)), null);
+
+        it.next();
+        it.close();
+
+        assertFalse(it.hasNext());
+        assertEquals(List.of("a"), ran);
+        assertEquals(1, converted.get());
+    }
+
+    @Test
+    @DisplayName("Test a failing query stops the iteration")
+    public void testFailure() {
+        LazyTripleIterator it = new LazyTripleIterator(List.of(
+            stage("a", 1),
+            new LazyTripleIterator.Stage(() -> {
+                throw new IllegalStateException("boom");
+            }, record -> List.of()),
+            stage("c", 1)), null);
+
+        it.next();
+        assertThrows(IllegalStateException.class, it::hasNext);
+        assertFalse(it.hasNext());
+        assertEquals(List.of("a"), ran);
+    }
+}
@@ -0,0 +1,72 @@
+package com.falkordb.jena;
+
+import org.apache.jena.graph.Node;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NodeDictionary.
+ */
+public class NodeDictionaryTest {
+
+    private static final String ALICE = "http://example.org/alice";
+    private static final String NAME = "http://example.org/name";
+
+    @Test
+    @DisplayName("Test repeated URIs share one node")
+    public void testSharedNode() {
+        NodeDictionary dictionary = new NodeDictionary(16);
+
+        Node first = dictionary.uri(ALICE);
+        Node second = dictionary.uri(new String(ALICE));
+
+        assertSame(first, second);
+        assertEquals(ALICE, first.getURI());
+        assertEquals(1, dictionary.hitCount());
+        assertEquals(1, dictionary.missCount());
+        assertEquals(0.5, dictionary.hitRate());
+    }
+
+    @Test
+    @DisplayName("Test predicates are kept apart from resources")
+    public void testPredicateTable() {
+        NodeDictionary dictionary = new NodeDictionary(1);
+        Node name = dictionary.predicate(NAME);
+
+        for (int i = 0; i < 100; i++) {
+            dictionary.uri("http://example.org/s" + i);
+        }
+
+        assertSame(name, dictionary.predicate(NAME));
+        assertTrue(dictionary.predicate(NAME).isURI());
+    }
+
+    @Test
+    @DisplayName("Test colliding URIs replace each other")
+    public void testBounded() {
+        NodeDictionary dictionary = new NodeDictionary(1);
+
+        Node alice = dictionary.uri(ALICE);
+        dictionary.uri("http://example.org/bob");
+
+        assertNotSame(alice, dictionary.uri(ALICE));
+        assertEquals(alice, dictionary.uri(ALICE));
+        assertEquals(1, dictionary.getCapacity());
+    }
+
+    @Test
+    @DisplayName("Test capacity is rounded up to a power of two")
+    public void testCapacity() {
+        NodeDictionary dictionary = new NodeDictionary(1000);
+        assertEquals(1024, dictionary.getCapacity());
+
+        dictionary.setCapacity(0);
+        assertEquals(0, dictionary.getCapacity());
+        assertNotSame(dictionary.uri(ALICE), dictionary.uri(ALICE));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> dictionary.setCapacity(-1));
+    }
+}
@@ -0,0 +1,138 @@
+package com.falkordb.jena;
+
+import com.falkordb.Record;
+import com.falkordb.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PagedRecordIterator.
+ */
+public class PagedRecordIteratorTest {
+
+    /** The last id passed to each page query, in order. */
+    private final List<Long> requested =
+        Collections.synchronizedList(new ArrayList<>());
+
+    private ExecutorService executor;
+
+    @AfterEach
+    public void tearDown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A page query over subject ids 1 to {@code nodes}, each with two
+     * rows.
+     */
+    private ResultSet page(final long lastId, final int size,
+            final int nodes) {
+        requested.add(lastId);
+        List<Record> records = new ArrayList<>();
+        for (long id = lastId + 1; id <= Math.min(nodes, lastId + size);
+                id++) {
+            for (int row = 0; row < 2; row++) {
+                Record record = mock(Record.class);
+                when(record.getValue(PagedRecordIterator.SUBJECT_ID))
+                    .thenReturn(id);
+                records.add(record);
+            }
+        }
+        ResultSet result = mock(ResultSet.class);
+        when(result.iterator()).thenReturn(records.iterator());
+        return result;
+    }
+
+    private static List<Long> ids(final PagedRecordIterator it) {
+        List<Long> ids = new ArrayList<>();
+        it.forEachRemaining(record -> ids.add(
+            (Long) record.getValue(PagedRecordIterator.SUBJECT_ID)));
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Test pages are read after the last id of the previous one")
+    public void testPages() {
+        PagedRecordIterator it = new PagedRecordIterator(
+            (lastId, size) -> page(lastId, size, 5), 2, null);
+
+        assertTrue(requested.isEmpty());
+        assertEquals(List.of(1L, 1L, 2L, 2L, 3L, 3L, 4L, 4L, 5L, 5L),
+            ids(it));
+        assertEquals(List.of(-1L, 2L, 4L), requested);
+        assertEquals(3, it.pageCount());
+    }
+
+    @Test
+    @DisplayName("Test the next page is read only once the current is used")
+    public void testLazyPages() {
+        PagedRecordIterator it = new PagedRecordIterator(
+            (lastId, size) -> page(lastId, size, 5), 2, null);
+
+        it.next();
+        it.next();
+        it.next();
+        assertEquals(List.of(-1L), requested);
+        it.next();
+        it.next();
+        assertEquals(List.of(-1L, 2L), requested);
+    }
+
+    @Test
+    @DisplayName("Test a full last page needs one empty page to end")
+    public void testFullLastPage() {
+        PagedRecordIterator it = new PagedRecordIterator(
+            (lastId, size) -> page(lastId, size, 4), 2, null);
+
+        assertEquals(8, ids(it).size());
+        assertEquals(List.of(-1L, 2L, 4L), requested);
+    }
+
+    @Test
+    @DisplayName("Test prefetch requests the next page ahead")
+    public void testPrefetch() throws Exception {
+        executor = Executors.newSingleThreadExecutor();
+        PagedRecordIterator it = new PagedRecordIterator(
+            (lastId, size) -> page(lastId, size, 5), 2, executor);
+
+        it.next();
+        // Wait for the page loaded ahead
+        executor.submit(() -> { }).get();
+        assertEquals(List.of(-1L, 2L), requested);
+
+        assertEquals(9, ids(it).size());
+        assertEquals(List.of(-1L, 2L, 4L), requested);
+    }
+
+    @Test
+    @DisplayName("Test close stops paging")
+    public void testClose() {
+        PagedRecordIterator it = new PagedRecordIterator(
+            (lastId, size) -> page(lastId, size, 5), 2, null);
+
+        it.next();
+        it.close();
+
+        assertFalse(it.hasNext());
+        assertEquals(List.of(-1L), requested);
+    }
+
+    @Test
+    @DisplayName("Test page size must be positive")
+    public void testInvalidPageSize() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new PagedRecordIterator((lastId, size) -> null, 0, null));
+    }
+}
@@ -0,0 +1,227 @@
+package com.falkordb.jena;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scripted RESP server standing in for FalkorDB in tests.
+ *
+ * <p>Every command is recorded together with the connection it arrived
+ * on. {@code GRAPH.QUERY} is answered with an empty result set,
+ * {@code GRAPH.LIST} with an empty list,
+ * {@code MULTI}/{@code EXEC} queue and release replies like Redis, and any
+ * other command is answered with {@code +OK}. Queries containing the
+ * configured failure marker get an error reply.</p>
+ */
+final class RespStandIn implements AutoCloseable {
+
+    /** Reply to GRAPH.QUERY: no header, no rows, one statistics line. */
+    private static final String QUERY_REPLY =
+        "*1\r\n*1\r\n$47\r\nQuery internal execution time: 0.1 milliseconds"
+            + "\r\n";
+
+    /**
+     * A received command.
+     *
+     * @param connection the number of the connection, starting at 1
+     * @param args the command name and arguments
+     */
+    record Command(int connection, List<String> args) {
+        /**
+         * Get the upper-case command name.
+         *
+         * @return the command name
+         */
+        String name() {
+            return args.get(0).toUpperCase();
+        }
+    }
+
+    private final ServerSocket server;
+    private final List<Command> commands =
+        Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile String failureMarker;
+
+    /**
+     * Start the server on a free loopback port.
+     *
+     * @throws IOException if the socket cannot be opened
+     */
+    RespStandIn() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::accept, "resp-stand-in");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Answer queries containing the marker with an error.
+     *
+     * @param marker the text to look for, or null for no failures
+     */
+    void failQueriesContaining(final String marker) {
+        failureMarker = marker;
+    }
+
+    /**
+     * Get the recorded commands with the given name.
+     *
+     * @param name the command name, e.g. {@code GRAPH.QUERY}
+     * @return the matching commands in arrival order
+     */
+    List<Command> commands(final String name) {
+        synchronized (commands) {
+            return commands.stream()
+                .filter(c -> c.name().equals(name))
+                .toList();
+        }
+    }
+
+    /**
+     * Get all recorded commands.
+     *
+     * @return the commands in arrival order
+     */
+    List<Command> commands() {
+        synchronized (commands) {
+            return List.copyOf(commands);
+        }
+    }
+
+    /**
+     * Forget the recorded commands.
+     */
+    void reset() {
+        commands.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private void accept() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                int id = connections.incrementAndGet();
+                Thread handler = new Thread(() -> serve(socket, id),
+                    "resp-stand-in-" + id);
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(final Socket socket, final int id) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            List<String> queued = null;
+            List<String> args;
+            while ((args = readCommand(in)) != null) {
+                Command command = new Command(id, args);
+                commands.add(command);
+                switch (command.name()) {
+                    case "MULTI" -> {
+                        queued = new ArrayList<>();
+                        write(out, "+OK\r\n");
+                    }
+                    case "EXEC" -> {
+                        StringBuilder reply = new StringBuilder();
+                        reply.append('*').append(queued.size()).append("\r\n");
+                        queued.forEach(reply::append);
+                        queued = null;
+                        write(out, reply.toString());
+                    }
+                    case "DISCARD" -> {
+                        queued = null;
+                        write(out, "+OK\r\n");
+                    }
+                    default -> {
+                        String reply = reply(command);
+                        if (queued != null) {
+                            queued.add(reply);
+                            write(out, "+QUEUED\r\n");
+                        } else {
+                            write(out, reply);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Connection closed by the client
+        }
+    }
+
+    private String reply(final Command command) {
+        if (command.name().equals("GRAPH.LIST")) {
+            return "*0\r\n";
+        }
+        if (!command.name().equals("GRAPH.QUERY")) {
+            return "+OK\r\n";
+        }
+        String marker = failureMarker;
+        if (marker != null && command.args().size() > 2
+                && command.args().get(2).contains(marker)) {
+            return "-ERR stand-in failure\r\n";
+        }
+        return QUERY_REPLY;
+    }
+
+    private static void write(final OutputStream out, final String reply)
+            throws IOException {
+        out.write(reply.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Read one RESP array of bulk strings, or null at end of stream.
+     */
+    private static List<String> readCommand(final InputStream in)
+            throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<String> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = Integer.parseInt(readLine(in).substring(1));
+            byte[] data = in.readNBytes(length + 2);
+            args.add(new String(data, 0, length, StandardCharsets.UTF_8));
+        }
+        return args;
+    }
+
+    private static String readLine(final InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                in.read();
+                return line.toString(StandardCharsets.UTF_8);
+            }
+            line.write(b);
+        }
+        return null;
+    }
+}
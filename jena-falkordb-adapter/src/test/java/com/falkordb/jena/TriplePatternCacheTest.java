@@ -0,0 +1,190 @@
+package com.falkordb.jena;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TriplePatternCache.
+ */
+public class TriplePatternCacheTest {
+
+    private static final Node ALICE =
+        NodeFactory.createURI("http://example.org/alice");
+    private static final Node BOB =
+        NodeFactory.createURI("http://example.org/bob");
+    private static final Node NAME =
+        NodeFactory.createURI("http://example.org/name");
+    private static final Node KNOWS =
+        NodeFactory.createURI("http://example.org/knows");
+    private static final Node PERSON =
+        NodeFactory.createURI("http://example.org/Person");
+
+    private TriplePatternCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new TriplePatternCache("cache_test", 100, 60_000);
+    }
+
+    /** Read a find result through the cache to the end. */
+    private void fill(final Triple pattern, final Triple... triples) {
+        ExtendedIterator<Triple> it = cache.fill(pattern,
+            WrappedIterator.create(List.of(triples).iterator()));
+        it.toList();
+    }
+
+    @Test
+    @DisplayName("Test exhausted find is cached")
+    public void testFill() {
+        Triple pattern = Triple.create(ALICE, KNOWS, Node.ANY);
+        Triple knows = Triple.create(ALICE, KNOWS, BOB);
+
+        assertNull(cache.getFind(pattern));
+        fill(pattern, knows);
+
+        assertEquals(List.of(knows), cache.getFind(pattern));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    @DisplayName("Test closed find is not cached")
+    public void testClosedFind() {
+        Triple pattern = Triple.create(ALICE, KNOWS, Node.ANY);
+        ExtendedIterator<Triple> it = cache.fill(pattern,
+            WrappedIterator.create(List.of(
+                Triple.create(ALICE, KNOWS, BOB)).iterator()));
+        it.next();
+        it.close();
+
+        assertNull(cache.getFind(pattern));
+    }
+
+    @Test
+    @DisplayName("Test variables and ANY share a key")
+    public void testNormalisedKey() {
+        fill(Triple.create(ALICE, KNOWS, Node.ANY));
+
+        assertNotNull(cache.getFind(Triple.create(ALICE, KNOWS,
+            NodeFactory.createVariable("o"))));
+    }
+
+    @Test
+    @DisplayName("Test write invalidates only matching patterns")
+    public void testPreciseInvalidation() {
+        Triple aliceKnows = Triple.create(ALICE, KNOWS, Node.ANY);
+        Triple bobKnows = Triple.create(BOB, KNOWS, Node.ANY);
+        Triple anyType = Triple.create(Node.ANY, RDF.type.asNode(), PERSON);
+        fill(aliceKnows);
+        fill(bobKnows);
+        fill(anyType);
+
+        cache.invalidate(Triple.create(ALICE, KNOWS, BOB));
+
+        assertNull(cache.getFind(aliceKnows));
+        assertNotNull(cache.getFind(bobKnows));
+        assertNotNull(cache.getFind(anyType));
+
+        cache.invalidate(Triple.create(BOB, RDF.type.asNode(), PERSON));
+        assertNull(cache.getFind(anyType));
+        assertNotNull(cache.getFind(bobKnows));
+    }
+
+    @Test
+    @DisplayName("Test literal write invalidates other values of the property")
+    public void testLiteralInvalidation() {
+        Triple oldName = Triple.create(ALICE, NAME,
+            NodeFactory.createLiteralString("Alice"));
+        long token = cache.invalidationCount();
+        cache.putContains(oldName, true, token);
+
+        cache.invalidate(Triple.create(ALICE, NAME,
+            NodeFactory.createLiteralString("Alicia")));
+
+        assertNull(cache.getContains(oldName));
+    }
+
+    @Test
+    @DisplayName("Test literal write invalidates finds by that value")
+    public void testLiteralValueFindInvalidation() {
+        Node alice = NodeFactory.createLiteralString("Alice");
+        Triple pattern = Triple.create(Node.ANY, NAME, alice);
+        fill(pattern, Triple.create(ALICE, NAME, alice));
+
+        cache.invalidate(Triple.create(ALICE, NAME, alice));
+
+        assertNull(cache.getFind(pattern));
+    }
+
+    @Test
+    @DisplayName("Test find running during an invalidation is not cached")
+    public void testInvalidationDuringFill() {
+        Triple pattern = Triple.create(ALICE, KNOWS, Node.ANY);
+        ExtendedIterator<Triple> it = cache.fill(pattern,
+            WrappedIterator.create(List.<Triple>of().iterator()));
+
+        cache.invalidate(Triple.create(BOB, KNOWS, ALICE));
+        it.toList();
+
+        assertNull(cache.getFind(pattern));
+    }
+
+    @Test
+    @DisplayName("Test least recently used entry is evicted")
+    public void testEviction() {
+        cache = new TriplePatternCache("cache_test", 2, 60_000);
+        Triple first = Triple.create(ALICE, KNOWS, Node.ANY);
+        Triple second = Triple.create(BOB, KNOWS, Node.ANY);
+        Triple third = Triple.create(Node.ANY, KNOWS, ALICE);
+        fill(first);
+        fill(second);
+        cache.getFind(first);
+        fill(third);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertNotNull(cache.getFind(first));
+        assertNull(cache.getFind(second));
+    }
+
+    @Test
+    @DisplayName("Test expired entry is a miss")
+    public void testExpiry() throws InterruptedException {
+        cache = new TriplePatternCache("cache_test", 10, 1);
+        Triple pattern = Triple.create(ALICE, KNOWS, Node.ANY);
+        fill(pattern);
+        Thread.sleep(5);
+
+        assertNull(cache.getFind(pattern));
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    @DisplayName("Test large write sets drop the whole cache")
+    public void testBulkInvalidation() {
+        Triple pattern = Triple.create(ALICE, KNOWS, Node.ANY);
+        fill(pattern);
+        List<Triple> written = new ArrayList<>();
+        for (int i = 0; i <= TriplePatternCache.BULK_INVALIDATION_THRESHOLD;
+                i++) {
+            written.add(Triple.create(
+                NodeFactory.createURI("http://example.org/s" + i), KNOWS,
+                BOB));
+        }
+
+        cache.invalidateAll(written);
+
+        assertEquals(0, cache.size());
+    }
+}
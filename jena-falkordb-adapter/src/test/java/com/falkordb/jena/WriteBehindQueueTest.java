@@ -0,0 +1,165 @@
+package com.falkordb.jena;
+
+import com.falkordb.Graph;
+import com.falkordb.jena.tracing.TracedGraph;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WriteBehindQueue.
+ */
+public class WriteBehindQueueTest {
+
+    private static final Node NAME =
+        NodeFactory.createURI("http://example.org/name");
+
+    private Graph mockGraph;
+    private FalkorDBBatchWriter batchWriter;
+    private WriteBehindQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        mockGraph = mock(Graph.class);
+        batchWriter = new FalkorDBBatchWriter(
+            new TracedGraph(mockGraph, "write_behind_test"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (queue != null) {
+            queue.close();
+        }
+        batchWriter.close();
+    }
+
+    private static Triple name(final int i) {
+        return Triple.create(
+            NodeFactory.createURI("http://example.org/p" + i), NAME,
+            NodeFactory.createLiteralString("Person " + i));
+    }
+
+    @Test
+    @DisplayName("Test sync writes queued adds as one batch")
+    public void testSyncWritesBatch() {
+        queue = new WriteBehindQueue(batchWriter, "test", 1000, 60_000);
+
+        for (int i = 0; i < 10; i++) {
+            queue.add(name(i));
+        }
+        assertEquals(10, queue.pending());
+
+        queue.sync();
+
+        assertEquals(0, queue.pending());
+        verify(mockGraph, times(1)).query(anyString(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Test queued writes are flushed after the interval")
+    public void testIntervalTrigger() {
+        queue = new WriteBehindQueue(batchWriter, "test", 1000, 10);
+
+        queue.add(name(1));
+
+        verify(mockGraph, timeout(5000)).query(anyString(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Test add and delete of one triple cancel out in a batch")
+    public void testCoalescing() {
+        queue = new WriteBehindQueue(batchWriter, "test", 1000, 60_000);
+        Triple knows = Triple.create(
+            NodeFactory.createURI("http://example.org/p1"),
+            NodeFactory.createURI("http://example.org/knows"),
+            NodeFactory.createURI("http://example.org/p2"));
+
+        queue.add(knows);
+        queue.delete(knows);
+        queue.sync();
+
+        // Only the delete is written
+        verify(mockGraph, times(1)).query(
+            contains("DELETE r"), anyMap());
+        verifyNoMoreInteractions(mockGraph);
+    }
+
+    @Test
+    @DisplayName("Test background failures are reported once by sync")
+    public void testFailureReported() {
+        when(mockGraph.query(anyString(), anyMap()))
+            .thenThrow(new IllegalStateException("connection lost"));
+        queue = new WriteBehindQueue(batchWriter, "test", 1000, 60_000);
+
+        queue.add(name(1));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> queue.sync());
+        assertEquals("connection lost", e.getCause().getMessage());
+        assertDoesNotThrow(() -> queue.sync());
+    }
+
+    @Test
+    @DisplayName("Test writers block while the queue is full")
+    public void testBackPressure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockGraph.query(anyString(), anyMap())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+        queue = new WriteBehindQueue(batchWriter, "test", 2, 60_000);
+
+        // The first write reaches the flush threshold and blocks the
+        // flusher in the database call; the next two fill the queue
+        queue.add(name(0));
+        verify(mockGraph, timeout(5000)).query(anyString(), anyMap());
+        queue.add(name(1));
+        queue.add(name(2));
+
+        Thread writer = new Thread(() -> queue.add(name(3)));
+        writer.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (queue.backPressureCount() == 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, queue.backPressureCount());
+        assertTrue(writer.isAlive(), "Writer should wait for queue space");
+
+        release.countDown();
+        writer.join(5000);
+        assertFalse(writer.isAlive());
+        queue.sync();
+        assertEquals(0, queue.pending());
+    }
+
+    @Test
+    @DisplayName("Test closing writes queued operations and rejects new ones")
+    public void testClose() {
+        queue = new WriteBehindQueue(batchWriter, "test", 1000, 60_000);
+
+        queue.add(name(1));
+        queue.close();
+
+        verify(mockGraph, times(1)).query(anyString(), anyMap());
+        assertThrows(IllegalStateException.class, () -> queue.add(name(2)));
+    }
+
+    @Test
+    @DisplayName("Test invalid configuration is rejected")
+    public void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new WriteBehindQueue(batchWriter, "test", 0, 100));
+        assertThrows(IllegalArgumentException.class,
+            () -> new WriteBehindQueue(batchWriter, "test", 10, 0));
+    }
+}
@@ -0,0 +1,115 @@
+package com.falkordb.jena;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark comparing the per-predicate and subject-centric write
+ * strategies on entities with many literal properties.
+ *
+ * Prerequisites: FalkorDB must be running on localhost:6379
+ * Run: mvn test -Dtest=WriteStrategyBenchmarkTest -Dfalkordb.benchmark=true
+ */
+@EnabledIfSystemProperty(named = "falkordb.benchmark", matches = "true")
+public class WriteStrategyBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(
+        WriteStrategyBenchmarkTest.class);
+
+    private static final String TEST_GRAPH = "write_strategy_benchmark";
+    private static final String NS = "http://bench.example.org/";
+    private static final int ENTITIES = 2_000;
+    private static final int PROPERTIES = 30;
+    private static final int ROUNDS = 3;
+
+    private FalkorDBGraph graph;
+    private Model model;
+
+    @BeforeEach
+    public void setUp() {
+        graph = new FalkorDBGraph("localhost", 6379, TEST_GRAPH);
+        graph.clear();
+        model = ModelFactory.createModelForGraph(graph);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (model != null) {
+            graph.clear();
+            model.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Compare per-predicate and subject-centric commits")
+    public void compareWriteStrategies() {
+        // Warm up both code paths before timing
+        load(FalkorDBWriteStrategy.PER_PREDICATE, 100);
+        load(FalkorDBWriteStrategy.SUBJECT_CENTRIC, 100);
+
+        long perPredicate = Long.MAX_VALUE;
+        long subjectCentric = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            perPredicate = Math.min(perPredicate,
+                load(FalkorDBWriteStrategy.PER_PREDICATE, ENTITIES));
+            subjectCentric = Math.min(subjectCentric,
+                load(FalkorDBWriteStrategy.SUBJECT_CENTRIC, ENTITIES));
+        }
+
+        long triples = (long) ENTITIES * (PROPERTIES + 1);
+        LOGGER.info("{} entities x {} properties ({} triples), best of {}:",
+            ENTITIES, PROPERTIES, triples, ROUNDS);
+        LOGGER.info("  per_predicate:   {} ms ({} triples/s)",
+            perPredicate, triples * 1000 / Math.max(perPredicate, 1));
+        LOGGER.info("  subject_centric: {} ms ({} triples/s)",
+            subjectCentric, triples * 1000 / Math.max(subjectCentric, 1));
+    }
+
+    /**
+     * Commit the given number of entities in one transaction with the given
+     * strategy into an empty graph and return the commit time.
+     */
+    private long load(final FalkorDBWriteStrategy strategy,
+            final int entities) {
+        graph.clear();
+        var handler = (FalkorDBTransactionHandler) graph.getTransactionHandler();
+        handler.setWriteStrategy(strategy);
+
+        Resource type = model.createResource(NS + "Entity");
+        Property[] properties = new Property[PROPERTIES];
+        for (int p = 0; p < PROPERTIES; p++) {
+            properties[p] = model.createProperty(NS + "prop" + p);
+        }
+
+        handler.begin();
+        for (int i = 0; i < entities; i++) {
+            Resource entity = model.createResource(NS + "entity" + i);
+            entity.addProperty(RDF.type, type);
+            for (int p = 0; p < PROPERTIES; p++) {
+                if (p % 3 == 0) {
+                    entity.addLiteral(properties[p], (long) i * p);
+                } else {
+                    entity.addProperty(properties[p], "value " + i + "/" + p);
+                }
+            }
+        }
+        long start = System.nanoTime();
+        handler.commit();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals((long) entities * (PROPERTIES + 1), model.size());
+        return millis;
+    }
+}
@@ -0,0 +1,136 @@
+package com.falkordb.jena.query;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.core.BasicPattern;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BindJoin.
+ */
+public class BindJoinTest {
+
+    private static final String NS = "http://example.org/";
+
+    private static final Node KNOWS = NodeFactory.createURI(NS + "knows");
+    private static final Node PERSON = NodeFactory.createURI(NS + "Person");
+
+    private static final Var PERSON_VAR = Var.alloc("person");
+    private static final Var FRIEND_VAR = Var.alloc("friend");
+
+    private static SparqlToCypherCompiler.CompilationResult compile(
+            final Triple... triples) throws Exception {
+        return SparqlToCypherCompiler.translate(
+            BasicPattern.wrap(List.of(triples)));
+    }
+
+    private static Binding person(final String name) {
+        return BindingFactory.binding(PERSON_VAR,
+            NodeFactory.createURI(NS + name));
+    }
+
+    @Test
+    @DisplayName("Test shared node is anchored on the bound URIs")
+    public void testAnchorsSharedNode() throws Exception {
+        SparqlToCypherCompiler.CompilationResult compilation = compile(
+            Triple.create(PERSON_VAR, KNOWS, FRIEND_VAR),
+            Triple.create(FRIEND_VAR, RDF.type.asNode(), PERSON));
+
+        BindJoin join = BindJoin.of(compilation,
+            List.of(person("alice"), person("bob")));
+
+        assertNotNull(join);
+        String cypher = join.cypherQuery();
+        assertTrue(cypher.startsWith(
+            "UNWIND range(0, size($bind0)-1) AS _bind\n"
+            + "WITH _bind, $bind0[_bind] AS _bind0\n"), cypher);
+        assertTrue(cypher.contains("(person:Resource {uri: _bind0})"),
+            cypher);
+        assertTrue(cypher.contains("RETURN _bind AS _bind, "), cypher);
+        assertEquals(List.of(NS + "alice", NS + "bob"),
+            join.parameters().get("bind0"));
+    }
+
+    @Test
+    @DisplayName("Test every branch of a UNION query is anchored")
+    public void testAnchorsUnionBranches() throws Exception {
+        SparqlToCypherCompiler.CompilationResult compilation = compile(
+            Triple.create(PERSON_VAR, KNOWS, FRIEND_VAR));
+
+        BindJoin join = BindJoin.of(compilation, List.of(person("alice")));
+
+        assertNotNull(join);
+        String[] branches = join.cypherQuery().split("\nUNION ALL\n");
+        assertEquals(2, branches.length);
+        for (String branch : branches) {
+            assertTrue(branch.startsWith("UNWIND "), branch);
+            assertTrue(branch.contains("(person:Resource {uri: _bind0})"),
+                branch);
+            assertTrue(branch.contains("RETURN _bind AS _bind, "), branch);
+        }
+    }
+
+    @Test
+    @DisplayName("Test branches of a UNION and OPTIONAL query are anchored")
+    public void testAnchorsUnionAndOptional() throws Exception {
+        BasicPattern knows = BasicPattern.wrap(List.of(
+            Triple.create(PERSON_VAR, KNOWS, FRIEND_VAR),
+            Triple.create(FRIEND_VAR, RDF.type.asNode(), PERSON)));
+        BasicPattern typed = BasicPattern.wrap(List.of(
+            Triple.create(PERSON_VAR, RDF.type.asNode(), PERSON)));
+
+        BindJoin union = BindJoin.of(
+            SparqlToCypherCompiler.translateUnion(knows, typed),
+            List.of(person("alice")));
+        BindJoin optional = BindJoin.of(
+            SparqlToCypherCompiler.translateWithOptional(typed, knows, null),
+            List.of(person("alice")));
+
+        assertNotNull(union);
+        String[] branches = union.cypherQuery().split("\nUNION\n");
+        assertEquals(2, branches.length);
+        for (String branch : branches) {
+            assertTrue(branch.startsWith("UNWIND "), branch);
+            assertTrue(branch.contains("RETURN _bind AS _bind, "), branch);
+        }
+        assertNotNull(optional);
+        assertTrue(optional.cypherQuery().contains("{uri: _bind0}"),
+            optional.cypherQuery());
+    }
+
+    @Test
+    @DisplayName("Test literal bindings are not pushed down")
+    public void testLiteralNotBound() throws Exception {
+        SparqlToCypherCompiler.CompilationResult compilation = compile(
+            Triple.create(PERSON_VAR, KNOWS, FRIEND_VAR),
+            Triple.create(FRIEND_VAR, RDF.type.asNode(), PERSON));
+        Binding literal = BindingFactory.binding(PERSON_VAR,
+            NodeFactory.createLiteralString("alice"));
+
+        assertNull(BindJoin.of(compilation,
+            List.of(person("alice"), literal)));
+    }
+
+    @Test
+    @DisplayName("Test input without shared variables is not pushed down")
+    public void testNoSharedVariable() throws Exception {
+        SparqlToCypherCompiler.CompilationResult compilation = compile(
+            Triple.create(PERSON_VAR, KNOWS, FRIEND_VAR),
+            Triple.create(FRIEND_VAR, RDF.type.asNode(), PERSON));
+
+        assertNull(BindJoin.of(compilation, List.of(BindingFactory.binding(
+            Var.alloc("other"), NodeFactory.createURI(NS + "x")))));
+        assertNull(BindJoin.of(compilation,
+            List.of(BindingFactory.empty())));
+    }
+}
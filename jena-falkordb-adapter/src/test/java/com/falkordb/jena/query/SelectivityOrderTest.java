@@ -0,0 +1,86 @@
+package com.falkordb.jena.query;
+
+import org.apache.jena.graph.GraphStatisticsHandler;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.core.BasicPattern;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SelectivityOrder.
+ */
+public class SelectivityOrderTest {
+
+    private static final String NS = "http://example.org/";
+
+    private static final Node KNOWS = NodeFactory.createURI(NS + "knows");
+    private static final Node NAME = NodeFactory.createURI(NS + "name");
+    private static final Node ADMIN = NodeFactory.createURI(NS + "Admin");
+
+    /** Many knows triples, few admins, names once per subject. */
+    private static final GraphStatisticsHandler STATISTICS = (s, p, o) -> {
+        if (p.equals(RDF.type.asNode())) {
+            return s.isConcrete() ? 1 : 12;
+        }
+        if (p.equals(KNOWS)) {
+            return s.isConcrete() || o.isConcrete() ? 10 : 100_000;
+        }
+        return s.isConcrete() ? 1 : 5_000;
+    };
+
+    private static BasicPattern bgp(final Triple... triples) {
+        return BasicPattern.wrap(List.of(triples));
+    }
+
+    @Test
+    @DisplayName("Test selective pattern is moved first")
+    public void testSelectiveFirst() {
+        Var person = Var.alloc("person");
+        Var friend = Var.alloc("friend");
+        Triple knows = Triple.create(person, KNOWS, friend);
+        Triple admin = Triple.create(person, RDF.type.asNode(), ADMIN);
+
+        BasicPattern ordered = SelectivityOrder.order(bgp(knows, admin),
+            STATISTICS);
+
+        assertEquals(List.of(admin, knows), ordered.getList());
+    }
+
+    @Test
+    @DisplayName("Test patterns joined to bound variables come before "
+        + "disconnected ones")
+    public void testNoCrossProduct() {
+        Var person = Var.alloc("person");
+        Var friend = Var.alloc("friend");
+        Var other = Var.alloc("other");
+        Var name = Var.alloc("name");
+        Triple admin = Triple.create(person, RDF.type.asNode(), ADMIN);
+        Triple otherName = Triple.create(other, NAME, name);
+        Triple knows = Triple.create(person, KNOWS, friend);
+
+        BasicPattern ordered = SelectivityOrder.order(
+            bgp(otherName, knows, admin), STATISTICS);
+
+        assertEquals(List.of(admin, knows, otherName), ordered.getList());
+    }
+
+    @Test
+    @DisplayName("Test missing statistics keep the order")
+    public void testNoStatistics() {
+        BasicPattern pattern = bgp(
+            Triple.create(Var.alloc("s"), KNOWS, Var.alloc("o")),
+            Triple.create(Var.alloc("s"), NAME, Var.alloc("n")));
+
+        assertSame(pattern, SelectivityOrder.order(pattern, null));
+        assertEquals(pattern.getList(), SelectivityOrder.order(pattern,
+            (s, p, o) -> -1).getList());
+    }
+}
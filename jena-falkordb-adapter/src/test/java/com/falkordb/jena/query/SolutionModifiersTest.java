@@ -0,0 +1,227 @@
+package com.falkordb.jena.query;
+
+import org.apache.jena.query.Query;
+import org.apache.jena.query.SortCondition;
+import org.apache.jena.sparql.algebra.Op;
+import org.apache.jena.sparql.algebra.op.OpBGP;
+import org.apache.jena.sparql.algebra.op.OpDistinct;
+import org.apache.jena.sparql.algebra.op.OpProject;
+import org.apache.jena.sparql.algebra.op.OpSlice;
+import org.apache.jena.sparql.algebra.op.OpTopN;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.expr.E_StrLength;
+import org.apache.jena.sparql.expr.ExprVar;
+import org.apache.jena.sparql.expr.NodeValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SolutionModifiers.
+ */
+public class SolutionModifiersTest {
+
+    private static final String QUERY = "MATCH (s:Resource)\n"
+        + "RETURN s.uri AS s";
+
+    private static final String UNION_QUERY = QUERY
+        + "\nUNION ALL\n" + QUERY;
+
+    @Test
+    @DisplayName("Test offset and limit become SKIP and LIMIT")
+    public void testSkipAndLimit() {
+        assertEquals(QUERY + "\nSKIP 20\nLIMIT 10",
+            SolutionModifiers.slice(QUERY, 20, 10));
+        assertEquals(QUERY + "\nLIMIT 10",
+            SolutionModifiers.slice(QUERY, Query.NOLIMIT, 10));
+        assertEquals(QUERY + "\nSKIP 5",
+            SolutionModifiers.slice(QUERY, 5, Query.NOLIMIT));
+    }
+
+    @Test
+    @DisplayName("Test UNION ALL branches are limited to offset plus limit")
+    public void testUnionBranchesLimited() {
+        String sliced = SolutionModifiers.slice(UNION_QUERY, 20, 10);
+
+        assertEquals(QUERY + "\nLIMIT 30\nUNION ALL\n" + QUERY
+            + "\nLIMIT 30", sliced);
+        assertTrue(SolutionModifiers.isUnion(sliced));
+        assertNull(SolutionModifiers.slice(UNION_QUERY, 20, Query.NOLIMIT));
+    }
+
+    @Test
+    @DisplayName("Test slices that cannot be pushed down")
+    public void testNotPushed() {
+        assertNull(SolutionModifiers.slice(QUERY, Query.NOLIMIT,
+            Query.NOLIMIT));
+        assertNull(SolutionModifiers.slice(QUERY + "\nUNION\n" + QUERY,
+            Query.NOLIMIT, 10));
+    }
+
+    @Test
+    @DisplayName("Test ORDER BY with LIMIT runs as a native top-N")
+    public void testTopN() {
+        List<SortCondition> conditions = List.of(
+            new SortCondition(Var.alloc("s"), Query.ORDER_DESCENDING));
+
+        assertEquals(QUERY + "\nORDER BY s DESC\nLIMIT 5",
+            SolutionModifiers.apply(QUERY, conditions, Query.NOLIMIT, 5));
+        assertEquals(QUERY + "\nORDER BY s ASC",
+            SolutionModifiers.order(QUERY, List.of(new SortCondition(
+                Var.alloc("s"), Query.ORDER_DEFAULT))));
+    }
+
+    @Test
+    @DisplayName("Test UNION ALL branches are each sorted and limited")
+    public void testUnionTopN() {
+        List<SortCondition> conditions = List.of(
+            new SortCondition(Var.alloc("s"), Query.ORDER_ASCENDING));
+
+        assertEquals(QUERY + "\nORDER BY s ASC\nLIMIT 5\nUNION ALL\n"
+            + QUERY + "\nORDER BY s ASC\nLIMIT 5",
+            SolutionModifiers.apply(UNION_QUERY, conditions,
+                Query.NOLIMIT, 5));
+        assertNull(SolutionModifiers.order(UNION_QUERY, conditions));
+    }
+
+    @Test
+    @DisplayName("Test unbound values sort first below OPTIONAL MATCH")
+    public void testOptionalOrder() {
+        String query = "MATCH (s:Resource)\n"
+            + "OPTIONAL MATCH (s)-[:`knows`]->(o:Resource)\n"
+            + "RETURN s.uri AS s, o.uri AS o";
+
+        assertEquals(query + "\nORDER BY o IS NOT NULL, o ASC",
+            SolutionModifiers.order(query, List.of(
+                new SortCondition(Var.alloc("o"), Query.ORDER_ASCENDING))));
+        assertEquals(query + "\nORDER BY o IS NULL, o DESC",
+            SolutionModifiers.order(query, List.of(
+                new SortCondition(Var.alloc("o"), Query.ORDER_DESCENDING))));
+    }
+
+    @Test
+    @DisplayName("Test sort keys that are not returned fall back")
+    public void testUnsupportedSortKey() {
+        assertNull(SolutionModifiers.order(QUERY, List.of(
+            new SortCondition(Var.alloc("x"), Query.ORDER_ASCENDING))));
+        assertNull(SolutionModifiers.order(QUERY, List.of(
+            new SortCondition(new E_StrLength(new ExprVar("s")),
+                Query.ORDER_ASCENDING))));
+    }
+
+    @Test
+    @DisplayName("Test only projected columns are returned")
+    public void testProjection() {
+        String query = "MATCH (s:Resource)-[:`knows`]->(o:Resource)\n"
+            + "RETURN s.uri AS s, o.uri AS o";
+        String match = "MATCH (s:Resource)-[:`knows`]->(o:Resource)\n";
+
+        assertEquals(match + "RETURN s.uri AS s",
+            SolutionModifiers.apply(query, List.of(Var.alloc("s")), false,
+                null, Query.NOLIMIT, Query.NOLIMIT));
+        assertEquals(match + "RETURN DISTINCT s.uri AS s\nLIMIT 10",
+            SolutionModifiers.apply(query, List.of(Var.alloc("s")), true,
+                null, Query.NOLIMIT, 10));
+        assertEquals(match + "RETURN DISTINCT 1 AS _result",
+            SolutionModifiers.apply(query, List.of(), true,
+                null, Query.NOLIMIT, Query.NOLIMIT));
+    }
+
+    @Test
+    @DisplayName("Test sort keys that are not projected keep all columns")
+    public void testProjectionKeepsSortKeys() {
+        String query = "MATCH (s:Resource)-[:`knows`]->(o:Resource)\n"
+            + "RETURN s.uri AS s, o.uri AS o";
+        List<SortCondition> conditions = List.of(
+            new SortCondition(Var.alloc("o"), Query.ORDER_ASCENDING));
+
+        assertEquals(query + "\nORDER BY o ASC",
+            SolutionModifiers.apply(query, List.of(Var.alloc("s")), false,
+                conditions, Query.NOLIMIT, Query.NOLIMIT));
+        assertNull(SolutionModifiers.apply(query, List.of(Var.alloc("s")),
+            true, conditions, Query.NOLIMIT, Query.NOLIMIT));
+    }
+
+    @Test
+    @DisplayName("Test UNION ALL branches are each made DISTINCT")
+    public void testUnionDistinct() {
+        String query = "MATCH (s:Resource)-[:`knows`]->(o:Resource)\n"
+            + "RETURN s.uri AS s, o.uri AS o";
+        String distinct = "MATCH (s:Resource)-[:`knows`]->(o:Resource)\n"
+            + "RETURN DISTINCT o.uri AS o";
+
+        assertEquals(distinct + "\nUNION ALL\n" + distinct,
+            SolutionModifiers.apply(query + "\nUNION ALL\n" + query,
+                List.of(Var.alloc("o")), true, null, Query.NOLIMIT, 10));
+    }
+
+    @Test
+    @DisplayName("Test modifiers are collected from the outermost down")
+    public void testChain() {
+        OpBGP pattern = new OpBGP();
+        List<SortCondition> conditions = List.of(
+            new SortCondition(Var.alloc("s"), Query.ORDER_ASCENDING));
+        Op topN = new OpProject(new OpTopN(pattern, 10, conditions),
+            List.of(Var.alloc("s")));
+
+        SolutionModifiers.Chain chain = SolutionModifiers.Chain.of(
+            new OpSlice(topN, 4, 20));
+
+        assertNotNull(chain);
+        assertSame(pattern, chain.pattern());
+        assertEquals(List.of(Var.alloc("s")), chain.projection());
+        assertEquals(conditions, chain.conditions());
+        assertEquals(4, chain.start());
+        assertEquals(6, chain.length());
+        assertNull(SolutionModifiers.Chain.of(OpDistinct.create(topN)));
+        assertNull(SolutionModifiers.Chain.of(new OpProject(
+            OpDistinct.create(pattern), List.of(Var.alloc("s")))));
+    }
+
+    @Test
+    @DisplayName("Test dateTimes in mixed time zones are sorted in Jena")
+    public void testDateTimeSortKey() {
+        String query = "MATCH (e:Resource)\n"
+            + "WHERE e.`http://example.org/at` IS NOT NULL\n"
+            + "RETURN e.uri AS e, e.`http://example.org/at` AS at";
+        List<SortCondition> conditions = List.of(
+            new SortCondition(Var.alloc("at"), Query.ORDER_ASCENDING));
+        String earlier = "2024-01-01T10:00:00+05:00";
+        String later = "2024-01-01T06:00:00Z";
+
+        // Stored as lexical forms, which sort the other way round
+        assertTrue(earlier.compareTo(later) > 0);
+        assertTrue(NodeValue.compare(
+            NodeValue.makeDateTime(earlier), NodeValue.makeDateTime(later))
+            < 0);
+        assertNull(SolutionModifiers.order(query, conditions));
+        assertNull(SolutionModifiers.apply(query, conditions,
+            Query.NOLIMIT, 1));
+    }
+
+    @Test
+    @DisplayName("Test a column mixing numbers and strings is sorted in Jena")
+    public void testMixedSortKey() {
+        String match = "MATCH (s:Resource)\n"
+            + "WHERE s.`http://example.org/value` IS NOT NULL\n";
+        String query = match + "RETURN s.uri AS s, "
+            + "s.`http://example.org/value` AS v";
+        String union = query + "\nUNION ALL\n"
+            + "MATCH (s:Resource)-[:`http://example.org/value`]->"
+            + "(v:Resource)\nRETURN s.uri AS s, v.uri AS v";
+        List<SortCondition> conditions = List.of(
+            new SortCondition(Var.alloc("v"), Query.ORDER_DESCENDING));
+
+        assertNull(SolutionModifiers.apply(query, conditions, 0, 3));
+        // Only the projection is pushed into the branches
+        assertEquals(match + "RETURN s.`http://example.org/value` AS v"
+            + "\nUNION ALL\n"
+            + "MATCH (s:Resource)-[:`http://example.org/value`]->"
+            + "(v:Resource)\nRETURN v.uri AS v",
+            SolutionModifiers.apply(union, List.of(Var.alloc("v")), false,
+                conditions, 0, 3));
+    }
+}
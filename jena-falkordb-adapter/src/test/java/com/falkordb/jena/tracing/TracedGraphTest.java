@@ -7,7 +7,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -142,4 +145,59 @@ public class TracedGraphTest {
         verify(mockGraph).query(cypher, params);
         assertSame(mockResult, result);
     }
+
+    @Test
+    @DisplayName("Test small parameters are rendered in full")
+    public void testParamsToString() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("uri", "http://example.org/a");
+        params.put("values", List.of(1, 2));
+
+        assertEquals("{uri=\"http://example.org/a\", values=[1, 2]}",
+            TracedGraph.paramsToString(params, TracedGraph.MAX_PARAMS_LENGTH));
+        assertEquals("{}", TracedGraph.paramsToString(null, 100));
+    }
+
+    @Test
+    @DisplayName("Test large list parameters are truncated")
+    public void testParamsToStringTruncatesLists() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("batch", IntStream.range(0, 1000).boxed().toList());
+
+        String rendered = TracedGraph.paramsToString(params,
+            TracedGraph.MAX_PARAMS_LENGTH);
+
+        assertEquals("{batch=[0, 1, 2, 3, 4, 5, 6, 7, 8, 9... (990 more)]}",
+            rendered);
+    }
+
+    @Test
+    @DisplayName("Test rendered parameters respect the length limit")
+    public void testParamsToStringLengthLimit() {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("long", "x".repeat(5000));
+        params.put("other", 1);
+
+        String rendered = TracedGraph.paramsToString(params, 100);
+
+        assertEquals(100, rendered.length());
+        assertTrue(rendered.endsWith("..."));
+    }
+
+    @Test
+    @DisplayName("Test queries still run when tracing is off")
+    public void testQueryWithTracingOff() {
+        TracingLevel previous = TracingUtil.getTracingLevel();
+        TracingUtil.setTracingLevel(TracingLevel.OFF);
+        try {
+            String cypher = "MATCH (n) RETURN n";
+            Map<String, Object> params = Map.of("batch", List.of(1, 2, 3));
+            ResultSet mockResult = mock(ResultSet.class);
+            when(mockGraph.query(cypher, params)).thenReturn(mockResult);
+
+            assertSame(mockResult, tracedGraph.query(cypher, params));
+        } finally {
+            TracingUtil.setTracingLevel(previous);
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package com.falkordb.jena.tracing;
 
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -12,6 +14,12 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 public class TracingUtilTest {
 
+    @AfterEach
+    public void tearDown() {
+        TracingUtil.setTracingLevel(TracingLevel.FULL);
+        TracingUtil.setSampleRatio(TracingUtil.DEFAULT_SAMPLE_RATIO);
+    }
+
     @Test
     @DisplayName("Test scope constants are defined correctly")
     public void testScopeConstants() {
@@ -57,6 +65,15 @@ public class TracingUtilTest {
         assertNotNull(redisTracer);
     }
 
+    @Test
+    @DisplayName("Test getMeter returns non-null meter")
+    public void testGetMeter() {
+        var meter = TracingUtil.getMeter(TracingUtil.SCOPE_FALKORDB_GRAPH);
+        assertNotNull(meter);
+        assertDoesNotThrow(() -> meter.counterBuilder("test.counter")
+            .build().add(1));
+    }
+
     @Test
     @DisplayName("Test isTracingEnabled returns boolean")
     public void testIsTracingEnabled() {
@@ -81,4 +98,53 @@ public class TracingUtilTest {
         assertEquals(1, constructors.length);
         assertFalse(constructors[0].canAccess(null));
     }
+
+    @Test
+    @DisplayName("Test per-operation spans follow the tracing level")
+    public void testShouldTraceOperation() {
+        TracingUtil.setTracingLevel(TracingLevel.BATCH);
+        assertFalse(TracingUtil.shouldTraceOperation());
+
+        TracingUtil.setTracingLevel(TracingLevel.SAMPLED);
+        TracingUtil.setSampleRatio(0.0);
+        assertFalse(TracingUtil.shouldTraceOperation());
+        TracingUtil.setSampleRatio(1.0);
+        assertTrue(TracingUtil.shouldTraceOperation());
+
+        TracingUtil.setTracingLevel(TracingLevel.OFF);
+        assertFalse(TracingUtil.shouldTraceOperation());
+        assertFalse(TracingUtil.shouldTraceDriverCall());
+        assertFalse(TracingUtil.isTracingEnabled());
+    }
+
+    @Test
+    @DisplayName("Test driver calls are traced only inside a span below FULL")
+    public void testShouldTraceDriverCall() {
+        TracingUtil.setTracingLevel(TracingLevel.BATCH);
+        // No span is current in the test thread
+        assertFalse(TracingUtil.shouldTraceDriverCall());
+    }
+
+    @Test
+    @DisplayName("Test tracers create non-recording spans when tracing is off")
+    public void testTracerWhenOff() {
+        Tracer tracer = TracingUtil.getTracer(TracingUtil.SCOPE_FALKORDB_GRAPH);
+        TracingUtil.setTracingLevel(TracingLevel.OFF);
+
+        Span span = tracer.spanBuilder("test").startSpan();
+
+        assertFalse(span.isRecording());
+        span.end();
+    }
+
+    @Test
+    @DisplayName("Test invalid tracing settings are rejected")
+    public void testInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+            () -> TracingUtil.setTracingLevel(null));
+        assertThrows(IllegalArgumentException.class,
+            () -> TracingUtil.setSampleRatio(1.5));
+        assertThrows(IllegalArgumentException.class,
+            () -> TracingUtil.setSampleRatio(Double.NaN));
+    }
 }
@@ -1,5 +1,9 @@
 package com.falkordb.jena.assembler;
 
+import com.falkordb.jena.FalkorDBModelFactory;
+import com.falkordb.jena.FalkorDBPipelineMode;
+import com.falkordb.jena.FalkorDBWriteStrategy;
+import java.util.Locale;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.Statement;
@@ -50,4 +54,73 @@ final class AssemblerUtils {
         }
         return stmt.getInt();
     }
+
+    /**
+     * Get a long property value from a configuration resource.
+     *
+     * @param root the configuration resource
+     * @param property the property to retrieve
+     * @param defaultValue the default value if property is not present
+     * @return the property value or default
+     */
+    static long getLongProperty(final Resource root, final Property property,
+            final long defaultValue) {
+        Statement stmt = root.getProperty(property);
+        if (stmt == null) {
+            return defaultValue;
+        }
+        return stmt.getLong();
+    }
+
+    /**
+     * Apply the optional performance tuning properties of a configuration
+     * resource to a model builder. Properties that are not present leave
+     * the builder defaults unchanged.
+     *
+     * @param root the configuration resource
+     * @param builder the builder to configure
+     */
+    static void applyTuningOptions(final Resource root,
+            final FalkorDBModelFactory.Builder builder) {
+        if (root.hasProperty(FalkorDBVocab.maxBufferedTriples)) {
+            builder.maxBufferedTriples(getIntProperty(root,
+                FalkorDBVocab.maxBufferedTriples, 0));
+        }
+        if (root.hasProperty(FalkorDBVocab.maxBufferedBytes)) {
+            builder.maxBufferedBytes(getLongProperty(root,
+                FalkorDBVocab.maxBufferedBytes, 0));
+        }
+        if (root.hasProperty(FalkorDBVocab.flushParallelism)) {
+            builder.flushParallelism(getIntProperty(root,
+                FalkorDBVocab.flushParallelism, 1));
+        }
+        if (root.hasProperty(FalkorDBVocab.batchTargetLatencyMs)) {
+            builder.batchTargetLatencyMillis(getLongProperty(root,
+                FalkorDBVocab.batchTargetLatencyMs, 0));
+        }
+        if (root.hasProperty(FalkorDBVocab.minBatchSize)) {
+            builder.minBatchSize(getIntProperty(root,
+                FalkorDBVocab.minBatchSize, 0));
+        }
+        if (root.hasProperty(FalkorDBVocab.maxBatchSize)) {
+            builder.maxBatchSize(getIntProperty(root,
+                FalkorDBVocab.maxBatchSize, 0));
+        }
+        if (root.hasProperty(FalkorDBVocab.pipelineMode)) {
+            builder.pipelineMode(FalkorDBPipelineMode.valueOf(
+                getStringProperty(root, FalkorDBVocab.pipelineMode, "")
+                    .trim().toUpperCase(Locale.ROOT)));
+        }
+        if (root.hasProperty(FalkorDBVocab.writeBehindQueueSize)) {
+            builder.writeBehind(
+                getIntProperty(root, FalkorDBVocab.writeBehindQueueSize, 0),
+                getLongProperty(root, FalkorDBVocab.writeBehindIntervalMs,
+                    FalkorDBModelFactory.DEFAULT_WRITE_BEHIND_INTERVAL_MILLIS));
+        }
+        if (root.hasProperty(FalkorDBVocab.writeStrategy)) {
+            builder.writeStrategy(FalkorDBWriteStrategy.valueOf(
+                getStringProperty(root, FalkorDBVocab.writeStrategy, "")
+                    .trim().toUpperCase(Locale.ROOT)));
+        }
+    }
 }
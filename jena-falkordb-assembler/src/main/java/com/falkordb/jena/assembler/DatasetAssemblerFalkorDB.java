@@ -82,11 +82,12 @@ public class DatasetAssemblerFalkorDB extends AssemblerBase {
         }
 
         // Create the FalkorDB-backed model
-        Model model = FalkorDBModelFactory.builder()
+        FalkorDBModelFactory.Builder builder = FalkorDBModelFactory.builder()
             .host(host)
             .port(port)
-            .graphName(graphName)
-            .build();
+            .graphName(graphName);
+        AssemblerUtils.applyTuningOptions(root, builder);
+        Model model = builder.build();
 
         // Wrap in a Dataset and return its DatasetGraph
         Dataset dataset = DatasetFactory.create(model);
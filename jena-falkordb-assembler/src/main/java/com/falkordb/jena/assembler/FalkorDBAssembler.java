@@ -22,6 +22,25 @@ import org.slf4j.LoggerFactory;
  *   <li>{@code falkor:port} - FalkorDB port (default: 6379)</li>
  *   <li>{@code falkor:graphName} - FalkorDB graph name
  *       (default: "rdf_graph")</li>
+ *   <li>{@code falkor:maxBufferedTriples} - buffered triples that trigger
+ *       a transaction auto-flush (default: 0, disabled)</li>
+ *   <li>{@code falkor:maxBufferedBytes} - estimated buffer bytes that
+ *       trigger a transaction auto-flush (default: 0, disabled)</li>
+ *   <li>{@code falkor:flushParallelism} - predicate or type groups written
+ *       concurrently on flush (default: 1)</li>
+ *   <li>{@code falkor:batchTargetLatencyMs}, {@code falkor:minBatchSize},
+ *       {@code falkor:maxBatchSize} - adaptive write batch sizing
+ *       (default: disabled, fixed batches of 1000)</li>
+ *   <li>{@code falkor:writeStrategy} - {@code "per_predicate"} or
+ *       {@code "subject_centric"} grouping of literal and type writes
+ *       (default: per_predicate)</li>
+ *   <li>{@code falkor:pipelineMode} - {@code "off"}, {@code "pipeline"}
+ *       or {@code "multi_exec"} sending of commit batches (default:
+ *       off)</li>
+ *   <li>{@code falkor:writeBehindQueueSize},
+ *       {@code falkor:writeBehindIntervalMs} - queue non-transactional
+ *       writes and flush them in the background (default: disabled,
+ *       100 ms)</li>
  * </ul>
  */
 public class FalkorDBAssembler extends AssemblerBase {
@@ -74,10 +93,11 @@ public class FalkorDBAssembler extends AssemblerBase {
         }
 
         // Create and return the FalkorDB-backed model
-        return FalkorDBModelFactory.builder()
+        FalkorDBModelFactory.Builder builder = FalkorDBModelFactory.builder()
             .host(host)
             .port(port)
-            .graphName(graphName)
-            .build();
+            .graphName(graphName);
+        AssemblerUtils.applyTuningOptions(root, builder);
+        return builder.build();
     }
 }
@@ -82,6 +82,80 @@ public final class FalkorDBVocab {
      */
     public static final Property graphName = property("graphName");
 
+    /**
+     * Property to specify the number of buffered triples at which a
+     * transaction is flushed to FalkorDB before commit.
+     * Default value: 0 (disabled)
+     */
+    public static final Property maxBufferedTriples =
+        property("maxBufferedTriples");
+
+    /**
+     * Property to specify the estimated buffer size in bytes at which a
+     * transaction is flushed to FalkorDB before commit.
+     * Default value: 0 (disabled)
+     */
+    public static final Property maxBufferedBytes =
+        property("maxBufferedBytes");
+
+    /**
+     * Property to specify how many predicate or type groups are written
+     * concurrently when a transaction is flushed.
+     * Default value: 1 (sequential)
+     */
+    public static final Property flushParallelism =
+        property("flushParallelism");
+
+    /**
+     * Property to enable adaptive write batch sizing with a target latency
+     * per batch in milliseconds.
+     * Default value: 0 (fixed batches of 1000 triples)
+     */
+    public static final Property batchTargetLatencyMs =
+        property("batchTargetLatencyMs");
+
+    /**
+     * Property to specify the smallest adaptive batch size.
+     * Default value: 100
+     */
+    public static final Property minBatchSize = property("minBatchSize");
+
+    /**
+     * Property to specify the largest adaptive batch size.
+     * Default value: 50000
+     */
+    public static final Property maxBatchSize = property("maxBatchSize");
+
+    /**
+     * Property to specify how buffered literal and type triples are
+     * grouped into queries on flush: "per_predicate" or "subject_centric".
+     * Default value: per_predicate
+     */
+    public static final Property writeStrategy = property("writeStrategy");
+
+    /**
+     * Property to enable write-behind with the given queue capacity for
+     * non-transactional writes.
+     * Default value: 0 (disabled)
+     */
+    public static final Property writeBehindQueueSize =
+        property("writeBehindQueueSize");
+
+    /**
+     * Property to specify the longest time in milliseconds a write-behind
+     * write stays queued.
+     * Default value: 100
+     */
+    public static final Property writeBehindIntervalMs =
+        property("writeBehindIntervalMs");
+
+    /**
+     * Property to specify how the batch queries of a commit are sent:
+     * "off", "pipeline" or "multi_exec".
+     * Default value: off
+     */
+    public static final Property pipelineMode = property("pipelineMode");
+
     /** Private constructor to prevent instantiation. */
     private FalkorDBVocab() {
         throw new AssertionError("No instances");
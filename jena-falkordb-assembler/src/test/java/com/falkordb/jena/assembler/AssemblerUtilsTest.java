@@ -65,4 +65,22 @@ public class AssemblerUtilsTest {
 
         assertEquals(100, result);
     }
+
+    @Test
+    @DisplayName("Test getLongProperty returns value when present")
+    public void testGetLongPropertyWithValue() {
+        root.addProperty(intProp, model.createTypedLiteral(5_000_000_000L));
+
+        long result = AssemblerUtils.getLongProperty(root, intProp, 0);
+
+        assertEquals(5_000_000_000L, result);
+    }
+
+    @Test
+    @DisplayName("Test getLongProperty returns default when missing")
+    public void testGetLongPropertyWithDefault() {
+        long result = AssemblerUtils.getLongProperty(root, intProp, 7L);
+
+        assertEquals(7L, result);
+    }
 }
@@ -56,4 +56,57 @@ public class FalkorDBVocabTest {
         assertEquals("http://falkordb.com/jena/assembler#graphName",
             graphName.getURI());
     }
+
+    @Test
+    @DisplayName("Test auto-flush threshold properties are defined correctly")
+    public void testAutoFlushProperties() {
+        assertEquals("http://falkordb.com/jena/assembler#maxBufferedTriples",
+            FalkorDBVocab.maxBufferedTriples.getURI());
+        assertEquals("http://falkordb.com/jena/assembler#maxBufferedBytes",
+            FalkorDBVocab.maxBufferedBytes.getURI());
+    }
+
+    @Test
+    @DisplayName("Test flushParallelism property is defined correctly")
+    public void testFlushParallelismProperty() {
+        assertEquals("http://falkordb.com/jena/assembler#flushParallelism",
+            FalkorDBVocab.flushParallelism.getURI());
+    }
+
+    @Test
+    @DisplayName("Test adaptive batch sizing properties are defined correctly")
+    public void testBatchSizingProperties() {
+        assertEquals(
+            "http://falkordb.com/jena/assembler#batchTargetLatencyMs",
+            FalkorDBVocab.batchTargetLatencyMs.getURI());
+        assertEquals("http://falkordb.com/jena/assembler#minBatchSize",
+            FalkorDBVocab.minBatchSize.getURI());
+        assertEquals("http://falkordb.com/jena/assembler#maxBatchSize",
+            FalkorDBVocab.maxBatchSize.getURI());
+    }
+
+    @Test
+    @DisplayName("Test writeStrategy property is defined correctly")
+    public void testWriteStrategyProperty() {
+        assertEquals("http://falkordb.com/jena/assembler#writeStrategy",
+            FalkorDBVocab.writeStrategy.getURI());
+    }
+
+    @Test
+    @DisplayName("Test write-behind properties are defined correctly")
+    public void testWriteBehindProperties() {
+        assertEquals(
+            "http://falkordb.com/jena/assembler#writeBehindQueueSize",
+            FalkorDBVocab.writeBehindQueueSize.getURI());
+        assertEquals(
+            "http://falkordb.com/jena/assembler#writeBehindIntervalMs",
+            FalkorDBVocab.writeBehindIntervalMs.getURI());
+    }
+
+    @Test
+    @DisplayName("Test pipelineMode property is defined correctly")
+    public void testPipelineModeProperty() {
+        assertEquals("http://falkordb.com/jena/assembler#pipelineMode",
+            FalkorDBVocab.pipelineMode.getURI());
+    }
 }